@@ -451,6 +451,16 @@ public class BlockManagerXml extends jmri.managers.configurexml.AbstractMemoryMa
         return InstanceManager.getDefault(jmri.BlockManager.class).getXMLOrder();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return true, as loading creates no GUI objects
+     */
+    @Override
+    public boolean loadOffGUIThread() {
+        return true;
+    }
+
     private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(BlockManagerXml.class);
 
 }
@@ -560,31 +560,33 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
      * Handles problems locally to the extent that it can, by routing them to
      * the creationErrorEncountered method.
      * <p>
-     * Always processes on Swing thread
+     * The file is read and validated on the calling thread. Each section is
+     * then loaded on the Swing thread in case it changes visible windows,
+     * except for sections whose adapter can be loaded off the GUI thread (see
+     * {@link XmlAdapter#loadOffGUIThread()}), which are loaded on the calling
+     * thread. The sections are loaded one after another in load order. When
+     * called on the Swing thread, everything is loaded there.
      *
      * @param url              URL of file to load
      * @param registerDeferred true to register objects to defer
      * @return true if no problems during the load
      * @throws JmriConfigureXmlException if problem during load
      * @see jmri.configurexml.XmlAdapter#loadDeferred()
+     * @see #getLoadTimings()
      * @since 3.3.2
      */
     @Override
     public boolean load(URL url, boolean registerDeferred) throws JmriConfigureXmlException {
         log.trace("starting load({}, {})", url, registerDeferred);
-        
-        // we do the actual load on the Swing thread in case it changes visible windows
-        Boolean retval = jmri.util.ThreadingUtil.runOnGUIwithReturn(() -> {
-            try { 
-                Boolean ret = loadOnSwingThread(url, registerDeferred);
-                return ret;
-            } catch (Exception e) {
-                log.trace("  ending load() via JmriConfigureXmlException");
-                throw new RuntimeException(e);
-            }
-        });
-        
+        long start = System.nanoTime();
+        boolean retval = doLoad(url, registerDeferred);
         log.trace("  ending load({}, {} with {})", url, registerDeferred, retval);
+        if (log.isDebugEnabled()) {
+            log.debug("loaded {} in {} ms", url.getFile(), (System.nanoTime() - start) / 1000000);
+            for (LoadTiming t : loadTimings) {
+                log.debug("  {}", t);
+            }
+        }
         return retval;
     }
 
@@ -602,8 +604,71 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
         return validate;
     }
 
-    // must run on GUI thread only; that's ensured at the using level.
-    private Boolean loadOnSwingThread(URL url, boolean registerDeferred) throws JmriConfigureXmlException {
+    /**
+     * Time taken to load one section of a file.
+     */
+    public static final class LoadTiming {
+
+        private final String adapter;
+        private final int order;
+        private final long nanos;
+        private final String thread;
+
+        LoadTiming(String adapter, int order, long nanos, String thread) {
+            this.adapter = adapter;
+            this.order = order;
+            this.nanos = nanos;
+            this.thread = thread;
+        }
+
+        /**
+         * @return the class name of the adapter that loaded the section
+         */
+        public String getAdapter() {
+            return adapter;
+        }
+
+        /**
+         * @return the load order of the adapter
+         */
+        public int getOrder() {
+            return order;
+        }
+
+        /**
+         * @return the time taken, in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return the name of the thread the section was loaded on
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%5d %8.1f ms on %s: %s", order, nanos / 1e6, thread, adapter);
+        }
+    }
+
+    private volatile List<LoadTiming> loadTimings = Collections.emptyList();
+
+    /**
+     * Get the time taken to read the last file loaded, and to load each of its
+     * sections. The report is also logged at DEBUG level.
+     *
+     * @return the timings, in the order the sections were loaded; the first is
+     *         for reading and validating the file
+     */
+    public List<LoadTiming> getLoadTimings() {
+        return loadTimings;
+    }
+
+    private boolean doLoad(URL url, boolean registerDeferred) {
         boolean result = true;
         Element root = null;
         /* We will put all the elements into a load list, along with the load order
@@ -611,10 +676,15 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
          before beans that they were dependant upon had been stored/loaded
          */
         Map<Element, Integer> loadlist = Collections.synchronizedMap(new LinkedHashMap<>());
+        List<LoadTiming> timings = Collections.synchronizedList(new ArrayList<>());
+        boolean onGUIThread = jmri.util.ThreadingUtil.isGUIThread();
 
         try {
             setValidate(validate);
+            long start = System.nanoTime();
             root = super.rootFromURL(url);
+            timings.add(new LoadTiming("read " + url.getFile(), 0, System.nanoTime() - start,
+                    Thread.currentThread().getName()));
             // get the objects to load
             List<Element> items = root.getChildren();
             for (Element item : items) {
@@ -639,28 +709,21 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
 
             for (Map.Entry<Element, Integer> elementIntegerEntry : l) {
                 Element item = elementIntegerEntry.getKey();
-                String adapterName = item.getAttribute("class").getValue();
-                adapterName = currentClassName(adapterName);
-                log.debug("load {} via {}", item, adapterName);
+                int order = elementIntegerEntry.getValue();
+                String adapterName = currentClassName(item.getAttribute("class").getValue());
                 XmlAdapter adapter = null;
                 try {
                     adapter = (XmlAdapter) Class.forName(adapterName).getDeclaredConstructor().newInstance();
-
-                    // get version info
-                    // loadVersion(root, adapter);
-                    // and do it
                     if (adapter.loadDeferred() && registerDeferred) {
                         // register in the list for deferred load
                         loadDeferredList.add(item);
                         log.debug("deferred load registered for {} {}", item, adapterName);
+                    } else if (!onGUIThread && adapter.loadOffGUIThread()) {
+                        result &= loadItem(adapter, item, order, url, timings);
                     } else {
-                        boolean loadStatus = adapter.load(item, item);
-                        log.debug("load status for {} {} is {}", item, adapterName, loadStatus);
-
-                        // if any adaptor load fails, then the entire load has failed
-                        if (!loadStatus) {
-                            result = false;
-                        }
+                        final XmlAdapter a = adapter;
+                        Boolean loadStatus = jmri.util.ThreadingUtil.runOnGUIwithReturn(() -> loadItem(a, item, order, url, timings));
+                        result &= Boolean.TRUE.equals(loadStatus);
                     }
                 } catch (Exception e) {
                     creationErrorEncountered(adapter, "load(" + url.getFile() + ")", "Unexpected error (Exception)", null, null, e);
@@ -710,6 +773,7 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
         } finally {
             // no matter what, close error reporting
             handler.done();
+            loadTimings = Collections.unmodifiableList(new ArrayList<>(timings));
         }
 
         // loading complete, as far as it got, make history entry
@@ -729,6 +793,32 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
         return result;
     }
 
+    /**
+     * Load one section of a file.
+     *
+     * @return true if loaded without problems
+     */
+    private boolean loadItem(XmlAdapter adapter, Element item, int order, URL url, List<LoadTiming> timings) {
+        String adapterName = adapter.getClass().getName();
+        log.debug("load {} via {}", item, adapterName);
+        boolean loadStatus = false;
+        long start = System.nanoTime();
+        try {
+            // get version info
+            // loadVersion(root, adapter);
+            // and do it
+            loadStatus = adapter.load(item, item);
+            log.debug("load status for {} {} is {}", item, adapterName, loadStatus);
+        } catch (Exception e) {
+            creationErrorEncountered(adapter, "load(" + url.getFile() + ")", "Unexpected error (Exception)", null, null, e);
+        } catch (Throwable et) {
+            creationErrorEncountered(adapter, "in load(" + url.getFile() + ")", "Unexpected error (Throwable)", null, null, et);
+        }
+        timings.add(new LoadTiming(adapterName, order, System.nanoTime() - start, Thread.currentThread().getName()));
+        // if any adaptor load fails, then the entire load has failed
+        return loadStatus;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean loadDeferred(File fi) {
@@ -46,6 +46,19 @@ public interface XmlAdapter {
      */
     public boolean loadDeferred();
 
+    /**
+     * Determine if this set of configured objects can be loaded on a thread
+     * other than the GUI thread, i.e. the load creates no GUI objects and
+     * depends on none. When a file is loaded off the GUI thread, such
+     * adapters are loaded where the file is read, in load order with all the
+     * others, which are loaded on the GUI thread.
+     *
+     * @return true if the load may run off the GUI thread; false by default
+     */
+    public default boolean loadOffGUIThread() {
+        return false;
+    }
+
     /**
      * Create a set of configured objects from their XML description, using an
      * auxiliary object.
@@ -4,6 +4,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -33,6 +34,7 @@ import jmri.jmrit.display.layoutEditor.LayoutSlip;
 import jmri.jmrit.display.layoutEditor.LayoutTrackExpectedState;
 import jmri.jmrit.display.layoutEditor.LayoutTurnout;
 import jmri.jmrit.display.layoutEditor.LevelXing;
+import jmri.managers.DefaultSignalMastLogicManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -838,12 +840,25 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
     volatile boolean inWait = false;
 
+    // count evaluations in the manager, for its statistics
+    private static void countEvaluation(boolean made) {
+        SignalMastLogicManager manager = InstanceManager.getDefault(SignalMastLogicManager.class);
+        if (manager instanceof DefaultSignalMastLogicManager) {
+            if (made) {
+                ((DefaultSignalMastLogicManager) manager).evaluated();
+            } else {
+                ((DefaultSignalMastLogicManager) manager).evaluationRequested();
+            }
+        }
+    }
+
     /**
      * Before going active or checking that we can go active, wait 500ms
      * for things to settle down to help prevent a race condition.
      */
     synchronized void setSignalAppearance() {
         log.debug("setMastAppearance (Aspect) called for {}", source.getDisplayName());
+        countEvaluation(false);
         if (inWait) {
             log.debug("setMastAppearance (Aspect) called with inWait set, returning");
             return;
@@ -860,8 +875,9 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         log.debug("SignalMastLogicManager started (delay)");
         jmri.util.ThreadingUtil.runOnLayoutDelayed(
                 () -> {
-                    setMastAppearance();
+                    // clear first, so a change made while evaluating is not missed
                     inWait = false;
+                    setMastAppearance();
                 },
                 tempDelay
         );
@@ -873,6 +889,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
      */
     void setMastAppearance() {
         log.debug("Set source Signal Mast Aspect");
+        countEvaluation(true);
         if (getSourceMast().getHeld()) {
             log.debug("Signal is at a Held state so will set to the aspect defined for Held or Danger");
 
@@ -1289,11 +1306,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         }
 
         void setTurnouts(Hashtable<NamedBeanHandle<Turnout>, Integer> turnouts) {
-            if (this.userSetTurnouts != null) {
-                for (NamedBeanSetting nbh : userSetTurnouts) {
-                    nbh.getBean().removePropertyChangeListener(propertyTurnoutListener);
-                }
-            }
             destMastInit = false;
             if (turnouts == null) {
                 userSetTurnouts = new ArrayList<NamedBeanSetting>(0);
@@ -1306,35 +1318,24 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetTurnouts.add(nbs);
                 }
             }
+            updateListeners(false);
             firePropertyChange("turnouts", null, this.destination);
         }
 
         void setAutoTurnouts(Hashtable<Turnout, Integer> turnouts) {
             log.debug("{} called setAutoTurnouts with {}", destination.getDisplayName(), (turnouts != null ? "" + turnouts.size() + " turnouts in hash table" : "null hash table reference"));
-            if (this.autoTurnouts != null) {
-                Enumeration<Turnout> keys = this.autoTurnouts.keys();
-                while (keys.hasMoreElements()) {
-                    Turnout key = keys.nextElement();
-                    key.removePropertyChangeListener(propertyTurnoutListener);
-                }
-                //minimumBlockSpeed = 0;
-            }
             destMastInit = false;
             if (turnouts == null) {
                 this.autoTurnouts = new Hashtable<Turnout, Integer>(0);
             } else {
                 this.autoTurnouts = turnouts;
             }
+            updateListeners(false);
             firePropertyChange("autoturnouts", null, this.destination);
         }
 
         void setBlocks(Hashtable<Block, Integer> blocks) {
             log.debug("{} Set blocks called", destination.getDisplayName());
-            if (this.userSetBlocks != null) {
-                for (NamedBeanSetting nbh : userSetBlocks) {
-                    nbh.getBean().removePropertyChangeListener(propertyBlockListener);
-                }
-            }
             destMastInit = false;
 
             userSetBlocks = new ArrayList<NamedBeanSetting>(0);
@@ -1348,6 +1349,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetBlocks.add(nbs);
                 }
             }
+            updateListeners(false);
             firePropertyChange("blocks", null, this.destination);
         }
 
@@ -1355,11 +1357,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             if (log.isDebugEnabled()) {
                 log.debug("{} called setAutoBlocks with {}", destination.getDisplayName(), (blocks != null ? "" + blocks.size() + " blocks in hash table" : "null hash table reference"));
             }
-            if (this.autoBlocks != null) {
-                for (Block key : autoBlocks.keySet()) {
-                    key.removePropertyChangeListener(propertyBlockListener);
-                }
-            }
             destMastInit = false;
             if (blocks == null) {
                 this.autoBlocks = new LinkedHashMap<Block, Integer>(0);
@@ -1376,16 +1373,11 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     createSectionDetails();
                 }
             }
+            updateListeners(false);
             firePropertyChange("autoblocks", null, this.destination);
         }
 
         void setMasts(Hashtable<SignalMast, String> masts) {
-            if (this.userSetMasts != null) {
-                for (NamedBeanSetting nbh : userSetMasts) {
-                    nbh.getBean().removePropertyChangeListener(propertySignalMastListener);
-                }
-            }
-
             destMastInit = false;
 
             if (masts == null) {
@@ -1400,6 +1392,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetMasts.add(nbs);
                 }
             }
+            updateListeners(false);
             firePropertyChange("masts", null, this.destination);
         }
 
@@ -1413,14 +1406,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             if (log.isDebugEnabled()) {
                 log.debug("{} setAutoMast Called", destination.getDisplayName());
             }
-            if (this.autoMasts != null) {
-                Enumeration<SignalMast> keys = this.autoMasts.keys();
-                while (keys.hasMoreElements()) {
-                    SignalMast key = keys.nextElement();
-                    key.removePropertyChangeListener(propertySignalMastListener);
-                }
-                //minimumBlockSpeed = 0;
-            }
             destMastInit = false;
             if (overwrite) {
                 if (newAutoMasts == null) {
@@ -1439,6 +1424,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     }
                 }
             }
+            updateListeners(false);
             //kick off the process to add back in signal masts at crossings.
             for (int i = 0; i < blockInXings.size(); i++) {
                 blockInXings.get(i).addSignalMastLogic(source);
@@ -1448,11 +1434,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         }
 
         void setSensors(Hashtable<NamedBeanHandle<Sensor>, Integer> sensors) {
-            if (this.userSetSensors != null) {
-                for (NamedBeanSetting nbh : userSetSensors) {
-                    nbh.getBean().removePropertyChangeListener(propertySensorListener);
-                }
-            }
             destMastInit = false;
 
             if (sensors == null) {
@@ -1466,6 +1447,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetSensors.add(nbs);
                 }
             }
+            updateListeners(false);
             firePropertyChange("sensors", null, this.destination);
         }
 
@@ -1475,9 +1457,9 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     return;
                 }
             }
-            sen.getBean().addPropertyChangeListener(propertySensorListener);
             NamedBeanSetting nbs = new NamedBeanSetting(sen, state);
             userSetSensors.add(nbs);
+            updateListeners(true);
             firePropertyChange("sensors", null, this.destination);
         }
 
@@ -1485,8 +1467,8 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         void removeSensor(NamedBeanHandle<Sensor> sen) {
             for (NamedBeanSetting nbh : userSetSensors) {
                 if (nbh.getBean().equals(sen.getBean())) {
-                    sen.getBean().removePropertyChangeListener(propertySensorListener);
                     userSetSensors.remove(nbh);
+                    updateListeners(false);
                     firePropertyChange("sensors", null, this.destination);
                     return;
                 }
@@ -1496,8 +1478,8 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         void removeSensor(Sensor sen) {
             for (NamedBeanSetting nbh : userSetSensors) {
                 if (nbh.getBean().equals(sen)) {
-                    sen.removePropertyChangeListener(propertySensorListener);
                     userSetSensors.remove(nbh);
+                    updateListeners(false);
                     firePropertyChange("sensors", null, this.destination);
                     return;
                 }
@@ -1555,8 +1537,8 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             while (nbh.hasNext()) {
                 NamedBeanSetting i = nbh.next();
                 if (i.getBean().equals(turn)) {
-                    turn.removePropertyChangeListener(propertyTurnoutListener);
                     nbh.remove();
+                    updateListeners(false);
                     firePropertyChange("turnouts", null, this.destination);
                 }
             }
@@ -1743,7 +1725,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         }
 
         // the following 2 methods are not supplied in the implementation
-        boolean inWait = false;
+        volatile boolean inWait = false;
 
         /*
          * Before going active or checking that we can go active, wait
@@ -1758,8 +1740,9 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             if (!enable) {
                 return;
             }
+            countEvaluation(false);
             if (inWait) {
-                return;
+                return; // changes while waiting are covered by the one evaluation
             }
 
             log.debug("check Signal Dest State called");
@@ -1771,8 +1754,9 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
             jmri.util.ThreadingUtil.runOnLayoutDelayed(
                     () -> {
-                        checkStateDetails();
+                        // clear first, so a change made while evaluating is not missed
                         inWait = false;
+                        checkStateDetails();
                     }, tempDelay
             );
         }
@@ -1795,6 +1779,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             if (!enable) {
                 return;
             }
+            countEvaluation(true);
             log.debug("From {} to {} internal check state", getSourceMast().getDisplayName(), destination.getDisplayName());
             active = false;
             if ((useLayoutEditor) && (autoTurnouts.size() == 0) && (autoBlocks.size() == 0)) {
@@ -1950,6 +1935,68 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             });
         }
 
+        // the beans this pair listens to, with the listener on each
+        private final Map<NamedBean, PropertyChangeListener> listening = new HashMap<>();
+
+        /**
+         * Bring the listeners this pair has on the beans in its lists up to
+         * date. Each bean gets one listener for the pair however many lists
+         * it is in and however often the pair is set up again, so that the
+         * listeners on a bean are an index of the pairs a change to it can
+         * affect, and a change checks each of them once. User set turnouts
+         * and sensors are listened to by name.
+         *
+         * @param add true to listen to beans not yet listened to; false to
+         *            only stop listening to beans no longer in any list
+         */
+        private void updateListeners(boolean add) {
+            Map<NamedBean, PropertyChangeListener> wanted = new HashMap<>();
+            Map<NamedBean, String> names = new HashMap<>();
+            if (!disposed) {
+                autoTurnouts.keySet().forEach(t -> wanted.put(t, propertyTurnoutListener));
+                autoMasts.keySet().forEach(m -> wanted.put(m, propertySignalMastListener));
+                autoBlocks.keySet().forEach(b -> wanted.put(b, propertyBlockListener));
+                for (NamedBeanSetting nbh : userSetTurnouts) {
+                    wanted.put(nbh.getBean(), propertyTurnoutListener);
+                    names.put(nbh.getBean(), nbh.getBeanName());
+                }
+                userSetMasts.forEach(nbh -> wanted.put(nbh.getBean(), propertySignalMastListener));
+                for (NamedBeanSetting nbh : userSetSensors) {
+                    wanted.put(nbh.getBean(), propertySensorListener);
+                    names.put(nbh.getBean(), nbh.getBeanName());
+                }
+                userSetBlocks.forEach(nbh -> wanted.put(nbh.getBean(), propertyBlockListener));
+            }
+
+            Iterator<Map.Entry<NamedBean, PropertyChangeListener>> it = listening.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<NamedBean, PropertyChangeListener> e = it.next();
+                if (wanted.get(e.getKey()) != e.getValue()
+                        || (names.containsKey(e.getKey()) && e.getKey().getListenerRef(e.getValue()) == null)) {
+                    e.getKey().removePropertyChangeListener(e.getValue());
+                    it.remove();
+                }
+            }
+            if (!add) {
+                return;
+            }
+            String ref = "Signal Mast Logic:" + source.getDisplayName() + " to " + destination.getDisplayName();
+            for (Map.Entry<NamedBean, PropertyChangeListener> e : wanted.entrySet()) {
+                NamedBean bean = e.getKey();
+                String name = names.get(bean);
+                if (!listening.containsKey(bean)) {
+                    if (name != null) {
+                        bean.addPropertyChangeListener(e.getValue(), name, ref);
+                    } else {
+                        bean.addPropertyChangeListener(e.getValue());
+                    }
+                    listening.put(bean, e.getValue());
+                } else if (name != null && !ref.equals(bean.getListenerRef(e.getValue()))) {
+                    bean.updateListenerRef(e.getValue(), ref);
+                }
+            }
+        }
+
         /**
          * Set up this source-destination signal mast logic pair. Steps through
          * every list defined on the source mast.
@@ -1968,11 +2015,11 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             }
 
             calculateSpeed();
+            updateListeners(true);
 
             Enumeration<Turnout> keys = autoTurnouts.keys();
             while (keys.hasMoreElements()) {
                 Turnout key = keys.nextElement();
-                key.addPropertyChangeListener(propertyTurnoutListener);
 
                 if (key.getKnownState() != autoTurnouts.get(key)) {
                     if (key.getState() != autoTurnouts.get(key)) {
@@ -1993,7 +2040,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
             for (NamedBeanSetting nbh : userSetTurnouts) {
                 Turnout key = (Turnout) nbh.getBean();
-                key.addPropertyChangeListener(propertyTurnoutListener, nbh.getBeanName(), "Signal Mast Logic:" + source.getDisplayName() + " to " + destination.getDisplayName());
                 if (key.getKnownState() != nbh.getSetting()) {
                     routeclear = false;
                 } else if (key.getState() == Turnout.THROWN) {
@@ -2007,7 +2053,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 if (log.isDebugEnabled()) {
                     log.debug("{} auto mast add list {}", destination.getDisplayName(), key.getDisplayName());
                 }
-                key.addPropertyChangeListener(propertySignalMastListener);
                 if (!key.getAspect().equals(autoMasts.get(key))) {
                     if (isSignalMastIncluded(key)) {
                         if (key.getAspect().equals(getSignalMastState(key))) {
@@ -2021,7 +2066,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
             for (NamedBeanSetting nbh : userSetMasts) {
                 SignalMast key = (SignalMast) nbh.getBean();
-                key.addPropertyChangeListener(propertySignalMastListener);
                 if (log.isDebugEnabled()) {
                     log.debug("mast '{}' key aspect '{}'", destination.getDisplayName(), key.getAspect());
                 }
@@ -2031,7 +2075,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             }
             for (NamedBeanSetting nbh : userSetSensors) {
                 Sensor sensor = (Sensor) nbh.getBean();
-                sensor.addPropertyChangeListener(propertySensorListener, nbh.getBeanName(), "Signal Mast Logic:" + source.getDisplayName() + " to " + destination.getDisplayName());
                 if (sensor.getKnownState() != nbh.getSetting()) {
                     routeclear = false;
                 }
@@ -2039,7 +2082,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
             for (Map.Entry<Block, Integer> entry : this.autoBlocks.entrySet()) {
                 log.debug("{} auto block add list {}", destination.getDisplayName(), entry.getKey().getDisplayName());
-                entry.getKey().addPropertyChangeListener(propertyBlockListener);
                 if (entry.getKey().getState() != entry.getValue()) {
                     if (isBlockIncluded(entry.getKey())) {
                         if (entry.getKey().getState() != getBlockState(entry.getKey())) {
@@ -2065,7 +2107,6 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
             for (NamedBeanSetting nbh : userSetBlocks) {
                 Block key = (Block) nbh.getBean();
-                key.addPropertyChangeListener(propertyBlockListener);
                 if (key.getState() != getBlockState(key)) {
                     if (key.getState() == Block.OCCUPIED && key.getPermissiveWorking()) {
                         permissiveBlock = true;
@@ -2442,9 +2483,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 return;
             }
             this.autoMasts.put(mast, danger);
-            if (destMastInit) {
-                mast.addPropertyChangeListener(propertySignalMastListener);
-            }
+            updateListeners(destMastInit);
             firePropertyChange("automasts", null, this.destination);
         }
 
@@ -2456,9 +2495,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
          */
         void removeAutoSignalMast(SignalMast mast) {
             this.autoMasts.remove(mast);
-            if (destMastInit) {
-                mast.removePropertyChangeListener(propertySignalMastListener);
-            }
+            updateListeners(false);
             firePropertyChange("automasts", this.destination, null);
         }
 
@@ -3,10 +3,13 @@ package jmri.jmris;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import jmri.InstanceManager;
 import jmri.ShutDownTask;
@@ -17,7 +20,10 @@ import org.slf4j.LoggerFactory;
 /**
  * This is the main JMRI Server implementation.
  *
- * It starts a thread for each client.
+ * It starts a thread for each client. Clients are read from and written to
+ * through the {@link SocketSelector}, so the thread of a client only waits for
+ * input from it, and writing to a client never waits for the client to accept
+ * the data.
  *
  */
 public class JmriServer {
@@ -42,16 +48,33 @@ public class JmriServer {
 
     // Create a new server using a given port with a timeout
     // A timeout of 0 is infinite
+    // The port is not opened until the server is started
     public JmriServer(int port, int timeout) {
         super();
-        // Try registering the server on the given port
+        this.portNo = port;
+        this.timeout = timeout;
+    }
+
+    // Try registering the server on its port
+    private void openSocket() {
+        ServerSocketChannel channel = null;
         try {
-            this.connectSocket = new ServerSocket(port);
+            // open a channel so the sockets of clients have channels
+            channel = ServerSocketChannel.open();
+            channel.socket().setReuseAddress(true);
+            channel.socket().bind(new InetSocketAddress(portNo));
+            this.connectSocket = channel.socket();
+            this.portNo = connectSocket.getLocalPort();
         } catch (IOException e) {
-            log.error("Failed to connect to port {}", port);
+            log.error("Failed to connect to port {}", portNo);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    // nothing to do
+                }
+            }
         }
-        this.portNo = port;
-        this.timeout = timeout;
     }
 
     // Maintain a vector of connected clients
@@ -74,6 +97,12 @@ public class JmriServer {
     public void start() {
         /* Start the server thread */
         if (this.listenThread == null) {
+            if (this.connectSocket == null) {
+                openSocket();
+                if (this.connectSocket == null) {
+                    return;
+                }
+            }
             this.listenThread = jmri.util.ThreadingUtil.newThread(new NewClientListener(connectSocket));
             this.listenThread.start();
             this.advertise();
@@ -100,11 +129,18 @@ public class JmriServer {
     }
 
     public void stop() {
-        this.connectedClientThreads.forEach((client) -> {
+        // copy the clients, as a client that is closed removes itself
+        List<ClientListener> clients;
+        synchronized (this) {
+            clients = new ArrayList<>(this.connectedClientThreads);
+        }
+        clients.forEach((client) -> {
             client.stop(this);
         });
         this.listenThread = null;
-        this.service.stop();
+        if (this.service != null) {
+            this.service.stop();
+        }
         if (this.shutDownTask != null) {
             InstanceManager.getDefault(jmri.ShutDownManager.class).deregister(this.shutDownTask);
         }
@@ -152,6 +188,7 @@ public class JmriServer {
     protected class ClientListener implements Runnable {
 
         Socket clientSocket = null;
+        SocketSelector.Client client = null;
         DataInputStream inStream = null;
         DataOutputStream outStream = null;
         Thread clientThread = null;
@@ -160,25 +197,28 @@ public class JmriServer {
             log.debug("Starting new Client");
             clientSocket = socket;
             try {
-                inStream = new DataInputStream(clientSocket.getInputStream());
-                outStream = new DataOutputStream(clientSocket.getOutputStream());
+                client = InstanceManager.getDefault(SocketSelector.class).register(clientSocket);
+                inStream = new DataInputStream(client.getInputStream());
+                outStream = new DataOutputStream(client.getOutputStream());
             } catch (IOException e) {
                 log.error("Error obtaining I/O Stream from socket.");
             }
         }
 
         public void start() {
-            clientThread = jmri.util.ThreadingUtil.newThread(this);
+            clientThread = SocketSelector.newClientThread(this, "JmriServer client " + clientSocket.getRemoteSocketAddress());
             clientThread.start();
         }
 
         public void stop(JmriServer server) {
             try {
                 server.stopClient(inStream, outStream);
-                clientSocket.close();
             } catch (IOException e) {
                 // silently ignore, since we may be reacting to a closed socket
             }
+            if (client != null) {
+                client.close();
+            }
             clientThread = null;
         }
 
@@ -0,0 +1,567 @@
+package jmri.jmris;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.Disposable;
+import jmri.InstanceManagerAutoDefault;
+import jmri.util.ThreadingUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads from and writes to the client sockets of servers with one thread for
+ * all sockets, so that a client slow to accept data cannot block the thread
+ * sending it data.
+ * <p>
+ * A server registers each socket it accepts, and reads from and writes to the
+ * streams of the returned {@link Client} in place of those of the socket.
+ * <ul>
+ * <li>Data read from a socket is held for the client's input stream. Reading
+ * from the socket is paused while more than {@link #READ_LIMIT} bytes are
+ * held.</li>
+ * <li>Data written to the client's output stream is held until the socket
+ * accepts it, so writes never wait for the client. If more than the
+ * {@link #getOutputLimit() output limit} is held the client is considered
+ * stalled and closed, and writes to it throw an IOException.</li>
+ * </ul>
+ * Only sockets accepted from a {@link java.nio.channels.ServerSocketChannel}
+ * can be read and written this way; the streams of a client for any other
+ * socket are those of the socket.
+ * <p>
+ * Servers still need a thread for each client to run protocols that read
+ * their input stream, but that thread only waits for input; see
+ * {@link #newClientThread(Runnable, String)}.
+ */
+@ThreadSafe
+public class SocketSelector implements InstanceManagerAutoDefault, Disposable {
+
+    /**
+     * The number of bytes read from a socket and held for its client before
+     * reading from the socket is paused.
+     */
+    public static final int READ_LIMIT = 64 * 1024;
+    private static final int INITIAL_OUTPUT = 1024;
+    private static final ThreadFactory VIRTUAL_THREADS = virtualThreadFactory();
+
+    private Selector selector; // guarded by this
+    private volatile boolean running = false;
+    private volatile int outputLimit = 1024 * 1024;
+    // clients to register or whose reading or writing has changed
+    private final Queue<Client> updates = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(16 * 1024); // selector thread only
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+    private static final Logger log = LoggerFactory.getLogger(SocketSelector.class);
+
+    /**
+     * Create a thread to run the protocol of a client. If supported by the
+     * Java runtime, this is a virtual thread, so that a server with many
+     * clients waiting for input does not have as many platform threads;
+     * otherwise it is a thread in the JMRI thread group.
+     *
+     * @param runner the runnable
+     * @param name   the name of the thread
+     * @return the unstarted thread
+     */
+    @Nonnull
+    public static Thread newClientThread(@Nonnull Runnable runner, @Nonnull String name) {
+        if (VIRTUAL_THREADS != null) {
+            Thread thread = VIRTUAL_THREADS.newThread(runner);
+            thread.setName(name);
+            return thread;
+        }
+        return ThreadingUtil.newThread(runner, name);
+    }
+
+    // virtual threads are only available in Java 21 or newer
+    @CheckForNull
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Read from and write to a socket through this selector.
+     *
+     * @param socket the socket, accepted from a ServerSocketChannel
+     * @return the client to read from and write to
+     * @throws IOException if the socket cannot be read or written without
+     *                     blocking
+     */
+    @Nonnull
+    public Client register(@Nonnull Socket socket) throws IOException {
+        SocketChannel channel = socket.getChannel();
+        if (channel == null) {
+            return new Client(socket, null);
+        }
+        channel.configureBlocking(false);
+        Client client = new Client(socket, channel);
+        schedule(client);
+        return client;
+    }
+
+    /**
+     * @return the number of bytes held for a client before it is considered
+     *         stalled
+     */
+    public int getOutputLimit() {
+        return outputLimit;
+    }
+
+    /**
+     * @param limit the number of bytes held for a client before it is
+     *              considered stalled
+     */
+    public void setOutputLimit(int limit) {
+        outputLimit = Math.max(INITIAL_OUTPUT, limit);
+    }
+
+    /**
+     * @return the number of bytes read from sockets
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * @return the number of bytes written to sockets
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * @return the number of clients closed because they stalled
+     */
+    public long getStalledCount() {
+        return stalled.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closes all clients.
+     */
+    @Override
+    public void dispose() {
+        Selector s;
+        synchronized (this) {
+            running = false;
+            s = selector;
+            selector = null;
+        }
+        if (s != null) {
+            for (SelectionKey key : new ArrayList<>(s.keys())) {
+                ((Client) key.attachment()).close();
+            }
+            try {
+                s.close();
+            } catch (IOException ex) {
+                log.debug("Unable to close selector", ex);
+            }
+        }
+    }
+
+    // have the selector thread register or update the interests of a client
+    private void schedule(Client client) throws IOException {
+        updates.add(client);
+        Selector s;
+        synchronized (this) {
+            if (selector == null) {
+                selector = Selector.open();
+                running = true;
+                Thread thread = ThreadingUtil.newThread(this::run, "JMRI Socket Selector");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            s = selector;
+        }
+        s.wakeup();
+    }
+
+    private void run() {
+        Selector s;
+        synchronized (this) {
+            s = selector;
+        }
+        if (s == null) {
+            return;
+        }
+        while (running) {
+            try {
+                s.select();
+                Client client;
+                while ((client = updates.poll()) != null) {
+                    client.update(s);
+                }
+                Iterator<SelectionKey> keys = s.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    client = (Client) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            client.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            client.write();
+                        }
+                        client.setInterest();
+                    } catch (IOException | CancelledKeyException ex) {
+                        log.debug("Closing client {}", client.socket.getRemoteSocketAddress(), ex);
+                        client.close();
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                return;
+            } catch (IOException ex) {
+                log.error("Socket selector failed", ex);
+                return;
+            }
+        }
+    }
+
+    /**
+     * A socket read and written through the selector.
+     */
+    public final class Client {
+
+        private final Socket socket;
+        private final SocketChannel channel;
+        private final ClientInputStream input;
+        private final ClientOutputStream output;
+        private SelectionKey key = null; // selector thread only
+        private volatile boolean closed = false;
+
+        private Client(@Nonnull Socket socket, @CheckForNull SocketChannel channel) {
+            this.socket = socket;
+            this.channel = channel;
+            input = channel != null ? new ClientInputStream() : null;
+            output = channel != null ? new ClientOutputStream() : null;
+        }
+
+        /**
+         * @return the socket
+         */
+        @Nonnull
+        public Socket getSocket() {
+            return socket;
+        }
+
+        /**
+         * Get the stream to read from the socket. Reads wait for data from the
+         * socket, or until the timeout set with
+         * {@link Socket#setSoTimeout(int)}.
+         *
+         * @return the input stream
+         * @throws IOException if the socket cannot be read
+         */
+        @Nonnull
+        public InputStream getInputStream() throws IOException {
+            return input != null ? input : socket.getInputStream();
+        }
+
+        /**
+         * Get the stream to write to the socket. Writes do not wait for the
+         * socket to accept the data.
+         *
+         * @return the output stream
+         * @throws IOException if the socket cannot be written
+         */
+        @Nonnull
+        public OutputStream getOutputStream() throws IOException {
+            return output != null ? output : socket.getOutputStream();
+        }
+
+        /**
+         * @return the number of bytes written and not yet accepted by the
+         *         socket
+         */
+        public int getPendingOutput() {
+            return output != null ? output.pending() : 0;
+        }
+
+        public boolean isClosed() {
+            return closed || socket.isClosed();
+        }
+
+        /**
+         * Close the socket, discarding any data not yet sent. Any reads
+         * waiting for data end.
+         */
+        public void close() {
+            closed = true;
+            if (input != null) {
+                input.end();
+            }
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                log.debug("Unable to close socket", ex);
+            }
+        }
+
+        // selector thread only
+        private void update(Selector s) {
+            if (closed || !channel.isOpen()) {
+                if (key != null) {
+                    key.cancel();
+                }
+                return;
+            }
+            try {
+                if (key == null) {
+                    key = channel.register(s, 0, this);
+                }
+                setInterest();
+            } catch (IOException | CancelledKeyException ex) {
+                close();
+            }
+        }
+
+        // selector thread only
+        private void setInterest() {
+            if (key != null && key.isValid()) {
+                key.interestOps((input.isReading() ? SelectionKey.OP_READ : 0)
+                        | (output.pending() > 0 ? SelectionKey.OP_WRITE : 0));
+            }
+        }
+
+        // selector thread only
+        private void read() throws IOException {
+            readBuffer.clear();
+            int count = channel.read(readBuffer);
+            if (count < 0) {
+                input.end();
+            } else if (count > 0) {
+                bytesRead.addAndGet(count);
+                input.received(Arrays.copyOf(readBuffer.array(), count));
+            }
+        }
+
+        // selector thread only
+        private void write() throws IOException {
+            output.drain();
+        }
+
+        private final class ClientInputStream extends InputStream {
+
+            // a ReentrantLock rather than synchronized so virtual threads
+            // waiting for input do not hold their carrier threads
+            private final ReentrantLock lock = new ReentrantLock();
+            private final Condition available = lock.newCondition();
+            private final Deque<byte[]> chunks = new ArrayDeque<>(); // guarded by lock
+            private int offset = 0; // into the first chunk, guarded by lock
+            private int count = 0; // guarded by lock
+            private boolean ended = false; // guarded by lock
+            private volatile boolean paused = false;
+
+            boolean isReading() {
+                return !paused && !isEnded();
+            }
+
+            private boolean isEnded() {
+                lock.lock();
+                try {
+                    return ended;
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            void received(byte[] data) {
+                lock.lock();
+                try {
+                    chunks.add(data);
+                    count += data.length;
+                    if (count >= READ_LIMIT) {
+                        paused = true;
+                    }
+                    available.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            void end() {
+                lock.lock();
+                try {
+                    ended = true;
+                    available.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public int read() throws IOException {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                boolean resume = false;
+                int read = 0;
+                lock.lock();
+                try {
+                    int timeout = 0;
+                    try {
+                        timeout = socket.getSoTimeout();
+                    } catch (SocketException ex) {
+                        // the socket is closed, so input has ended
+                    }
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+                    while (count == 0 && !ended) {
+                        if (timeout > 0) {
+                            long wait = deadline - System.nanoTime();
+                            if (wait <= 0) {
+                                throw new SocketTimeoutException("Read timed out");
+                            }
+                            available.awaitNanos(wait);
+                        } else {
+                            available.await();
+                        }
+                    }
+                    if (count == 0) {
+                        return -1;
+                    }
+                    while (read < len && count > 0) {
+                        byte[] chunk = chunks.peek();
+                        int n = Math.min(len - read, chunk.length - offset);
+                        System.arraycopy(chunk, offset, b, off + read, n);
+                        read += n;
+                        count -= n;
+                        offset += n;
+                        if (offset == chunk.length) {
+                            chunks.poll();
+                            offset = 0;
+                        }
+                    }
+                    if (paused && count < READ_LIMIT / 2) {
+                        paused = false;
+                        resume = true;
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for input", ex);
+                } finally {
+                    lock.unlock();
+                }
+                if (resume) {
+                    schedule(Client.this);
+                }
+                return read;
+            }
+
+            @Override
+            public int available() {
+                lock.lock();
+                try {
+                    return count;
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void close() {
+                Client.this.close();
+            }
+        }
+
+        private final class ClientOutputStream extends OutputStream {
+
+            private byte[] buffer = new byte[INITIAL_OUTPUT]; // guarded by this
+            private int count = 0; // guarded by this
+
+            synchronized int pending() {
+                return count;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                boolean first;
+                synchronized (this) {
+                    if (isClosed()) {
+                        throw new IOException("Socket closed");
+                    }
+                    if (count > 0 && count + len > outputLimit) {
+                        log.warn("Closing connection to {}, which is not accepting data", socket.getRemoteSocketAddress());
+                        stalled.incrementAndGet();
+                        close();
+                        throw new IOException("Client not accepting data");
+                    }
+                    if (count + len > buffer.length) {
+                        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + len));
+                    }
+                    System.arraycopy(b, off, buffer, count, len);
+                    first = count == 0;
+                    count += len;
+                }
+                if (first) {
+                    schedule(Client.this);
+                }
+            }
+
+            // selector thread only
+            synchronized void drain() throws IOException {
+                int n = channel.write(ByteBuffer.wrap(buffer, 0, count));
+                bytesWritten.addAndGet(n);
+                count -= n;
+                if (count > 0) {
+                    System.arraycopy(buffer, n, buffer, 0, count);
+                } else if (buffer.length > READ_LIMIT) {
+                    // release the memory used while the client was slow
+                    buffer = new byte[INITIAL_OUTPUT];
+                }
+            }
+
+            @Override
+            public void close() {
+                Client.this.close();
+            }
+        }
+    }
+}
@@ -11,19 +11,31 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Calendar;
 import java.util.Date;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.swing.JFileChooser;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import jmri.util.FileUtil;
 import jmri.util.JmriLocalEntityResolver;
 import jmri.util.NoArchiveFileFilter;
+import org.apache.xerces.impl.xs.XSDDescription;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.jdom2.Attribute;
 import org.jdom2.Comment;
 import org.jdom2.Content;
 import org.jdom2.DocType;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
 import org.jdom2.ProcessingInstruction;
 import org.jdom2.input.SAXBuilder;
+import org.jdom2.input.StAXStreamBuilder;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
 import org.slf4j.Logger;
@@ -48,6 +60,12 @@ import org.slf4j.LoggerFactory;
  *   <li>Finally, the static call to create a builder can be invoked with a
  * validation specification.
  * </ul>
+ * <p>
+ * The schemas used to validate files are compiled once and shared by
+ * all builders, keyed by their location, so reading many files against the
+ * same schema, like the decoder definitions or the roster entries, only
+ * compiles that schema once. Builders that don't validate are reused by each
+ * thread.
  *
  * @author Bob Jacobsen Copyright (C) 2001, 2002, 2007, 2012, 2014
  */
@@ -190,13 +208,148 @@ public abstract class XmlFile {
     protected Element getRoot(InputStream stream) throws JDOMException, IOException {
         log.trace("getRoot from stream");
 
-        SAXBuilder builder = getBuilder(getValidate());
+        // reuse this thread's idle builder if not validating; a validating
+        // parser keeps the schemas of the last file it read by namespace, and
+        // would check the next against them
+        Validate v = getValidate();
+        SAXBuilder builder = null;
+        if (v == Validate.None) {
+            builder = idleBuilder.get();
+            idleBuilder.remove();   // so a read nested within another gets its own
+        }
+        if (builder == null) {
+            builder = getBuilder(v);
+        }
         Document doc = builder.build(new BufferedInputStream(stream));
+        if (v == Validate.None) {
+            idleBuilder.set(builder);
+        }
         doc = processInstructions(doc);  // handle any process instructions
         // find root
         return doc.getRootElement();
     }
 
+    /**
+     * Read the first element with a given name from an XML file, without
+     * building the rest of the document. The file is read no further than the
+     * end of that element, or, if its content isn't wanted, its start.
+     * <p>
+     * The file is streamed rather than validated, so schema default values are
+     * not provided and XInclude elements are not processed; this is for
+     * reading a little of a large file whose content is complete as written,
+     * like the version of a decoder index.
+     *
+     * @param name        Filename, as needed by {@link #findFile}
+     * @param elementName the name of the element
+     * @param content     true to include the content of the element; false
+     *                    for just the element and its attributes
+     * @return the element, or null if there is none in the file
+     * @throws org.jdom2.JDOMException       if the file is not well-formed XML
+     * @throws java.io.FileNotFoundException if file not found
+     */
+    @CheckForNull
+    public Element elementFromName(String name, String elementName, boolean content) throws JDOMException, IOException {
+        File fp = findFile(name);
+        if (fp != null && fp.exists() && fp.canRead()) {
+            log.debug("readElement: {} from {}", name, fp.getAbsolutePath());
+            try (FileInputStream fs = new FileInputStream(fp)) {
+                return getElement(fs, elementName, content);
+            }
+        }
+        URL resource = FileUtil.findURL(name);
+        if (resource != null) {
+            return elementFromURL(resource, elementName, content);
+        } else {
+            if (!name.startsWith("xml")) {
+                return elementFromName("xml" + File.separator + name, elementName, content);
+            }
+            log.warn("Did not find file or resource {}", name);
+            throw new FileNotFoundException("Did not find file or resource " + name);
+        }
+    }
+
+    /**
+     * Read the first element with a given name from a URL, without building
+     * the rest of the document.
+     *
+     * @param url         URL locating the data file
+     * @param elementName the name of the element
+     * @param content     true to include the content of the element; false
+     *                    for just the element and its attributes
+     * @return the element, or null if there is none in the file
+     * @throws org.jdom2.JDOMException if the file is not well-formed XML
+     * @throws FileNotFoundException   if file not found
+     * @see #elementFromName(String, String, boolean)
+     */
+    @CheckForNull
+    public Element elementFromURL(URL url, String elementName, boolean content) throws JDOMException, IOException {
+        log.debug("reading element from URL: {}", url);
+        try (InputStream stream = url.openConnection().getInputStream()) {
+            return getElement(stream, elementName, content);
+        }
+    }
+
+    /**
+     * Get the first element with a given name from an XML document in a
+     * stream, reading no more of the stream than needed.
+     *
+     * @param stream      input containing the XML document
+     * @param elementName the name of the element
+     * @param content     true to include the content of the element; false
+     *                    for just the element and its attributes
+     * @return the element, or null if there is none in the document
+     * @throws org.jdom2.JDOMException if the XML document is not well-formed
+     * @throws java.io.IOException     if the input cannot be read
+     */
+    @CheckForNull
+    protected Element getElement(InputStream stream, String elementName, boolean content) throws JDOMException, IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new BufferedInputStream(stream));
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && elementName.equals(reader.getLocalName())) {
+                    if (content) {
+                        return (Element) new StAXStreamBuilder().fragment(reader);
+                    }
+                    Element element = new Element(reader.getLocalName(),
+                            namespace(reader.getPrefix(), reader.getNamespaceURI()));
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        element.setAttribute(new Attribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i),
+                                namespace(reader.getAttributePrefix(i), reader.getAttributeNamespace(i))));
+                    }
+                    return element;
+                }
+            }
+            return null;
+        } catch (XMLStreamException ex) {
+            throw new JDOMException(ex.getMessage(), ex);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ex) {
+                    log.debug("error closing XML stream", ex);
+                }
+            }
+        }
+    }
+
+    private static Namespace namespace(String prefix, String uri) {
+        if (uri == null || uri.isEmpty()) {
+            return Namespace.NO_NAMESPACE;
+        }
+        return Namespace.getNamespace(prefix == null ? "" : prefix, uri);
+    }
+
+    // streamed reads don't read DTDs or external entities
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+
+    static {
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
     /**
      * Write a File as XML.
      *
@@ -695,9 +848,83 @@ public abstract class XmlFile {
         // allow Java character encodings
         builder.setFeature("http://apache.org/xml/features/allow-java-encodings", true);
 
+        // share compiled schemas
+        builder.setProperty("http://apache.org/xml/properties/internal/grammar-pool", grammarPool);
+
         return builder;
     }
 
+    /**
+     * Discard the compiled schemas shared by all builders, so that
+     * they are read again when next used; for use when they change while the
+     * program is running.
+     */
+    public static void clearGrammarCache() {
+        grammarPool.clear();
+    }
+
+    // non-validating builder ready for reuse by each thread
+    private static final ThreadLocal<SAXBuilder> idleBuilder = new ThreadLocal<>();
+
+    private static final XMLGrammarPoolImpl grammarPool = new LocationGrammarPool();
+
+    /**
+     * Pool of compiled schemas in which each is found by its location.
+     * <p>
+     * Xerces normally finds a schema by its target namespace, and would check
+     * a file against any schema with the same namespace already used; JMRI's
+     * schemas are all in no namespace, so each is kept by the location it was
+     * read from, and is only found for a file naming that location. Schemas
+     * are not given to the parser before it asks for them for the same
+     * reason. DTDs, which Xerces may match by their root element alone, are
+     * not kept.
+     */
+    private static class LocationGrammarPool extends XMLGrammarPoolImpl {
+
+        @Override
+        public Grammar[] retrieveInitialGrammarSet(String grammarType) {
+            return new Grammar[0];
+        }
+
+        @Override
+        public void cacheGrammars(String grammarType, Grammar[] grammars) {
+            if (XMLGrammarDescription.XML_SCHEMA.equals(grammarType)) {
+                super.cacheGrammars(grammarType, grammars);
+            }
+        }
+
+        @Override
+        public void putGrammar(Grammar grammar) {
+            if (grammar.getGrammarDescription() instanceof XSDDescription) {
+                super.putGrammar(grammar);
+            }
+        }
+
+        @Override
+        public Grammar retrieveGrammar(XMLGrammarDescription desc) {
+            return (desc instanceof XSDDescription ? super.retrieveGrammar(desc) : null);
+        }
+
+        @Override
+        public boolean equals(XMLGrammarDescription desc1, XMLGrammarDescription desc2) {
+            String location = location(desc1);
+            return location != null && location.equals(location(desc2))
+                    && super.equals(desc1, desc2);  // and namespace
+        }
+
+        @Override
+        public int hashCode(XMLGrammarDescription desc) {
+            String location = location(desc);
+            return super.hashCode(desc) ^ (location != null ? location.hashCode() : 0);
+        }
+
+        private static String location(XMLGrammarDescription desc) {
+            // a schema being looked up by an import may not have been
+            // expanded yet, but its literal location is absolute in JMRI files
+            return (desc.getExpandedSystemId() != null ? desc.getExpandedSystemId() : desc.getLiteralSystemId());
+        }
+    }
+
     // initialize logging
     private static final Logger log = LoggerFactory.getLogger(XmlFile.class);
 
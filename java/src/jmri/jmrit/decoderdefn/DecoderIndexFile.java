@@ -329,10 +329,11 @@ public class DecoderIndexFile extends XmlFile {
             return false;
         }
         log.debug("checking for master file at {}", masterFile);
-        Element masterRoot = masterXmlFile.rootFromURL(masterFile);
-        if (masterRoot.getChild(DECODER_INDEX) != null) {
-            if (masterRoot.getChild(DECODER_INDEX).getAttribute(VERSION) != null) {
-                masterVersion = masterRoot.getChild(DECODER_INDEX).getAttribute(VERSION).getValue();
+        // only the version is needed, so don't read the whole index
+        Element masterIndex = masterXmlFile.elementFromURL(masterFile, DECODER_INDEX, false);
+        if (masterIndex != null) {
+            if (masterIndex.getAttribute(VERSION) != null) {
+                masterVersion = masterIndex.getAttribute(VERSION).getValue();
             }
             log.debug("master version found, is {}", masterVersion);
         } else {
@@ -345,10 +346,10 @@ public class DecoderIndexFile extends XmlFile {
         String userVersion = null;
         DecoderIndexFile userXmlFile = new DecoderIndexFile();
         log.debug("checking for user file at {}", defaultDecoderIndexFilename());
-        Element userRoot = userXmlFile.rootFromName(defaultDecoderIndexFilename());
-        if (userRoot.getChild(DECODER_INDEX) != null) {
-            if (userRoot.getChild(DECODER_INDEX).getAttribute(VERSION) != null) {
-                userVersion = userRoot.getChild(DECODER_INDEX).getAttribute(VERSION).getValue();
+        Element userIndex = userXmlFile.elementFromName(defaultDecoderIndexFilename(), DECODER_INDEX, false);
+        if (userIndex != null) {
+            if (userIndex.getAttribute(VERSION) != null) {
+                userVersion = userIndex.getAttribute(VERSION).getValue();
             }
             log.debug("user version found, is {}", userVersion);
         }
@@ -3,6 +3,11 @@ package jmri.jmrit.dispatcher;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
 import jmri.Block;
 import jmri.BlockManager;
 import jmri.DccLocoAddress;
@@ -13,6 +18,7 @@ import jmri.Section;
 import jmri.Sensor;
 import jmri.SignalHead;
 import jmri.SignalMast;
+import jmri.Throttle;
 import jmri.ThrottleListener;
 import jmri.Timebase;
 import jmri.Turnout;
@@ -94,12 +100,12 @@ public class AutoActiveTrain implements ThrottleListener {
     private ActiveTrain _activeTrain = null;
     private AutoTrainAction _autoTrainAction = null;
     private DccThrottle _throttle = null;
-    private AutoEngineer _autoEngineer = null;
+    private volatile AutoEngineer _autoEngineer = null;
     private int _address = -1;
-    private boolean _forward = true;
-    private float _targetSpeed = 0.0f;
+    private volatile boolean _forward = true;
+    private volatile float _targetSpeed = 0.0f;
     private int _savedStatus = ActiveTrain.RUNNING;
-    private int _currentRampRate = RAMP_NONE; // current Ramp Rate
+    private volatile int _currentRampRate = RAMP_NONE; // current Ramp Rate
     private boolean _pausingActive = false;   // true if train pausing thread is active
 
     // persistent instance variables (saved with train info)
@@ -133,6 +139,7 @@ public class AutoActiveTrain implements ThrottleListener {
 
     public void setForward(boolean set) {
         _forward = set;
+        wakeEngineer();
     }
 
     public synchronized float getTargetSpeed() {
@@ -144,6 +151,7 @@ public class AutoActiveTrain implements ThrottleListener {
         if (speed > 0.002) {
             _autoEngineer.slowToStop(false);
         }
+        wakeEngineer();
     }
 
     public int getSavedStatus() {
@@ -156,6 +164,7 @@ public class AutoActiveTrain implements ThrottleListener {
 
     public synchronized void setCurrentRampRate(int rate) {
         _currentRampRate = rate;
+        wakeEngineer();
     }
 
     public int getRampRate() {
@@ -165,6 +174,7 @@ public class AutoActiveTrain implements ThrottleListener {
     public void setRampRate(int rate) {
         _rampRate = rate;
         _currentRampRate = rate;
+        wakeEngineer();
     }
 
     public float getSpeedFactor() {
@@ -198,6 +208,7 @@ public class AutoActiveTrain implements ThrottleListener {
     public void setRunInReverse(boolean set) {
         _runInReverse = set;
         _forward = !_runInReverse;
+        wakeEngineer();
     }
 
     public boolean getSoundDecoder() {
@@ -322,8 +333,8 @@ public class AutoActiveTrain implements ThrottleListener {
         if (_autoEngineer != null) {
             log.error("Second Trottle for same loco[{}] - ignoring", _address);
         } else {
-            _autoEngineer = new AutoEngineer();
-            jmri.util.ThreadingUtil.newThread(_autoEngineer, "Auto Engineer " + _address).start();
+            DispatcherFrame dispatcher = InstanceManager.getDefault(DispatcherFrame.class);
+            startAutoEngineer(_throttle, dispatcher.getMinThrottleInterval(), dispatcher.getFullRampTime());
             _activeTrain.setMode(ActiveTrain.AUTOMATIC);
             if (_resumingAutomatic) {
                 _resumingAutomatic = false;
@@ -346,6 +357,20 @@ public class AutoActiveTrain implements ThrottleListener {
         }
     }
 
+    /**
+     * Start an auto engineer running a throttle.
+     *
+     * @param t            the throttle
+     * @param interval     minimum throttle interval, ms
+     * @param fullRampTime time to ramp from stop to full speed, ms
+     */
+    void startAutoEngineer(DccThrottle t, int interval, int fullRampTime) {
+        _throttle = t;
+        _autoEngineer = new AutoEngineer(interval, fullRampTime);
+        _autoEngineer.start();
+        trainStateChanged();
+    }
+
     protected DccThrottle getThrottle() {
         return _throttle;
     }
@@ -409,17 +434,95 @@ public class AutoActiveTrain implements ThrottleListener {
     protected void restoreSavedSpeedAndDirection() {
         _targetSpeed = _savedSpeed;
         _forward = _savedForward;
+        wakeEngineer();
     }
 
     // keeps track of number of horn execution threads that are active
     private int _activeHornThreads = 0;
 
     protected void decrementHornExecution() {
-        _activeHornThreads--;
+        synchronized (_trainState) {
+            _activeHornThreads--;
+        }
+        trainStateChanged();
     }
 
     protected void incrementHornExecution() {
-        _activeHornThreads++;
+        synchronized (_trainState) {
+            _activeHornThreads++;
+        }
+    }
+
+    // notified when the train starts, stops or reaches its speed, when the
+    // auto engineer is replaced and when a horn execution ends
+    private final Object _trainState = new Object();
+    private final List<Runnable> _stopActions = new ArrayList<>();
+
+    /**
+     * Let the auto engineer act on a change of target speed, direction or
+     * ramp rate.
+     */
+    private void wakeEngineer() {
+        AutoEngineer engineer = _autoEngineer;
+        if (engineer != null) {
+            engineer.wake();
+        }
+    }
+
+    /**
+     * Wake threads waiting in {@link #waitForTrain(BooleanSupplier)}, and run
+     * the actions waiting for the train to stop if it has.
+     */
+    private void trainStateChanged() {
+        synchronized (_trainState) {
+            _trainState.notifyAll();
+            if (_stopActions.isEmpty()) {
+                return;
+            }
+        }
+        AutoEngineer engineer = _autoEngineer;
+        if (engineer == null || !engineer.isStopped()) {
+            return;
+        }
+        List<Runnable> actions;
+        synchronized (_trainState) {
+            if (_stopActions.isEmpty()) {
+                return;
+            }
+            actions = new ArrayList<>(_stopActions);
+            _stopActions.clear();
+        }
+        AutoTrainScheduler scheduler = InstanceManager.getDefault(AutoTrainScheduler.class);
+        actions.forEach(scheduler::execute);
+    }
+
+    /**
+     * Wait until a condition on the train holds. The condition is checked
+     * when the train starts, stops or reaches its speed, when the auto
+     * engineer is replaced, and when a horn execution ends.
+     *
+     * @param condition the condition
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    protected void waitForTrain(BooleanSupplier condition) throws InterruptedException {
+        synchronized (_trainState) {
+            while (!condition.getAsBoolean()) {
+                _trainState.wait();
+            }
+        }
+    }
+
+    /**
+     * Run an action, which may wait, once the train has stopped under
+     * automatic control.
+     *
+     * @param action the action
+     */
+    void runWhenStopped(Runnable action) {
+        synchronized (_trainState) {
+            _stopActions.add(action);
+        }
+        trainStateChanged();
     }
 
     //
@@ -575,6 +678,7 @@ public class AutoActiveTrain implements ThrottleListener {
             _forward = !_activeTrain.isTransitReversed();
         }
         log.debug("flipping direction was [{}] now [{}]",_forward,oldFwd);
+        wakeEngineer();
     }
 
     protected AllocatedSection getCurrentAllocatedSection() {
@@ -694,6 +798,7 @@ public class AutoActiveTrain implements ThrottleListener {
                 sh.addPropertyChangeListener(_conSignalListener = (PropertyChangeEvent e) -> {
                     if (e.getPropertyName().equals("Appearance")) {
                         // controlling signal has changed appearance
+                        _signalLatency.signalChanged();
                         setSpeedBySignal();
                         if (_stoppingForStopSignal && (_targetSpeed > 0.0)) {
                             cancelStopInCurrentSection();
@@ -738,6 +843,7 @@ public class AutoActiveTrain implements ThrottleListener {
                     if (e.getPropertyName().equals("Aspect") || e.getPropertyName().equals("Held")) {
                         // controlling signal has changed appearance or a hold has been released
                         // even if its a hold we still have to use target speed etc else we override pauses and other stop events.
+                        _signalLatency.signalChanged();
                         setSpeedBySignal();
                         if (_stoppingForStopSignal && (_targetSpeed > 0.0)) {
                             cancelStopInCurrentSection();
@@ -1328,9 +1434,10 @@ public class AutoActiveTrain implements ThrottleListener {
         }
         // even if no task is required it must be run
         // as cleanup happens after train stops.
-        Runnable waitForStop = new WaitForTrainToStop(task);
-        Thread tWait = jmri.util.ThreadingUtil.newThread(waitForStop, "Wait for stop " + getActiveTrain().getActiveTrainName());
-        tWait.start();
+        runWhenStopped(() -> {
+            log.trace("executing task[{}]", task);
+            executeStopTasks(task);
+        });
     }
 
     protected synchronized void executeStopTasks(int task) {
@@ -1473,6 +1580,7 @@ public class AutoActiveTrain implements ThrottleListener {
     private synchronized void setToAMaximumThrottle(float throttleSetting) {
         if (throttleSetting < _targetSpeed) {
             _targetSpeed = throttleSetting;
+            wakeEngineer();
         }
     }
 
@@ -1534,6 +1642,7 @@ public class AutoActiveTrain implements ThrottleListener {
         } else {
             _autoEngineer.setHalt(true);
         }
+        wakeEngineer();
     }
 
     private synchronized void setTargetSpeedByProfile(float speedState) {
@@ -1561,6 +1670,7 @@ public class AutoActiveTrain implements ThrottleListener {
                 _targetSpeed = -1.0f;
                 _autoEngineer.setHalt(true);
             }
+            wakeEngineer();
         }
 
     /**
@@ -1587,6 +1697,7 @@ public class AutoActiveTrain implements ThrottleListener {
             _targetSpeed = 0.0f;
             _autoEngineer.setHalt(true);
         }
+        wakeEngineer();
     }
 
     private int getBlockLength(Block b) {
@@ -1618,6 +1729,7 @@ public class AutoActiveTrain implements ThrottleListener {
                 InstanceManager.throttleManagerInstance().releaseThrottle(_throttle, this);
                 _autoEngineer = null;
                 _throttle = null;
+                trainStateChanged();
             }
         }
     }
@@ -1629,21 +1741,19 @@ public class AutoActiveTrain implements ThrottleListener {
      * current autoActiveTrain thread.
      */
     protected void waitUntilStopped() {
-        boolean doneWaiting = false;
-        while (!doneWaiting) {
-            if (_autoEngineer != null) {
-                doneWaiting = _autoEngineer.isStopped();
-            } else {
-                doneWaiting = true;
-            }
-            if (!doneWaiting) {
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    // ignore this exception
-                }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                waitForTrain(() -> (_autoEngineer == null) || _autoEngineer.isStopped());
+                break;
+            } catch (InterruptedException e) {
+                // keep waiting, and pass the interrupt on afterwards
+                interrupted = true;
             }
         }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -1683,25 +1793,19 @@ public class AutoActiveTrain implements ThrottleListener {
 
     public void terminate() {
         // here add code to stop the train and release its throttle if it is in autoRun
-        while (_activeHornThreads > 0) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                // ignore this exception
-            }
+        try {
+            waitForTrain(() -> _activeHornThreads <= 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
         _autoTrainAction.clearRemainingActions();
         if (_autoEngineer != null) {
             _autoEngineer.setHalt(true);
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                // ignore this exception
-            }
             waitUntilStopped();
             _autoEngineer.abort();
             InstanceManager.throttleManagerInstance().releaseThrottle(_throttle, this);
         }
+        log.debug("{}: signal to throttle latency {}", _activeTrain.getTrainName(), _signalLatency);
     }
 
     public void dispose() {
@@ -1713,37 +1817,6 @@ public class AutoActiveTrain implements ThrottleListener {
     }
 
 // _________________________________________________________________________________________
-    // This class waits for train stop in a separate thread
-    class WaitForTrainToStop implements Runnable {
-
-        public WaitForTrainToStop(int task) {
-            _task = task;
-        }
-
-        @Override
-        public void run() {
-            boolean waitingOnTrain = true;
-            try {
-                while (waitingOnTrain) {
-                    if ((getAutoEngineer() != null) && (getAutoEngineer().isStopped())) {
-                        waitingOnTrain = false;
-                    } else {
-                        Thread.sleep(_delay);
-                    }
-                }
-                log.trace("executing task[{}]",_task);
-                executeStopTasks(_task);
-            } catch (InterruptedException e) {
-                log.warn("Waiting for train to stop interrupted - stop tasks not executing");
-            } catch (Exception e) {
-                log.error("Waiting for train to stop crashed - stop tasks not executing.", e);
-            }
-        }
-
-        private final int _delay = 91;
-        private int _task = 0;
-    }
-
     /**
      * Pause the train in a separate thread. Train is stopped, then restarted
      * after specified number of fast Minutes have elapsed.
@@ -1769,44 +1842,28 @@ public class AutoActiveTrain implements ThrottleListener {
             setCurrentRampRate(RAMP_FAST);
             stopInCurrentSection(NO_TASK);
             // wait for train to stop
-            boolean waitNow = true;
             boolean keepGoing = true;
-            while (waitNow) {
-                try {
-                    Thread.sleep(101);
-                    if (_autoEngineer != null) {
-                        if (_autoEngineer.isStopped()) {
-                            waitNow = false;
-                        }
-                    } else {
-                        waitNow = false;
-                    }
-                } catch (InterruptedException e) {
-                    log.error("InterruptedException while watiting to stop for pause - {}", (Object) e);
-                    waitNow = false;
-                    keepGoing = false;
-                }
+            try {
+                waitForTrain(() -> (_autoEngineer == null) || _autoEngineer.isStopped());
+            } catch (InterruptedException e) {
+                log.error("InterruptedException while watiting to stop for pause - {}", (Object) e);
+                keepGoing = false;
             }
             _activeTrain.setStatus(ActiveTrain.PAUSED);
             if (keepGoing) {
                 // wait for specified fast clock time
                 Timebase _clock = InstanceManager.getDefault(jmri.Timebase.class);
+                CountDownLatch minutes = new CountDownLatch(Math.max(_fastMinutes, 0));
                 java.beans.PropertyChangeListener _clockListener = (java.beans.PropertyChangeEvent e) -> {
-                    _fastMinutes--;
+                    minutes.countDown();
                 };
                 _clock.addMinuteChangeListener(_clockListener);
                 // wait for fast minutes to tick away
-                waitNow = true;
-                while (waitNow) {
-                    try {
-                        Thread.sleep(501);
-                        if (_fastMinutes <= 0) {
-                            waitNow = false;
-                        }
-                    } catch (InterruptedException e) {
-                        log.error("InterruptedException while waiting when paused", e);
-                        keepGoing = false;
-                    }
+                try {
+                    minutes.await();
+                } catch (InterruptedException e) {
+                    log.error("InterruptedException while waiting when paused", e);
+                    keepGoing = false;
                 }
                 _clock.removeMinuteChangeListener(_clockListener);
             }
@@ -1826,134 +1883,207 @@ public class AutoActiveTrain implements ThrottleListener {
     }
 
 // _________________________________________________________________________________________
-    // This class runs a throttle to control the train in a separate thread.
+    // This class runs a throttle to control the train.
     // (This class started from code by Pete Cressman contained in Warrant.java.)
-    class AutoEngineer implements Runnable {
+    /**
+     * Sends the throttle commands for the train. The engineer acts in steps
+     * run on the {@link AutoTrainScheduler}: a step is made when the target
+     * speed, direction, ramp rate or halt state changes, and then every
+     * minimum throttle interval while the train ramps to its target speed.
+     * When there is nothing to do no step is scheduled.
+     */
+    class AutoEngineer {
 
-        AutoEngineer() {
+        AutoEngineer(int interval, int fullRampTime) {
+            _interval = interval;
+            _fullRampTime = fullRampTime;
         }
 
         // operational instance variables and flags
         private volatile boolean _abort = false;
         private volatile boolean _halt = false;  // halt/resume from user's control
-        private boolean _halted = false; // true if previously halted
-        private boolean _slowToStop = false;
-        private float _currentSpeed = 0.0f;
+        private volatile boolean _halted = false; // true if previously halted
+        private volatile boolean _slowToStop = false;
+        private volatile float _currentSpeed = 0.0f;
         private float _speedIncrement = 0.0f; //will be recalculated
-        private boolean _speedProfileStoppingIsRunning = false; // stop by speed profile is running.
+        private volatile boolean _speedProfileStoppingIsRunning = false; // stop by speed profile is running.
+
+        // step scheduling, guarded by _stepLock
+        private final Object _stepLock = new Object();
+        private ScheduledFuture<?> _nextStep = null;
+        private boolean _started = false;
+        private boolean _woken = false;
+        private long _lastStep = 0;    // System.nanoTime() of the last step
+        private final int _interval;     // minimum throttle interval, ms
+        private final int _fullRampTime; // time to ramp from stop to full speed, ms
+
+        // added by start() and removed by abort(), before the throttle is
+        // released, as a throttle with listeners isn't disposed of
+        private final PropertyChangeListener _throttleListener = (PropertyChangeEvent e) -> {
+            if (!_abort && Throttle.SPEEDSETTING.equals(e.getPropertyName())) {
+                trainStateChanged();
+            }
+        };
 
-        @Override
-        public void run() {
+        /**
+         * Set the direction, then the speed, and begin acting on changes.
+         */
+        void start() {
             _abort = false;
-            setHalt(false);
-            slowToStop(false);
-            DispatcherFrame dispatcher = InstanceManager.getDefault(DispatcherFrame.class);
-
+            _halt = false;
+            _halted = false;
+            _slowToStop = false;
             //calculate speed increment to use in each minInterval time
-            _speedIncrement = (100.0f / ((float) dispatcher.getFullRampTime() / dispatcher.getMinThrottleInterval())
+            _speedIncrement = (100.0f / ((float) _fullRampTime / _interval)
                     / _currentRampRate) / 100.0f;
             log.debug("{}: _speedIncrement={}", _activeTrain.getTrainName(), _speedIncrement);
 
             // send direction to train
             log.debug("{}: AutoEngineer.setIsForward({})", _activeTrain.getTrainName(), _forward);
+            _throttle.addPropertyChangeListener(_throttleListener);
             _throttle.setIsForward(_forward);
 
             // Give command station a chance to handle direction command
-            try {
-                Thread.sleep(dispatcher.getMinThrottleInterval() * 2);
-            } catch (InterruptedException ex) {
-                log.warn("Someones shutting us down");
-                _abort = true;
-            }
-            _throttle.setSpeedSetting(_currentSpeed);
-            // this is the running loop, which adjusts speeds, including stop
-            while (!_abort) {
-                // always get current speed
-                // _currentSpeed = _throttle.getSpeedSetting();
-                if (_halt && !_halted) {
-                    if (_speedProfileStoppingIsRunning) {
-                        re.getSpeedProfile().cancelSpeedChange();
-                        _speedProfileStoppingIsRunning = false;
+            synchronized (_stepLock) {
+                _started = true;
+                _lastStep = System.nanoTime();
+                _nextStep = InstanceManager.getDefault(AutoTrainScheduler.class).schedule(() -> {
+                    if (!_abort) {
+                        _throttle.setSpeedSetting(_currentSpeed);
+                        step();
                     }
+                }, _interval * 2L);
+            }
+        }
+
+        /**
+         * Make a step as soon as the minimum throttle interval allows, to act
+         * on a change.
+         */
+        void wake() {
+            synchronized (_stepLock) {
+                _woken = true;
+                if (_started && _nextStep == null && !_abort) {
+                    long wait = _interval - (System.nanoTime() - _lastStep) / 1000000;
+                    _nextStep = InstanceManager.getDefault(AutoTrainScheduler.class).schedule(this::step, wait);
+                }
+            }
+        }
+
+        private void step() {
+            synchronized (_stepLock) {
+                _woken = false;
+                _lastStep = System.nanoTime();
+            }
+            long delay = -1;
+            try {
+                if (!_abort) {
+                    delay = act();
+                }
+            } catch (RuntimeException e) {
+                log.error("{}: auto engineer step failed", _activeTrain.getTrainName(), e);
+            }
+            trainStateChanged();
+            synchronized (_stepLock) {
+                if (_abort) {
+                    _nextStep = null;
+                } else if (delay >= 0 || _woken) {
+                    _nextStep = InstanceManager.getDefault(AutoTrainScheduler.class).schedule(this::step,
+                            delay >= 0 ? delay : _interval);
+                } else {
+                    _nextStep = null;
+                }
+            }
+        }
+
+        /**
+         * Adjust the speed, including stop, and direction once.
+         *
+         * @return time in milliseconds until the next step is needed, or -1
+         *         if none is needed until something changes
+         */
+        private long act() {
+            // always get current speed
+            // _currentSpeed = _throttle.getSpeedSetting();
+            if (_halt && !_halted) {
+                if (_speedProfileStoppingIsRunning) {
+                    re.getSpeedProfile().cancelSpeedChange();
+                    _speedProfileStoppingIsRunning = false;
+                }
+                _throttle.setSpeedSetting(0.0f);
+                _signalLatency.commandSent();
+                _currentSpeed = 0.0f;
+                _targetSpeed = 0.0f;
+                _halted = true;
+                return _interval;
+            } else if (_slowToStop) {
+                // this only sets to speed zero, stop
+                if (useSpeedProfile && !_speedProfileStoppingIsRunning) {
+                    re.getSpeedProfile().setExtraInitialDelay(1500f);
+                    re.getSpeedProfile().changeLocoSpeed(_throttle, _currentBlock, 0,
+                            _stopBySpeedProfileAdjust);
+                    _signalLatency.commandSent();
+                    _speedProfileStoppingIsRunning = true;
+                    _targetSpeed = 0.0f;
+                    return _interval;
+                } else if (!_speedProfileStoppingIsRunning && (!_halted || _currentSpeed != 0.0f)) {
                     _throttle.setSpeedSetting(0.0f);
+                    _signalLatency.commandSent();
                     _currentSpeed = 0.0f;
                     _targetSpeed = 0.0f;
                     _halted = true;
-                } else if (_slowToStop) {
-                    // this only sets to speed zero, stop
-                    if (useSpeedProfile && !_speedProfileStoppingIsRunning) {
-                        re.getSpeedProfile().setExtraInitialDelay(1500f);
-                        re.getSpeedProfile().changeLocoSpeed(_throttle, _currentBlock, 0,
-                                _stopBySpeedProfileAdjust);
-                        _speedProfileStoppingIsRunning = true;
-                        _targetSpeed = 0.0f;
-                    } else if (!_speedProfileStoppingIsRunning) {
-                        _throttle.setSpeedSetting(0.0f);
-                        _currentSpeed = 0.0f;
-                        _targetSpeed = 0.0f;
-                        _halted = true;
-                    }
-                } else if (!_halt) {
-                    // check for cancel speed profile
-                    if (_speedProfileStoppingIsRunning) {
-                        re.getSpeedProfile().cancelSpeedChange();
-                        _speedProfileStoppingIsRunning = false;
-                        // and do one loop to take effect
+                    return _interval;
+                }
+            } else if (!_halt) {
+                // check for cancel speed profile
+                if (_speedProfileStoppingIsRunning) {
+                    re.getSpeedProfile().cancelSpeedChange();
+                    _speedProfileStoppingIsRunning = false;
+                    // and do one step to take effect
+                    return _interval;
+                }
+                // change direction if needed
+                if (_throttle.getIsForward() != _forward) {
+                    log.debug("AutoEngineer.setIsForward({}), was {} for {}", _forward,
+                            _throttle.getIsForward(), _throttle.getLocoAddress());
+                    _throttle.setIsForward(_forward);
+                    // Give command station a chance to handle reversing.
+                    return _interval * 2L;
+                }
+                // test if need to change speed
+                if (java.lang.Math.abs(_currentSpeed - _targetSpeed) > 0.001) {
+                    if (_currentRampRate == RAMP_NONE) {
+                        // set speed immediately
+                        _currentSpeed = _targetSpeed;
+                        _throttle.setSpeedSetting(_currentSpeed);
                     } else {
-                        // change direction if needed
-                        if (_throttle.getIsForward() != _forward) {
-                            log.debug("AutoEngineer.setIsForward({}), was {} for {}", _forward,
-                                    _throttle.getIsForward(), _throttle.getLocoAddress());
-                            _throttle.setIsForward(_forward);
-
-                            // Give command station a chance to handle reversing.
-                            try {
-                                Thread.sleep(dispatcher.getMinThrottleInterval() * 2);
-                            } catch (InterruptedException ex) {
-                                log.warn("Someones shutting us down");
-                                _abort = true;
+                        if (_currentSpeed < _targetSpeed) {
+                            _currentSpeed += _speedIncrement;
+                            if (_currentSpeed >= _targetSpeed) {
+                                _currentSpeed = _targetSpeed;
                             }
-                        }
-                        // test if need to change speed
-                        if (java.lang.Math.abs(_currentSpeed - _targetSpeed) > 0.001) {
-                            if (_currentRampRate == RAMP_NONE) {
-                                // set speed immediately
+                        } else {
+                            _currentSpeed -= _speedIncrement;
+                            if (_currentSpeed <= _targetSpeed) {
                                 _currentSpeed = _targetSpeed;
-                                _throttle.setSpeedSetting(_currentSpeed);
-                            } else {
-                                if (_currentSpeed < _targetSpeed) {
-                                    _currentSpeed += _speedIncrement;
-                                    if (_currentSpeed >= _targetSpeed) {
-                                        _currentSpeed = _targetSpeed;
-                                    }
-                                } else {
-                                    _currentSpeed -= _speedIncrement;
-                                    if (_currentSpeed <= _targetSpeed) {
-                                        _currentSpeed = _targetSpeed;
-                                    }
-                                }
-                                _throttle.setSpeedSetting(_currentSpeed);
-                                log.trace("_currentSpeed:{}", _currentSpeed);
-                            } //ramping
-                        } //if currentSpeed != targetSpeed
-                    }
-                }
-                // Give other threads a chance to work
-                try {
-                    Thread.sleep(dispatcher.getMinThrottleInterval());
-                } catch (InterruptedException ex) {
-                    log.warn("Someones shutting us down");
-                    _abort = true;
-                }
-            } //while !abort
-              // shut down
+                            }
+                        }
+                        _throttle.setSpeedSetting(_currentSpeed);
+                        log.trace("_currentSpeed:{}", _currentSpeed);
+                    } //ramping
+                    _signalLatency.commandSent();
+                    return _interval;
+                } //if currentSpeed != targetSpeed
+            }
+            return -1;
         }
 
         public synchronized void slowToStop(boolean toStop) {
             _slowToStop = toStop;
             if (!toStop) {
                 setHalt(toStop);
-             }
+            }
+            wake();
         }
 
         /**
@@ -1966,6 +2096,7 @@ public class AutoActiveTrain implements ThrottleListener {
             if (!_halt) {
                 _halted = false;
             }
+            wake();
         }
 
         /**
@@ -1977,6 +2108,7 @@ public class AutoActiveTrain implements ThrottleListener {
             log.trace("{}: setting speed directly to {}%", _activeTrain.getTrainName(), (int) (speed * 100));
             _targetSpeed = speed;
             _currentSpeed = speed + _speedIncrement; // close enough to force change, but skip ramping
+            wake();
         }
 
         /**
@@ -2004,6 +2136,15 @@ public class AutoActiveTrain implements ThrottleListener {
          */
         public void abort() {
             _abort = true;
+            synchronized (_stepLock) {
+                if (_nextStep != null) {
+                    _nextStep.cancel(false);
+                    _nextStep = null;
+                }
+            }
+            if (_throttle != null) {
+                _throttle.removePropertyChangeListener(_throttleListener);
+            }
         }
 
         protected void setFunction(int cmdNum, boolean isSet) {
@@ -2011,6 +2152,71 @@ public class AutoActiveTrain implements ThrottleListener {
         }
     }
 
+    private final SignalLatency _signalLatency = new SignalLatency();
+
+    /**
+     * @return the times from changes of the controlling signal to the
+     *         throttle commands that followed them
+     */
+    public SignalLatency getSignalLatency() {
+        return _signalLatency;
+    }
+
+    /**
+     * Records the time from a change of the controlling signal to the next
+     * throttle command the auto engineer sends.
+     */
+    public static final class SignalLatency {
+
+        private long _changed = 0;  // System.nanoTime() of a change not yet followed by a command
+        private long _count = 0;
+        private long _totalNanos = 0;
+        private long _maxNanos = 0;
+
+        synchronized void signalChanged() {
+            if (_changed == 0) {
+                _changed = System.nanoTime();
+            }
+        }
+
+        synchronized void commandSent() {
+            if (_changed != 0) {
+                long latency = System.nanoTime() - _changed;
+                _changed = 0;
+                _count++;
+                _totalNanos += latency;
+                _maxNanos = Math.max(_maxNanos, latency);
+            }
+        }
+
+        /**
+         * @return number of signal changes followed by a throttle command
+         */
+        public synchronized long getCount() {
+            return _count;
+        }
+
+        /**
+         * @return mean latency in milliseconds
+         */
+        public synchronized float getMeanLatency() {
+            return _count == 0 ? 0 : _totalNanos / (_count * 1000000f);
+        }
+
+        /**
+         * @return largest latency in milliseconds
+         */
+        public synchronized float getMaxLatency() {
+            return _maxNanos / 1000000f;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d commands, mean latency %.1fms, max latency %.1fms",
+                    _count, getMeanLatency(), getMaxLatency());
+        }
+    }
+
     /**
      * Convert ramp rate name, stored as a string into the constant value
      * assigned.
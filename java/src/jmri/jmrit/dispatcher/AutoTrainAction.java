@@ -616,57 +616,33 @@ public class AutoTrainAction {
         @Override
         public void run() {
             if (_tsa != null) {
-                boolean waitingOnTrain = true;
-                if (_tsa.getWhenCode() == TransitSectionAction.TRAINSTOP) {
-                    try {
-                        while (waitingOnTrain) {
-                            if ((_autoActiveTrain.getAutoEngineer() != null)
-                                    && (_autoActiveTrain.getAutoEngineer().isStopped())) {
-                                waitingOnTrain = false;
-                            } else {
-                                Thread.sleep(_delay);
-                            }
-                        }
+                try {
+                    if (_tsa.getWhenCode() == TransitSectionAction.TRAINSTOP) {
+                        _autoActiveTrain.waitForTrain(this::isStopped);
                         executeAction(_tsa);
-                    } catch (InterruptedException e) {
-                        // interrupting will cause termination without executing the action      
-                    }
-                } else if (_tsa.getWhenCode() == TransitSectionAction.TRAINSTART) {
-                    if ((_autoActiveTrain.getAutoEngineer() != null)
-                            && (!_autoActiveTrain.getAutoEngineer().isStopped())) {
+                    } else if (_tsa.getWhenCode() == TransitSectionAction.TRAINSTART) {
                         // if train is not currently stopped, wait for it to stop
-                        boolean waitingForStop = true;
-                        try {
-                            while (waitingForStop) {
-                                if ((_autoActiveTrain.getAutoEngineer() != null)
-                                        && (_autoActiveTrain.getAutoEngineer().isStopped())) {
-                                    waitingForStop = false;
-                                } else {
-                                    Thread.sleep(_delay);
-                                }
-                            }
-                        } catch (InterruptedException e) {
-                            // interrupting will cause termination without executing the action      
-                        }
-                    }
-                    // train is stopped, wait for it to start 
-                    try {
-                        while (waitingOnTrain) {
-                            if ((_autoActiveTrain.getAutoEngineer() != null)
-                                    && (!_autoActiveTrain.getAutoEngineer().isStopped())) {
-                                waitingOnTrain = false;
-                            } else {
-                                Thread.sleep(_delay);
-                            }
-                        }
+                        _autoActiveTrain.waitForTrain(() -> !isMoving());
+                        // train is stopped, wait for it to start
+                        _autoActiveTrain.waitForTrain(this::isMoving);
                         executeAction(_tsa);
-                    } catch (InterruptedException e) {
-                        // interrupting will cause termination without executing the action      
                     }
+                } catch (InterruptedException e) {
+                    // interrupting will cause termination without executing the action
                 }
             }
         }
-        private int _delay = 50;
+
+        private boolean isStopped() {
+            AutoActiveTrain.AutoEngineer engineer = _autoActiveTrain.getAutoEngineer();
+            return (engineer != null) && engineer.isStopped();
+        }
+
+        private boolean isMoving() {
+            AutoActiveTrain.AutoEngineer engineer = _autoActiveTrain.getAutoEngineer();
+            return (engineer != null) && !engineer.isStopped();
+        }
+
         private TransitSectionAction _tsa = null;
     }
 
@@ -681,10 +657,12 @@ public class AutoTrainAction {
 
         @Override
         public void run() {
-            while ((_autoActiveTrain.getAutoEngineer() != null)
-                    && (!_autoActiveTrain.getAutoEngineer().isAtSpeed())) {
+            boolean waiting = true;
+            while (waiting) {
                 try {
-                    Thread.sleep(_delay);
+                    _autoActiveTrain.waitForTrain(() -> (_autoActiveTrain.getAutoEngineer() == null)
+                            || _autoActiveTrain.getAutoEngineer().isAtSpeed());
+                    waiting = false;
                 } catch (InterruptedException e) {
                     log.error("unexpected interruption of wait for speed");
                 }
@@ -694,7 +672,6 @@ public class AutoTrainAction {
                 completedAction(_tsa);
             }
         }
-        private int _delay = 51;
         private TransitSectionAction _tsa = null;
     }
 
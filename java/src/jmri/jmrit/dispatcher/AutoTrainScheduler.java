@@ -0,0 +1,23 @@
+package jmri.jmrit.dispatcher;
+
+import jmri.InstanceManagerAutoDefault;
+import jmri.util.TaskScheduler;
+
+/**
+ * Threads shared by all automatically run trains.
+ * <p>
+ * Each {@link AutoActiveTrain.AutoEngineer} sends its throttle commands from
+ * short steps scheduled here when its target speed, direction or halt state
+ * changes and while it ramps, rather than from a thread of its own. The steps
+ * never wait, so a few threads serve any number of trains.
+ * <p>
+ * Work done when a train stops, which may wait for the train or the layout,
+ * is run by {@link #execute(Runnable)} on threads that are kept for reuse and
+ * never on the step threads.
+ */
+public class AutoTrainScheduler extends TaskScheduler implements InstanceManagerAutoDefault {
+
+    public AutoTrainScheduler() {
+        super("Auto Train Scheduler"); // NOI18N
+    }
+}
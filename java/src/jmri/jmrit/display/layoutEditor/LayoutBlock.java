@@ -289,7 +289,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
      * Redraw panels using this layout block.
      */
     public void redrawLayoutBlockPanels() {
-        panels.stream().forEach(LayoutEditor::redrawPanel);
+        panels.stream().forEach(panel -> panel.redrawLayoutBlock(this));
         firePropertyChange("redraw", null, null);
     }
 
@@ -1533,7 +1533,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 } else {
                     route = new Routes(addBlock, this.getBlock(), 1, direction, 0, 0);
                 }
-                routes.add(route);
+                addRoute(route);
             }
 
             if (blk != null) {
@@ -1569,7 +1569,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                             if ((ro.getDestBlock() == addBlock)
                                     && (ro.getNextBlock() == this.getBlock())) {
                                 adj.removeRouteAdvertisedToNeighbour(ro);
-                                routes.remove(j);
+                                removeRoute(j);
                             }
                         }
                         RoutingPacket newUpdate = new RoutingPacket(REMOVAL, addBlock, -1, -1, -1, -1, getNextPacketID());
@@ -1694,7 +1694,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                     Routes ro = routes.get(j);
                     if ((ro.getDestBlock() == block) && (ro.getNextBlock() == this.getBlock())) {
                         adj.removeRouteAdvertisedToNeighbour(ro);
-                        routes.remove(j);
+                        removeRoute(j);
                     }
                 }
 
@@ -1968,7 +1968,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 if (enableDeleteRouteLogging) {
                     log.info("{} route to {} from block {} to be removed triggered by propertyChange", msgPrefix, ro.getDestBlock().getDisplayName(), ro.getNextBlock().getDisplayName());
                 }
-                routes.remove(i);
+                removeRoute(i);
                 // We only fire off routing update the once
             }
         }
@@ -1993,7 +1993,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 if (!tmpBlock.contains(ro)) {
                     tmpBlock.add(ro);
                 }
-                routes.remove(j);
+                removeRoute(j);
                 // This will need to be removed fromth directly connected
             } else if (ro.getNextBlock() == removedBlock) {
                 if (enableDeleteRouteLogging) {
@@ -2003,7 +2003,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 if (!tmpBlock.contains(ro)) {
                     tmpBlock.add(ro);
                 }
-                routes.remove(j);
+                removeRoute(j);
                 // This will also need to be removed from the directly connected list as well.
             }
         }
@@ -2076,7 +2076,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
             // Might need to rebuild through paths.
             if (oldPacketFlow == TXONLY) {
-                routes.add(new Routes(neighBlock, this.getBlock(),
+                addRoute(new Routes(neighBlock, this.getBlock(),
                         1, neighbour.getDirection(), neighLBlock.getBlockMetric(), neighBlock.getLengthMm()));
                 addThroughPath(neighbour);
             }
@@ -2088,7 +2088,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
             // Might need to rebuild through paths.
             if (oldPacketFlow == TXONLY) {
-                routes.add(new Routes(neighBlock, this.getBlock(),
+                addRoute(new Routes(neighBlock, this.getBlock(),
                         1, neighbour.getDirection(), neighLBlock.getBlockMetric(), neighBlock.getLengthMm()));
             }
             addThroughPath(neighbour);
@@ -2741,8 +2741,37 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
     // A sub class that holds valid routes through the block.
     // Possibly want to store the path direction in here as well.
     // or we store the ref to the path, so we can get the directions.
+    // Only change it through addRoute and removeRoute, which keep the
+    // destination and next block indexes in step.
     List<Routes> routes = new ArrayList<>();
 
+    // The routes in the table by destination block and by next block, each
+    // list in table order, so lookups don't scan the whole routing table.
+    private final Map<Block, List<Routes>> routesByDest = new HashMap<>();
+    private final Map<Block, List<Routes>> routesByNext = new HashMap<>();
+
+    private void addRoute(Routes route) {
+        routes.add(route);
+        routesByDest.computeIfAbsent(route.getDestBlock(), k -> new ArrayList<>()).add(route);
+        routesByNext.computeIfAbsent(route.getNextBlock(), k -> new ArrayList<>()).add(route);
+    }
+
+    private void removeRoute(int index) {
+        Routes route = routes.remove(index);
+        removeFromIndex(routesByDest, route.getDestBlock(), route);
+        removeFromIndex(routesByNext, route.getNextBlock(), route);
+    }
+
+    private static void removeFromIndex(Map<Block, List<Routes>> index, Block key, Routes route) {
+        List<Routes> list = index.get(key);
+        if (list != null) {
+            list.removeIf(r -> r == route);
+            if (list.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
     String decodePacketFlow(int value) {
         switch (value) {
             case RXTX: {
@@ -3039,23 +3068,16 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
     @CheckForNull
     Routes getRouteByDestBlock(Block blk) {
-        for (int i = routes.size() - 1; i > -1; i--) {
-            if (routes.get(i).getDestBlock() == blk) {
-                return routes.get(i);
-            }
+        List<Routes> rtr = routesByDest.get(blk);
+        if (rtr == null) {
+            return null;
         }
-        return null;
+        return rtr.get(rtr.size() - 1);
     }
 
     @Nonnull
     List<Routes> getRouteByNeighbour(Block blk) {
-        List<Routes> rtr = new ArrayList<>();
-        for (Routes route : routes) {
-            if (route.getNextBlock() == blk) {
-                rtr.add(route);
-            }
-        }
-        return rtr;
+        return getNextRoutes(blk);
     }
 
     int getAdjacencyPacketFlow(Block blk) {
@@ -3164,20 +3186,17 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
     @CheckForNull
     Routes getValidRoute(Block nxtBlock, Block dstBlock) {
         if ((nxtBlock != null) && (dstBlock != null)) {
-            List<Routes> rtr = getRouteByNeighbour(nxtBlock);
-
-            if (rtr.isEmpty()) {
+            if (!routesByNext.containsKey(nxtBlock)) {
                 log.debug("From {}, no routes returned for getRouteByNeighbour({})",
                         this.getDisplayName(),
                         nxtBlock.getDisplayName());
                 return null;
             }
 
-            for (Routes rt : rtr) {
-                if (rt.getDestBlock() == dstBlock) {
-                    log.debug("From {}, found dest {}.", this.getDisplayName(), dstBlock.getDisplayName());
-                    return rt;
-                }
+            Routes rt = getRoute(dstBlock, nxtBlock);
+            if (rt != null) {
+                log.debug("From {}, found dest {}.", this.getDisplayName(), dstBlock.getDisplayName());
+                return rt;
             }
             log.debug("From {}, no routes to {}.", this.getDisplayName(), nxtBlock.getDisplayName());
         } else {
@@ -3218,13 +3237,8 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
      * @return routes between this and dstBlock
      */
     List<Routes> getDestRoutes(Block dstBlock) {
-        List<Routes> rtr = new ArrayList<>();
-        for (Routes route : routes) {
-            if (route.getDestBlock() == dstBlock) {
-                rtr.add(route);
-            }
-        }
-        return rtr;
+        List<Routes> rtr = routesByDest.get(dstBlock);
+        return (rtr == null) ? new ArrayList<>() : new ArrayList<>(rtr);
     }
 
     /**
@@ -3234,13 +3248,28 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
      * @return list of routes to target block
      */
     List<Routes> getNextRoutes(Block nxtBlock) {
-        List<Routes> rtr = new ArrayList<>();
-        for (Routes route : routes) {
-            if (route.getNextBlock() == nxtBlock) {
-                rtr.add(route);
+        List<Routes> rtr = routesByNext.get(nxtBlock);
+        return (rtr == null) ? new ArrayList<>() : new ArrayList<>(rtr);
+    }
+
+    /**
+     * Get the first route in the table to a destination via a next block.
+     *
+     * @param destination final block
+     * @param nextBlock   adjacent block
+     * @return the route, or null if there is none
+     */
+    @CheckForNull
+    private Routes getRoute(Block destination, Block nextBlock) {
+        List<Routes> rtr = routesByDest.get(destination);
+        if (rtr != null) {
+            for (Routes route : rtr) {
+                if (route.getNextBlock() == nextBlock) {
+                    return route;
+                }
             }
         }
-        return rtr;
+        return null;
     }
 
     void updateRoutingInfo(Routes route) {
@@ -3684,7 +3713,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         // We need to propergate out the routes that we have added to our neighbour
         int direction = adj.getDirection();
         Routes route = new Routes(destBlock, srcblk, hopCount, direction, updatemetric, length);
-        routes.add(route);
+        addRoute(route);
 
         // Need to propergate the route down to our neighbours
         addRouteToNeighbours(route);
@@ -4172,12 +4201,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             return 1;
         }
 
-        for (Routes route : routes) {
-            if (route.getDestBlock() == destination) {
-                if (route.getNextBlock() == nextBlock) {
-                    return route.getHopCount();
-                }
-            }
+        Routes route = getRoute(destination, nextBlock);
+        if (route != null) {
+            return route.getHopCount();
         }
         return -1;
     }
@@ -4199,12 +4225,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             return 1;
         }
 
-        for (Routes route : routes) {
-            if (route.getDestBlock() == destination) {
-                if (route.getNextBlock() == nextBlock) {
-                    return route.getMetric();
-                }
-            }
+        Routes route = getRoute(destination, nextBlock);
+        if (route != null) {
+            return route.getMetric();
         }
         return -1;
     }
@@ -4226,12 +4249,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             return 1;
         }
 
-        for (Routes route : routes) {
-            if (route.getDestBlock() == destination) {
-                if (route.getNextBlock() == nextBlock) {
-                    return route.getLength();
-                }
-            }
+        Routes route = getRoute(destination, nextBlock);
+        if (route != null) {
+            return route.getLength();
         }
         return -1;
     }
@@ -626,6 +626,37 @@ final public class LayoutBlockConnectivityTools {
         return (lBlock.getState() != Block.OCCUPIED);
     }
 
+    /**
+     * Check that a path found by
+     * {@link #getLayoutBlocks(LayoutBlock, LayoutBlock, LayoutBlock, boolean, Routing)}
+     * with validateOnly set can be used now. The blocks, crossovers and level
+     * crossings along the path are checked as that method checks them when
+     * validateOnly is not set, so a path that passes is the free path it would
+     * find.
+     *
+     * @param path the layout blocks in the path, from the source block to the
+     *             destination block
+     * @return true if the path can be used
+     */
+    public boolean canPathBeUsed(List<LayoutBlock> path) {
+        if (path.size() < 2 || path.contains(null)) {
+            return false;
+        }
+        for (int i = 1; i < path.size(); i++) {
+            if (!canLBlockBeUsed(path.get(i))) {
+                return false;
+            }
+        }
+        for (int i = 1; i < path.size() - 1; i++) {
+            LayoutBlock current = path.get(i);
+            if (!checkForDoubleCrossover(path.get(i - 1).getBlock(), current, path.get(i + 1).getBlock())
+                    || !checkForLevelCrossing(current)) {
+                return false;
+            }
+        }
+        return checkForLevelCrossing(path.get(path.size() - 1));
+    }
+
     String lastErrorMessage = "Unknown Error Occured";
 
     // We need to take into account if the returned block has a signalmast attached.
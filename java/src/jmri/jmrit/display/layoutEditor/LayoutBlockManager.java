@@ -2504,6 +2504,8 @@ public class LayoutBlockManager extends AbstractManager<LayoutBlock> implements
             return;
         }
         firstRoutingChange = System.nanoTime();
+        routingChangeCount = 0;
+        routingConvergenceTime = -1;
 
         //cycle through all LayoutBlocks, completing initialization of the layout block routing
         java.util.Enumeration<LayoutBlock> en = _tsys.elements();
@@ -2520,11 +2522,15 @@ public class LayoutBlockManager extends AbstractManager<LayoutBlock> implements
 
     LayoutBlockConnectivityTools lbct = new LayoutBlockConnectivityTools();
 
-    private long lastRoutingChange;
+    private volatile long lastRoutingChange;
+    private volatile long routingChangeCount = 0;
+    private volatile long routingConvergenceTime = -1;
+    private long routingStabilisedDelay = 2000; // msec
 
     void setLastRoutingChange() {
         log.debug("setLastRoutingChange");
         lastRoutingChange = System.nanoTime();
+        routingChangeCount++;
         stabilised = false;
         setRoutingStabilised();
     }
@@ -2552,10 +2558,13 @@ public class LayoutBlockManager extends AbstractManager<LayoutBlock> implements
                 long oldvalue = lastRoutingChange;
 
                 while (!stabilised) {
-                    Thread.sleep(2000L); //two seconds
+                    Thread.sleep(routingStabilisedDelay);
 
                     if (oldvalue == lastRoutingChange) {
-                        log.debug("routing table has now been stable for 2 seconds");
+                        log.debug("routing table has now been stable for {} msec", routingStabilisedDelay);
+                        routingConvergenceTime = (lastRoutingChange - firstRoutingChange) / 1000000;
+                        log.debug("routing converged in {} msec after {} routing changes",
+                                routingConvergenceTime, routingChangeCount);
                         checking = false;
                         stabilised = true;
                         jmri.util.ThreadingUtil.runOnLayoutEventually(() -> firePropertyChange("topology", false, true));
@@ -2667,6 +2676,46 @@ public class LayoutBlockManager extends AbstractManager<LayoutBlock> implements
         return lastRoutingChange;
     }
 
+    /**
+     * Get the time the routing tables took to converge, measured from the
+     * start of advanced routing to the last routing change before the tables
+     * were found stable.
+     *
+     * @return the time in milliseconds, or -1 if routing hasn't stabilised
+     *         since advanced routing was initialized
+     */
+    public long getRoutingConvergenceTime() {
+        return routingConvergenceTime;
+    }
+
+    /**
+     * @return the number of routing table changes made since advanced routing
+     *         was initialized
+     */
+    public long getRoutingChangeCount() {
+        return routingChangeCount;
+    }
+
+    /**
+     * @return the time in milliseconds the routing tables must be unchanged
+     *         before routing is considered stable
+     */
+    public long getRoutingStabilisedDelay() {
+        return routingStabilisedDelay;
+    }
+
+    /**
+     * Set how long the routing tables must be unchanged before routing is
+     * considered stable. Small layouts converge in well under the default of
+     * two seconds, so a shorter delay lets their signal mast logic and
+     * entry/exit pairs be set up sooner.
+     *
+     * @param delay time in milliseconds
+     */
+    public void setRoutingStabilisedDelay(long delay) {
+        routingStabilisedDelay = delay;
+    }
+
     @Override
     @Nonnull
     public String getBeanTypeHandled(boolean plural) {
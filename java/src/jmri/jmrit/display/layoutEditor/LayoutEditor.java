@@ -2785,6 +2785,50 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         repaint();
     }
 
+    /**
+     * Redraw the part of the panel showing a layout track. The whole panel is
+     * redrawn in edit mode.
+     *
+     * @param trk the layout track
+     */
+    @Override
+    public void redrawLayoutTrack(@Nonnull LayoutTrack trk) {
+        LayoutTrackView ltv = trkToView.get(trk);
+        if (isEditable() || ltv == null) {
+            redrawPanel();
+        } else {
+            redrawPanelArea(ltv.getBounds());
+        }
+    }
+
+    /**
+     * Redraw the parts of the panel showing the tracks of a layout block. The
+     * whole panel is redrawn in edit mode.
+     *
+     * @param layoutBlock the layout block
+     */
+    public void redrawLayoutBlock(@Nonnull LayoutBlock layoutBlock) {
+        if (isEditable()) {
+            redrawPanel();
+        } else {
+            Rectangle2D bounds = getLayoutTrackViewIndex().getBlockBounds(layoutBlock);
+            if (bounds != null) {
+                redrawPanelArea(bounds);
+            } else {
+                redrawPanel();
+            }
+        }
+    }
+
+    // repaint an area of the panel given in layout coordinates
+    private void redrawPanelArea(@Nonnull Rectangle2D bounds) {
+        Rectangle2D r = MathUtil.inset(bounds, -getLayoutTrackDrawMargin());
+        r = MathUtil.scale(r, getZoom());
+        Rectangle area = MathUtil.rectangle2DToRectangle(r);
+        area.grow(1, 1);    // for rounding
+        getTargetPanel().repaint(area);
+    }
+
     /**
      * Allow external set/reset of awaitingIconChange
      */
@@ -2815,6 +2859,9 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
      */
     public void setDirty(boolean val) {
         panelChanged = val;
+        if (val) {
+            invalidateLayoutTrackViewIndex();
+        }
     }
 
     public void setDirty() {
@@ -3086,7 +3133,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
      */
     private void checkControls(boolean useRectangles) {
         selectedObject = null;  // deliberate side-effect
-        for (LayoutTrackView theTrackView : getLayoutTrackViews()) {
+        for (LayoutTrackView theTrackView : getLayoutTrackViews(pointArea(dLoc))) {
             selectedHitPointType = theTrackView.findHitPointType(dLoc, useRectangles); // deliberate side-effect
             if (HitPointType.isControlHitType(selectedHitPointType)) {
                 selectedObject = theTrackView.getLayoutTrack(); // deliberate side-effect
@@ -3137,16 +3184,16 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         foundTrackView = null;
         foundHitPointType = HitPointType.NONE;
 
-        Optional<LayoutTrack> opt = getLayoutTracks().stream().filter(layoutTrack -> {  // != means can't (yet) loop over Views
-            if ((layoutTrack != avoid) && (layoutTrack != selectedObject)) {
-                foundHitPointType = getLayoutTrackView(layoutTrack).findHitPointType(loc, false, requireUnconnected);
-            }
-            return (HitPointType.NONE != foundHitPointType);
-        }).findFirst();
-
         LayoutTrack layoutTrack = null;
-        if (opt.isPresent()) {
-            layoutTrack = opt.get();
+        for (LayoutTrackView ltv : getLayoutTrackViews(pointArea(loc))) {
+            LayoutTrack lt = ltv.getLayoutTrack();
+            if ((lt != avoid) && (lt != selectedObject)) {
+                foundHitPointType = ltv.findHitPointType(loc, false, requireUnconnected);
+            }
+            if (HitPointType.NONE != foundHitPointType) {
+                layoutTrack = lt;
+                break;
+            }
         }
 
         if (layoutTrack != null) {
@@ -3161,6 +3208,11 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         return result;
     }
 
+    // the area of a point, for getLayoutTrackViews(Rectangle2D)
+    private static Rectangle2D pointArea(@Nonnull Point2D loc) {
+        return new Rectangle2D.Double(loc.getX(), loc.getY(), 0.0, 0.0);
+    }
+
     private TrackSegment checkTrackSegmentPopUps(@Nonnull Point2D loc) {
         assert loc != null;
 
@@ -6928,6 +6980,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         int restoreScroll = _scrollState;
 
         super.setAllEditable(editable);
+        invalidateLayoutTrackViewIndex();
 
         if (toolBarSide.equals(ToolBarSide.eFLOAT)) {
             if (editable) {
@@ -7868,6 +7921,54 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         return Collections.unmodifiableList(layoutTrackViewList);
     }
 
+    /**
+     * Get the LayoutTrackView family objects that may be drawn in an area of
+     * the panel. In edit mode, where tracks are moved about, these are all of
+     * them.
+     *
+     * @param area the area in layout coordinates, or null for the whole panel
+     * @return the track views, in the order of {@link #getLayoutTrackViews()}
+     */
+    @Nonnull
+    public List<LayoutTrackView> getLayoutTrackViews(@CheckForNull Rectangle2D area) {
+        if (area == null || isEditable()) {
+            return getLayoutTrackViews();
+        }
+        return getLayoutTrackViewIndex().getViews(MathUtil.inset(area, -getLayoutTrackDrawMargin()));
+    }
+
+    /**
+     * Get how far the drawing of a track may reach past its bounds, for
+     * ballast, ties, turnout controls and decorations.
+     *
+     * @return the margin in layout coordinates
+     */
+    double getLayoutTrackDrawMargin() {
+        LayoutTrackDrawingOptions ltdo = getLayoutTrackDrawingOptions();
+        int width = Math.max(
+                Math.max(ltdo.getMainBallastWidth(), ltdo.getSideBallastWidth()),
+                Math.max(ltdo.getMainTieLength(), ltdo.getSideTieLength()));
+        width = Math.max(width, 2 * Math.max(ltdo.getMainRailWidth(), ltdo.getSideRailWidth())
+                + Math.max(ltdo.getMainRailGap(), ltdo.getSideRailGap()));
+        width = Math.max(width, Math.max(ltdo.getMainBlockLineWidth(), ltdo.getSideBlockLineWidth()));
+        return (width / 2.0) + circleDiameter + LayoutTrackViewIndex.DECORATION_MARGIN;
+    }
+
+    @Nonnull
+    private synchronized LayoutTrackViewIndex getLayoutTrackViewIndex() {
+        if (layoutTrackViewIndex == null) {
+            layoutTrackViewIndex = new LayoutTrackViewIndex(layoutTrackViewList);
+        }
+        return layoutTrackViewIndex;
+    }
+
+    // called when tracks are added, removed or may have moved
+    private synchronized void invalidateLayoutTrackViewIndex() {
+        layoutTrackViewIndex = null;
+    }
+
+    private LayoutTrackViewIndex layoutTrackViewIndex = null;
+
     private final List<LayoutTrack> layoutTrackList = new ArrayList<>();
     private final List<LayoutTrackView> layoutTrackViewList = new ArrayList<>();
     private final Map<LayoutTrack, LayoutTrackView> trkToView = new HashMap<>();
@@ -7989,6 +8090,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         layoutTrackViewList.add(v);
         trkToView.put(trk, v);
         viewToTrk.put(v, trk);
+        invalidateLayoutTrackViewIndex();
 
         unionToPanelBounds(v.getBounds()); // temporary - this should probably _not_ be in the topological part
     }
@@ -8026,6 +8128,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         layoutTrackViewList.remove(v);
         trkToView.remove(trk);
         viewToTrk.remove(v);
+        invalidateLayoutTrackViewIndex();
     }
 
     /**
@@ -8037,6 +8140,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         layoutTrackViewList.clear();
         trkToView.clear();
         viewToTrk.clear();
+        invalidateLayoutTrackViewIndex();
     }
 
     public @Nonnull
@@ -47,11 +47,14 @@ class LayoutEditorComponent extends JComponent {
                         if (!clipBounds.equals(g2.getClipBounds())) {
                             //log.debug("LEComponent.paint(); clipBounds: {}, oldClipBounds: {}",
                             //        clipBounds, g2.getClipBounds());
-                            g2.setClip(clipBounds);
+                            // keep within the area being repainted
+                            g2.clip(clipBounds);
                         }
                     }
                 }
             }
+            // only the tracks that may be drawn in the clip area
+            trackViews = layoutEditor.getLayoutTrackViews(g2.getClipBounds());
             // Optional antialising, to eliminate (reduce) staircase on diagonal lines
             if (layoutEditor.getAntialiasingOn()) {
                 g2.setRenderingHints(antialiasing);
@@ -105,6 +108,7 @@ class LayoutEditorComponent extends JComponent {
                     drawTurnoutControls(g2);
                 }
             }
+            trackViews = null;
         } else {
             log.error("LayoutEditor drawing requires Graphics2D");
         }
@@ -433,7 +437,7 @@ class LayoutEditorComponent extends JComponent {
             boolean isBlock,
             boolean isHidden,
             boolean isDashed) {
-        for (LayoutTrackView layoutTrackView : layoutEditor.getLayoutTrackViews()) {
+        for (LayoutTrackView layoutTrackView : trackViews) {
             if (!(layoutTrackView instanceof PositionablePointView)) {
                 if (isHidden == layoutTrackView.isHidden()) {
                     if ((layoutTrackView instanceof TrackSegmentView)) {
@@ -450,8 +454,10 @@ class LayoutEditorComponent extends JComponent {
 
     // draw positionable points
     private void drawPositionablePoints(Graphics2D g2, boolean isMain) {
-        for (PositionablePointView positionablePointView : layoutEditor.getPositionablePointViews()) {
-            positionablePointView.draw1(g2, isMain, false);
+        for (LayoutTrackView layoutTrackView : trackViews) {
+            if (layoutTrackView instanceof PositionablePointView) {
+                layoutTrackView.draw1(g2, isMain, false);
+            }
         }
     }
 
@@ -463,7 +469,7 @@ class LayoutEditorComponent extends JComponent {
     // draw parallel lines (rails)
     private void draw2(Graphics2D g2, boolean isMain,
             float railDisplacement, boolean isDashed) {
-        for (LayoutTrackView layoutTrackView : layoutEditor.getLayoutTrackViews()) {
+        for (LayoutTrackView layoutTrackView : trackViews) {
             if ((layoutTrackView instanceof TrackSegmentView)) {
                 if (((TrackSegmentView) layoutTrackView).isDashed() == isDashed) {
                     layoutTrackView.draw2(g2, isMain, railDisplacement);
@@ -476,7 +482,7 @@ class LayoutEditorComponent extends JComponent {
 
     // draw decorations
     private void drawDecorations(Graphics2D g2) {
-        layoutEditor.getLayoutTrackViews().forEach((tr) -> tr.drawDecorations(g2));
+        trackViews.forEach((tr) -> tr.drawDecorations(g2));
     }
 
     // draw shapes
@@ -534,7 +540,7 @@ class LayoutEditorComponent extends JComponent {
     private void drawLayoutTrackEditControls(Graphics2D g2) {
         g2.setStroke(new BasicStroke(1.0F, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
 
-        layoutEditor.getLayoutTrackViews().forEach((tr) -> tr.drawEditControls(g2));
+        trackViews.forEach((tr) -> tr.drawEditControls(g2));
     }
 
     private void drawShapeEditControls(Graphics2D g2) {
@@ -550,7 +556,7 @@ class LayoutEditorComponent extends JComponent {
 
         // loop over all turnouts
         boolean editable = layoutEditor.isEditable();
-        layoutEditor.getLayoutTrackViews().forEach((tr) -> {
+        trackViews.forEach((tr) -> {
             if (tr instanceof LayoutTurnoutView) {  //<== this includes LayoutSlips
                 LayoutTurnoutView lt = (LayoutTurnoutView) tr;
                 if (editable || !(lt.isHidden() || lt.isDisabled())) {
@@ -633,7 +639,7 @@ class LayoutEditorComponent extends JComponent {
     private void drawLayoutTracksLabel(Graphics2D g) {
         g.setFont(new Font(Font.MONOSPACED, Font.BOLD, 12));
         g.setColor(Color.red);
-        for (LayoutTrackView layoutTrackView : layoutEditor.getLayoutTrackViews()) {
+        for (LayoutTrackView layoutTrackView : trackViews) {
             layoutTrackView.drawLayoutTrackText(g);
         }
     }
@@ -708,6 +714,9 @@ class LayoutEditorComponent extends JComponent {
 
     private Rectangle2D clipBounds = null;
 
+    // the track views drawn by the paint in progress
+    private java.util.List<LayoutTrackView> trackViews = null;
+
     public void setClip(Rectangle2D clipBounds) {
         this.clipBounds = clipBounds;
     }
@@ -40,6 +40,17 @@ public interface LayoutModels {
      */
     public void redrawPanel();
 
+    /**
+     * A change has happened to the presentation of one layout track, e.g. the
+     * state of its turnout, that should cause the part of the presentation
+     * showing it to be updated.
+     *
+     * @param trk the layout track
+     */
+    public default void redrawLayoutTrack(@Nonnull LayoutTrack trk) {
+        redrawPanel();
+    }
+
     // ====================================
     // Access to related navigation objects
     // ====================================
@@ -551,7 +551,7 @@ abstract public class LayoutSlip extends LayoutTurnout {
                 if (en.getValue().getTurnoutAState() == state_a) {
                     if (en.getValue().getTurnoutBState() == state_b) {
                         currentState = en.getKey();
-                        models.redrawPanel();
+                        models.redrawLayoutTrack(this);
                         return;
                     }
                 }
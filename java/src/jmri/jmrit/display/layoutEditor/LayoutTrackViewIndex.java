@@ -0,0 +1,87 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Spatial index of the track views of a {@link LayoutEditor} panel, and the
+ * bounds of the tracks of each {@link LayoutBlock}, used to draw and hit test
+ * only the tracks near an area and to redraw only the part of a panel showing
+ * a block when its state changes.
+ * <p>
+ * The index is made for a panel in operation mode, where tracks don't move,
+ * and is dropped when the panel changes.
+ */
+final class LayoutTrackViewIndex {
+
+    /**
+     * Allowance for the track decorations (arrows, bridges, bumpers and
+     * tunnels) drawn beyond a track's bounds.
+     */
+    static final double DECORATION_MARGIN = 40.0;
+
+    private final SpatialIndex<LayoutTrackView> index;
+    private final Map<LayoutBlock, Rectangle2D> blockBounds = new HashMap<>();
+
+    LayoutTrackViewIndex(@Nonnull List<LayoutTrackView> views) {
+        long time = System.nanoTime();
+        index = new SpatialIndex<>(views, LayoutTrackView::getBounds);
+        for (LayoutTrackView ltv : views) {
+            if (ltv instanceof TrackSegmentView) {
+                addBlockBounds(((TrackSegmentView) ltv).getLayoutBlock(), ltv);
+            } else if (ltv instanceof LayoutTurnoutView) {   // includes LayoutSlipView
+                LayoutTurnoutView ltov = (LayoutTurnoutView) ltv;
+                addBlockBounds(ltov.getLayoutBlock(), ltv);
+                addBlockBounds(ltov.getLayoutBlockB(), ltv);
+                addBlockBounds(ltov.getLayoutBlockC(), ltv);
+                addBlockBounds(ltov.getLayoutBlockD(), ltv);
+            } else if (ltv instanceof LevelXingView) {
+                addBlockBounds(((LevelXingView) ltv).getLayoutBlockAC(), ltv);
+                addBlockBounds(((LevelXingView) ltv).getLayoutBlockBD(), ltv);
+            } else if (ltv instanceof LayoutTurntableView) {
+                addBlockBounds(((LayoutTurntableView) ltv).getLayoutBlock(), ltv);
+            }
+        }
+        log.debug("indexed {} track views and {} blocks in {} us",
+                views.size(), blockBounds.size(), (System.nanoTime() - time) / 1000);
+    }
+
+    private void addBlockBounds(@CheckForNull LayoutBlock layoutBlock, @Nonnull LayoutTrackView ltv) {
+        if (layoutBlock != null) {
+            Rectangle2D bounds = ltv.getBounds();
+            Rectangle2D r = blockBounds.get(layoutBlock);
+            if (r == null) {
+                blockBounds.put(layoutBlock, (Rectangle2D) bounds.clone());
+            } else {
+                r.add(bounds);
+            }
+        }
+    }
+
+    /**
+     * @param area area of the panel, in layout coordinates
+     * @return the track views whose bounds touch the area, in panel order
+     */
+    @Nonnull
+    List<LayoutTrackView> getViews(@Nonnull Rectangle2D area) {
+        return index.getItems(area);
+    }
+
+    /**
+     * @param layoutBlock the layout block
+     * @return the union of the bounds of the tracks in the block, or null if
+     *         none are
+     */
+    @CheckForNull
+    Rectangle2D getBlockBounds(@Nonnull LayoutBlock layoutBlock) {
+        Rectangle2D r = blockBounds.get(layoutBlock);
+        return (r != null ? (Rectangle2D) r.clone() : null);
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LayoutTrackViewIndex.class);
+}
@@ -1841,7 +1841,7 @@ abstract public class LayoutTurnout extends LayoutTrack {
                                 }
                             }
                         }
-                        models.redrawPanel();
+                        models.redrawLayoutTrack(this);
                     },
                     namedTurnout.getName(),
                     "Layout Editor Turnout"
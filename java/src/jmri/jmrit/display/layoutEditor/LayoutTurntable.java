@@ -793,7 +793,7 @@ public class LayoutTurntable extends LayoutTrack {
                 mTurnoutListener = (PropertyChangeEvent e) -> {
                     if (getTurnout().getKnownState() == turnoutState) {
                         lastKnownIndex = connectionIndex;
-                        models.redrawPanel();
+                        models.redrawLayoutTrack(LayoutTurntable.this);
                         models.setDirty();
                     }
                 };
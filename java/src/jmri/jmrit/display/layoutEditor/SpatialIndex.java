@@ -0,0 +1,181 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Index of items by their bounds, for finding the items that may be drawn in,
+ * or hit at, part of a Layout Editor panel without looking at all of them.
+ * <p>
+ * The area covered by the items is divided into a grid of equal cells, about
+ * as many as there are items, and each item is listed in the cells its bounds
+ * cover. Items covering a large part of the area are kept apart and always
+ * checked. Queries return items in the order of the list the index was made
+ * from, so the drawing order is kept.
+ * <p>
+ * The index does not follow changes of the items' bounds; make a new index
+ * when they change.
+ *
+ * @param <T> the type of item
+ */
+final class SpatialIndex<T> {
+
+    // items spread over more cells than this are kept in the large list
+    private static final int MAX_CELLS_PER_ITEM = 64;
+
+    private final List<T> items;
+    private final Rectangle2D[] bounds;
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+    private final int[][] cells;    // item indexes in each cell, ascending
+    private final int[] large;      // item indexes of large items, ascending
+
+    /**
+     * @param items     the items
+     * @param getBounds the bounds of an item
+     */
+    SpatialIndex(@Nonnull List<T> items, @Nonnull Function<T, Rectangle2D> getBounds) {
+        this.items = new ArrayList<>(items);
+        int size = this.items.size();
+        bounds = new Rectangle2D[size];
+        double x0 = Double.POSITIVE_INFINITY;
+        double y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY;
+        double y1 = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            Rectangle2D r = getBounds.apply(this.items.get(i));
+            bounds[i] = r;
+            x0 = Math.min(x0, r.getMinX());
+            y0 = Math.min(y0, r.getMinY());
+            x1 = Math.max(x1, r.getMaxX());
+            y1 = Math.max(y1, r.getMaxY());
+        }
+        if (size == 0) {
+            x0 = y0 = x1 = y1 = 0.0;
+        }
+        minX = x0;
+        minY = y0;
+        double width = Math.max(x1 - x0, 1.0);
+        double height = Math.max(y1 - y0, 1.0);
+        cellSize = Math.max(Math.sqrt(width * height / Math.max(size, 1)), 1.0);
+        cols = (int) (width / cellSize) + 1;
+        rows = (int) (height / cellSize) + 1;
+
+        // count, then fill, the cells
+        int[] count = new int[cols * rows];
+        boolean[] isLarge = new boolean[size];
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            Rectangle2D r = bounds[i];
+            int c0 = col(r.getMinX());
+            int c1 = col(r.getMaxX());
+            int r0 = row(r.getMinY());
+            int r1 = row(r.getMaxY());
+            if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAX_CELLS_PER_ITEM) {
+                isLarge[i] = true;
+                largeCount++;
+                continue;
+            }
+            for (int row = r0; row <= r1; row++) {
+                for (int col = c0; col <= c1; col++) {
+                    count[row * cols + col]++;
+                }
+            }
+        }
+        cells = new int[cols * rows][];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = new int[count[c]];
+            count[c] = 0;
+        }
+        large = new int[largeCount];
+        largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (isLarge[i]) {
+                large[largeCount++] = i;
+                continue;
+            }
+            Rectangle2D r = bounds[i];
+            for (int row = row(r.getMinY()); row <= row(r.getMaxY()); row++) {
+                for (int col = col(r.getMinX()); col <= col(r.getMaxX()); col++) {
+                    int c = row * cols + col;
+                    cells[c][count[c]++] = i;
+                }
+            }
+        }
+    }
+
+    private int col(double x) {
+        return Math.min(Math.max((int) ((x - minX) / cellSize), 0), cols - 1);
+    }
+
+    private int row(double y) {
+        return Math.min(Math.max((int) ((y - minY) / cellSize), 0), rows - 1);
+    }
+
+    // unlike Rectangle2D.intersects(), true for empty rectangles (points and lines)
+    private static boolean overlaps(Rectangle2D a, Rectangle2D b) {
+        return a.getMinX() <= b.getMaxX() && b.getMinX() <= a.getMaxX()
+                && a.getMinY() <= b.getMaxY() && b.getMinY() <= a.getMaxY();
+    }
+
+    /**
+     * Get the items whose bounds touch an area.
+     *
+     * @param area the area
+     * @return the items, in the order of the list the index was made from
+     */
+    @Nonnull
+    List<T> getItems(@Nonnull Rectangle2D area) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BitSet found = new BitSet(items.size());
+        for (int i : large) {
+            if (overlaps(bounds[i], area)) {
+                found.set(i);
+            }
+        }
+        if (area.getMaxX() >= minX && area.getMaxY() >= minY) {
+            int r1 = row(area.getMaxY());
+            int c1 = col(area.getMaxX());
+            for (int row = row(area.getMinY()); row <= r1; row++) {
+                for (int col = col(area.getMinX()); col <= c1; col++) {
+                    for (int i : cells[row * cols + col]) {
+                        if (!found.get(i) && overlaps(bounds[i], area)) {
+                            found.set(i);
+                        }
+                    }
+                }
+            }
+        }
+        List<T> result = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result.add(items.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * @return all the items, in order
+     */
+    @Nonnull
+    List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * @return the number of items
+     */
+    int size() {
+        return items.size();
+    }
+}
@@ -9,10 +9,13 @@ import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -935,6 +938,141 @@ public class DestinationPoints extends jmri.implementation.AbstractNamedBean {
 
     }
 
+    /*
+     * Paths found between the blocks of this pair without regard to the
+     * state of their blocks, so that setting a route only has to check that
+     * the path is free rather than search the routing tables again. The paths
+     * are found while routing is stable and dropped when the manager's path
+     * generation changes; a pair with no path is kept as null.
+     */
+    private final Map<PathKey, List<LayoutBlock>> pathCache = new HashMap<>();
+    private long pathCacheGeneration = -1;
+
+    private static final class PathKey {
+
+        final LayoutBlock start;
+        final LayoutBlock destination;
+        final LayoutBlock protecting;
+        final LayoutBlockConnectivityTools.Routing routing;
+
+        PathKey(LayoutBlock start, LayoutBlock destination, LayoutBlock protecting, LayoutBlockConnectivityTools.Routing routing) {
+            this.start = start;
+            this.destination = destination;
+            this.protecting = protecting;
+            this.routing = routing;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PathKey)) {
+                return false;
+            }
+            PathKey k = (PathKey) obj;
+            return start == k.start && destination == k.destination && protecting == k.protecting && routing == k.routing;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, destination, protecting, routing);
+        }
+    }
+
+    /**
+     * Get the blocks of a free path, as
+     * {@link LayoutBlockConnectivityTools#getLayoutBlocks(LayoutBlock, LayoutBlock, LayoutBlock, boolean, LayoutBlockConnectivityTools.Routing)}
+     * does when not only validating, using the path found before when it can
+     * still be used.
+     *
+     * @param start      the source block
+     * @param dest       the destination block
+     * @param protecting the block the source protects
+     * @param routing    the routing method
+     * @return the blocks of the path
+     * @throws JmriException if there is no free path
+     */
+    List<LayoutBlock> getFreePath(LayoutBlock start, LayoutBlock dest, LayoutBlock protecting, LayoutBlockConnectivityTools.Routing routing) throws JmriException {
+        LayoutBlockConnectivityTools lbct = InstanceManager.getDefault(jmri.jmrit.display.layoutEditor.LayoutBlockManager.class).getLayoutBlockConnectivityTools();
+        List<LayoutBlock> path = getPath(start, dest, protecting, routing);
+        if (path != null && lbct.canPathBeUsed(path)) {
+            return new ArrayList<>(path);
+        }
+        return lbct.getLayoutBlocks(start, dest, protecting, false, routing);
+    }
+
+    /**
+     * Get the blocks of the path between two blocks without regard to their
+     * state, finding it only if it hasn't been found since routing last
+     * changed.
+     *
+     * @param start      the source block
+     * @param dest       the destination block
+     * @param protecting the block the source protects
+     * @param routing    the routing method
+     * @return the blocks of the path, or null if there is no path or routing
+     *         is not stable
+     */
+    List<LayoutBlock> getPath(LayoutBlock start, LayoutBlock dest, LayoutBlock protecting, LayoutBlockConnectivityTools.Routing routing) {
+        return getPath(start, dest, protecting, routing,
+                InstanceManager.getDefault(jmri.jmrit.display.layoutEditor.LayoutBlockManager.class).getLayoutBlockConnectivityTools());
+    }
+
+    /**
+     * Get the blocks of the path between two blocks, as
+     * {@link #getPath(LayoutBlock, LayoutBlock, LayoutBlock, LayoutBlockConnectivityTools.Routing)}
+     * does, finding the path with the given tools.
+     *
+     * @param start      the source block
+     * @param dest       the destination block
+     * @param protecting the block the source protects
+     * @param routing    the routing method
+     * @param lbct       the tools used to find the path, which keep the last
+     *                   error, so can't be shared with other threads
+     * @return the blocks of the path, or null if there is no path or routing
+     *         is not stable
+     */
+    private List<LayoutBlock> getPath(LayoutBlock start, LayoutBlock dest, LayoutBlock protecting,
+            LayoutBlockConnectivityTools.Routing routing, LayoutBlockConnectivityTools lbct) {
+        long generation = manager.getPathGeneration();
+        if (generation < 0) {
+            return null;
+        }
+        PathKey key = new PathKey(start, dest, protecting, routing);
+        synchronized (pathCache) {
+            if (pathCacheGeneration != generation) {
+                pathCache.clear();
+                pathCacheGeneration = generation;
+            }
+            if (pathCache.containsKey(key)) {
+                return pathCache.get(key);
+            }
+        }
+        List<LayoutBlock> path = null;
+        try {
+            path = Collections.unmodifiableList(lbct.getLayoutBlocks(start, dest, protecting, true, routing));
+        } catch (JmriException e) {
+            log.debug("{} no path from {} to {}: {}", getUserName(), start.getDisplayName(), dest.getDisplayName(), e.getMessage());  // NOI18N
+        }
+        synchronized (pathCache) {
+            if (pathCacheGeneration == generation && manager.getPathGeneration() == generation) {
+                pathCache.put(key, path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Find the paths used to set this route forward, so that the first time
+     * it is set doesn't wait for them.
+     *
+     * @param lbct the tools used to find the paths, not used by other threads
+     *             at the same time
+     */
+    void findPaths(LayoutBlockConnectivityTools lbct) {
+        for (LayoutBlock protecting : src.getSourceProtecting()) {
+            getPath(src.getStart(), getFacing(), protecting, LayoutBlockConnectivityTools.Routing.MASTTOMAST, lbct);
+        }
+    }
+
     public void setInterlockRoute(boolean reverseDirection) {
         if (activeEntryExit) {
             return;
@@ -1034,7 +1172,7 @@ public class DestinationPoints extends jmri.implementation.AbstractNamedBean {
                         List<LayoutBlock> blocks = new ArrayList<>();
                         String errorMessage = null;
                         try {
-                            blocks = InstanceManager.getDefault(jmri.jmrit.display.layoutEditor.LayoutBlockManager.class).getLayoutBlockConnectivityTools().getLayoutBlocks(startlBlock, destinationLBlock, protectLBlock, false, LayoutBlockConnectivityTools.Routing.MASTTOMAST);
+                            blocks = getFreePath(startlBlock, destinationLBlock, protectLBlock, LayoutBlockConnectivityTools.Routing.MASTTOMAST);
                         } catch (Exception e) {
                             errorMessage = e.getMessage();
                             //can be considered normal if no free route is found
@@ -1069,7 +1207,7 @@ public class DestinationPoints extends jmri.implementation.AbstractNamedBean {
                                     List<LayoutBlock> blocks = new ArrayList<>();
                                     String errorMessage = null;
                                     try {
-                                        blocks = InstanceManager.getDefault(jmri.jmrit.display.layoutEditor.LayoutBlockManager.class).getLayoutBlockConnectivityTools().getLayoutBlocks(startlBlock, destinationLBlock, protectLBlock, false, LayoutBlockConnectivityTools.Routing.MASTTOMAST);
+                                        blocks = getFreePath(startlBlock, destinationLBlock, protectLBlock, LayoutBlockConnectivityTools.Routing.MASTTOMAST);
                                     } catch (Exception e) {
                                         errorMessage = e.getMessage();
                                         //can be considered normal if no free route is found
@@ -1090,7 +1228,7 @@ public class DestinationPoints extends jmri.implementation.AbstractNamedBean {
                                 List<LayoutBlock> blocks = new ArrayList<>();
                                 String errorMessage = "";
                                 try {
-                                    blocks = InstanceManager.getDefault(jmri.jmrit.display.layoutEditor.LayoutBlockManager.class).getLayoutBlockConnectivityTools().getLayoutBlocks(startlBlock, destinationLBlock, protectLBlock, false, LayoutBlockConnectivityTools.Routing.NONE);
+                                    blocks = getFreePath(startlBlock, destinationLBlock, protectLBlock, LayoutBlockConnectivityTools.Routing.NONE);
                                 } catch (Exception e) {
                                     //can be considered normal if no free route is found
                                     errorMessage = e.getMessage();
@@ -1102,7 +1240,7 @@ public class DestinationPoints extends jmri.implementation.AbstractNamedBean {
                                 List<LayoutBlock> blocks = new ArrayList<>();
                                 String errorMessage = "";
                                 try {
-                                    blocks = InstanceManager.getDefault(jmri.jmrit.display.layoutEditor.LayoutBlockManager.class).getLayoutBlockConnectivityTools().getLayoutBlocks(startlBlock, destinationLBlock, protectLBlock, false, LayoutBlockConnectivityTools.Routing.NONE);
+                                    blocks = getFreePath(startlBlock, destinationLBlock, protectLBlock, LayoutBlockConnectivityTools.Routing.NONE);
                                 } catch (Exception e) {
                                     //can be considered normal if no free route is found
                                     errorMessage = e.getMessage();
@@ -8,6 +8,10 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyVetoException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
@@ -24,6 +28,7 @@ import jmri.jmrit.display.layoutEditor.LayoutBlockConnectivityTools;
 import jmri.jmrit.display.layoutEditor.LayoutBlockManager;
 import jmri.jmrit.display.layoutEditor.LayoutEditor;
 import jmri.jmrix.internal.InternalSystemConnectionMemo;
+import jmri.util.ThreadingUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -1341,13 +1346,94 @@ public class EntryExitPairs extends VetoableChangeSupport implements Manager<Des
         firePropertyChange("autoGenerateComplete", null, null);  // NOI18N
     }
 
+    /*
+     * Counts the changes of layout block routing, so that the paths of the
+     * NX pairs found before a change are not used after it.
+     */
+    private final AtomicLong pathGeneration = new AtomicLong();
+
+    /**
+     * Get the number of the current layout block routing, which changes each
+     * time the routing does.
+     *
+     * @return the number, or -1 if routing has not stabilised
+     */
+    long getPathGeneration() {
+        if (!InstanceManager.getDefault(LayoutBlockManager.class).routingStablised()) {
+            return -1;
+        }
+        return pathGeneration.get();
+    }
+
+    /**
+     * Find the paths of all the NX pairs, so that setting a route only has to
+     * check that the blocks in its path are free. The pairs are shared among
+     * threads, one for each processor, and this returns once all are done.
+     * Paths are found again after layout block routing changes.
+     */
+    public void findPaths() {
+        findPaths(new ArrayList<>(getNamedBeanSet()));
+    }
+
+    private void findPaths(List<DestinationPoints> pairs) {
+        if (pairs.isEmpty() || getPathGeneration() < 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), pairs.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = ThreadingUtil.newThread(r, "Entry Exit Find Paths");  // NOI18N
+            t.setDaemon(true);
+            return t;
+        });
+        List<Callable<Void>> tasks = new ArrayList<>(pairs.size());
+        for (DestinationPoints dp : pairs) {
+            tasks.add(() -> {
+                try {
+                    // each task has its own tools, as they keep the last error
+                    dp.findPaths(new LayoutBlockConnectivityTools());
+                } catch (RuntimeException e) {
+                    log.error("Unable to find paths for {}", dp.getDisplayName(), e);  // NOI18N
+                }
+                return null;
+            });
+        }
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.debug("found paths of {} NX pairs in {} ms", pairs.size(), (System.nanoTime() - start) / 1000000);  // NOI18N
+    }
+
+    /**
+     * Find the paths of all the NX pairs, as {@link #findPaths()} does, on a
+     * thread of its own.
+     */
+    public void findPathsInBackground() {
+        List<DestinationPoints> pairs = new ArrayList<>(getNamedBeanSet());
+        if (pairs.isEmpty()) {
+            return;
+        }
+        Thread t = ThreadingUtil.newThread(() -> findPaths(pairs), "Entry Exit Find Paths");  // NOI18N
+        t.setDaemon(true);
+        t.start();
+    }
+
     protected PropertyChangeListener propertyBlockManagerListener = new PropertyChangeListener() {
         @Override
         public void propertyChange(PropertyChangeEvent e) {
+            if (e.getPropertyName().equals("advancedRoutingEnabled")) {  // NOI18N
+                pathGeneration.incrementAndGet();
+            }
             if (e.getPropertyName().equals("topology")) {  // NOI18N
+                pathGeneration.incrementAndGet();
                 //boolean newValue = new Boolean.parseBoolean(String.valueOf(e.getNewValue()));
                 boolean newValue = (Boolean) e.getNewValue();
                 if (newValue) {
+                    findPathsInBackground();
                     if (runWhenStabilised) {
                         try {
                             automaticallyDiscoverEntryExitPairs(toUseWhenStable, interlockTypeToUseWhenStable);
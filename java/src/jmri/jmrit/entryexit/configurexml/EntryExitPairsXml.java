@@ -319,6 +319,8 @@ public class EntryExitPairsXml extends AbstractXmlAdapter {
                 log.error("Panel has not been loaded");  // NOI18N
             }
         }
+        // if routing has already stabilised, find the paths now rather than on the first use of each pair
+        eep.findPathsInBackground();
         return true;
     }
 
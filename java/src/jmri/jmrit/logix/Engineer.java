@@ -4,8 +4,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.List;
 import java.util.ListIterator;
-import java.util.concurrent.locks.ReentrantLock;
 import jmri.DccThrottle;
+import jmri.InstanceManager;
 import jmri.NamedBean;
 import jmri.NamedBeanHandle;
 import jmri.Sensor;
@@ -52,9 +52,10 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
     private final List<ThrottleSetting> _commands;
     private Sensor _waitSensor;
     private int _sensorWaitState;
-    final ReentrantLock _lock = new ReentrantLock(true);    // Ramp uses to block script speeds
     private Object _rampLockObject = new Object(); // used for synchronizing threads for _ramp
     private ThrottleRamp _ramp;
+    private final boolean _scheduled;   // ramps run on the WarrantScheduler rather than a ramp thread
+    private final RampTiming _rampTiming = new RampTiming();
     private boolean _atHalt = false;
     private boolean _atClear = false;
     private final SpeedUtil _speedUtil;
@@ -68,6 +69,7 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
         _idxSkipToSpeedCommand = 0;
         _syncIdx = -1;
         _waitForSensor = false;
+        _scheduled = WarrantPreferences.getDefault().getRampExecution() == WarrantPreferences.RampExecution.SCHEDULED;
         setName("Engineer(" + _warrant.getTrainName() +")");
     }
 
@@ -378,7 +380,11 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
 
             if (_ramp == null) {
                 _ramp = new ThrottleRamp();
-                _ramp.start();
+                if (_scheduled) {
+                    _ramp.ready = true; // steps run on the WarrantScheduler, no thread to start
+                } else {
+                    _ramp.start();
+                }
             } else if (!_ramp.ready) {
                 // for repeated command
                 if (_ramp.duplicate(endSpeedType, endBlockIdx, useIndex)) {
@@ -399,9 +405,13 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
             }
             if (_ramp.ready) {
                 _ramp.setParameters(endSpeedType, endBlockIdx, useIndex);
-                synchronized (_rampLockObject) {
-                    _rampLockObject.notifyAll(); // free wait at ThrottleRamp.run()
-                    log.debug("rampSpeedTo called notify _ramp.ready={}", _ramp.ready);
+                if (_scheduled) {
+                    _ramp.scheduleRamp();
+                } else {
+                    synchronized (_rampLockObject) {
+                        _rampLockObject.notifyAll(); // free wait at ThrottleRamp.run()
+                        log.debug("rampSpeedTo called notify _ramp.ready={}", _ramp.ready);
+                    }
                 }
             } else {
                 log.error("Can't launch ramp for speed {}! _ramp Thread.State= {}. Waited {}ms",
@@ -558,6 +568,22 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
     ThrottleRamp getRamp() {
         return _ramp;
     }
+
+    /**
+     * @return true if ramps run as tasks of the {@link WarrantScheduler}
+     *         rather than on a ramp thread
+     */
+    boolean isRampScheduled() {
+        return _scheduled;
+    }
+
+    /**
+     * @return how late the steps of this engineer's ramps ran
+     */
+    RampTiming getRampTiming() {
+        return _rampTiming;
+    }
+
     /**
      * Immediate stop command from Warrant.controlRunTrain()-user
      * or from Warrant.goingInactive()-train lost
@@ -789,8 +815,12 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
             // Same loco, perhaps different warrant
             log.debug("Loco address {} finishes warrant {} and starts warrant {}",
                     warrant.getSpeedUtil().getDccAddress(), _warrant.getDisplayName(), warrant.getDisplayName());
-            Thread checker = new CheckForTermination(_warrant, warrant, num);
-            checker.start();
+            CheckForTermination checker = new CheckForTermination(_warrant, warrant, num);
+            if (_scheduled) {
+                checker.schedule();
+            } else {
+                checker.start();
+            }
             if (log.isDebugEnabled()) log.debug("Exit runWarrant");
             return;
         } else {
@@ -829,9 +859,7 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
 
         @Override
         public void run() {
-            OBlock endBlock = oldWarrant.getLastOrder().getBlock();
             long time = 0;
-            String msg = null;
             while (time < 10000) {
                 if (oldWarrant.getRunMode() == Warrant.MODE_NONE) {
                     break;
@@ -843,19 +871,34 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
                     time += 100;
                 } catch (InterruptedException ie) {
                     time = 10000;
-                    msg = Bundle.getMessage("CannotRun", newWarrant.getDisplayName(), ie);
                 } finally {
                     Thread.currentThread().setPriority(priority);
                 }
-                if (time >= 10000) {
-                    msg = Bundle.getMessage("cannotLaunch",
-                            newWarrant.getDisplayName(), oldWarrant.getDisplayName(), endBlock.getDisplayName());
-                }
             }
+            launch(time);
+        }
+
+        /**
+         * Do the checks as tasks of the WarrantScheduler instead of on this thread.
+         */
+        void schedule() {
+            InstanceManager.getDefault(WarrantScheduler.class).schedule(() -> poll(0), 0);
+        }
+
+        private void poll(long time) {
+            if (time < 10000 && oldWarrant.getRunMode() != Warrant.MODE_NONE) {
+                InstanceManager.getDefault(WarrantScheduler.class).schedule(() -> poll(time + 100), 100);
+                return;
+            }
+            launch(time);
+        }
+
+        private void launch(long time) {
+            OBlock endBlock = oldWarrant.getLastOrder().getBlock();
             if (log.isDebugEnabled()) log.debug("CheckForTermination waited {}ms. runMode={} ", time, oldWarrant.getRunMode());
 
             java.awt.Color color;
-            msg = WarrantTableFrame.getDefault().runTrain(newWarrant, Warrant.MODE_RUN);
+            String msg = WarrantTableFrame.getDefault().runTrain(newWarrant, Warrant.MODE_RUN);
             if (msg != null) {
                 msg = Bundle.getMessage("CannotRun", newWarrant.getDisplayName(), msg);
                 color = java.awt.Color.red;
@@ -911,6 +954,21 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
          boolean ready = false;      // ready for call doRamp
          private boolean _die = false;    // kills ramp for good
 
+         // state of the ramp in progress, kept from one step to the next
+         private boolean _upRamp;
+         private ListIterator<Float> _iter;
+         private float _speed;          // speed of the current step
+         private float _endSpeed;       // requested end speed
+         private float _prevSpeed;
+         private float _scriptSpeed;
+         private float _distToCmd;      // distance to next command
+         private float _rampDist;       // accumulating distance of ramp
+         private long _rampTime;        // accumulating time doing the ramp
+         private int _timeIncrement;
+         private int _commandIndexLimit;
+         private boolean _speedSet;     // the speed of the current step is set, waiting out its time increment
+         private boolean _extending;    // waiting at the last speed for the train to reach the end block
+
          ThrottleRamp() {
             setName("Ramp(" + _warrant.getTrainName() +")");
          }
@@ -954,7 +1012,7 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
          */
         int getCommandIndexLimit(int blockIdx, int cmdIdx) {
             // get next block
-            int limit = _commands.size();
+            int limit = _commands.size() - 1;  // the last command is left for the script
             String curBlkName = _warrant.getCurrentBlockName();
             String endBlkName = _warrant.getBlockAt(blockIdx).getDisplayName();
             if (_useIndex) {
@@ -997,247 +1055,350 @@ public class Engineer extends Thread implements java.beans.PropertyChangeListene
             }
         }
 
+        /**
+         * Run the ramp on this thread, waiting the ramp time increment between
+         * steps.
+         */
         public void doRamp() {
+            synchronized (this) {
+                startRamp();
+                long delay;
+                while ((delay = step()) >= 0) {
+                    long due = System.nanoTime() + delay * 1000000;
+                    try {
+                        if (delay > 0) {
+                            wait(delay);
+                        }
+                    } catch (InterruptedException ie) {
+                        stop = true;
+                    }
+                    _rampTiming.record(System.nanoTime() - due);
+                }
+            }
+            rampFinished();
+        }
+
+        /**
+         * Run the ramp as tasks of the {@link WarrantScheduler}, one task for
+         * each step, so no ramp thread waits between the steps.
+         */
+        void scheduleRamp() {
+            ready = false;
+            stop = false;
+            InstanceManager.getDefault(WarrantScheduler.class).schedule(() -> {
+                try {
+                    synchronized (this) {
+                        startRamp();
+                    }
+                } catch (RuntimeException e) {
+                    abandonRamp(e);
+                    return;
+                }
+                doStep(System.nanoTime());
+            }, 0);
+        }
+
+        private void doStep(long due) {
+            long delay;
+            try {
+                synchronized (this) {
+                    delay = step();
+                }
+            } catch (RuntimeException e) {
+                abandonRamp(e);
+                return;
+            }
+            if (delay < 0) {
+                rampFinished();
+                return;
+            }
+            long next = System.nanoTime() + delay * 1000000;
+            InstanceManager.getDefault(WarrantScheduler.class).schedule(() -> {
+                _rampTiming.record(System.nanoTime() - next);
+                doStep(next);
+            }, delay);
+        }
+
+        private void abandonRamp(RuntimeException e) {
+            log.error("Ramp for \"{}\" failed on warrant {}", _endSpeedType, _warrant.getDisplayName(), e);
+            _stopPending = false;
+            _resumePending = false;
+            ready = true;
+            rampDone(true, _endSpeedType);
+            stop = false;
+        }
+
+        private void startRamp() {
             // the time 'right now' is at having done _idxCurrentCommand-1 and is waiting
             // to do the _idxCurrentCommand.  A non-scripted speed change is to begin now.
             // current speed at _idxCurrentCommand is (should be) _normalSpeed modified by _speedType
-            // Note on ramp down the _normalSpeed value may be modified. 
+            // Note on ramp down the _normalSpeed value may be modified.
             // "idxSkipToSpeedCommand" may be used rather than "_idxCurrentCommand".
             // Note on ramp up endSpeed should match scripted speed modified by endSpeedType
             ready = false;
             stop = false;
-            float endSpeed = _speedUtil.modifySpeed(_normalSpeed, _endSpeedType);   // requested end speed
-            float speed = _throttle.getSpeedSetting();  // current speed setting
-            if (speed < 0.0f) {
-                speed = 0.0f;
+            _speedSet = false;
+            _extending = false;
+            _endSpeed = _speedUtil.modifySpeed(_normalSpeed, _endSpeedType);   // requested end speed
+            _speed = _throttle.getSpeedSetting();  // current speed setting
+            if (_speed < 0.0f) {
+                _speed = 0.0f;
             }
-            _rampData = _speedUtil.getRampForSpeedChange(speed, endSpeed);
-            int timeIncrement = _rampData.getRampTimeIncrement();
-            long rampTime = 0;      // accumulating time doing the ramp
-            float rampDist = 0;     // accumulating distance of ramp
+            _rampData = _speedUtil.getRampForSpeedChange(_speed, _endSpeed);
+            _timeIncrement = _rampData.getRampTimeIncrement();
+            _rampTime = 0;
+            _rampDist = 0;
             float rampLen = _rampData.getRampLength();
-            float scriptSpeed = _normalSpeed;
-            float distToCmd = _currentCommand.getTrackSpeed() * _currentCommand.getTime();   // distance to next command
+            _scriptSpeed = _normalSpeed;
+            _distToCmd = _currentCommand.getTrackSpeed() * _currentCommand.getTime();
 
-            int commandIndexLimit = getCommandIndexLimit(_endBlockIdx, _idxCurrentCommand);
-            if (log.isDebugEnabled()) 
+            _commandIndexLimit = getCommandIndexLimit(_endBlockIdx, _idxCurrentCommand);
+            if (log.isDebugEnabled())
                 log.debug("ThrottleRamp for \"{}\". At Cmd#{} limit#{}. rampLen= {} distToCmd= {}. useIndex= {}. on warrant {}",
-                   _endSpeedType, _idxCurrentCommand+1, commandIndexLimit+1, rampLen, distToCmd, _useIndex, _warrant.getDisplayName());
+                   _endSpeedType, _idxCurrentCommand+1, _commandIndexLimit+1, rampLen, _distToCmd, _useIndex, _warrant.getDisplayName());
+
+            // _normalSpeed typically is the last setThrottleSetting done. However it also
+            // may be reset after a down ramp to be the setting expected to be resumed at the
+            // point skipped to by the down ramp.
+            _upRamp = _rampData.isUpRamp();
+            if (_upRamp) {
+                _resumePending = true;
+                // The ramp up will take time and the script may have other speed commands while
+                // ramping up. So the actual script speed may not match the endSpeed when ramp up distance
+                // is traveled.  Adjust 'endSpeed' to match that 'scriptSpeed'.
+                // Up rampLen is distance from current throttle speed to endSpeed of ramp.
+                if (log.isDebugEnabled()) {
+                    log.debug("RAMP UP \"{}\" speed from {}, to {}. distToCmd= {}, Ramp: {}mm {}steps {}ms, Currentdx= {}, SkipToIdx= {}",
+                            _endSpeedType, _speed, _endSpeed, _distToCmd, rampLen, _rampData.getNumSteps(), _rampData.getRamptime(),
+                            _idxCurrentCommand+1, _idxSkipToSpeedCommand+1);
+                        // Note: command indexes biased from 0 to 1 to match Warrant display of commands.
+                }
+                // during ramp up the script may have non-speed commands that should be executed.
+                _iter = _rampData.speedIterator(true);
+                _prevSpeed = _iter.next().floatValue();   // skip repeat of current speed
+            } else {     // decreasing, ramp down to a modified speed
+                // Down ramp may advance the train beyond the point where the script is paused.
+                // Any down ramp requested with _useIndex==true is expected to end at the end of
+                // a block i.e. the block of BlockOrder indexed by _endBlockIdx.
+                // Therefore script should resume at the exit to this block.
+                // During ramp down the script may have other Non speed commands that should be executed.
+                if (log.isDebugEnabled()) {
+                    // Note: command indexes biased from 0 to 1 to match Warrant display of commands.
+                    log.debug("RAMP DOWN to \"{}\". curSpeed= {}, endSpeed= {}, endBlock= {}",
+                            _endSpeedType, _speed, _endSpeed, _warrant.getBlockAt(_endBlockIdx).getDisplayName());
+                }
+                _iter = _rampData.speedIterator(false);
+                _prevSpeed = _iter.previous().floatValue();   // skip repeat of current throttle setting
+            }
+        }
 
-            synchronized (this) {
-                try {
-                     _lock.lock();
-                     // _normalSpeed typically is the last setThrottleSetting done. However it also
-                     // may be reset after a down ramp to be the setting expected to be resumed at the
-                     // point skipped to by the down ramp.
-
-                    if (_rampData.isUpRamp()) {
-                        _resumePending = true;
-                        // The ramp up will take time and the script may have other speed commands while
-                        // ramping up. So the actual script speed may not match the endSpeed when ramp up distance
-                        // is traveled.  Adjust 'endSpeed' to match that 'scriptSpeed'.
-                        // Up rampLen is distance from current throttle speed to endSpeed of ramp.
-                        if (log.isDebugEnabled()) {
-                            log.debug("RAMP UP \"{}\" speed from {}, to {}. distToCmd= {}, Ramp: {}mm {}steps {}ms, Currentdx= {}, SkipToIdx= {}",
-                                    _endSpeedType, speed, endSpeed, distToCmd, rampLen, _rampData.getNumSteps(), _rampData.getRamptime(),
-                                    _idxCurrentCommand+1, _idxSkipToSpeedCommand+1);
-                                // Note: command indexes biased from 0 to 1 to match Warrant display of commands.
-                        }
-                        // during ramp up the script may have non-speed commands that should be executed.
-                        ListIterator<Float> iter = _rampData.speedIterator(true);
-                        float prevSpeed = iter.next().floatValue();   // skip repeat of current speed
-                        float prevScriptSpeed;
-
-                        while (iter.hasNext()) { // do ramp up
-                            if (stop) {
-                                break;
-                            }
-                            speed = iter.next().floatValue();
+        /**
+         * Do the next step of the ramp begun by {@link #startRamp()}.
+         *
+         * @return time in milliseconds to wait before the next step, or -1 when
+         *         the ramp is done
+         */
+        private long step() {
+            if (_speedSet) {
+                _speedSet = false;
+                speedStepDone();
+            }
+            if (_extending) {
+                if (!stop && _endBlockIdx - _warrant._idxCurrentOrder > 0) {
+                    // Until loco reaches end block, continue current speed
+                    return _timeIncrement;
+                }
+                _extending = false;
+                return setStepSpeed();
+            }
+            if (stop || (_upRamp ? !_iter.hasNext() : !_iter.hasPrevious())) {
+                finishRamp();
+                return -1;
+            }
+            if (_upRamp) {
+                _speed = _iter.next().floatValue();
+            } else {
+                _speed = _iter.previous().floatValue();
+
+                if (_useIndex) {    // correction code for ramps that are too long or too short
+                    if ( _warrant._idxCurrentOrder > _endBlockIdx) {
+                        // loco overran end block.  Set end speed and leave ramp
+                        _speed = _endSpeed;
+                        stop = true;
+                    } else if ( _warrant._idxCurrentOrder < _endBlockIdx &&
+                            _endSpeedType.equals(Warrant.Stop) && Math.abs(_speed - _endSpeed) <.001f) {
+                        // At last speed change to set throttle to 0.0, but train has not
+                        // reached the last block. Let loco creep to end block at current setting.
+                        if (log.isDebugEnabled())
+                            log.debug("Extending ramp to reach block {}. speed= {}",
+                                    _warrant.getBlockAt(_endBlockIdx).getDisplayName(), _speed);
+                        _extending = true;
+                        return _timeIncrement;
+                    }
+                }
+            }
+            return setStepSpeed();
+        }
 
-                            setSpeed(speed);
-                            rampDist += _speedUtil.getDistanceOfSpeedChange(prevSpeed, speed, timeIncrement);
-                            prevSpeed = speed;
+        private long setStepSpeed() {
+            setSpeed(_speed);
+            if (_upRamp) {
+                _rampDist += _speedUtil.getDistanceOfSpeedChange(_prevSpeed, _speed, _timeIncrement);
+                _prevSpeed = _speed;
+            }
+            _speedSet = true;
+            return _timeIncrement;
+        }
 
-                            try {
-                                wait(timeIncrement);
-                            } catch (InterruptedException ie) {
-                                _lock.unlock();
-                                stop = true;
-                            }
-                            rampTime += timeIncrement;
-                            rampDist += _speedUtil.getDistanceOfSpeedChange(prevSpeed, speed, timeIncrement);
-                            prevSpeed = speed;
-
-                            // Execute the non-Speed commands during the ramp
-                            if (distToCmd < rampDist && _idxCurrentCommand < commandIndexLimit) {
-                                CommandValue cmdVal = _currentCommand.getValue();
-                                if (!cmdVal.getType().equals(ThrottleSetting.ValueType.VAL_FLOAT)) {
-                                    executeComand(_currentCommand);
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Cmd #{} done.  rampTime={}. distToCmd={} rampDist={}",
-                                                _idxCurrentCommand+1, rampTime, distToCmd, rampDist);
-                                    }
-                                    distToCmd += scriptSpeed * _currentCommand.getTime();
-                                } else {
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Cmd #{} skipped. rampTime={}. distToCmd={} rampDist={}",
-                                                _idxCurrentCommand+1, rampTime, distToCmd, rampDist);
-                                    }
-                                    prevScriptSpeed = scriptSpeed;
-                                    scriptSpeed = _currentCommand.getValue().getFloat();
-                                    distToCmd += _speedUtil.getDistanceOfSpeedChange(prevScriptSpeed, scriptSpeed, timeIncrement);
-                                    if (_speedUtil.modifySpeed(scriptSpeed, _endSpeedType) < speed) {
-                                        if (log.isDebugEnabled()) {
-                                            log.debug("Ramp stopped at speed {}. Cmd #{} rampTime={}. distToCmd={} rampDist={}",
-                                                    speed, _idxCurrentCommand+1, rampTime, distToCmd, rampDist);
-                                        }
-                                        executeComand(_currentCommand);
-                                        stop = true;    // let script take over from here.
-                                    }
-                                 }
-                                _currentCommand = _commands.get(++_idxCurrentCommand);
-                            }
-                            advanceToCommandIndex(_idxCurrentCommand); // skip up to this command
-                        }
-                    } else {     // decreasing, ramp down to a modified speed
-                        // Down ramp may advance the train beyond the point where the script is paused.
-                        // Any down ramp requested with _useIndex==true is expected to end at the end of
-                        // a block i.e. the block of BlockOrder indexed by _endBlockIdx.
-                        // Therefore script should resume at the exit to this block.
-                        // During ramp down the script may have other Non speed commands that should be executed.
+        /**
+         * The time increment of a speed step has passed. Account for the
+         * distance traveled and execute the non-Speed commands passed during
+         * the step.
+         */
+        private void speedStepDone() {
+            _rampTime += _timeIncrement;
+            _rampDist += _speedUtil.getDistanceOfSpeedChange(_prevSpeed, _speed, _timeIncrement);
+            _prevSpeed = _speed;
+
+            // Execute the non-Speed commands during the ramp
+            if (_distToCmd < _rampDist && _idxCurrentCommand < _commandIndexLimit) {
+                CommandValue cmdVal = _currentCommand.getValue();
+                if (!cmdVal.getType().equals(ThrottleSetting.ValueType.VAL_FLOAT)) {
+                    executeComand(_currentCommand);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Cmd #{} done. rampTime={}. distToCmd={} rampDist={}",
+                                _idxCurrentCommand+1, _rampTime, _distToCmd, _rampDist);
+                    }
+                    _distToCmd += _scriptSpeed * _currentCommand.getTime();
+                } else {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Cmd #{} skipped. rampTime={}. distToCmd={} rampDist={}",
+                                _idxCurrentCommand+1, _rampTime, _distToCmd, _rampDist);
+                    }
+                    float prevScriptSpeed = _scriptSpeed;
+                    _scriptSpeed = _currentCommand.getValue().getFloat();
+                    _distToCmd += _speedUtil.getDistanceOfSpeedChange(prevScriptSpeed, _scriptSpeed, _timeIncrement);
+                    if (_upRamp && _speedUtil.modifySpeed(_scriptSpeed, _endSpeedType) < _speed) {
                         if (log.isDebugEnabled()) {
-                            // Note: command indexes biased from 0 to 1 to match Warrant display of commands.
-                            log.debug("RAMP DOWN to \"{}\". curSpeed= {}, endSpeed= {}, endBlock= {}",
-                                    _endSpeedType, speed, endSpeed, _warrant.getBlockAt(_endBlockIdx).getDisplayName());
+                            log.debug("Ramp stopped at speed {}. Cmd #{} rampTime={}. distToCmd={} rampDist={}",
+                                    _speed, _idxCurrentCommand+1, _rampTime, _distToCmd, _rampDist);
                         }
-                        ListIterator<Float> iter = _rampData.speedIterator(false);
-                        float prevSpeed = iter.previous().floatValue();   // skip repeat of current throttle setting
-                        float prevScriptSpeed;
- 
-                        while (iter.hasPrevious()) {
-                            if (stop) {
-                                break;
-                            }
-                            speed = iter.previous().floatValue();
-
-                            if (_useIndex) {    // correction code for ramps that are too long or too short
-                                if ( _warrant._idxCurrentOrder > _endBlockIdx) {
-                                    // loco overran end block.  Set end speed and leave ramp
-                                    speed = endSpeed;
-                                    stop = true;
-                                } else if ( _warrant._idxCurrentOrder < _endBlockIdx && 
-                                        _endSpeedType.equals(Warrant.Stop) && Math.abs(speed - endSpeed) <.001f) {
-                                    // At last speed change to set throttle to 0.0, but train has not 
-                                    // reached the last block. Let loco creep to end block at current setting.
-                                    if (log.isDebugEnabled()) 
-                                        log.debug("Extending ramp to reach block {}. speed= {}",
-                                                _warrant.getBlockAt(_endBlockIdx).getDisplayName(), speed);
-                                    while (_endBlockIdx - _warrant._idxCurrentOrder > 0) {
-                                        // Until loco reaches end block, continue current speed
-                                        try {
-                                            wait(timeIncrement);
-                                        } catch (InterruptedException ie) {
-                                            _lock.unlock();
-                                            stop = true;
-                                        }   
-                                    }
-                                }
-                            }
-
-                            setSpeed(speed);
-                            try {
-                                wait(timeIncrement);
-                            } catch (InterruptedException ie) {
-                                _lock.unlock();
-                                stop = true;
-                            }
+                        executeComand(_currentCommand);
+                        stop = true;    // let script take over from here.
+                    }
+                }
+                _currentCommand = _commands.get(++_idxCurrentCommand);
+            }
+            if (_upRamp) {
+                advanceToCommandIndex(_idxCurrentCommand); // skip up to this command
+            }
+        }
 
-                            rampTime += timeIncrement;
-                            rampDist += _speedUtil.getDistanceOfSpeedChange(prevSpeed, speed, timeIncrement);
-                            prevSpeed = speed;
-
-                            // Execute the non-Speed commands during the ramp
-                            if (distToCmd < rampDist && _idxCurrentCommand < commandIndexLimit) {
-                                CommandValue cmdVal = _currentCommand.getValue();
-                                if (!cmdVal.getType().equals(ThrottleSetting.ValueType.VAL_FLOAT)) {
-                                    executeComand(_currentCommand);
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Cmd #{} done. rampTime={}. distToCmd={} rampDist={}",
-                                                _idxCurrentCommand+1, rampTime, distToCmd, rampDist);
-                                    }
-                                    distToCmd += scriptSpeed * _currentCommand.getTime();
-                                } else {
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Cmd #{} skipped. rampTime={}.  distToCmd={} rampDist={}",
-                                                _idxCurrentCommand+1, rampTime, distToCmd, rampDist);
-                                    }
-                                    prevScriptSpeed = scriptSpeed;
-                                    scriptSpeed = _currentCommand.getValue().getFloat();
-                                    distToCmd += _speedUtil.getDistanceOfSpeedChange(prevScriptSpeed, scriptSpeed, timeIncrement);
-                                 }
-                                _currentCommand = _commands.get(++_idxCurrentCommand);
+        private void finishRamp() {
+            try {
+                if (!_upRamp) {
+                    // ramp done.
+                    if (log.isDebugEnabled()) {
+                        log.debug("Ramp Down done. _idxCurrentCommand={} commandIndexLimit={}. warrant {}",
+                                _idxCurrentCommand+1, _commandIndexLimit, _warrant.getDisplayName());
+                    }
+                    if (_useIndex) {
+                        while (_idxCurrentCommand < _commandIndexLimit) {
+                            NamedBean bean = _currentCommand.getNamedBeanHandle().getBean();
+                            if (bean instanceof OBlock) {
+                                OBlock blk = (OBlock)bean;
+                                if (_endBlockIdx < _warrant.getIndexOfBlock(blk, _endBlockIdx)) {
+                                    // script is past end point, command should be NOOP
+                                    break;
+                                }
                             }
-                        }
-                        // ramp done.
-                        if (log.isDebugEnabled()) {
-                            log.debug("Ramp Down done. _idxCurrentCommand={} commandIndexLimit={}. warrant {}",
-                                    _idxCurrentCommand+1, commandIndexLimit, _warrant.getDisplayName());
-                        }
-                        if (_useIndex) {
-                            while (_idxCurrentCommand < commandIndexLimit) {
-                                NamedBean bean = _currentCommand.getNamedBeanHandle().getBean();
-                                if (bean instanceof OBlock) {
-                                    OBlock blk = (OBlock)bean;
-                                    if (_endBlockIdx < _warrant.getIndexOfBlock(blk, _endBlockIdx)) {
-                                        // script is past end point, command should be NOOP
-                                        break;
-                                    }
+                            CommandValue cmdVal = _currentCommand.getValue();
+                            if (!cmdVal.getType().equals(ThrottleSetting.ValueType.VAL_FLOAT)) {
+                                executeComand(_currentCommand);
+                                if (log.isDebugEnabled()) {
+                                    log.debug("Cmd #{} command=\"{}\' executed. warrant {}",
+                                            _idxCurrentCommand+1, _currentCommand.getCommand(), _warrant.getDisplayName());
                                 }
-                                CommandValue cmdVal = _currentCommand.getValue();
-                                if (!cmdVal.getType().equals(ThrottleSetting.ValueType.VAL_FLOAT)) {
-                                    executeComand(_currentCommand);
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Cmd #{} command=\"{}\' executed. warrant {}",
-                                                _idxCurrentCommand+1, _currentCommand.getCommand(), _warrant.getDisplayName());
-                                    }
-                                } else {
-                                    _normalSpeed = cmdVal.getFloat();
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Cmd #{} command=\"{}\' skipped. warrant {}",
-                                                _idxCurrentCommand+1, _currentCommand.getCommand(), _warrant.getDisplayName());
-                                    }
+                            } else {
+                                _normalSpeed = cmdVal.getFloat();
+                                if (log.isDebugEnabled()) {
+                                    log.debug("Cmd #{} command=\"{}\' skipped. warrant {}",
+                                            _idxCurrentCommand+1, _currentCommand.getCommand(), _warrant.getDisplayName());
                                 }
-                                _currentCommand = _commands.get(++_idxCurrentCommand);
                             }
-                            advanceToCommandIndex(_idxCurrentCommand); // skip up to this command
-
-                            if (log.isDebugEnabled()) 
-                                log.debug("End Blk= {}, Cmd Blk= {}, idxCurrentCommand={}, normalSpeed= {}",
-                                        _warrant.getBlockAt(_endBlockIdx).getDisplayName(),
-                                        _commands.get(_idxCurrentCommand).getNamedBeanHandle().getBean().getDisplayName(),
-                                        _normalSpeed); // Note: command indexes biased from 0 to 1 to match Warrant display of commands.
+                            _currentCommand = _commands.get(++_idxCurrentCommand);
                         }
-                        
-                        _stopPending = false;
-                    }
-                    
-                } finally {
-                    _lock.unlock();
-                    if (!_endSpeedType.equals(Warrant.Stop) &&
-                            !_endSpeedType.equals(Warrant.EStop)) {
-                        // speed restored, clear any stop waits
-                        // If flags already off, OK to repeat setting false
-                        setWaitforClear(false);
-                        setHalt(false);
+                        advanceToCommandIndex(_idxCurrentCommand); // skip up to this command
+
+                        if (log.isDebugEnabled())
+                            log.debug("End Blk= {}, Cmd Blk= {}, idxCurrentCommand={}, normalSpeed= {}",
+                                    _warrant.getBlockAt(_endBlockIdx).getDisplayName(),
+                                    _commands.get(_idxCurrentCommand).getNamedBeanHandle().getBean().getDisplayName(),
+                                    _normalSpeed); // Note: command indexes biased from 0 to 1 to match Warrant display of commands.
                     }
-                    _resumePending = false;
+
+                    _stopPending = false;
                 }
+            } finally {
+                if (!_endSpeedType.equals(Warrant.Stop) &&
+                        !_endSpeedType.equals(Warrant.EStop)) {
+                    // speed restored, clear any stop waits
+                    // If flags already off, OK to repeat setting false
+                    setWaitforClear(false);
+                    setHalt(false);
+                }
+                _resumePending = false;
             }
+        }
+
+        private void rampFinished() {
             ready = true;
             rampDone(stop, _endSpeedType);
             stop = false;
         }
     }
 
+    /**
+     * Records how late the steps of speed ramps ran, i.e. the time from when
+     * a step was due to when it began.
+     */
+    static final class RampTiming {
+
+        private long _steps = 0;
+        private long _totalNanos = 0;
+        private long _maxNanos = 0;
+
+        synchronized void record(long latenessNanos) {
+            long lateness = Math.max(0, latenessNanos);
+            _steps++;
+            _totalNanos += lateness;
+            _maxNanos = Math.max(_maxNanos, lateness);
+        }
+
+        synchronized long getSteps() {
+            return _steps;
+        }
+
+        /**
+         * @return mean lateness of the steps in milliseconds
+         */
+        synchronized float getMeanLateness() {
+            return _steps == 0 ? 0 : _totalNanos / (_steps * 1000000f);
+        }
+
+        /**
+         * @return largest lateness of a step in milliseconds
+         */
+        synchronized float getMaxLateness() {
+            return _maxNanos / 1000000f;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d steps, mean lateness %.1fms, max lateness %.1fms",
+                    _steps, getMeanLateness(), getMaxLateness());
+        }
+    }
+
     private static final Logger log = LoggerFactory.getLogger(Engineer.class);
 }
@@ -661,6 +661,7 @@ public class OBlock extends jmri.Block implements java.beans.PropertyChangeListe
         }
         int oldSize = _portals.size();
         _portals.add(portal);
+        RouteGraph.topologyChanged();
         log.debug("add portal \"{}\" to Block \"{}\"", portal.getName(), getDisplayName());
         firePropertyChange("portalCount", oldSize, _portals.size());
     }
@@ -698,6 +699,7 @@ public class OBlock extends jmri.Block implements java.beans.PropertyChangeListe
             }
             int oldSize = _portals.size();
             _portals = _portals.stream().filter(p -> !Objects.equals(p,portal)).collect(Collectors.toList());
+            RouteGraph.topologyChanged();
             firePropertyChange("portalCount", oldSize, _portals.size());
         }
     }
@@ -719,6 +721,7 @@ public class OBlock extends jmri.Block implements java.beans.PropertyChangeListe
 
     public void setPortals(ArrayList<Portal> portals) {
         _portals = portals;
+        RouteGraph.topologyChanged();
     }
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "OPath extends Path")
@@ -787,6 +790,7 @@ public class OBlock extends jmri.Block implements java.beans.PropertyChangeListe
             }
         }
         super.addPath(path);
+        RouteGraph.topologyChanged();
         firePropertyChange("pathCount", null, getPaths().size());
         return true;
     }
@@ -801,6 +805,7 @@ public class OBlock extends jmri.Block implements java.beans.PropertyChangeListe
         }
         path.clearSettings();
         super.removePath(path);
+        RouteGraph.topologyChanged();
         // remove path from its portals
         Portal portal = path.getToPortal();
         if (portal != null) {
@@ -118,6 +118,7 @@ public class OPath extends jmri.Path {
             log.debug("OPath \"{}\" setFromPortal= \"{}\"", _name, p.getName());
         }
         _fromPortal = p;
+        RouteGraph.topologyChanged();
     }
 
     public Portal getFromPortal() {
@@ -129,6 +130,7 @@ public class OPath extends jmri.Path {
             log.debug("OPath \"{}\" setToPortal= \"{}\"", _name, p.getName());
         }
         _toPortal = p;
+        RouteGraph.topologyChanged();
     }
 
     public Portal getToPortal() {
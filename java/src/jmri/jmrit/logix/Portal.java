@@ -103,6 +103,7 @@ public class Portal {
             }
         }
         list.add(path);
+        RouteGraph.topologyChanged();
         return true;
     }
 
@@ -128,6 +129,7 @@ public class Portal {
         } else if (_toBlock != null && _toBlock.equals(block)) {
             _toPaths.remove(path);
         }
+        RouteGraph.topologyChanged();
 //        pcs.firePropertyChange("RemovePath", block, path); not needed
     }
 
@@ -150,6 +152,7 @@ public class Portal {
             return Bundle.getMessage("DuplicatePortalName", newName, p.getDescription());
         }
         _name = newName;
+        RouteGraph.topologyChanged();
         InstanceManager.getDefault(WarrantManager.class).portalNameChange(oldName, newName);
         
         // for some unknown reason, PortalManager firePropertyChange is not read by PortalTableModel
@@ -196,6 +199,7 @@ public class Portal {
             _toBlock.removePortal(this);    // may should not
         }
         _toBlock = block;
+        RouteGraph.topologyChanged();
         if (_toBlock != null) {
             _toBlock.addPortal(this);
         }
@@ -243,6 +247,7 @@ public class Portal {
             _fromBlock.removePortal(this);
         }
         _fromBlock = block;
+        RouteGraph.topologyChanged();
         if (_fromBlock != null) {
             _fromBlock.addPortal(this);
         }
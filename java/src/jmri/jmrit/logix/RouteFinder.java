@@ -1,15 +1,41 @@
 package jmri.jmrit.logix;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.PriorityQueue;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import jmri.InstanceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Finds the routes from an origin BlockOrder to a destination BlockOrder,
+ * through a via BlockOrder and not using an avoid BlockOrder, of no more than
+ * a maximum number of blocks.
+ * <p>
+ * The search runs over the {@link RouteGraph} of the layout. A route's length
+ * is the sum of the lengths of its paths after the origin, plus one millimeter
+ * per block so that routes over paths of unknown length are compared by their
+ * number of blocks. The exact length remaining to the destination from every
+ * path is computed first and then guides a best first search, so the shortest
+ * routes are found, in order of length, without walking the rest of the
+ * layout.
+ */
 public class RouteFinder implements Runnable {
 
+    /**
+     * The most routes offered for the user to pick from.
+     */
+    static final int MAX_ROUTES = 10;
+
+    /**
+     * Bound on the partial routes examined looking for alternatives to the
+     * shortest route.
+     */
+    static final int MAX_EXPANSIONS = 200000;
+
     WarrantRoute _caller;
     BlockOrder _originBlockOrder;
     BlockOrder _destBlockOrder;
@@ -47,6 +73,8 @@ public class RouteFinder implements Runnable {
     static class RouteNode extends DefaultMutableTreeNode {
 
         boolean _needsViaAncestor = false;
+        int _graphNode = -1;    // node of the RouteGraph, -1 for the origin
+        float _length = 0;      // length of the route from the origin
 
         RouteNode(Object userObject) {
             super(userObject);
@@ -69,6 +97,23 @@ public class RouteFinder implements Runnable {
 
     @Override
     public void run() {
+        findRoutes();
+        jmri.util.ThreadingUtil.runOnLayout(() -> {
+            if (_destNodes.isEmpty()) {
+                _caller.debugRoute(_tree, _originBlockOrder, _destBlockOrder);
+            } else {
+                _caller.pickRoute(_destNodes, _tree);
+            }
+        });
+    }
+
+    /**
+     * Search for the routes. Found routes are the paths to the root of the
+     * nodes of {@link #_destNodes}, shortest first. If none are found,
+     * {@link #_tree} holds the blocks that can be reached from the origin, for
+     * debugging the layout.
+     */
+    void findRoutes() {
         _destBlock = _destBlockOrder.getBlock();
         _dPathName = _destBlockOrder.getPathName();
         _dEntryName = _destBlockOrder.getEntryName();
@@ -87,7 +132,6 @@ public class RouteFinder implements Runnable {
 
         _destNodes = new ArrayList<>();
         _quit = false;
-        int level = 0;
         if (log.isDebugEnabled()) {
             log.debug("Origin= \"{}\" Path= \"{}\" Exit= \"{}\"",  _originBlockOrder.getBlock().getDisplayName(),
                     _originBlockOrder.getPathName(), _originBlockOrder.getExitName());
@@ -95,100 +139,210 @@ public class RouteFinder implements Runnable {
         }
         RouteNode root = new RouteNode(_originBlockOrder, (_viaBlockOrder != null));
         _tree = new DefaultTreeModel(root);
-        ArrayList<RouteNode> nodes = new ArrayList<>();
-        nodes.add(root);
-        while (level < _maxBlocks && !_quit) {
-            nodes = makeLevel(nodes, level);
-            if (log.isDebugEnabled()) {
-                log.debug("level {} has {} nodes. quit= {}", level, nodes.size(), _quit);
-            }
-            level++;
+
+        RouteGraph.Graph graph = InstanceManager.getDefault(RouteGraph.class).getGraph();
+        int[] first = graph.leaving(_originBlockOrder.getBlock(), _originBlockOrder.getExitName());
+        float[] remaining = remainingLengths(graph);
+        searchRoutes(graph, root, first, remaining);
+        if (_destNodes.isEmpty() && !_quit) {
+            root = new RouteNode(_originBlockOrder, (_viaBlockOrder != null));
+            _tree = new DefaultTreeModel(root);
+            makeReachableTree(graph, root, first);
         }
-        jmri.util.ThreadingUtil.runOnLayout(() -> {
-            if (_destNodes.isEmpty()) {
-                _caller.debugRoute(_tree, _originBlockOrder, _destBlockOrder);
-            } else {
-                _caller.pickRoute(_destNodes, _tree);
-            }
-        });
+        if (log.isDebugEnabled()) {
+            log.debug("found {} routes. quit= {}", _destNodes.size(), _quit);
+        }
+    }
+
+    // A search state is a RouteGraph node together with whether the route to it
+    // has passed the via path; state = 2 * node + (passed ? 1 : 0).
+    // Without a via path every route has "passed" it.
+
+    private boolean isVia(RouteGraph.Graph graph, int node) {
+        return _viaBlock != null && _viaBlock.equals(graph.getBlock(node))
+                && _vPathName.equals(graph.getPath(node).getName());
+    }
+
+    private boolean isAvoided(RouteGraph.Graph graph, int node) {
+        return _avoidBlock != null && _avoidBlock.equals(graph.getBlock(node))
+                && _aPathName.equals(graph.getPath(node).getName());
+    }
+
+    private boolean isDestination(RouteGraph.Graph graph, int node) {
+        return _destBlock == graph.getBlock(node) && _dPathName.equals(graph.getPath(node).getName())
+                && _dEntryName.equals(graph.getEntryName(node));
+    }
+
+    private static float length(RouteGraph.Graph graph, int node) {
+        return Math.max(0, graph.getPath(node).getLengthMm()) + 1;
     }
 
     /**
-     * Examines list of nodes at a given level for the destination node and
-     * makes a list of nodes of the next level.
-     * @param nodes list of route nodes
-     * @param level level of the nodes
-     * @return list of  route nodes at level
+     * Reverse Dijkstra search from the destination.
+     *
+     * @return for each search state, the length of the shortest way to the
+     *         destination, or infinity if there is none
      */
-    @SuppressFBWarnings(value="BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification="OBlock extends Block")
-    ArrayList<RouteNode> makeLevel(ArrayList<RouteNode> nodes, int level) {
-
-        ArrayList<RouteNode> children = new ArrayList<>();
-        for (int i = 0; i < nodes.size(); i++) {
-            RouteNode node = nodes.get(i);
-            BlockOrder pOrder = (BlockOrder) node.getUserObject();
-            OBlock pBlock = pOrder.getBlock();
-            String pName = pOrder.getExitName();    // is entryName of next block
-            Portal exitPortal = pBlock.getPortalByName(pName);
-            if (exitPortal != null) {
-                OBlock nextBlock = exitPortal.getOpposingBlock(pBlock);
-                List<OPath> paths = exitPortal.getPathsFromOpposingBlock(pBlock);
-                if (log.isTraceEnabled()) {
-                    log.debug("makeLevel {} block= {}, path= {} meets {} portal paths",
-                            level, pBlock.getDisplayName(), pOrder.getPathName(), paths.size());
-                }
-                if (paths.isEmpty()) {
-                    if (nextBlock == null) {
-                        log.error("Portal \"{}\" is malformed! \"{}\" not connected to another block!", 
-                                pName, pBlock.getDisplayName());
-                    } else {
-                        log.error("Portal \"{}\" does not have any paths from \"{}\" to \"{}\"",
-                                pName, pBlock.getDisplayName(), nextBlock.getDisplayName());
-                    }
+    private float[] remainingLengths(RouteGraph.Graph graph) {
+        float[] remaining = new float[2 * graph.size()];
+        Arrays.fill(remaining, Float.POSITIVE_INFINITY);
+        PriorityQueue<float[]> queue = new PriorityQueue<>((a, b) -> Float.compare(a[0], b[0]));
+        for (int n = 0; n < graph.size(); n++) {
+            if (isDestination(graph, n) && !isAvoided(graph, n)) {
+                remaining[2 * n + 1] = 0;
+                queue.add(new float[]{0, 2 * n + 1});
+            }
+        }
+        while (!queue.isEmpty() && !_quit) {
+            float[] entry = queue.poll();
+            int state = (int) entry[1];
+            if (entry[0] > remaining[state]) {
+                continue;
+            }
+            int node = state / 2;
+            boolean passed = (state % 2) == 1;
+            float len = entry[0] + length(graph, node);
+            for (int pred : graph.getPredecessors(node)) {
+                if (isAvoided(graph, pred)) {
+                    continue;
                 }
-                // walk all paths
-                for (int k = 0; k < paths.size(); k++) {
-                    OPath path = paths.get(k);
-                    if (_avoidBlock != null && _avoidBlock.equals(nextBlock)) {
-                        if (_aPathName.equals(path.getName())) {
-                            continue;
-                        }
-                    }
-                    String exitName = path.getOppositePortalName(pName);
-                    OBlock pathBlock = (OBlock) path.getBlock();
-                    BlockOrder nOrder = new BlockOrder(pathBlock, path.getName(), pName, exitName);
-                    RouteNode child = new RouteNode(nOrder, node.needsViaAncestor());
-                    _tree.insertNodeInto(child, node, node.getChildCount());
-                    if (_viaBlock != null && _viaBlock.equals(nextBlock)) {
-                        if (_vPathName.equals(path.getName())) {
-                            child.hasViaAncestor(true);
-                        }
+                // the states of pred that step into this state
+                for (int p = 0; p < 2; p++) {
+                    boolean predPassed = (p == 1) || isVia(graph, node);
+                    if (predPassed != passed) {
+                        continue;
                     }
-                    if (!node.needsViaAncestor()) {
-                        if (log.isTraceEnabled()) {
-                            log.debug("Test= \"{}\" Path= {} Exit= {}",  nOrder.getBlock().getDisplayName(),
-                                    path.getName(),pName);
-                        }
-                        if (_destBlock == nOrder.getBlock() && _dPathName.equals(path.getName())
-                                && _dEntryName.equals(pName)) {
-                            _destNodes.add(child);
-                        }
-                    }
-                    children.add(child);
-                    if (_quit) {
-                        break;
+                    int predState = 2 * pred + p;
+                    if (len < remaining[predState]) {
+                        remaining[predState] = len;
+                        queue.add(new float[]{len, predState});
                     }
                 }
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("Dead branch: block= \"{}\" has no exit portal", pBlock.getDisplayName());
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Best first search of routes, ordered by their length plus the remaining
+     * length to the destination. Routes do not repeat a path entered from the
+     * same portal.
+     */
+    private void searchRoutes(RouteGraph.Graph graph, RouteNode root, int[] first, float[] remaining) {
+        boolean rootPassed = (_viaBlockOrder == null);
+        PriorityQueue<RouteNode> queue = new PriorityQueue<>((a, b) -> Float.compare(
+                a._length + remaining[state(a)], b._length + remaining[state(b)]));
+        int expansions = 0;
+        expand(graph, root, rootPassed, first, remaining, queue);
+        while (!queue.isEmpty() && !_quit && expansions < MAX_EXPANSIONS) {
+            RouteNode node = queue.poll();
+            if (remaining[state(node)] == 0) {
+                _destNodes.add(node);
+                if (_destNodes.size() >= MAX_ROUTES) {
+                    break;
                 }
+                continue;
             }
-            if (_quit) {
-                break;
+            expansions++;
+            expand(graph, node, !node.needsViaAncestor(), graph.getSuccessors(node._graphNode), remaining, queue);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("examined {} partial routes, {} waiting", expansions, queue.size());
+        }
+    }
+
+    private static int state(RouteNode node) {
+        return 2 * node._graphNode + (node.needsViaAncestor() ? 0 : 1);
+    }
+
+    private void expand(RouteGraph.Graph graph, RouteNode parent, boolean passed, int[] successors,
+            float[] remaining, PriorityQueue<RouteNode> queue) {
+        if (parent.getLevel() >= _maxBlocks) {
+            return;
+        }
+        for (int succ : successors) {
+            boolean succPassed = passed || isVia(graph, succ);
+            if (isAvoided(graph, succ) || remaining[2 * succ + (succPassed ? 1 : 0)] == Float.POSITIVE_INFINITY
+                    || onRoute(parent, succ)) {
+                continue;
+            }
+            RouteNode child = makeNode(graph, parent, succ, succPassed);
+            child._length = parent._length + length(graph, succ);
+            queue.add(child);
+        }
+    }
+
+    private static boolean onRoute(RouteNode node, int graphNode) {
+        for (RouteNode n = node; n != null; n = (RouteNode) n.getParent()) {
+            if (n._graphNode == graphNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RouteNode makeNode(RouteGraph.Graph graph, RouteNode parent, int node, boolean passed) {
+        OPath path = graph.getPath(node);
+        BlockOrder order = new BlockOrder(graph.getBlock(node), path.getName(), graph.getEntryName(node),
+                graph.getExitName(node));
+        RouteNode child = new RouteNode(order, !passed);
+        child._graphNode = node;
+        _tree.insertNodeInto(child, parent, parent.getChildCount());
+        return child;
+    }
+
+    /**
+     * Make the tree of the paths that can be reached from the origin, each path
+     * once, for showing why no route was found.
+     */
+    private void makeReachableTree(RouteGraph.Graph graph, RouteNode root, int[] first) {
+        boolean[] seen = new boolean[2 * graph.size()];
+        ArrayDeque<RouteNode> queue = new ArrayDeque<>();
+        ArrayDeque<int[]> successors = new ArrayDeque<>();
+        queue.add(root);
+        successors.add(first);
+        while (!queue.isEmpty() && !_quit) {
+            RouteNode node = queue.poll();
+            int[] succs = successors.poll();
+            BlockOrder order = (BlockOrder) node.getUserObject();
+            checkExit(order);
+            if (node.getLevel() >= _maxBlocks) {
+                continue;
+            }
+            for (int succ : succs) {
+                boolean passed = !node.needsViaAncestor() || isVia(graph, succ);
+                int state = 2 * succ + (passed ? 1 : 0);
+                if (isAvoided(graph, succ) || seen[state]) {
+                    continue;
+                }
+                seen[state] = true;
+                queue.add(makeNode(graph, node, succ, passed));
+                successors.add(graph.getSuccessors(succ));
+            }
+        }
+    }
+
+    private void checkExit(BlockOrder order) {
+        OBlock block = order.getBlock();
+        String exitName = order.getExitName();
+        Portal exitPortal = block.getPortalByName(exitName);
+        if (exitPortal == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Dead branch: block= \"{}\" has no exit portal", block.getDisplayName());
+            }
+            return;
+        }
+        java.util.List<OPath> paths = exitPortal.getPathsFromOpposingBlock(block);
+        if (paths == null || paths.isEmpty()) {
+            OBlock nextBlock = exitPortal.getOpposingBlock(block);
+            if (nextBlock == null) {
+                log.error("Portal \"{}\" is malformed! \"{}\" not connected to another block!",
+                        exitName, block.getDisplayName());
+            } else {
+                log.error("Portal \"{}\" does not have any paths from \"{}\" to \"{}\"",
+                        exitName, block.getDisplayName(), nextBlock.getDisplayName());
             }
         }
-        return children;
     }
 
     private static final Logger log = LoggerFactory.getLogger(RouteFinder.class);
@@ -0,0 +1,193 @@
+package jmri.jmrit.logix;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import jmri.InstanceManager;
+import jmri.InstanceManagerAutoDefault;
+import jmri.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connections of the OPaths of all OBlocks through their Portals, for
+ * {@link RouteFinder}.
+ * <p>
+ * A node of the graph is an OPath entered through one of its Portals, i.e. the
+ * BlockOrder a route search makes for that path. The successors of a node are
+ * the paths of the neighboring block that a train leaving through the opposite
+ * Portal may enter.
+ * <p>
+ * The graph is built when a search first needs it and is kept until an OBlock,
+ * OPath or Portal changes the way they connect.
+ */
+public class RouteGraph implements InstanceManagerAutoDefault {
+
+    private static final AtomicInteger _changes = new AtomicInteger();
+
+    private Graph _graph = null;
+    private int _graphChanges;
+    private int _buildCount = 0;
+
+    public RouteGraph() {
+    }
+
+    /**
+     * Called when a path or portal connection changes, so the next search
+     * rebuilds the graph.
+     */
+    static void topologyChanged() {
+        _changes.incrementAndGet();
+    }
+
+    synchronized Graph getGraph() {
+        int changes = _changes.get();
+        if (_graph == null || changes != _graphChanges) {
+            long time = System.nanoTime();
+            _graph = new Graph(InstanceManager.getDefault(OBlockManager.class));
+            _graphChanges = changes;
+            _buildCount++;
+            if (log.isDebugEnabled()) {
+                log.debug("built route graph of {} nodes in {}ms", _graph.size(), (System.nanoTime() - time) / 1000000);
+            }
+        }
+        return _graph;
+    }
+
+    /**
+     * @return the number of times the graph has been built
+     */
+    synchronized int getBuildCount() {
+        return _buildCount;
+    }
+
+    static final class Graph {
+
+        private final List<OPath> _paths = new ArrayList<>();      // path of each node
+        private final List<String> _entries = new ArrayList<>();   // entry portal name of each node
+        private final Map<OPath, Map<String, Integer>> _index = new IdentityHashMap<>(); // OPath.equals() is logical equality
+        private final List<int[]> _successors = new ArrayList<>();
+        private final int[][] _predecessors;
+
+        @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "OPath extends Path")
+        Graph(OBlockManager manager) {
+            for (OBlock block : manager.getNamedBeanSet()) {
+                for (Path p : block.getPaths()) {
+                    OPath path = (OPath) p;
+                    if (path.getFromPortal() != null) {
+                        node(path, path.getFromPortal().getName());
+                    }
+                    if (path.getToPortal() != null) {
+                        node(path, path.getToPortal().getName());
+                    }
+                }
+            }
+            // paths known only to a portal add nodes as they are found
+            for (int n = 0; n < _paths.size(); n++) {
+                OPath path = _paths.get(n);
+                _successors.add(leaving((OBlock) path.getBlock(), path.getOppositePortalName(_entries.get(n)), true));
+            }
+            int[] count = new int[_paths.size()];
+            for (int[] succ : _successors) {
+                for (int s : succ) {
+                    count[s]++;
+                }
+            }
+            _predecessors = new int[_paths.size()][];
+            for (int n = 0; n < count.length; n++) {
+                _predecessors[n] = new int[count[n]];
+                count[n] = 0;
+            }
+            for (int n = 0; n < _successors.size(); n++) {
+                for (int s : _successors.get(n)) {
+                    _predecessors[s][count[s]++] = n;
+                }
+            }
+        }
+
+        private int node(OPath path, String entry) {
+            Map<String, Integer> entries = _index.computeIfAbsent(path, p -> new HashMap<>(4));
+            Integer n = entries.get(entry);
+            if (n == null) {
+                n = _paths.size();
+                _paths.add(path);
+                _entries.add(entry);
+                entries.put(entry, n);
+            }
+            return n;
+        }
+
+        private int[] leaving(OBlock block, String portalName, boolean add) {
+            if (block == null || portalName == null) {
+                return new int[0];
+            }
+            Portal portal = block.getPortalByName(portalName);
+            if (portal == null) {
+                return new int[0];
+            }
+            List<OPath> paths = portal.getPathsFromOpposingBlock(block);
+            if (paths == null) {
+                return new int[0];
+            }
+            int[] nodes = new int[paths.size()];
+            int size = 0;
+            for (OPath path : paths) {
+                if (add) {
+                    nodes[size++] = node(path, portalName);
+                } else {
+                    Map<String, Integer> entries = _index.get(path);
+                    Integer n = (entries != null ? entries.get(portalName) : null);
+                    if (n != null) {
+                        nodes[size++] = n;
+                    }
+                }
+            }
+            return (size == nodes.length ? nodes : Arrays.copyOf(nodes, size));
+        }
+
+        /**
+         * @param block      the block a train leaves
+         * @param portalName the portal it leaves through
+         * @return the nodes the train may enter, in the order of the portal's
+         *         paths
+         */
+        int[] leaving(OBlock block, String portalName) {
+            return leaving(block, portalName, false);
+        }
+
+        int size() {
+            return _paths.size();
+        }
+
+        int[] getSuccessors(int node) {
+            return _successors.get(node);
+        }
+
+        int[] getPredecessors(int node) {
+            return _predecessors[node];
+        }
+
+        OPath getPath(int node) {
+            return _paths.get(node);
+        }
+
+        String getEntryName(int node) {
+            return _entries.get(node);
+        }
+
+        String getExitName(int node) {
+            return _paths.get(node).getOppositePortalName(_entries.get(node));
+        }
+
+        OBlock getBlock(int node) {
+            return (OBlock) _paths.get(node).getBlock();
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RouteGraph.class);
+}
@@ -1143,16 +1143,21 @@ public class Warrant extends jmri.implementation.AbstractNamedBean implements Th
             info.append(_engineer.isInterrupted()); info.append("\n\t");
             Engineer.ThrottleRamp ramp = _engineer.getRamp();
             if (ramp != null) {
-                info.append("Ramp Thread.State= "); info.append(ramp.getState());
-                info.append(", ready= "); info.append(ramp.ready);
-                info.append(", isAlive= "); info.append(ramp.isAlive());
-                info.append(", isInterrupted= "); info.append(ramp.isInterrupted());
-                for (StackTraceElement elem : ramp.getStackTrace()) {
-                    info.append("\n\t\t");
-                    info.append(elem.getClassName()); info.append(".");
-                    info.append(elem.getMethodName()); info.append(", line ");
-                    info.append(elem.getLineNumber());
+                if (_engineer.isRampScheduled()) {
+                    info.append("Ramp on WarrantScheduler, ready= "); info.append(ramp.ready);
+                } else {
+                    info.append("Ramp Thread.State= "); info.append(ramp.getState());
+                    info.append(", ready= "); info.append(ramp.ready);
+                    info.append(", isAlive= "); info.append(ramp.isAlive());
+                    info.append(", isInterrupted= "); info.append(ramp.isInterrupted());
+                    for (StackTraceElement elem : ramp.getStackTrace()) {
+                        info.append("\n\t\t");
+                        info.append(elem.getClassName()); info.append(".");
+                        info.append(elem.getMethodName()); info.append(", line ");
+                        info.append(elem.getLineNumber());
+                    }
                 }
+                info.append("\n\tRamp timing: "); info.append(_engineer.getRampTiming());
             } else {
                 info.append("No ramp");
             }
@@ -1163,6 +1168,15 @@ public class Warrant extends jmri.implementation.AbstractNamedBean implements Th
         return true;
     }
 
+    /**
+     * @return how late the ramp steps of the running train ran, or null if
+     *         the train isn't running
+     */
+    Engineer.RampTiming getRampTiming() {
+        Engineer engineer = _engineer;
+        return engineer == null ? null : engineer.getRampTiming();
+    }
+
     protected void startupWarrant() {
         _idxCurrentOrder = 0;
         _idxLastOrder = 0;
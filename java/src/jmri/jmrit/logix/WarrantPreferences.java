@@ -56,6 +56,7 @@ public class WarrantPreferences extends AbstractPreferencesManager {
     public static final String NO_MERGE = "NO_MERGE";
     public static final String PROMPT   = "PROMPT";
     public static final String MERGE_ALL = "MERGE_ALL";
+    public static final String RAMP_EXECUTION = "rampExecution"; // NOI18N
 
     private String _fileName;
     private float _scale = 87.1f;
@@ -71,6 +72,14 @@ public class WarrantPreferences extends AbstractPreferencesManager {
 
     public enum Shutdown {NO_MERGE, PROMPT, MERGE_ALL}
     private Shutdown _shutdown = Shutdown.PROMPT;     // choice for handling session RosterSpeedProfiles
+
+    /**
+     * How running warrants time their speed ramps. THREAD gives each train its
+     * own ramp thread, SCHEDULED runs the ramp steps of all trains as timed
+     * tasks of the shared {@link WarrantScheduler}.
+     */
+    public enum RampExecution {THREAD, SCHEDULED}
+    private RampExecution _rampExecution = RampExecution.THREAD;
     /**
      * Get the default instance.
      *
@@ -146,6 +155,15 @@ public class WarrantPreferences extends AbstractPreferencesManager {
                 _shutdown = Shutdown.PROMPT;
             }
         }
+        Element rampExecution = layoutParm.getChild(RAMP_EXECUTION);
+        if (rampExecution != null) {
+            try {
+                _rampExecution = RampExecution.valueOf(rampExecution.getText());
+            } catch (IllegalArgumentException ex) {
+                _rampExecution = RampExecution.THREAD;
+                log.error("Unknown ramp execution \"{}\". Setting to default value.", rampExecution.getText());
+            }
+        }
     }
 
     // Avoid firePropertyChange until SignalSpeedMap is completely loaded
@@ -310,6 +328,9 @@ public class WarrantPreferences extends AbstractPreferencesManager {
             Element shutdownPref = new Element(SHUT_DOWN);
             shutdownPref.setText(_shutdown.toString());
             prefs.addContent(shutdownPref);
+            Element rampExecutionPref = new Element(RAMP_EXECUTION);
+            rampExecutionPref.setText(_rampExecution.toString());
+            prefs.addContent(rampExecutionPref);
             root.addContent(prefs);
 
             prefs = new Element(SPEED_MAP_PARAMS);
@@ -549,6 +570,13 @@ public class WarrantPreferences extends AbstractPreferencesManager {
         return _shutdown;
     }
 
+    public void setRampExecution(RampExecution set) {
+        _rampExecution = set;
+    }
+    public RampExecution getRampExecution() {
+        return _rampExecution;
+    }
+
     @Override
     public void savePreferences(Profile profile) {
         this.save();
@@ -58,6 +58,7 @@ public class WarrantPreferencesPanel extends JPanel implements PreferencesPanel,
     private JTable _appearanceTable;
     private ArrayList<DataPair<String, Integer>> _stepIncrementMap;
     private WarrantPreferences.Shutdown _shutdown;
+    private WarrantPreferences.RampExecution _rampExecution;
 
     public WarrantPreferencesPanel() {
         initGUI();
@@ -77,6 +78,7 @@ public class WarrantPreferencesPanel extends JPanel implements PreferencesPanel,
         leftPanel.add(throttleIncrementPanel(true, _rampIncre));
         leftPanel.add(throttleScalePanel(true));
         leftPanel.add(speedRosterPanel(true));
+        leftPanel.add(rampExecutionPanel(true));
         rightPanel.add(speedNamesPanel());
         rightPanel.add(Box.createGlue());
 //        rightPanel.add(interpretationPanel());
@@ -320,6 +322,37 @@ public class WarrantPreferencesPanel extends JPanel implements PreferencesPanel,
         return panel;
     }
 
+    private JPanel rampExecutionPanel(boolean vertical) {
+        ButtonGroup bg = new ButtonGroup();
+        JPanel p = new JPanel();
+        p.setLayout(new BoxLayout(p, BoxLayout.LINE_AXIS));
+        JRadioButton b1 = new JRadioButton(Bundle.getMessage("RampThreadPerTrain"));
+        b1.addActionListener((ActionEvent e) -> {
+            if (b1.isSelected()) {
+                _rampExecution = WarrantPreferences.RampExecution.THREAD;
+            }
+        });
+        bg.add(b1);
+        p.add(b1);
+        JRadioButton b2 = new JRadioButton(Bundle.getMessage("RampScheduled"));
+        b2.addActionListener((ActionEvent e) -> {
+            if (b2.isSelected()) {
+                _rampExecution = WarrantPreferences.RampExecution.SCHEDULED;
+            }
+        });
+        bg.add(b2);
+        p.add(b2);
+        _rampExecution = WarrantPreferences.getDefault().getRampExecution();
+        if (_rampExecution == WarrantPreferences.RampExecution.SCHEDULED) {
+            b2.setSelected(true);
+        } else {
+            b1.setSelected(true);
+        }
+        JPanel panel = new JPanel();
+        panel.add(WarrantRoute.makeTextBoxPanel(vertical, p, "RampExecution", "ToolTipRampExecution"));
+        return panel;
+    }
+
     private JPanel speedNamesPanel() {
         JPanel panel = new JPanel();
         panel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(java.awt.Color.BLACK),
@@ -547,6 +580,11 @@ public class WarrantPreferencesPanel extends JPanel implements PreferencesPanel,
             _isDirty = true;
         }
 
+        if (preferences.getRampExecution() != _rampExecution) {
+            preferences.setRampExecution(_rampExecution);
+            _isDirty = true;
+        }
+
         boolean different = false;
         javax.swing.table.TableCellEditor tce = _speedNameTable.getCellEditor();
         if (tce != null) {
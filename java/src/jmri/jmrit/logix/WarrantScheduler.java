@@ -0,0 +1,22 @@
+package jmri.jmrit.logix;
+
+import jmri.InstanceManagerAutoDefault;
+import jmri.util.TaskScheduler;
+
+/**
+ * Timer shared by all running warrants.
+ * <p>
+ * When {@link WarrantPreferences#getRampExecution()} is
+ * {@link WarrantPreferences.RampExecution#SCHEDULED}, each step of a speed
+ * ramp is a task run on this scheduler at the time of the step, so a layout
+ * running many trains needs a few threads rather than one ramp thread per
+ * train.
+ *
+ * @see Engineer
+ */
+public class WarrantScheduler extends TaskScheduler implements InstanceManagerAutoDefault {
+
+    public WarrantScheduler() {
+        super("Warrant Scheduler"); // NOI18N
+    }
+}
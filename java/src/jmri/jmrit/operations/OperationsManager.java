@@ -100,7 +100,7 @@ public final class OperationsManager implements InstanceManagerAutoDefault, Inst
             @Override
             public void run() {
                 try {
-                    OperationsXml.save();
+                    InstanceManager.getDefault(OperationsXmlWriter.class).flush();
                 } catch (Exception ex) {
                     log.warn("Error saving operations state: {}", ex.getMessage());
                     log.debug("Details follow: ", ex);
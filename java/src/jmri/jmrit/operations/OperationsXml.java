@@ -3,7 +3,14 @@ package jmri.jmrit.operations;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.jdom2.Document;
 import org.jdom2.JDOMException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +24,7 @@ import jmri.jmrit.operations.routes.RouteManagerXml;
 import jmri.jmrit.operations.setup.OperationsSetupXml;
 import jmri.jmrit.operations.trains.TrainManagerXml;
 import jmri.util.FileUtil;
+import jmri.util.ThreadingUtil;
 
 /**
  * Loads and stores the operation setup using xml files.
@@ -27,14 +35,117 @@ public abstract class OperationsXml extends XmlFile {
 
     /**
      * Store the all of the operation train objects in the default place,
-     * including making a backup if needed
+     * including making a backup if needed. The file is written to a temporary
+     * file first, which then replaces the old file, so the file is complete
+     * even if JMRI stops while writing.
      */
     public void writeOperationsFile() {
-        createFile(getDefaultOperationsFilename(), true); // make backup
+        Document doc = createDocument();
+        if (doc != null) {
+            writeDocument(doc);
+        }
+    }
+
+    /**
+     * Create the document stored in the operations file from the current
+     * state, without writing it. The file is then no longer dirty; changes made
+     * after this are stored by the next document. Called on the GUI thread by
+     * {@link OperationsXmlWriter}, so that the document isn't created from
+     * objects the GUI is changing.
+     *
+     * @return the document, or null if it couldn't be created
+     */
+    synchronized Document createDocument() {
+        int count = dirtyCount.get();
+        capture = true;
         try {
             writeFile(getDefaultOperationsFilename());
         } catch (IOException e) {
-            log.error("Exception while writing operation file, may not be complete: {}", e.getMessage());
+            log.error("Exception while creating operation file: {}", e.getMessage());
+        } finally {
+            capture = false;
+        }
+        Document doc = captured;
+        captured = null;
+        latest = doc;
+        // writeFile() clears the dirty flag, keep changes made while storing
+        if (count != dirtyCount.get()) {
+            dirty = true;
+        }
+        return doc;
+    }
+
+    /**
+     * Write a document created by {@link #createDocument()} to the operations
+     * file, unless a newer document has been created since. If the write
+     * fails, the file is marked dirty again.
+     *
+     * @param doc the document to write
+     */
+    void writeDocument(Document doc) {
+        synchronized (writeLock) {
+            if (doc != latest) {
+                log.debug("Newer {} document created, not writing this one", getOperationsFileName());
+                return;
+            }
+            latest = null;
+            String name = getDefaultOperationsFilename();
+            File file = new File(name);
+            copyBackupFile(file);
+            File parentDir = file.getParentFile();
+            if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+                log.error("Directory wasn't created");
+            }
+            File temp = new File(name + ".tmp"); // NOI18N
+            try {
+                super.writeXML(temp, doc);
+                try {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                log.error("Exception while writing operation file, may not be complete: {}", e.getMessage());
+                setDirty(true);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * While {@link #createDocument()} runs writeFile(), the document is kept
+     * instead of written.
+     */
+    @Override
+    public synchronized void writeXML(File file, Document doc) throws IOException, FileNotFoundException {
+        if (capture) {
+            captured = doc;
+        } else {
+            super.writeXML(file, doc);
+        }
+    }
+
+    private boolean capture = false; // true while createDocument() runs
+    private Document captured = null;
+    private volatile Document latest = null; // the newest document not yet written
+    private final Object writeLock = new Object();
+
+    /*
+     * Copy the current file to the backup file. Unlike makeBackupFile(), the
+     * current file stays in place until the new one replaces it.
+     */
+    private void copyBackupFile(File file) {
+        if (!file.exists()) {
+            log.debug("No {} file to backup", file);
+            return;
+        }
+        try {
+            Files.copy(file.toPath(), new File(backupFileName(file.getAbsolutePath())).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Could not backup file {}: {}", file, e.getMessage());
         }
     }
 
@@ -85,9 +196,13 @@ public abstract class OperationsXml extends XmlFile {
      */
     abstract public void readFile(String filename) throws org.jdom2.JDOMException, java.io.IOException;
 
-    private boolean dirty = false;
+    private volatile boolean dirty = false;
+    private final AtomicInteger dirtyCount = new AtomicInteger(); // incremented each time this is marked dirty
 
     public void setDirty(boolean b) {
+        if (b) {
+            dirtyCount.incrementAndGet();
+        }
         dirty = b;
     }
 
@@ -191,15 +306,41 @@ public abstract class OperationsXml extends XmlFile {
     }
 
     /**
-     * Saves operation files that have been modified.
+     * Saves operation files that have been modified. When called on the GUI
+     * thread the files are written in the background by the
+     * {@link OperationsXmlWriter}, so that repeated saves are coalesced and
+     * don't hold up the GUI; otherwise they are written before returning.
+     * Code that copies, replaces or deletes the files must instead call
+     * {@link OperationsXmlWriter#finishRequestedSaves()} and then
+     * {@link #saveNow()}.
      */
     public static void save() {
-        InstanceManager.getDefault(OperationsSetupXml.class).writeFileIfDirty();
-        InstanceManager.getDefault(LocationManagerXml.class).writeFileIfDirty(); // Need to save "moves" for track location
-        InstanceManager.getDefault(RouteManagerXml.class).writeFileIfDirty(); // Only if user used setX&Y
-        InstanceManager.getDefault(CarManagerXml.class).writeFileIfDirty(); // save train assignments
-        InstanceManager.getDefault(EngineManagerXml.class).writeFileIfDirty(); // save train assignments
-        InstanceManager.getDefault(TrainManagerXml.class).writeFileIfDirty(); // save train changes
+        if (ThreadingUtil.isGUIThread()) {
+            InstanceManager.getDefault(OperationsXmlWriter.class).requestSave();
+        } else {
+            saveNow();
+        }
+    }
+
+    /**
+     * Saves operation files that have been modified on the calling thread.
+     */
+    public static synchronized void saveNow() {
+        for (OperationsXml xml : getOperationsFiles()) {
+            xml.writeFileIfDirty();
+        }
+    }
+
+    /**
+     * @return the operations files, in the order they are saved
+     */
+    static List<OperationsXml> getOperationsFiles() {
+        return Arrays.asList(InstanceManager.getDefault(OperationsSetupXml.class),
+                InstanceManager.getDefault(LocationManagerXml.class), // Need to save "moves" for track location
+                InstanceManager.getDefault(RouteManagerXml.class), // Only if user used setX&Y
+                InstanceManager.getDefault(CarManagerXml.class), // save train assignments
+                InstanceManager.getDefault(EngineManagerXml.class), // save train assignments
+                InstanceManager.getDefault(TrainManagerXml.class)); // save train changes
     }
 
     /**
@@ -0,0 +1,196 @@
+package jmri.jmrit.operations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.Timer;
+
+import org.jdom2.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jmri.Disposable;
+import jmri.InstanceManagerAutoDefault;
+import jmri.util.ThreadingUtil;
+
+/**
+ * Saves the modified operations files on a background thread.
+ * <p>
+ * Save requests made within {@link #getDelay()} milliseconds of each other are
+ * coalesced into a single save of the files that are dirty at that time, so a
+ * burst of edits doesn't rewrite the large car and location files once per
+ * edit. The documents to save are created from the operations objects on the
+ * GUI thread, where those objects are changed, and only writing the documents
+ * to the files is done on the background thread, so the GUI never waits for
+ * the files to be written.
+ *
+ * @see OperationsXml#save()
+ */
+public class OperationsXmlWriter implements InstanceManagerAutoDefault, Disposable {
+
+    private int _delay = 1000; // msec
+    private ExecutorService _executor = null;
+    private Timer _pending = null;
+    private final AtomicInteger _writes = new AtomicInteger(); // saves creating documents or writing
+
+    public OperationsXmlWriter() {
+    }
+
+    /**
+     * @return the time in milliseconds a save waits for more requests before
+     *         the documents are created
+     */
+    public int getDelay() {
+        return _delay;
+    }
+
+    public void setDelay(int delay) {
+        _delay = delay;
+    }
+
+    /**
+     * Save the dirty operations files after the delay, unless a save is
+     * already waiting to start.
+     */
+    public synchronized void requestSave() {
+        if (_pending != null) {
+            return; // the waiting save will include these changes
+        }
+        _pending = ThreadingUtil.runOnGUIDelayed(this::createDocuments, _delay);
+    }
+
+    /**
+     * @return true if a requested save hasn't finished writing the files yet
+     */
+    public synchronized boolean isSavePending() {
+        return _pending != null || _writes.get() > 0;
+    }
+
+    /**
+     * Write the dirty operations files now on the calling thread, instead of
+     * waiting for a requested save, after any writes already queued on the
+     * background thread.
+     */
+    public void flush() {
+        synchronized (this) {
+            stopPending();
+        }
+        awaitWrites();
+        OperationsXml.saveNow();
+    }
+
+    /**
+     * Finish the saves that have been requested, so that none of them writes
+     * the operations files after this returns: a save waiting to start is
+     * written now on the calling thread, and the writes already queued on the
+     * background thread are waited for. Unlike {@link #flush()}, files that are
+     * dirty without a save having been requested are not written. Call this
+     * before copying, replacing or deleting the files.
+     */
+    public void finishRequestedSaves() {
+        boolean requested;
+        synchronized (this) {
+            requested = stopPending();
+        }
+        awaitWrites();
+        if (requested) {
+            OperationsXml.saveNow();
+        }
+    }
+
+    // returns true if a save was waiting to start
+    private boolean stopPending() {
+        if (_pending == null) {
+            return false;
+        }
+        _pending.stop();
+        _pending = null;
+        return true;
+    }
+
+    private void awaitWrites() {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = _executor;
+        }
+        if (executor != null) {
+            try {
+                executor.submit(() -> {
+                }).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Exception while waiting for operations files to be saved", e);
+            }
+        }
+    }
+
+    /*
+     * On the GUI thread, create the documents of the dirty files, and queue
+     * them to be written on the background thread.
+     */
+    private void createDocuments() {
+        synchronized (this) {
+            if (_pending == null) {
+                return; // flushed or disposed
+            }
+            _pending = null; // later requests need another save
+            _writes.incrementAndGet();
+        }
+        Map<OperationsXml, Document> documents = new LinkedHashMap<>();
+        try {
+            for (OperationsXml xml : OperationsXml.getOperationsFiles()) {
+                if (xml.isDirty()) {
+                    Document doc = xml.createDocument();
+                    if (doc != null) {
+                        documents.put(xml, doc);
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                if (documents.isEmpty()) {
+                    _writes.decrementAndGet();
+                } else {
+                    if (_executor == null) {
+                        _executor = Executors.newSingleThreadExecutor(r -> {
+                            Thread t = ThreadingUtil.newThread(r, "Operations Xml Writer"); // NOI18N
+                            t.setDaemon(true);
+                            return t;
+                        });
+                    }
+                    _executor.execute(() -> write(documents));
+                }
+            }
+        }
+    }
+
+    private void write(Map<OperationsXml, Document> documents) {
+        try {
+            documents.forEach(OperationsXml::writeDocument);
+        } catch (RuntimeException e) {
+            log.error("Exception while saving operations files", e);
+        } finally {
+            _writes.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stop the background thread once the queued writes are done. Saves that
+     * haven't created their documents yet are dropped.
+     */
+    @Override
+    public synchronized void dispose() {
+        stopPending();
+        if (_executor != null) {
+            _executor.shutdown();
+            _executor = null;
+        }
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(OperationsXmlWriter.class);
+}
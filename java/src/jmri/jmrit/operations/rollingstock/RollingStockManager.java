@@ -3,9 +3,17 @@ package jmri.jmrit.operations.rollingstock;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 
@@ -31,6 +39,23 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
     // RollingStock
     protected Hashtable<String, T> _hashTable = new Hashtable<>();
 
+    // Secondary indexes, kept up to date from the rolling stock property
+    // changes. Lists from an index are returned in _hashTable order, the
+    // order they had when they were found by scanning _hashTable.
+    private final List<Index<T>> _indexes = new ArrayList<>();
+    private final Index<T> _locationIndex = createIndex(RollingStock::getLocation);
+    private final Index<T> _trackIndex = createIndex(RollingStock::getTrack);
+    private final Index<T> _trainIndex = createIndex(RollingStock::getTrain);
+
+    // Cached lists that only depend on which rolling stock is in _hashTable
+    // and on their ids. Cleared when rolling stock is added, removed or
+    // renamed.
+    private final Object _viewLock = new Object();
+    private View<T> _hashTableView;
+    private View<T> _byIdView;
+    private View<T> _byRoadNameView;
+    private View<T> _byNumberView;
+
     public static final String LISTLENGTH_CHANGED_PROPERTY = "RollingStockListLength"; // NOI18N
     
     abstract public RollingStock newRS(String road, String number);
@@ -120,6 +145,10 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
             int oldSize = _hashTable.size();
             rs.addPropertyChangeListener(this);
             _hashTable.put(rs.getId(), rs);
+            clearViews();
+            for (Index<T> index : _indexes) {
+                index.add(rs);
+            }
             firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, oldSize, _hashTable.size());
         }
     }
@@ -134,6 +163,10 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
         rs.dispose();
         int oldSize = _hashTable.size();
         _hashTable.remove(rs.getId());
+        clearViews();
+        for (Index<T> index : _indexes) {
+            index.remove(rs);
+        }
         firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, oldSize, _hashTable.size());
     }
 
@@ -148,6 +181,10 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
             rs.dispose();
             _hashTable.remove(rs.getId());
         }
+        clearViews();
+        for (Index<T> index : _indexes) {
+            index.clear();
+        }
         firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, oldSize, _hashTable.size());
     }
 
@@ -165,7 +202,7 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList() {
-        return new ArrayList<>(_hashTable.values());
+        return new ArrayList<>(getHashTableView().list);
     }
 
     /**
@@ -174,19 +211,28 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock ordered by id
      */
     public List<T> getByIdList() {
-        Enumeration<String> en = _hashTable.keys();
-        String[] arr = new String[_hashTable.size()];
-        List<T> out = new ArrayList<>();
-        int i = 0;
-        while (en.hasMoreElements()) {
-            arr[i] = en.nextElement();
-            i++;
-        }
-        java.util.Arrays.sort(arr);
-        for (i = 0; i < arr.length; i++) {
-            out.add(getById(arr[i]));
+        return new ArrayList<>(getByIdView().list);
+    }
+
+    private View<T> getByIdView() {
+        synchronized (_viewLock) {
+            if (_byIdView == null) {
+                Enumeration<String> en = _hashTable.keys();
+                String[] arr = new String[_hashTable.size()];
+                List<T> out = new ArrayList<>();
+                int i = 0;
+                while (en.hasMoreElements()) {
+                    arr[i] = en.nextElement();
+                    i++;
+                }
+                java.util.Arrays.sort(arr);
+                for (i = 0; i < arr.length; i++) {
+                    out.add(getById(arr[i]));
+                }
+                _byIdView = new View<>(out);
+            }
+            return _byIdView;
         }
-        return out;
     }
 
     /**
@@ -195,7 +241,26 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock ordered by road name
      */
     public List<T> getByRoadNameList() {
-        return getByList(getByIdList(), BY_ROAD);
+        return new ArrayList<>(getByRoadNameView().list);
+    }
+
+    private View<T> getByRoadNameView() {
+        synchronized (_viewLock) {
+            if (_byRoadNameView == null) {
+                _byRoadNameView = new View<>(getByList(getByIdView().list, BY_ROAD));
+            }
+            return _byRoadNameView;
+        }
+    }
+
+    /**
+     * Sort rolling stock in the same order as {@link #getByRoadNameList()}.
+     *
+     * @param rsList the rolling stock to sort
+     * @return list of RollingStock ordered by road name
+     */
+    protected List<T> getByRoadNameList(Collection<T> rsList) {
+        return getByView(rsList, getByRoadNameView());
     }
 
     private static final int PAGE_SIZE = 64;
@@ -209,8 +274,15 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock ordered by number
      */
     public List<T> getByNumberList() {
-        // first get by road list
-        List<T> sortIn = getByRoadNameList();
+        synchronized (_viewLock) {
+            if (_byNumberView == null) {
+                _byNumberView = new View<>(sortByNumber(getByRoadNameView().list));
+            }
+            return new ArrayList<>(_byNumberView.list);
+        }
+    }
+
+    private List<T> sortByNumber(List<T> sortIn) {
         // now re-sort
         List<T> out = new ArrayList<>();
         int rsNumber = 0;
@@ -314,9 +386,9 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock that are specific type
      */
     public List<T> getByTypeList(String type) {
-        List<T> typeList = getByTypeList();
+        // same order as filtering getByTypeList(), as the sort is stable
         List<T> out = new ArrayList<>();
-        for (T rs : typeList) {
+        for (T rs : getByRoadNameView().list) {
             if (rs.getTypeName().equals(type)) {
                 out.add(rs);
             }
@@ -551,13 +623,7 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList(Train train) {
-        List<T> out = new ArrayList<>();
-        _hashTable.values().stream().filter((rs) -> {
-            return rs.getTrain() == train;
-        }).forEachOrdered((rs) -> {
-            out.add(rs);
-        });
-        return out;
+        return getByView(_trainIndex.get(train), getHashTableView());
     }
 
     /**
@@ -567,13 +633,7 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList(Location location) {
-        List<T> out = new ArrayList<>();
-        _hashTable.values().stream().filter((rs) -> {
-            return rs.getLocation() == location;
-        }).forEachOrdered((rs) -> {
-            out.add(rs);
-        });
-        return out;
+        return getByView(_locationIndex.get(location), getHashTableView());
     }
 
     /**
@@ -583,23 +643,147 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList(Track track) {
-        List<T> out = new ArrayList<>();
-        _hashTable.values().stream().filter((rs) -> {
-            return rs.getTrack() == track;
-        }).forEachOrdered((rs) -> {
-            out.add(rs);
-        });
+        return getByView(_trackIndex.get(track), getHashTableView());
+    }
+
+    /**
+     * Create a secondary index of the registered rolling stock, kept up to
+     * date as rolling stock is added, removed or fires a property change.
+     * Must be called while the manager is constructed. The key must only
+     * change when the rolling stock fires a property change.
+     *
+     * @param key function returning the key of the index for a rolling stock
+     * @return the new index
+     */
+    protected final Index<T> createIndex(Function<T, Object> key) {
+        Index<T> index = new Index<>(key);
+        _indexes.add(index);
+        return index;
+    }
+
+    private View<T> getHashTableView() {
+        synchronized (_viewLock) {
+            if (_hashTableView == null) {
+                _hashTableView = new View<>(new ArrayList<>(_hashTable.values()));
+            }
+            return _hashTableView;
+        }
+    }
+
+    private void clearViews() {
+        synchronized (_viewLock) {
+            _hashTableView = null;
+            _byIdView = null;
+            _byRoadNameView = null;
+            _byNumberView = null;
+        }
+    }
+
+    private List<T> getByView(Collection<T> rsList, View<T> view) {
+        List<T> out = new ArrayList<>(rsList);
+        out.sort((r1, r2) -> Integer.compare(view.getPosition(r1), view.getPosition(r2)));
         return out;
     }
 
+    /**
+     * A list of rolling stock and the position of each one in it.
+     */
+    private static final class View<T> {
+
+        final List<T> list;
+        private Map<T, Integer> positions;
+
+        View(List<T> list) {
+            this.list = Collections.unmodifiableList(list);
+        }
+
+        synchronized int getPosition(T rs) {
+            if (positions == null) {
+                positions = new HashMap<>(list.size() * 2);
+                for (int i = 0; i < list.size(); i++) {
+                    positions.put(list.get(i), i);
+                }
+            }
+            // rolling stock registered after this view was made goes last
+            return positions.getOrDefault(rs, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Index of the registered rolling stock by a key, for example the location.
+     * The key of each rolling stock is remembered so the rolling stock can be
+     * moved when its key changes.
+     *
+     * @param <T> the type of RollingStock indexed
+     */
+    protected static final class Index<T> {
+
+        private final Function<T, Object> _key;
+        private final Map<Object, Set<T>> _byKey = new HashMap<>();
+        private final Map<T, Object> _keyOf = new HashMap<>();
+
+        Index(Function<T, Object> key) {
+            _key = key;
+        }
+
+        /**
+         * Get the rolling stock with a key, in no particular order.
+         *
+         * @param key the key, can be null
+         * @return a new list of the rolling stock with the key
+         */
+        public synchronized List<T> get(Object key) {
+            Set<T> set = _byKey.get(key);
+            return set == null ? new ArrayList<>() : new ArrayList<>(set);
+        }
+
+        synchronized void add(T rs) {
+            Object key = _key.apply(rs);
+            _keyOf.put(rs, key);
+            _byKey.computeIfAbsent(key, k -> new HashSet<>()).add(rs);
+        }
+
+        synchronized void remove(T rs) {
+            if (!_keyOf.containsKey(rs)) {
+                return;
+            }
+            Object key = _keyOf.remove(rs);
+            Set<T> set = _byKey.get(key);
+            set.remove(rs);
+            if (set.isEmpty()) {
+                _byKey.remove(key);
+            }
+        }
+
+        synchronized void update(T rs) {
+            if (_keyOf.containsKey(rs) && !Objects.equals(_keyOf.get(rs), _key.apply(rs))) {
+                remove(rs);
+                add(rs);
+            }
+        }
+
+        synchronized void clear() {
+            _byKey.clear();
+            _keyOf.clear();
+        }
+    }
+
     @Override
     @OverridingMethodsMustInvokeSuper
     public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getSource() instanceof RollingStock) {
+            @SuppressWarnings("unchecked")
+            T rs = (T) evt.getSource(); // unchecked cast to T
+            for (Index<T> index : _indexes) {
+                index.update(rs);
+            }
+        }
         if (evt.getPropertyName().equals(Xml.ID)) {
             @SuppressWarnings("unchecked")
             T rs = (T) evt.getSource(); // unchecked cast to T  
             _hashTable.remove(evt.getOldValue());
             _hashTable.put(rs.getId(), rs);
+            clearViews();
             // fire so listeners that rebuild internal lists get signal of change in id, even without change in size
             firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, _hashTable.size(), _hashTable.size());
         }
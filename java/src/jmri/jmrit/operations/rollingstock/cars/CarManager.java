@@ -33,6 +33,9 @@ public class CarManager extends RollingStockManager<Car> implements InstanceMana
 
     public static final String KERNEL_LISTLENGTH_CHANGED_PROPERTY = "KernelListLength"; // NOI18N
 
+    // cars by type name, Kernels already keep their own list of cars
+    private final Index<Car> _typeIndex = createIndex(Car::getTypeName);
+
     public CarManager() {
     }
 
@@ -74,6 +77,17 @@ public class CarManager extends RollingStockManager<Car> implements InstanceMana
         return super.getByRoadAndNumber(road, number);
     }
 
+    /**
+     * Return cars of a specific type
+     *
+     * @param type type of car
+     * @return list of cars that are specific type, ordered by road name
+     */
+    @Override
+    public List<Car> getByTypeList(String type) {
+        return getByRoadNameList(_typeIndex.get(type));
+    }
+
     /**
      * Get a Car by type and road. Used to test that a car with a specific type
      * and road exists.
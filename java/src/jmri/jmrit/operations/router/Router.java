@@ -4,7 +4,11 @@ import java.io.PrintWriter;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +60,7 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
     private static final boolean debugFlag = false; // developer debug flag
 
     private static final String SEVEN = Setup.BUILD_REPORT_VERY_DETAILED;
+    private static final int MAX_TRAINS = 6; // the most trains a route may use
     private boolean _addtoReport = false;
     private boolean _addtoReportVeryDetailed = false;
 
@@ -694,196 +699,146 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
             }
             log.debug("Try to find route using 3 trains");
         }
-        boolean foundRoute = routeUsing3Trains(car);
-        if (!foundRoute) {
-            log.debug("Using 3 trains to route car to ({}) was unsuccessful", car.getFinalDestinationName());
-            foundRoute = routeUsing4Trains(car);
-        }
-        if (!foundRoute) {
-            log.debug("Using 4 trains to route car to ({}) was unsuccessful", car.getFinalDestinationName());
-            foundRoute = routeUsing5Trains(car);
-        }
-        if (!foundRoute) {
-            log.debug("Using 5 trains to route car to ({}) was unsuccessful", car.getFinalDestinationName());
-            foundRoute = routeUsing6Trains(car);
-        }
-        return foundRoute;
-    }
-
-    private boolean routeUsing3Trains(Car car) {
-        addLine(_buildReport, SEVEN, MessageFormat.format(Bundle.getMessage("RouterNTrains"),
-                new Object[] { "3", car.getFinalDestinationName(), car.getFinalDestinationTrackName() }));
-        Car testCar = clone(car); // reload
+        ServiceGraph graph = new ServiceGraph(clone(car));
         boolean foundRoute = false;
-        for (Track nlt : _nextLocationTracks) {
-            for (Track llt : _lastLocationTracks) {
-                // does a train service these two locations?
-                Train middleTrain = getTrainForCar(testCar, nlt, llt);
-                if (middleTrain != null) {
-                    log.debug("Found 3 train route, setting car destination ({}, {})", nlt.getLocation().getName(),
-                            nlt.getName());
-                    foundRoute = true;
-                    // show the car's route by building an ordered list of trains and tracks
-                    List<Train> trains = new ArrayList<>(
-                            Arrays.asList(_nextLocationTrains.get(_nextLocationTracks.indexOf(nlt)), middleTrain,
-                                    _lastLocationTrains.get(_lastLocationTracks.indexOf(llt))));
-                    List<Track> tracks = new ArrayList<>(Arrays.asList(nlt, llt));
-                    showRoute(car, trains, tracks);
-                    if (finshSettingRouteFor(car, nlt)) {
-                        return true; // done 3 train routing
-                    }
-                    break; // there was an issue with the first stop in the route
-                }
+        for (int numberOfTrains = 3; numberOfTrains <= MAX_TRAINS && !foundRoute; numberOfTrains++) {
+            if (numberOfTrains > 3) {
+                log.debug("Using {} trains to route car to ({}) was unsuccessful", numberOfTrains - 1,
+                        car.getFinalDestinationName());
             }
+            foundRoute = routeUsingTrains(car, graph, numberOfTrains);
         }
         return foundRoute;
     }
 
-    private boolean routeUsing4Trains(Car car) {
+    /*
+     * Try to route the car using the given number of trains: one train to a
+     * "next" track, trains between "other" tracks, and a train from a "last"
+     * track to the car's final destination. Routes starting at each "next"
+     * track are tried in the order that nested loops over the track lists would
+     * find them, so the chosen route is the same. Only call this if there is no
+     * route using fewer trains.
+     */
+    private boolean routeUsingTrains(Car car, ServiceGraph graph, int numberOfTrains) {
         addLine(_buildReport, SEVEN, MessageFormat.format(Bundle.getMessage("RouterNTrains"),
-                new Object[] { "4", car.getFinalDestinationName(), car.getFinalDestinationTrackName() }));
-        Car testCar = clone(car); // reload
+                new Object[] { Integer.toString(numberOfTrains), car.getFinalDestinationName(),
+                        car.getFinalDestinationTrackName() }));
         boolean foundRoute = false;
         for (Track nlt : _nextLocationTracks) {
-            otherloop: for (Track mlt : _otherLocationTracks) {
-                Train middleTrain2 = getTrainForCar(testCar, nlt, mlt);
-                if (middleTrain2 == null) {
-                    continue;
-                }
-                if (debugFlag) {
-                    log.debug("Train 2 ({}) services car from ({}) to ({}, {})", middleTrain2.getName(),
-                            testCar.getLocationName(), testCar.getDestinationName(), testCar.getDestinationTrackName());
-                }
-                for (Track llt : _lastLocationTracks) {
-                    Train middleTrain3 = getTrainForCar(testCar, mlt, llt);
-                    if (middleTrain3 == null) {
-                        continue;
-                    }
-                    log.debug("Found 4 train route, setting car destination ({}, {})", nlt.getLocation().getName(),
-                            nlt.getName());
-                    foundRoute = true;
-                    // show the car's route by building an ordered list of trains and tracks
-                    List<Train> trains = new ArrayList<>(
-                            Arrays.asList(_nextLocationTrains.get(_nextLocationTracks.indexOf(nlt)), middleTrain2,
-                                    middleTrain3, _lastLocationTrains.get(_lastLocationTracks.indexOf(llt))));
-                    List<Track> tracks = new ArrayList<>(Arrays.asList(nlt, mlt, llt));
-                    showRoute(car, trains, tracks);
-                    if (finshSettingRouteFor(car, nlt)) {
-                        return true; // done 4 train routing
-                    }
-                    break otherloop; // there was an issue with the first stop in the route
-                }
+            List<Track> tracks = new ArrayList<>();
+            tracks.add(nlt);
+            if (!graph.findRoute(tracks, numberOfTrains - 3)) {
+                continue;
             }
+            log.debug("Found {} train route, setting car destination ({}, {})", numberOfTrains,
+                    nlt.getLocation().getName(), nlt.getName());
+            foundRoute = true;
+            // show the car's route by building an ordered list of trains and tracks
+            List<Train> trains = new ArrayList<>();
+            trains.add(_nextLocationTrains.get(_nextLocationTracks.indexOf(nlt)));
+            for (int i = 1; i < tracks.size(); i++) {
+                trains.add(graph.getTrain(tracks.get(i - 1), tracks.get(i)));
+            }
+            trains.add(_lastLocationTrains.get(_lastLocationTracks.indexOf(tracks.get(tracks.size() - 1))));
+            showRoute(car, trains, tracks);
+            // only set car's destination if specified train can service car
+            if (finshSettingRouteFor(car, nlt)) {
+                return true; // done multiple train routing
+            }
+            // there was an issue with the first stop in the route, try the next
         }
         return foundRoute;
     }
 
-    private boolean routeUsing5Trains(Car car) {
-        addLine(_buildReport, SEVEN, MessageFormat.format(Bundle.getMessage("RouterNTrains"),
-                new Object[] { "5", car.getFinalDestinationName(), car.getFinalDestinationTrackName() }));
-        Car testCar = clone(car); // reload
-        boolean foundRoute = false;
-        for (Track nlt : _nextLocationTracks) {
-            otherloop: for (Track mlt1 : _otherLocationTracks) {
-                Train middleTrain2 = getTrainForCar(testCar, nlt, mlt1);
-                if (middleTrain2 == null) {
-                    continue;
-                }
-                if (debugFlag) {
-                    log.debug("Train 2 ({}) services car from ({}) to ({}, {})", middleTrain2.getName(),
-                            testCar.getLocationName(), testCar.getDestinationName(), testCar.getDestinationTrackName());
-                }
-                for (Track mlt2 : _otherLocationTracks) {
-                    if (mlt2 == mlt1) {
-                        continue;
-                    }
-                    Train middleTrain3 = getTrainForCar(testCar, mlt1, mlt2);
-                    if (middleTrain3 == null) {
+    /**
+     * The trains that can carry a car between the "next", "other" and "last"
+     * tracks. Which train, if any, serves a pair of tracks is only found when
+     * first needed, and then remembered. This is only valid while routing one
+     * car, as the answer depends on the car and on the trains' build status.
+     */
+    private class ServiceGraph {
+
+        private final Car testCar;
+        private final Map<Track, Map<Track, Train>> trains = new HashMap<>();
+        // levels.get(n) holds the tracks that need n trains to reach a "last" track
+        private final List<Set<Track>> levels = new ArrayList<>();
+
+        ServiceGraph(Car testCar) {
+            this.testCar = testCar;
+            levels.add(new LinkedHashSet<>(_lastLocationTracks));
+        }
+
+        /**
+         * Get the train that can carry the car between two tracks.
+         *
+         * @return the train, or null if there is none
+         */
+        Train getTrain(Track from, Track to) {
+            Map<Track, Train> fromTrains = trains.computeIfAbsent(from, k -> new HashMap<>());
+            if (!fromTrains.containsKey(to)) {
+                fromTrains.put(to, getTrainForCar(testCar, from, to));
+            }
+            return fromTrains.get(to);
+        }
+
+        /**
+         * Get the "other" tracks from which the car needs exactly n trains to
+         * reach a "last" track.
+         */
+        private Set<Track> getLevel(int n) {
+            while (levels.size() <= n) {
+                Set<Track> previous = levels.get(levels.size() - 1);
+                Set<Track> level = new LinkedHashSet<>();
+                for (Track track : _otherLocationTracks) {
+                    if (levels.stream().anyMatch(l -> l.contains(track))) {
                         continue;
                     }
-                    if (debugFlag) {
-                        log.debug("Train 3 ({}) services car from ({}) to ({}, {})", middleTrain3.getName(),
-                                testCar.getLocationName(), testCar.getDestinationName(),
-                                testCar.getDestinationTrackName());
-                    }
-                    for (Track llt : _lastLocationTracks) {
-                        Train middleTrain4 = getTrainForCar(testCar, mlt2, llt);
-                        if (middleTrain4 == null) {
-                            continue;
+                    for (Track to : previous) {
+                        if (getTrain(track, to) != null) {
+                            level.add(track);
+                            break;
                         }
-                        log.debug("Found 5 train route, setting car destination ({}, {})", nlt.getLocation().getName(),
-                                nlt.getName());
-                        foundRoute = true;
-                        // show the car's route by building an ordered list of trains and tracks
-                        List<Train> trains = new ArrayList<>(Arrays.asList(
-                                _nextLocationTrains.get(_nextLocationTracks.indexOf(nlt)), middleTrain2, middleTrain3,
-                                middleTrain4, _lastLocationTrains.get(_lastLocationTracks.indexOf(llt))));
-                        List<Track> tracks = new ArrayList<>(Arrays.asList(nlt, mlt1, mlt2, llt));
-                        showRoute(car, trains, tracks);
-                        if (finshSettingRouteFor(car, nlt)) {
-                            return true; // done 5 train routing
-                        }
-                        break otherloop; // there was an issue with the first stop in the route
                     }
                 }
-            }
-        }
-        return foundRoute;
-    }
-
-    private boolean routeUsing6Trains(Car car) {
-        addLine(_buildReport, SEVEN, MessageFormat.format(Bundle.getMessage("RouterNTrains"),
-                new Object[] { "6", car.getFinalDestinationName(), car.getFinalDestinationTrackName() }));
-        Car testCar = clone(car); // reload
-        boolean foundRoute = false;
-        for (Track nlt : _nextLocationTracks) {
-            otherloop: for (Track mlt1 : _otherLocationTracks) {
-                Train middleTrain2 = getTrainForCar(testCar, nlt, mlt1);
-                if (middleTrain2 == null) {
-                    continue;
-                }
-                for (Track mlt2 : _otherLocationTracks) {
-                    if (mlt2 == mlt1) {
-                        continue;
-                    }
-                    Train middleTrain3 = getTrainForCar(testCar, mlt1, mlt2);
-                    if (middleTrain3 == null) {
-                        continue;
+                levels.add(level);
+            }
+            return levels.get(n);
+        }
+
+        /**
+         * Extend a route through the given number of "other" tracks to a
+         * "last" track. When no shorter route exists, every track on a route
+         * through n "other" tracks must be in the level for the number of
+         * tracks remaining, so only those are searched. The first route in
+         * list order is chosen.
+         *
+         * @param tracks the route so far, which is extended if successful
+         * @param others the number of "other" tracks to use
+         * @return true if a route was found
+         */
+        boolean findRoute(List<Track> tracks, int others) {
+            Track from = tracks.get(tracks.size() - 1);
+            if (others == 0) {
+                for (Track llt : _lastLocationTracks) {
+                    if (getTrain(from, llt) != null) {
+                        tracks.add(llt);
+                        return true;
                     }
-                    for (Track mlt3 : _otherLocationTracks) {
-                        if (mlt3 == mlt1 || mlt3 == mlt2) {
-                            continue;
-                        }
-                        Train middleTrain4 = getTrainForCar(testCar, mlt2, mlt3);
-                        if (middleTrain4 == null) {
-                            continue;
-                        }
-                        for (Track llt : _lastLocationTracks) {
-                            Train middleTrain5 = getTrainForCar(testCar, mlt3, llt);
-                            if (middleTrain5 == null) {
-                                continue;
-                            }
-                            log.debug("Found 6 train route, setting car destination ({}, {})",
-                                    nlt.getLocation().getName(), nlt.getName());
-                            foundRoute = true;
-                            // show the car's route by building an ordered list of trains and tracks
-                            List<Train> trains = new ArrayList<>(
-                                    Arrays.asList(_nextLocationTrains.get(_nextLocationTracks.indexOf(nlt)),
-                                            middleTrain2, middleTrain3, middleTrain4, middleTrain5,
-                                            _lastLocationTrains.get(_lastLocationTracks.indexOf(llt))));
-                            List<Track> tracks = new ArrayList<>(Arrays.asList(nlt, mlt1, mlt2, mlt3, llt));
-                            showRoute(car, trains, tracks);
-                            // only set car's destination if specified train can service car
-                            if (finshSettingRouteFor(car, nlt)) {
-                                return true; // done 6 train routing
-                            }
-                            break otherloop; // there was an issue with the first stop in the route
-                        }
+                }
+                return false;
+            }
+            Set<Track> level = getLevel(others);
+            for (Track mlt : _otherLocationTracks) {
+                if (level.contains(mlt) && getTrain(from, mlt) != null) {
+                    tracks.add(mlt);
+                    if (findRoute(tracks, others - 1)) {
+                        return true;
                     }
+                    tracks.remove(tracks.size() - 1);
                 }
             }
+            return false;
         }
-        return foundRoute;
     }
 
     private Train getTrainForCar(Car testCar, Track from, Track to) {
@@ -18,7 +18,9 @@ import javax.swing.JTextField;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import jmri.InstanceManager;
 import jmri.jmrit.operations.OperationsXml;
+import jmri.jmrit.operations.OperationsXmlWriter;
 import jmri.util.swing.ExceptionContext;
 import jmri.util.swing.ExceptionDisplayFrame;
 import jmri.util.swing.UnexpectedExceptionContext;
@@ -185,6 +187,8 @@ public class BackupDialog extends JDialog {
                 return;
             }
 
+            // write any save already requested now, so it can't write the files later
+            InstanceManager.getDefault(OperationsXmlWriter.class).finishRequestedSaves();
             // check to see if files are dirty
             if (OperationsXml.areFilesDirty()) {
                 if (JOptionPane
@@ -193,7 +197,7 @@ public class BackupDialog extends JDialog {
                                 Bundle.getMessage("OperationsFilesModified"),
                                 Bundle.getMessage("SaveOperationFiles"),
                                 JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-                    OperationsXml.save();
+                    OperationsXml.saveNow();
                 }
             }
 
@@ -11,7 +11,9 @@ import javax.swing.JOptionPane;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jmri.InstanceManager;
 import jmri.jmrit.operations.OperationsXml;
+import jmri.jmrit.operations.OperationsXmlWriter;
 
 /**
  * Swing action to backup operation files to a directory selected by the user.
@@ -33,13 +35,15 @@ public class BackupFilesAction extends AbstractAction {
     }
 
     private void backUp() {
+        // write any save already requested now, so it can't write the files later
+        InstanceManager.getDefault(OperationsXmlWriter.class).finishRequestedSaves();
         // check to see if files are dirty
         if (OperationsXml.areFilesDirty()) {
             if (JOptionPane.showConfirmDialog(null,
                     Bundle.getMessage("OperationsFilesModified"),
                     Bundle.getMessage("SaveOperationFiles"),
                     JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-                OperationsXml.save();
+                OperationsXml.saveNow();
             }
         }
         BackupBase backup = new DefaultBackup();
@@ -10,6 +10,7 @@ import jmri.InstanceManager;
 import jmri.ShutDownManager;
 import jmri.jmrit.operations.OperationsManager;
 import jmri.jmrit.operations.OperationsXml;
+import jmri.jmrit.operations.OperationsXmlWriter;
 import jmri.util.swing.ExceptionContext;
 import jmri.util.swing.ExceptionDisplayFrame;
 
@@ -30,11 +31,13 @@ public class LoadDemoAction extends AbstractAction {
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        // write any save already requested now, so it can't write the files later
+        InstanceManager.getDefault(OperationsXmlWriter.class).finishRequestedSaves();
         // check to see if files are dirty
         if (OperationsXml.areFilesDirty()) {
             if (JOptionPane.showConfirmDialog(null, Bundle.getMessage("OperationsFilesModified"),
                     Bundle.getMessage("SaveOperationFiles"), JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-                OperationsXml.save();
+                OperationsXml.saveNow();
             }
         }
 
@@ -9,6 +9,7 @@ import javax.swing.JOptionPane;
 import jmri.InstanceManager;
 import jmri.jmrit.operations.OperationsManager;
 import jmri.jmrit.operations.OperationsXml;
+import jmri.jmrit.operations.OperationsXmlWriter;
 import jmri.util.swing.ExceptionDisplayFrame;
 import jmri.util.swing.UnexpectedExceptionContext;
 import org.slf4j.Logger;
@@ -29,11 +30,13 @@ public class ResetAction extends AbstractAction {
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        // write any save already requested now, so it can't write the files later
+        InstanceManager.getDefault(OperationsXmlWriter.class).finishRequestedSaves();
         // check to see if files are dirty
         if (OperationsXml.areFilesDirty()) {
             if (JOptionPane.showConfirmDialog(null, Bundle.getMessage("OperationsFilesModified"),
                     Bundle.getMessage("SaveOperationFiles"), JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-                OperationsXml.save();
+                OperationsXml.saveNow();
             }
         }
 
@@ -26,6 +26,7 @@ import javax.swing.border.TitledBorder;
 import jmri.InstanceManager;
 import jmri.jmrit.operations.OperationsManager;
 import jmri.jmrit.operations.OperationsXml;
+import jmri.jmrit.operations.OperationsXmlWriter;
 import jmri.util.swing.ExceptionContext;
 import jmri.util.swing.ExceptionDisplayFrame;
 import jmri.util.swing.UnexpectedExceptionContext;
@@ -196,11 +197,13 @@ public class RestoreDialog extends JDialog {
     protected void do_restoreButton_actionPerformed(ActionEvent e) {
         log.debug("restore button activated");
 
+        // write any save already requested now, so it can't write the files later
+        InstanceManager.getDefault(OperationsXmlWriter.class).finishRequestedSaves();
         // check to see if files are dirty
         if (OperationsXml.areFilesDirty()) {
             if (JOptionPane.showConfirmDialog(this, Bundle.getMessage("OperationsFilesModified"),
                     Bundle.getMessage("SaveOperationFiles"), JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-                OperationsXml.save();
+                OperationsXml.saveNow();
             }
         }
 
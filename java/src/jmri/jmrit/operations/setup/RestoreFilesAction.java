@@ -11,6 +11,7 @@ import javax.swing.JOptionPane;
 import jmri.InstanceManager;
 import jmri.jmrit.operations.OperationsManager;
 import jmri.jmrit.operations.OperationsXml;
+import jmri.jmrit.operations.OperationsXmlWriter;
 import jmri.util.swing.ExceptionContext;
 import jmri.util.swing.ExceptionDisplayFrame;
 import org.slf4j.Logger;
@@ -39,6 +40,8 @@ public class RestoreFilesAction extends AbstractAction {
   // This method can restore files from any directory selected by the File
         // Chooser.
 
+        // write any save already requested now, so it can't write the files later
+        InstanceManager.getDefault(OperationsXmlWriter.class).finishRequestedSaves();
         // check to see if files are dirty
         if (OperationsXml.areFilesDirty()) {
             if (JOptionPane
@@ -47,7 +50,7 @@ public class RestoreFilesAction extends AbstractAction {
                             Bundle.getMessage("OperationsFilesModified"),
                             Bundle.getMessage("SaveOperationFiles"),
                             JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-                OperationsXml.save();
+                OperationsXml.saveNow();
             }
         }
 
@@ -8,11 +8,15 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -76,6 +80,16 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * List of contained {@link RosterEntry} elements.
      */
     private final List<RosterEntry> _list = new ArrayList<>();
+    /*
+     * Indexes of the entries in _list, guarded by _list. They are kept in step
+     * by addEntry, removeEntry and the property changes of the entries, so
+     * throttle and server clients looking up an entry don't scan the roster.
+     */
+    private final Index _idIndex = new Index(r -> Collections.singleton(r.getId()));
+    private final Index _dccAddressIndex = new Index(r -> Collections.singleton(r.getDccAddress()));
+    private final Index _roadNumberIndex = new Index(r -> Collections.singleton(r.getRoadNumber()));
+    private final Index _attributeIndex = new Index(r -> new HashSet<>(r.getAttributes()));
+    private final Index[] _indexes = {_idIndex, _dccAddressIndex, _roadNumberIndex, _attributeIndex};
     private boolean dirty = false;
     /*
      * This should always be a real path, changes in the UserFiles location are
@@ -222,6 +236,9 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
                 i--;
             }
             _list.add(i + 1, e);
+            for (Index index : _indexes) {
+                index.add(e);
+            }
         }
         e.addPropertyChangeListener(this);
         this.addRosterGroups(e.getGroups(this));
@@ -238,7 +255,11 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     public void removeEntry(RosterEntry e) {
         log.debug("Remove entry {}", e);
         synchronized (_list) {
-            _list.remove(e);
+            if (_list.remove(e)) {
+                for (Index index : _indexes) {
+                    index.remove(e);
+                }
+            }
         }
         e.removePropertyChangeListener(this);
         setDirty(true);
@@ -278,14 +299,8 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * @return The matching RosterEntry or null
      */
     public RosterEntry entryFromTitle(String title) {
-        synchronized (_list) {
-            for (RosterEntry re : _list) {
-                if (re.titleString().equals(title)) {
-                    return re;
-                }
-            }
-        }
-        return null;
+        // the title of an entry is its id
+        return getEntryForId(title);
     }
 
     /**
@@ -296,13 +311,9 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     public RosterEntry getEntryForId(String id) {
         synchronized (_list) {
-            for (RosterEntry re : _list) {
-                if (re.getId().equals(id)) {
-                    return re;
-                }
-            }
+            List<RosterEntry> l = _idIndex.get(id);
+            return l.isEmpty() ? null : l.get(0);
         }
-        return null;
     }
 
     /**
@@ -313,11 +324,9 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     @Nonnull
     public List<RosterEntry> getEntriesByDccAddress(String a) {
-        return findMatchingEntries(
-                (RosterEntry r) -> {
-                    return r.getDccAddress().equals(a);
-                }
-        );
+        synchronized (_list) {
+            return _dccAddressIndex.get(a);
+        }
     }
 
     /**
@@ -412,36 +421,21 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     }
 
     public List<RosterEntry> getEntriesWithAttributeKey(String key) {
-        ArrayList<RosterEntry> result = new ArrayList<>();
         synchronized (_list) {
-            _list.stream().filter((r) -> (r.getAttribute(key) != null)).forEachOrdered((r) -> {
-                result.add(r);
-            });
+            return _attributeIndex.get(key);
         }
-        return result;
     }
 
     public List<RosterEntry> getEntriesWithAttributeKeyValue(String key, String value) {
-        ArrayList<RosterEntry> result = new ArrayList<>();
-        synchronized (_list) {
-            _list.stream().forEach((r) -> {
-                String v = r.getAttribute(key);
-                if (v != null && v.equals(value)) {
-                    result.add(r);
-                }
-            });
-        }
+        List<RosterEntry> result = getEntriesWithAttributeKey(key);
+        result.removeIf(r -> value == null || !value.equals(r.getAttribute(key)));
         return result;
     }
 
     public Set<String> getAllAttributeKeys() {
-        Set<String> result = new TreeSet<>();
         synchronized (_list) {
-            _list.stream().forEach((r) -> {
-                result.addAll(r.getAttributes());
-            });
+            return new TreeSet<>(_attributeIndex.keySet());
         }
-        return result;
     }
 
     public List<RosterEntry> getEntriesInGroup(String group) {
@@ -475,6 +469,29 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
         return l;
     }
 
+    /**
+     * Get the entries matching some criteria, starting from the entries with
+     * the given id, DCC address or road number, the first of those that isn't
+     * null, or from the whole roster if they are all null.
+     */
+    private List<RosterEntry> findMatchingEntries(String id, String dccAddress, String roadNumber,
+            RosterComparator c) {
+        List<RosterEntry> l;
+        synchronized (_list) {
+            if (id != null) {
+                l = _idIndex.get(id);
+            } else if (dccAddress != null) {
+                l = _dccAddressIndex.get(dccAddress);
+            } else if (roadNumber != null) {
+                l = _roadNumberIndex.get(roadNumber);
+            } else {
+                return findMatchingEntries(c);
+            }
+        }
+        l.removeIf(r -> !c.check(r));
+        return l;
+    }
+
     /**
      * Get a List of {@link RosterEntry} objects in Roster matching some
      * information. The list will be empty if there are no matches.
@@ -497,7 +514,7 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
             String mfg, String decoderModel, String decoderFamily, String id, String group,
             String developerID, String manufacturerID, String productID) {
             // specifically updated for SV2
-            return findMatchingEntries(
+            return findMatchingEntries(id, dccAddress, roadNumber,
                 (RosterEntry r) -> {
                     return checkEntry(r, roadName, roadNumber, dccAddress,
                             mfg, decoderModel, decoderFamily,
@@ -523,7 +540,7 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     @Nonnull
     public List<RosterEntry> getEntriesMatchingCriteria(String roadName, String roadNumber, String dccAddress,
             String mfg, String decoderModel, String decoderFamily, String id, String group) {
-        return findMatchingEntries(
+        return findMatchingEntries(id, dccAddress, roadNumber,
                 (RosterEntry r) -> {
                     return checkEntry(r, roadName, roadNumber, dccAddress,
                             mfg, decoderModel, decoderFamily,
@@ -1079,8 +1096,10 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     public void reloadRosterFile() {
         // clear existing
         synchronized (_list) {
-
             _list.clear();
+            for (Index index : _indexes) {
+                index.clear();
+            }
         }
         this.rosterGroups.clear();
         // and read new
@@ -1201,7 +1220,7 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     public void entryIdChanged(RosterEntry r) {
         log.debug("EntryIdChanged");
         synchronized (_list) {
-            Collections.sort(_list, (RosterEntry o1, RosterEntry o2) -> o1.getId().compareToIgnoreCase(o2.getId()));
+            Collections.sort(_list, ROSTER_ORDER);
         }
         firePropertyChange(CHANGE, null, r);
     }
@@ -1485,10 +1504,105 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getSource() instanceof RosterEntry) {
-            if (evt.getPropertyName().equals(RosterEntry.ID)) {
-                this.entryIdChanged((RosterEntry) evt.getSource());
+            RosterEntry r = (RosterEntry) evt.getSource();
+            String name = evt.getPropertyName();
+            synchronized (_list) {
+                if (name.equals(RosterEntry.ID)) {
+                    _idIndex.update(r);
+                } else if (name.equals(RosterEntry.DCC_ADDRESS)) {
+                    _dccAddressIndex.update(r);
+                } else if (name.equals(RosterEntry.ROADNAME)) {
+                    // also fired when the road number changes
+                    _roadNumberIndex.update(r);
+                } else if (name.startsWith(RosterEntry.ATTRIBUTE_UPDATED)
+                        || name.equals(RosterEntry.ATTRIBUTE_DELETED)) {
+                    _attributeIndex.update(r);
+                }
+            }
+            if (name.equals(RosterEntry.ID)) {
+                this.entryIdChanged(r);
+            }
+        }
+    }
+
+    /**
+     * The order of the entries in the roster.
+     */
+    private static final Comparator<RosterEntry> ROSTER_ORDER
+            = (RosterEntry o1, RosterEntry o2) -> o1.getId().compareToIgnoreCase(o2.getId());
+
+    /**
+     * Roster entries by one or more keys taken from each entry. The keys each
+     * entry was indexed under are remembered, so an entry can be moved when
+     * its keys change. Not synchronized; the roster guards its indexes with
+     * its list of entries.
+     */
+    private static final class Index {
+
+        private final Function<RosterEntry, Set<String>> keys;
+        private final Map<String, List<RosterEntry>> byKey = new HashMap<>();
+        private final Map<RosterEntry, Set<String>> keysOf = new HashMap<>();
+
+        Index(Function<RosterEntry, Set<String>> keys) {
+            this.keys = keys;
+        }
+
+        void add(RosterEntry r) {
+            Set<String> k = keys.apply(r);
+            keysOf.put(r, k);
+            k.forEach(key -> {
+                // same position as addEntry gives it among the roster entries
+                List<RosterEntry> l = byKey.computeIfAbsent(key, x -> new ArrayList<>());
+                int i = l.size() - 1;
+                while (i >= 0 && ROSTER_ORDER.compare(r, l.get(i)) <= 0) {
+                    i--;
+                }
+                l.add(i + 1, r);
+            });
+        }
+
+        void remove(RosterEntry r) {
+            Set<String> k = keysOf.remove(r);
+            if (k != null) {
+                k.forEach(key -> {
+                    List<RosterEntry> l = byKey.get(key);
+                    l.remove(r);
+                    if (l.isEmpty()) {
+                        byKey.remove(key);
+                    }
+                });
             }
         }
+
+        void update(RosterEntry r) {
+            Set<String> k = keysOf.get(r);
+            if (k != null && !k.equals(keys.apply(r))) {
+                remove(r);
+                add(r);
+            }
+        }
+
+        void clear() {
+            byKey.clear();
+            keysOf.clear();
+        }
+
+        /**
+         * @return a new list of the entries with the key, in roster order
+         */
+        List<RosterEntry> get(String key) {
+            List<RosterEntry> l = byKey.get(key);
+            if (l == null) {
+                return new ArrayList<>();
+            }
+            List<RosterEntry> result = new ArrayList<>(l);
+            result.sort(ROSTER_ORDER);
+            return result;
+        }
+
+        Set<String> keySet() {
+            return byKey.keySet();
+        }
     }
 
     private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(Roster.class);
@@ -218,6 +218,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
         _maxSpeedPCT = pEntry._maxSpeedPCT;
         _isShuntingOn = pEntry._isShuntingOn;
 
+        pEntry.loadDeferred();
         if (pEntry.functionLabels != null) {
             pEntry.functionLabels.forEach((key, value) -> {
                 if (value != null) {
@@ -405,10 +406,12 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public RosterSpeedProfile getSpeedProfile() {
+        loadDeferred();
         return _sp;
     }
 
     public void setSpeedProfile(RosterSpeedProfile sp) {
+        loadDeferred();
         if (sp.getRosterEntry() != this) {
             log.error("Attempting to set a speed profile against the wrong roster entry");
             return;
@@ -843,15 +846,48 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
             }
         }
 
-        loadFunctions(e.getChild("functionlabels"), "RosterEntry");
-        loadSounds(e.getChild("soundlabels"), "RosterEntry");
         loadAttributes(e.getChild("attributepairs"));
 
-        if (e.getChild(RosterEntry.SPEED_PROFILE) != null) {
-            _sp = new RosterSpeedProfile(this);
-            _sp.load(e.getChild(RosterEntry.SPEED_PROFILE));
-        }
+        deferredFunctions = e.getChild("functionlabels");
+        deferredSounds = e.getChild("soundlabels");
+        deferredSpeedProfile = e.getChild(RosterEntry.SPEED_PROFILE);
+        deferred = true;
+    }
 
+    /*
+     * The function labels, sound labels and speed profile read with an entry
+     * are only parsed when they are first used, as most entries in a large
+     * roster are never put on a throttle or programmed in a session, and the
+     * function images have to be found on disk.
+     */
+    private Element deferredFunctions = null;
+    private Element deferredSounds = null;
+    private Element deferredSpeedProfile = null;
+    private volatile boolean deferred = false;
+    private boolean loadingDeferred = false;
+
+    private void loadDeferred() {
+        if (deferred) {
+            synchronized (this) {
+                if (deferred && !loadingDeferred) {
+                    loadingDeferred = true;
+                    try {
+                        loadFunctions(deferredFunctions, "RosterEntry");
+                        loadSounds(deferredSounds, "RosterEntry");
+                        if (deferredSpeedProfile != null) {
+                            _sp = new RosterSpeedProfile(this);
+                            _sp.load(deferredSpeedProfile);
+                        }
+                    } finally {
+                        deferredFunctions = null;
+                        deferredSounds = null;
+                        deferredSpeedProfile = null;
+                        loadingDeferred = false;
+                        deferred = false;
+                    }
+                }
+            }
+        }
     }
 
     boolean loadedOnce = false;
@@ -876,6 +912,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      *               source is the roster entry itself
      */
     public void loadFunctions(Element e3, String source) {
+        loadDeferred();
         /*
          * Load flag once, means that when the roster entry is edited only the
          * first set of function labels are displayed ie those saved in the
@@ -948,6 +985,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      *               source is the roster entry itself
      */
     public void loadSounds(Element e3, String source) {
+        loadDeferred();
         /*
          * Load flag once, means that when the roster entry is edited only the
          * first set of sound labels are displayed ie those saved in the roster
@@ -999,6 +1037,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param label the label to use
      */
     public void setFunctionLabel(int fn, String label) {
+        loadDeferred();
         if (functionLabels == null) {
             functionLabels = Collections.synchronizedMap(new HashMap<>());
         }
@@ -1015,6 +1054,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @return function label or null if not defined
      */
     public String getFunctionLabel(int fn) {
+        loadDeferred();
         if (functionLabels == null) {
             return null;
         }
@@ -1028,6 +1068,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param label display label for the sound function
      */
     public void setSoundLabel(int fn, String label) {
+        loadDeferred();
         if (soundLabels == null) {
             soundLabels = Collections.synchronizedMap(new HashMap<>());
         }
@@ -1044,6 +1085,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @return sound label or null
      */
     public String getSoundLabel(int fn) {
+        loadDeferred();
         if (soundLabels == null) {
             return null;
         }
@@ -1051,6 +1093,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public void setFunctionImage(int fn, String s) {
+        loadDeferred();
         if (functionImages == null) {
             functionImages = Collections.synchronizedMap(new HashMap<>());
         }
@@ -1060,6 +1103,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public String getFunctionImage(int fn) {
+        loadDeferred();
         if (functionImages == null) {
             return null;
         }
@@ -1067,6 +1111,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public void setFunctionSelectedImage(int fn, String s) {
+        loadDeferred();
         if (functionSelectedImages == null) {
             functionSelectedImages = Collections.synchronizedMap(new HashMap<>());
         }
@@ -1076,6 +1121,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public String getFunctionSelectedImage(int fn) {
+        loadDeferred();
         if (functionSelectedImages == null) {
             return null;
         }
@@ -1089,6 +1135,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param lockable true if function is continuous; false if momentary
      */
     public void setFunctionLockable(int fn, boolean lockable) {
+        loadDeferred();
         if (functionLockables == null) {
             functionLockables = Collections.synchronizedMap(new HashMap<>());
             functionLockables.put(fn, true);
@@ -1105,6 +1152,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @return true if function is lockable
      */
     public boolean getFunctionLockable(int fn) {
+        loadDeferred();
         if (functionLockables == null) {
             return true;
         }
@@ -1255,6 +1303,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
                     .store(new DccLocoAddress(Integer.parseInt(_dccAddress), _protocol)));
         }
 
+        loadDeferred();
         if (functionLabels != null) {
             Element s = new Element("functionlabels");
 
@@ -96,6 +96,7 @@ import jmri.DccLocoAddress;
 import jmri.InstanceManager;
 import jmri.jmrit.roster.Roster;
 import jmri.jmrit.roster.RosterEntry;
+import jmri.jmris.SocketSelector;
 import jmri.util.ThreadingUtil;
 import jmri.web.server.WebServerPreferences;
 import jmri.web.servlet.ServletUtil;
@@ -109,6 +110,7 @@ public class DeviceServer implements Runnable, ThrottleControllerListener, Contr
     private static final String VERSION_NUMBER = "2.0";
 
     private Socket device;
+    private SocketSelector.Client client = null;
     private final CommandStation cmdStation = jmri.InstanceManager.getNullableDefault(CommandStation.class);
     String newLine = System.getProperty("line.separator");
     BufferedReader in = null;
@@ -149,11 +151,13 @@ public class DeviceServer implements Runnable, ThrottleControllerListener, Contr
             if (log.isDebugEnabled()) {
                 log.debug("Creating input  stream reader for {}", device.getRemoteSocketAddress());
             }
-            in = new BufferedReader(new InputStreamReader(device.getInputStream(), "UTF8"));
+            // read and write through the selector, so a stalled device cannot block the layout
+            client = InstanceManager.getDefault(SocketSelector.class).register(device);
+            in = new BufferedReader(new InputStreamReader(client.getInputStream(), "UTF8"));
             if (log.isDebugEnabled()) {
                 log.debug("Creating output stream writer for {}", device.getRemoteSocketAddress());
             }
-            out = new PrintStream(device.getOutputStream(), true, "UTF8");
+            out = new PrintStream(client.getOutputStream(), true, "UTF8");
 
         } catch (IOException e) {
             log.error("Stream creation failed (DeviceServer)");
@@ -451,7 +455,11 @@ public class DeviceServer implements Runnable, ThrottleControllerListener, Contr
                     log.debug("device socket {}{} already closed.", getName(), device.getRemoteSocketAddress());
                 }
             } else {
-                device.close();
+                if (client != null) {
+                    client.close();
+                } else {
+                    device.close();
+                }
                 if (log.isDebugEnabled()) {
                     log.debug("device socket {}{} closed.", getName(), device.getRemoteSocketAddress());
                 }
@@ -651,6 +659,15 @@ public class DeviceServer implements Runnable, ThrottleControllerListener, Contr
             return; //  Do not send a null.
         }
         out.println(message + newLine);
+        // the PrintStream hides the IOException thrown when the device has
+        // stopped accepting data and its connection was closed
+        if (out.checkError()) {
+            if (!device.isClosed()) {
+                log.warn("Unable to send to {}{}, closing connection.", getName(), device.getRemoteSocketAddress());
+                closeSocket();
+            }
+            return;
+        }
         if (log.isDebugEnabled()) {
             String s = message + "                    "; //pad output so messages form columns
             s = s.substring(0, Math.max(message.length(), 20));
@@ -1,10 +1,13 @@
 package jmri.jmrit.withrottle;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
 import java.util.ArrayList;
 import jmri.InstanceManager;
 import jmri.UserPreferencesManager;
+import jmri.jmris.SocketSelector;
 import jmri.util.zeroconf.ZeroConfService;
 import jmri.util.zeroconf.ZeroConfServiceEvent;
 import jmri.util.zeroconf.ZeroConfServiceListener;
@@ -45,7 +48,16 @@ public class FacelessServer implements DeviceListener, DeviceManager, ZeroConfSe
         int socketPort = InstanceManager.getDefault(WiThrottlePreferences.class).getPort();
 
         try { //Create socket on available port
-            socket = new ServerSocket(socketPort);
+            // open a channel so devices can be read and written through the SocketSelector
+            ServerSocketChannel channel = ServerSocketChannel.open();
+            try {
+                channel.socket().setReuseAddress(true);
+                channel.socket().bind(new InetSocketAddress(socketPort));
+            } catch (IOException e2) {
+                channel.close();
+                throw e2;
+            }
+            socket = channel.socket();
         } catch (IOException e1) {
             log.error("New ServerSocket({}) Failed during listen()", socketPort);
             return;
@@ -67,7 +79,7 @@ public class FacelessServer implements DeviceListener, DeviceManager, ZeroConfSe
                 device = new DeviceServer(socket.accept(), this);  //blocks here until a connection is made
 
                 String threadName = "DeviceServer-" + threadNumber++;  // NOI18N
-                Thread t = jmri.util.ThreadingUtil.newThread(device, threadName);
+                Thread t = SocketSelector.newClientThread(device, threadName);
                 for (DeviceListener dl : deviceListenerList) {
                     device.addDeviceListener(dl);
                 }
@@ -5,6 +5,10 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.swing.SwingUtilities;
 
 import jmri.InstanceManager;
@@ -47,6 +51,9 @@ import jmri.ShutDownTask;
  * <p>
  * If you want to poll for information when the line is otherwise idle,
  * implement {@link #pollMessage()} and {@link #pollReplyHandler()}.
+ * <p>
+ * Outbound messages are queued for the transmit thread according to the
+ * {@link DispatchMode} selected with {@link #setDispatchMode(DispatchMode)}.
  * 
  * @author Bob Jacobsen Copyright (C) 2003
  * @author Paul Bender Copyright (C) 2004-2010
@@ -128,6 +135,12 @@ public abstract class AbstractMRTrafficController {
 
     protected final Vector<AbstractMRListener> cmdListeners = new Vector<>();
 
+    /**
+     * Copy of {@link #cmdListeners} replaced on every add or remove, so
+     * notification can iterate without locking or cloning.
+     */
+    private volatile AbstractMRListener[] listenerSnapshot = new AbstractMRListener[0];
+
     protected synchronized void addListener(AbstractMRListener l) {
         // add only if not already registered
         if (l == null) {
@@ -135,12 +148,14 @@ public abstract class AbstractMRTrafficController {
         }
         if (!cmdListeners.contains(l)) {
             cmdListeners.addElement(l);
+            listenerSnapshot = cmdListeners.toArray(new AbstractMRListener[0]);
         }
     }
 
     protected synchronized void removeListener(AbstractMRListener l) {
         if (cmdListeners.contains(l)) {
             cmdListeners.removeElement(l);
+            listenerSnapshot = cmdListeners.toArray(new AbstractMRListener[0]);
         }
     }
 
@@ -151,18 +166,9 @@ public abstract class AbstractMRTrafficController {
      * @param notMe One (optional) listener to be skipped, usually because it's
      *              the originating object.
      */
-    @SuppressWarnings("unchecked")
     protected void notifyMessage(AbstractMRMessage m, AbstractMRListener notMe) {
-        // make a copy of the listener vector to synchronized not needed for transmit
-        Vector<AbstractMRListener> v;
-        synchronized (this) {
-            // FIXME: unnecessary synchronized; the Vector IS already thread-safe.
-            v = (Vector<AbstractMRListener>) cmdListeners.clone();
-        }
         // forward to all listeners
-        int cnt = v.size();
-        for (int i = 0; i < cnt; i++) {
-            AbstractMRListener client = v.elementAt(i);
+        for (AbstractMRListener client : listenerSnapshot) {
             if (notMe != client) {
                 log.debug("notify client: {}", client);
                 try {
@@ -269,18 +275,9 @@ public abstract class AbstractMRTrafficController {
      * @param dest One (optional) listener to be skipped, usually because it's
      *             the originating object.
      */
-    @SuppressWarnings("unchecked")
     protected void notifyReply(AbstractMRReply r, AbstractMRListener dest) {
-        // make a copy of the listener vector to synchronized (not needed for transmit?)
-        Vector<AbstractMRListener> v;
-        synchronized (this) {
-            // FIXME: unnecessary synchronized; the Vector IS already thread-safe.
-            v = (Vector<AbstractMRListener>) cmdListeners.clone();
-        }
         // forward to all listeners
-        int cnt = v.size();
-        for (int i = 0; i < cnt; i++) {
-            AbstractMRListener client = v.elementAt(i);
+        for (AbstractMRListener client : listenerSnapshot) {
             log.debug("notify client: {}", client);
             try {
                 //skip dest for now, we'll send the message to there last.
@@ -308,6 +305,110 @@ public abstract class AbstractMRTrafficController {
     protected LinkedList<AbstractMRMessage> msgQueue = new LinkedList<>();
     protected LinkedList<AbstractMRListener> listenerQueue = new LinkedList<>();
 
+    /**
+     * How outbound messages are handed to the transmit thread.
+     */
+    public enum DispatchMode {
+        /**
+         * Messages are held in {@link #msgQueue} and {@link #listenerQueue},
+         * guarded by this object's lock, and the transmit thread is woken
+         * through the {@link #xmtRunnable} monitor. This is the default.
+         */
+        SYNCHRONIZED,
+        /**
+         * Messages are held in a bounded lock-free {@link BoundedMessageQueue},
+         * so senders never contend for this object's lock, and an idle
+         * transmit thread is woken through a {@link Condition}. Subclasses
+         * that override {@link #sendMessage(AbstractMRMessage, AbstractMRListener)}
+         * to manipulate {@link #msgQueue} directly must not use this mode.
+         */
+        CONCURRENT
+    }
+
+    public static final int DEFAULT_TRANSMIT_QUEUE_CAPACITY = 4096;
+
+    private volatile DispatchMode dispatchMode = DispatchMode.SYNCHRONIZED;
+    private BoundedMessageQueue<PendingMessage> transmitQueue = null;
+    private PendingMessage retryMessage = null; // only touched by the transmit thread
+    private final ReentrantLock xmtLock = new ReentrantLock();
+    private final Condition xmtWork = xmtLock.newCondition();
+    private volatile boolean xmtIdle = false;
+    private boolean queueFullWarned = false;
+
+    /**
+     * Select how outbound messages are queued, using the default capacity
+     * when switching to {@link DispatchMode#CONCURRENT}.
+     *
+     * @param mode the dispatch mode
+     * @see #setDispatchMode(DispatchMode, int)
+     */
+    public void setDispatchMode(DispatchMode mode) {
+        setDispatchMode(mode, DEFAULT_TRANSMIT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Select how outbound messages are queued.
+     * <p>
+     * This must be done before {@link #connectPort(AbstractPortController)}
+     * starts the transmit thread; requests made afterwards are ignored.
+     * Messages already queued are carried over to the new queue.
+     *
+     * @param mode     the dispatch mode
+     * @param capacity the maximum number of queued messages in
+     *                 {@link DispatchMode#CONCURRENT} mode
+     */
+    public synchronized void setDispatchMode(DispatchMode mode, int capacity) {
+        if (xmtThread != null) {
+            log.warn("Dispatch mode cannot be changed to {} once the transmit thread has started", mode);
+            return;
+        }
+        if (mode == DispatchMode.CONCURRENT) {
+            BoundedMessageQueue<PendingMessage> queue = new BoundedMessageQueue<>(Math.max(capacity, msgQueue.size()));
+            if (transmitQueue != null) {
+                PendingMessage p;
+                while ((p = transmitQueue.poll()) != null) {
+                    queue.offer(p);
+                }
+            }
+            while (!msgQueue.isEmpty()) {
+                queue.offer(new PendingMessage(msgQueue.removeFirst(), listenerQueue.removeFirst()));
+            }
+            transmitQueue = queue;
+        } else if (transmitQueue != null) {
+            PendingMessage p;
+            while ((p = transmitQueue.poll()) != null) {
+                msgQueue.addLast(p.message);
+                listenerQueue.addLast(p.listener);
+            }
+            transmitQueue = null;
+        }
+        dispatchMode = mode;
+    }
+
+    /**
+     * Get the current dispatch mode.
+     *
+     * @return the dispatch mode
+     */
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * Get the number of messages waiting for the transmit thread.
+     *
+     * @return the queue depth; approximate in
+     *         {@link DispatchMode#CONCURRENT} mode
+     */
+    public int getTransmitQueueDepth() {
+        if (dispatchMode == DispatchMode.CONCURRENT) {
+            return transmitQueue.size();
+        }
+        synchronized (this) {
+            return msgQueue.size();
+        }
+    }
+
     /**
      * Forward message to the port. Messages are queued and then the
      * transmission thread is notified.
@@ -316,13 +417,19 @@ public abstract class AbstractMRTrafficController {
      * @param m the message to send
      * @param reply the Listener sending the message, often provided as 'this'
      */
-    protected synchronized void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
-        msgQueue.addLast(m);
-        listenerQueue.addLast(reply);
-        synchronized (xmtRunnable) {
-            if (mCurrentState == IDLESTATE) {
-                mCurrentState = NOTIFIEDSTATE;
-                xmtRunnable.notify();
+    protected void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
+        if (dispatchMode == DispatchMode.CONCURRENT) {
+            enqueueConcurrent(m, reply);
+            return;
+        }
+        synchronized (this) {
+            msgQueue.addLast(m);
+            listenerQueue.addLast(reply);
+            synchronized (xmtRunnable) {
+                if (mCurrentState == IDLESTATE) {
+                    mCurrentState = NOTIFIEDSTATE;
+                    xmtRunnable.notify();
+                }
             }
         }
         if (m != null) {
@@ -330,6 +437,100 @@ public abstract class AbstractMRTrafficController {
         }
     }
 
+    private static final long QUEUE_FULL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Queue a message in {@link DispatchMode#CONCURRENT} mode and wake the
+     * transmit thread if it is idle.
+     * <p>
+     * When the queue is full the sender waits, up to the message timeout,
+     * for the transmit thread to make room; if there is no transmit thread
+     * or it does not catch up, the message is dropped with a warning rather
+     * than blocking the caller indefinitely.
+     */
+    private void enqueueConcurrent(AbstractMRMessage m, AbstractMRListener reply) {
+        PendingMessage p = new PendingMessage(m, reply);
+        if (!transmitQueue.offer(p)) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(m != null ? m.getTimeout() : 0);
+            boolean queued = false;
+            while (xmtThread != null && !threadStopRequest && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(QUEUE_FULL_BACKOFF_NANOS);
+                if (transmitQueue.offer(p)) {
+                    queued = true;
+                    break;
+                }
+            }
+            if (!queued) {
+                if (!queueFullWarned) {
+                    queueFullWarned = true;
+                    log.warn("Transmit queue full ({} messages), dropping message {}", transmitQueue.capacity(), m);
+                } else {
+                    log.debug("Transmit queue full, dropping message {}", m);
+                }
+                return;
+            }
+        }
+        if (xmtIdle) {
+            // the transmit thread either is waiting for work or is about to
+            // recheck the queue; taking the lock orders us after that check
+            xmtLock.lock();
+            try {
+                xmtWork.signal();
+            } finally {
+                xmtLock.unlock();
+            }
+        }
+        log.debug("queued message {} for transmit thread", m);
+    }
+
+    /**
+     * Wait in {@link DispatchMode#CONCURRENT} mode until a message is queued
+     * or the timeout expires.
+     *
+     * @param timeout maximum time to wait in milliseconds
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void awaitTransmitWork(long timeout) throws InterruptedException {
+        xmtLock.lock();
+        try {
+            xmtIdle = true;
+            if (!hasPendingMessage()) {
+                xmtWork.await(timeout, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            xmtIdle = false;
+            xmtLock.unlock();
+        }
+    }
+
+    private boolean hasPendingMessage() {
+        return retryMessage != null || !transmitQueue.isEmpty();
+    }
+
+    private PendingMessage nextPendingMessage() {
+        PendingMessage p = retryMessage;
+        if (p != null) {
+            retryMessage = null;
+            return p;
+        }
+        return transmitQueue.poll();
+    }
+
+    /**
+     * A queued message and the listener that sent it, so the two cannot get
+     * out of step as {@link #msgQueue} and {@link #listenerQueue} could.
+     */
+    private static final class PendingMessage {
+
+        final AbstractMRMessage message;
+        final AbstractMRListener listener;
+
+        PendingMessage(AbstractMRMessage message, AbstractMRListener listener) {
+            this.message = message;
+            this.listener = listener;
+        }
+    }
+
     /**
      * Permanent loop for the transmit thread.
      */
@@ -341,16 +542,26 @@ public abstract class AbstractMRTrafficController {
             AbstractMRMessage m = null;
             AbstractMRListener l = null;
             // check for something to do
-            synchronized (this) {
-                if (!msgQueue.isEmpty()) {
-                    // yes, something to do
-                    m = msgQueue.getFirst();
-                    msgQueue.removeFirst();
-                    l = listenerQueue.getFirst();
-                    listenerQueue.removeFirst();
+            if (dispatchMode == DispatchMode.CONCURRENT) {
+                PendingMessage p = nextPendingMessage();
+                if (p != null) {
+                    m = p.message;
+                    l = p.listener;
                     mCurrentState = WAITMSGREPLYSTATE;
                     log.debug("transmit loop has something to do: {}", m);
-                }  // release lock here to proceed in parallel
+                }
+            } else {
+                synchronized (this) {
+                    if (!msgQueue.isEmpty()) {
+                        // yes, something to do
+                        m = msgQueue.getFirst();
+                        msgQueue.removeFirst();
+                        l = listenerQueue.getFirst();
+                        listenerQueue.removeFirst();
+                        mCurrentState = WAITMSGREPLYSTATE;
+                        log.debug("transmit loop has something to do: {}", m);
+                    }  // release lock here to proceed in parallel
+                }
             }
             // if a message has been extracted, process it
             if (m != null) {
@@ -403,8 +614,12 @@ public abstract class AbstractMRTrafficController {
                         handleTimeout(m, l);
                     } else if (mCurrentState == AUTORETRYSTATE) {
                         log.info("Message added back to queue: {}", m);
-                        msgQueue.addFirst(m);
-                        listenerQueue.addFirst(l);
+                        if (dispatchMode == DispatchMode.CONCURRENT) {
+                            retryMessage = new PendingMessage(m, l);
+                        } else {
+                            msgQueue.addFirst(m);
+                            listenerQueue.addFirst(l);
+                        }
                         synchronized (xmtRunnable) {
                             mCurrentState = IDLESTATE;
                         }
@@ -423,8 +638,12 @@ public abstract class AbstractMRTrafficController {
                 if (mWaitBeforePoll > waitTimePoll || mCurrentMode == PROGRAMINGMODE) {
                     try {
                         long startTime = Calendar.getInstance().getTimeInMillis();
-                        synchronized (xmtRunnable) {
-                            xmtRunnable.wait(mWaitBeforePoll);
+                        if (dispatchMode == DispatchMode.CONCURRENT) {
+                            awaitTransmitWork(mWaitBeforePoll);
+                        } else {
+                            synchronized (xmtRunnable) {
+                                xmtRunnable.wait(mWaitBeforePoll);
+                            }
                         }
                         long endTime = Calendar.getInstance().getTimeInMillis();
                         waitTimePoll = waitTimePoll + endTime - startTime;
@@ -434,6 +653,11 @@ public abstract class AbstractMRTrafficController {
                         break;
                     }
                 }
+                if (dispatchMode == DispatchMode.CONCURRENT && hasPendingMessage()) {
+                    // senders don't touch the state in this mode; claim the
+                    // work here so that no poll message is sent ahead of it
+                    mCurrentState = NOTIFIEDSTATE;
+                }
                 // once we decide that mCurrentState is in the IDLESTATE and there's an xmt msg we must guarantee
                 // the change of mCurrentState to one of the waiting for reply states.  Therefore we need to synchronize.
                 synchronized (this) {
@@ -535,7 +759,13 @@ public abstract class AbstractMRTrafficController {
     private static final int DISPATCH_WARNING_TIME = 12000; // report warning when max dispatch time exceeded
     private static final int WARN_NEXT_TIME = 1000;         // report every second
 
+    private boolean awaitingReplyDispatch = false; // guarded by xmtRunnable
+
     private void checkReplyInDispatch() {
+        if (dispatchMode == DispatchMode.CONCURRENT) {
+            awaitReplyDispatch();
+            return;
+        }
         int loopCount = 0;
         while (replyInDispatch) {
             try {
@@ -562,6 +792,54 @@ public abstract class AbstractMRTrafficController {
         }
     }
 
+    /**
+     * Wait, in {@link DispatchMode#CONCURRENT} mode, for the receive thread to
+     * finish dispatching a reply. The receive thread notifies us once
+     * {@link #handleOneIncomingReply()} returns, so the timed wait only
+     * serves to keep the dispatch time statistics current.
+     */
+    private void awaitReplyDispatch() {
+        long start = System.currentTimeMillis();
+        synchronized (xmtRunnable) {
+            awaitingReplyDispatch = true;
+            try {
+                while (replyInDispatch) {
+                    try {
+                        xmtRunnable.wait(WARN_NEXT_TIME);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt(); // retain if needed later
+                        if (threadStopRequest) return; // don't log an error if closing.
+                        log.error("transmitLoop interrupted in class {}", getClass().getName());
+                        return;
+                    }
+                    int currentDispatchTime = (int) (System.currentTimeMillis() - start);
+                    if (currentDispatchTime > maxDispatchTime) {
+                        maxDispatchTime = currentDispatchTime;
+                        if (currentDispatchTime >= warningMessageTime) {
+                            warningMessageTime = warningMessageTime + WARN_NEXT_TIME;
+                            log.debug("Max dispatch time is now {}", currentDispatchTime);
+                        }
+                    }
+                }
+            } finally {
+                awaitingReplyDispatch = false;
+            }
+        }
+    }
+
+    /**
+     * Wake a transmit thread blocked in {@link #awaitReplyDispatch()}.
+     * Taking the lock also makes the cleared {@link #replyInDispatch} visible
+     * to a transmit thread that has not started waiting yet.
+     */
+    private void replyDispatched() {
+        synchronized (xmtRunnable) {
+            if (awaitingReplyDispatch) {
+                xmtRunnable.notify();
+            }
+        }
+    }
+
     /**
      *  Determine if the interface is down.
      *
@@ -876,6 +1154,9 @@ public abstract class AbstractMRTrafficController {
         while (errorCount < maxRcvExceptionCount && !threadStopRequest) { // stream close will exit via exception
             try {
                 handleOneIncomingReply();
+                if (dispatchMode == DispatchMode.CONCURRENT) {
+                    replyDispatched();
+                }
                 errorCount = 0;
             } catch (java.io.InterruptedIOException e) {
                 // related to InterruptedException, catch first
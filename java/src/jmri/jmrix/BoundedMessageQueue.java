@@ -0,0 +1,127 @@
+package jmri.jmrix;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer.
+ * <p>
+ * This is the transmit queue used by
+ * {@link AbstractMRTrafficController.DispatchMode#CONCURRENT}. Any thread may
+ * {@link #offer(Object)} a message without taking a lock; only the transmit
+ * thread may {@link #poll()}. Each slot in the ring carries a sequence number
+ * so producers can claim slots with a single compare-and-set and the consumer
+ * can tell when a claimed slot has actually been filled.
+ *
+ * @param <E> the type of element held
+ */
+public final class BoundedMessageQueue<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong(); // next slot to claim, producers
+    private final AtomicLong head = new AtomicLong(); // next slot to read, consumer
+
+    /**
+     * Create a queue.
+     *
+     * @param capacity the minimum number of elements the queue can hold; this
+     *                 is rounded up to the next power of two
+     */
+    public BoundedMessageQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        buffer = new AtomicReferenceArray<>(size);
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element at the tail of the queue. Safe to call from any thread.
+     *
+     * @param e the element to add
+     * @return true if added; false if the queue was full
+     */
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequence.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    sequence.set(index, pos + 1); // publishes the element
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // the consumer has not yet freed this slot
+            } else {
+                pos = tail.get(); // another producer took this slot
+            }
+        }
+    }
+
+    /**
+     * Remove the element at the head of the queue. Only the single consumer
+     * thread may call this.
+     *
+     * @return the head element, or null if the queue is empty
+     */
+    public E poll() {
+        long pos = head.get();
+        int index = (int) pos & mask;
+        if (sequence.get(index) != pos + 1) {
+            return null;
+        }
+        E e = buffer.get(index);
+        buffer.lazySet(index, null);
+        head.lazySet(pos + 1);
+        sequence.set(index, pos + mask + 1); // hand the slot back to producers
+        return e;
+    }
+
+    /**
+     * Check if there is an element ready for the consumer.
+     *
+     * @return true if {@link #poll()} would return null
+     */
+    public boolean isEmpty() {
+        long pos = head.get();
+        return sequence.get((int) pos & mask) != pos + 1;
+    }
+
+    /**
+     * Get the approximate number of queued elements. Concurrent offers may
+     * make this momentarily inaccurate.
+     *
+     * @return the number of claimed slots not yet consumed
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Get the maximum number of elements this queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+}
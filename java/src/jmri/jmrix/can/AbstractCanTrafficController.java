@@ -1,7 +1,14 @@
 package jmri.jmrix.can;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.SwingUtilities;
 import jmri.jmrix.AbstractMRListener;
 import jmri.jmrix.AbstractMRMessage;
 import jmri.jmrix.AbstractMRReply;
@@ -45,16 +52,56 @@ abstract public class AbstractCanTrafficController
         this.removeListener(l);
     }
 
+    /**
+     * The most bytes of encoded frames held for a single write to the port.
+     */
+    public static final int TRANSMIT_BUFFER_SIZE = 512;
+
+    // encoded frames waiting to be written; used only by the transmit thread
+    private final ByteBuffer transmitBuffer = ByteBuffer.allocate(TRANSMIT_BUFFER_SIZE);
+    private byte[] frameBytes = new byte[32];
+    private AbstractMRMessage transmitBufferLast = null;
+    private int transmitBufferFrames = 0;
+
+    // notifications waiting to be run on the GUI thread, in order
+    private final ConcurrentLinkedQueue<Runnable> notifications = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean notificationsScheduled = new AtomicBoolean(false);
+
+    // the hardware reply filled by the receive thread, reused for each frame
+    private AbstractMRReply receiveReply = null;
+
+    private final AtomicLong framesWritten = new AtomicLong();
+    private final AtomicLong portWrites = new AtomicLong();
+
+    /**
+     * @return the number of frames written to the port
+     */
+    public long getFramesWritten() {
+        return framesWritten.get();
+    }
+
+    /**
+     * @return the number of writes to the port, each of one or more frames
+     */
+    public long getPortWrites() {
+        return portWrites.get();
+    }
+
     /**
      * Actually transmits the next message to the port
-     *
+     * <p>
      * Overridden to include translation to the correct CAN hardware message
-     * format
+     * format. Encoded frames are collected in a buffer and written to the
+     * port together when no more messages are waiting to be sent, when a
+     * reply is expected, or when the buffer is full, so a burst of messages
+     * takes a few writes rather than one each. The array passed to
+     * {@link #addHeaderToOutput(byte[], AbstractMRMessage)} and
+     * {@link #addTrailerToOutput(byte[], int, AbstractMRMessage)} is reused,
+     * and may be longer than {@link #lengthOfByteStream(AbstractMRMessage)}.
      * {@inheritDoc}
      */
     @Override
     protected void forwardToPort(AbstractMRMessage m, AbstractMRListener reply) {
-//        if (log.isDebugEnabled()) log.debug("forwardToPort message: ["+m+"]");
         log.debug("forwardToPort message: [{}]", m);//warn
 
         // remember who sent this
@@ -63,8 +110,7 @@ abstract public class AbstractCanTrafficController
         // forward the message to the registered recipients,
         // which includes the communications monitor, except the sender.
         // Schedule notification via the Swing event queue to ensure order
-        Runnable r = new XmtNotifier(m, mLastSender, this);
-        javax.swing.SwingUtilities.invokeLater(r);
+        notifyLater(new XmtNotifier(m, mLastSender, this));
 
         // Create the correct concrete class for sending to the hardware and encode the message to be sent
         AbstractMRMessage hm;
@@ -73,10 +119,13 @@ abstract public class AbstractCanTrafficController
         } else {
             hm = encodeForHardware((CanMessage) m);
         }
-        log.debug("Encoded for hardware: [{}]", hm.toString());
+        log.debug("Encoded for hardware: [{}]", hm);
 
-        // stream to port in single write, as that's needed by serial
-        byte msg[] = new byte[lengthOfByteStream(hm)];
+        int length = lengthOfByteStream(hm);
+        if (frameBytes.length < length) {
+            frameBytes = new byte[length];
+        }
+        byte[] msg = frameBytes;
 
         // add header
         int offset = addHeaderToOutput(msg, hm);
@@ -90,22 +139,54 @@ abstract public class AbstractCanTrafficController
         // add trailer
         addTrailerToOutput(msg, len + offset, hm);
 
-        // and stream the bytes
+        if (log.isDebugEnabled()) {
+            StringBuilder buf = new StringBuilder("formatted message: ");
+            for (int i = 0; i < length; i++) {
+                buf.append(Integer.toHexString(0xFF & msg[i]));
+                buf.append(" ");
+            }
+            log.debug(buf.toString());
+        }
+
+        // and collect the bytes for streaming
+        if (ostream == null) {
+            // no stream connected
+            connectionWarn();
+            return;
+        }
+        if (length > TRANSMIT_BUFFER_SIZE) {
+            // a truncated frame would corrupt the frames after it
+            log.error("message of {} bytes is longer than {}, not sent: [{}]", length, TRANSMIT_BUFFER_SIZE, hm);
+            return;
+        }
+        if (transmitBuffer.remaining() < length) {
+            writeTransmitBuffer();
+        }
+        transmitBuffer.put(msg, 0, length);
+        transmitBufferFrames++;
+        transmitBufferLast = hm;
+        if (m.replyExpected() || getTransmitQueueDepth() == 0) {
+            writeTransmitBuffer();
+        }
+    }
+
+    /**
+     * Write the encoded frames waiting in the transmit buffer to the port, in
+     * a single write, as that's needed by serial.
+     */
+    private void writeTransmitBuffer() {
+        if (transmitBuffer.position() == 0) {
+            return;
+        }
+        AbstractMRMessage hm = transmitBufferLast;
         try {
             if (ostream != null) {
-                if (log.isDebugEnabled()) {
-                    //String f = "formatted message: ";
-                    StringBuilder buf = new StringBuilder("formatted message: ");
-                    //for (int i = 0; i<msg.length; i++) f=f+Integer.toHexString(0xFF&msg[i])+" ";
-                    for (int i = 0; i < msg.length; i++) {
-                        buf.append(Integer.toHexString(0xFF & msg[i]));
-                        buf.append(" ");
-                    }
-                    log.debug(buf.toString());
-                }
                 while (hm.getRetries() >= 0) {
                     if (portReadyToSend(controller)) {
-                        ostream.write(msg);
+                        ostream.write(transmitBuffer.array(), 0, transmitBuffer.position());
+                        ostream.flush();
+                        portWrites.incrementAndGet();
+                        framesWritten.addAndGet(transmitBufferFrames);
                         log.debug("message written");
                         break;
                     } else if (hm.getRetries() >= 0) {
@@ -122,7 +203,8 @@ abstract public class AbstractCanTrafficController
                             log.error("retry wait interrupted");
                         }
                     } else {
-                        log.warn("sendMessage: port not ready for data sending: {}", Arrays.toString(msg));
+                        log.warn("sendMessage: port not ready for data sending: {}",
+                                Arrays.toString(Arrays.copyOf(transmitBuffer.array(), transmitBuffer.position())));
                     }
                 }
             } else {
@@ -131,6 +213,67 @@ abstract public class AbstractCanTrafficController
             }
         } catch (java.io.IOException | RuntimeException e) {
             portWarn(e);
+        } finally {
+            transmitBuffer.clear();
+            transmitBufferLast = null;
+            transmitBufferFrames = 0;
+        }
+    }
+
+    /**
+     * Run a notification on the GUI thread after those already waiting.
+     * Notifications waiting together are run by one GUI event, rather than
+     * one event each.
+     *
+     * @param r the notification
+     */
+    protected void notifyLater(Runnable r) {
+        notifications.add(r);
+        if (notificationsScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::runNotifications);
+        }
+    }
+
+    private void runNotifications() {
+        // notifications added from now on schedule another run
+        notificationsScheduled.set(false);
+        Runnable r;
+        while ((r = notifications.poll()) != null) {
+            try {
+                r.run();
+            } catch (RuntimeException e) {
+                log.error("Exception in notification", e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Overridden to run replies in order with the transmit notifications.
+     * When synchronized with the GUI thread, this waits until the reply has
+     * been run.
+     */
+    @Override
+    protected void distributeReply(Runnable r) {
+        if (!getSynchronizeRx()) {
+            notifyLater(r);
+        } else if (SwingUtilities.isEventDispatchThread()) {
+            runNotifications();
+            r.run();
+        } else {
+            FutureTask<Void> task = new FutureTask<>(r, null);
+            notifyLater(task);
+            try {
+                task.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                if (!threadStopRequest) {
+                    log.error("Interrupted while waiting for reply to be distributed");
+                }
+            } catch (ExecutionException e) {
+                log.error("Unexpected exception distributing reply", e.getCause());
+            }
         }
     }
 
@@ -197,8 +340,13 @@ abstract public class AbstractCanTrafficController
         // for the CanReply
         CanReply msg;
 
-        // and for the incoming reply from the hardware
-        AbstractMRReply hmsg = newReply();
+        // and for the incoming reply from the hardware, which is reused
+        // as it's only decoded here
+        if (receiveReply == null) {
+            receiveReply = newReply();
+        }
+        AbstractMRReply hmsg = receiveReply;
+        hmsg.flush();
 
         // wait for start if needed
         waitForStartOfReply(istream);
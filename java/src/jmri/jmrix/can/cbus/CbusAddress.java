@@ -167,6 +167,21 @@ public class CbusAddress {
         return new CanMessage(aFrame, header);
     }
 
+    /**
+     * Get the node and event numbers of a 5 byte address, used by
+     * {@link CbusEventDispatcher} to find the addresses a frame may match.
+     *
+     * @return (node number &lt;&lt; 16) + event number, with node number 0
+     *         for short events; or -1 if the address is not 5 bytes
+     */
+    long getNodeEvent() {
+        if (aFrame == null || aFrame.length != 5) {
+            return -1;
+        }
+        long node = (CbusOpCodes.isShortEvent(aFrame[0]) ? 0 : (aFrame[1] << 8) + aFrame[2]);
+        return (node << 16) + (aFrame[3] << 8) + aFrame[4];
+    }
+
     public boolean check() {
         return hCode.reset(aString).matches();
     }
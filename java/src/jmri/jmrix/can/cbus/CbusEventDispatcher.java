@@ -0,0 +1,277 @@
+package jmri.jmrix.can.cbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import jmri.jmrix.AbstractMessage;
+import jmri.jmrix.can.CanListener;
+import jmri.jmrix.can.CanMessage;
+import jmri.jmrix.can.CanReply;
+import jmri.jmrix.can.TrafficController;
+
+/**
+ * Passes CBUS frames to the sensors, turnouts and lights with event
+ * addresses they may match, rather than to all of them.
+ * <p>
+ * Each traffic controller has one dispatcher, which is its only listener on
+ * behalf of the beans registered with it. Beans are indexed by the node and
+ * event numbers of their 5 byte addresses; short events are indexed under
+ * node 0. A frame is passed to the beans indexed under its node and event
+ * numbers and under node 0 and its event number, and a short event request
+ * to all the beans with its event number. Beans with addresses of other
+ * lengths are passed every frame. Beans still check the frames they are
+ * passed against their addresses, so the index only has to find every bean
+ * that may match.
+ * <hr>
+ * This file is part of JMRI.
+ * <p>
+ * JMRI is free software; you can redistribute it and/or modify it under the
+ * terms of version 2 of the GNU General Public License as published by the Free
+ * Software Foundation. See the "COPYING" file for a copy of this license.
+ * <p>
+ * JMRI is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ */
+public class CbusEventDispatcher implements CanListener {
+
+    private static final CanListener[] NONE = new CanListener[0];
+
+    // the dispatcher of each traffic controller; dispatchers don't refer to them
+    private static final Map<TrafficController, CbusEventDispatcher> DISPATCHERS = new WeakHashMap<>();
+
+    private final Map<Long, CanListener[]> byNodeEvent = new ConcurrentHashMap<>();
+    private final Map<Integer, CanListener[]> byEvent = new ConcurrentHashMap<>();
+    private volatile CanListener[] unindexed = NONE;
+    private final Map<CanListener, CbusAddress[]> listeners = new HashMap<>(); // guarded by this
+
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong deliveries = new AtomicLong();
+
+    private CbusEventDispatcher() {
+    }
+
+    /**
+     * Get the dispatcher of a traffic controller, if it has one.
+     *
+     * @param tc the traffic controller
+     * @return the dispatcher, or null if no beans have been added for tc
+     */
+    @CheckForNull
+    public static CbusEventDispatcher getDispatcher(@Nonnull TrafficController tc) {
+        synchronized (DISPATCHERS) {
+            return DISPATCHERS.get(tc);
+        }
+    }
+
+    /**
+     * Pass the frames of a traffic controller that may match any of the
+     * addresses to a listener. Used in place of
+     * {@link TrafficController#addCanListener(CanListener)} by beans with
+     * event addresses.
+     *
+     * @param tc        the traffic controller; nothing is done if null
+     * @param listener  the listener
+     * @param addresses the addresses the listener checks frames against;
+     *                  null addresses are ignored
+     */
+    public static void addListener(@CheckForNull TrafficController tc, @Nonnull CanListener listener, CbusAddress... addresses) {
+        if (tc == null) {
+            return;
+        }
+        CbusEventDispatcher d;
+        synchronized (DISPATCHERS) {
+            d = DISPATCHERS.computeIfAbsent(tc, t -> new CbusEventDispatcher());
+        }
+        if (d.add(listener, addresses)) {
+            tc.addCanListener(d);
+        }
+    }
+
+    /**
+     * Stop passing the frames of a traffic controller to a listener.
+     *
+     * @param tc       the traffic controller; nothing is done if null
+     * @param listener the listener
+     */
+    public static void removeListener(@CheckForNull TrafficController tc, @Nonnull CanListener listener) {
+        if (tc == null) {
+            return;
+        }
+        CbusEventDispatcher d = getDispatcher(tc);
+        if (d != null && d.remove(listener)) {
+            tc.removeCanListener(d);
+        }
+    }
+
+    // returns true if this is the first listener
+    private synchronized boolean add(CanListener listener, CbusAddress[] addresses) {
+        if (listeners.containsKey(listener)) {
+            remove(listener);
+        }
+        boolean first = listeners.isEmpty();
+        List<CbusAddress> list = new ArrayList<>(addresses.length);
+        boolean indexed = true;
+        for (CbusAddress a : addresses) {
+            if (a == null) {
+                continue;
+            }
+            list.add(a);
+            if (a.getNodeEvent() < 0) {
+                indexed = false;
+            }
+        }
+        CbusAddress[] a = list.toArray(new CbusAddress[0]);
+        listeners.put(listener, a);
+        if (!indexed || a.length == 0) {
+            unindexed = append(unindexed, listener);
+        } else {
+            for (CbusAddress address : a) {
+                long nodeEvent = address.getNodeEvent();
+                byNodeEvent.compute(nodeEvent, (k, v) -> append(v, listener));
+                byEvent.compute((int) (nodeEvent & 0xffff), (k, v) -> append(v, listener));
+            }
+        }
+        return first;
+    }
+
+    // returns true if there are no listeners left
+    private synchronized boolean remove(CanListener listener) {
+        CbusAddress[] a = listeners.remove(listener);
+        if (a == null) {
+            return false;
+        }
+        CanListener[] u = without(unindexed, listener);
+        unindexed = (u != null ? u : NONE);
+        for (CbusAddress address : a) {
+            long nodeEvent = address.getNodeEvent();
+            if (nodeEvent >= 0) {
+                byNodeEvent.computeIfPresent(nodeEvent, (k, v) -> without(v, listener));
+                byEvent.computeIfPresent((int) (nodeEvent & 0xffff), (k, v) -> without(v, listener));
+            }
+        }
+        return listeners.isEmpty();
+    }
+
+    private static CanListener[] append(CanListener[] array, CanListener listener) {
+        if (array == null) {
+            return new CanListener[]{listener};
+        }
+        for (CanListener l : array) {
+            if (l == listener) {
+                return array;
+            }
+        }
+        CanListener[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = listener;
+        return result;
+    }
+
+    // returns null, so removing a map entry, when empty
+    @CheckForNull
+    private static CanListener[] without(CanListener[] array, CanListener listener) {
+        List<CanListener> list = new ArrayList<>(Arrays.asList(array));
+        if (!list.remove(listener)) {
+            return array;
+        }
+        return (list.isEmpty() ? null : list.toArray(new CanListener[0]));
+    }
+
+    /**
+     * @return the number of listeners frames are passed to
+     */
+    public synchronized int numListeners() {
+        return listeners.size();
+    }
+
+    /**
+     * @return the number of frames passed on
+     */
+    public long getFrameCount() {
+        return frames.get();
+    }
+
+    /**
+     * @return the number of times a frame has been passed to a listener
+     */
+    public long getDeliveryCount() {
+        return deliveries.get();
+    }
+
+    /**
+     * Get the listeners a frame may be passed to.
+     *
+     * @param f the frame
+     * @return the listeners, each once
+     */
+    @Nonnull
+    CanListener[] getListeners(@Nonnull AbstractMessage f) {
+        CanListener[] all = unindexed;
+        if (f.getNumDataElements() == 5) {
+            int node = (f.getElement(1) << 8) + f.getElement(2);
+            int event = (f.getElement(3) << 8) + f.getElement(4);
+            all = merge(all, byNodeEvent.get(((long) node << 16) + event));
+            if (node != 0) {
+                all = merge(all, byNodeEvent.get((long) event));
+            }
+            if (f.getElement(0) == CbusConstants.CBUS_ASRQ) {
+                // a short request can be answered by a long event with the same event number
+                all = merge(all, byEvent.get(event));
+            }
+        }
+        return all;
+    }
+
+    private static CanListener[] merge(CanListener[] a, CanListener[] b) {
+        if (b == null || b.length == 0) {
+            return a;
+        }
+        if (a.length == 0) {
+            return b;
+        }
+        CanListener[] result = a;
+        for (CanListener l : b) {
+            result = append(result, l);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void message(CanMessage m) {
+        if (m.extendedOrRtr()) {
+            return;
+        }
+        frames.incrementAndGet();
+        for (CanListener l : getListeners(m)) {
+            deliveries.incrementAndGet();
+            l.message(m);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reply(CanReply r) {
+        if (r.extendedOrRtr()) {
+            return;
+        }
+        frames.incrementAndGet();
+        for (CanListener l : getListeners(r)) {
+            deliveries.incrementAndGet();
+            l.reply(r);
+        }
+    }
+}
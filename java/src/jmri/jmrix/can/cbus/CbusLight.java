@@ -60,8 +60,8 @@ public class CbusLight extends AbstractLight implements CanListener, CbusEventIn
                 log.error("Can't parse CbusLight system name: {}", address);
                 return;
         }
-        // connect
-        addTc(tc);
+        // connect through the dispatcher, which passes on only frames with our events
+        CbusEventDispatcher.addListener(tc, this, addrOn, addrOff);
     }
 
     /**
@@ -162,7 +162,7 @@ public class CbusLight extends AbstractLight implements CanListener, CbusEventIn
      */
     @Override
     public void dispose() {
-        tc.removeCanListener(this);
+        CbusEventDispatcher.removeListener(tc, this);
         super.dispose();
     }    
     
@@ -58,8 +58,8 @@ public class CbusSensor extends AbstractSensor implements CanListener, CbusEvent
                 log.error("Can't parse CbusSensor system name: {}", address);
                 return;
         }
-        // connect
-        addTc(tc);
+        // connect through the dispatcher, which passes on only frames with our events
+        CbusEventDispatcher.addListener(tc, this, addrActive, addrInactive);
     }
 
     /**
@@ -202,7 +202,7 @@ public class CbusSensor extends AbstractSensor implements CanListener, CbusEvent
      */
     @Override
     public void dispose() {
-        tc.removeCanListener(this);
+        CbusEventDispatcher.removeListener(tc, this);
         super.dispose();
     }
 
@@ -58,8 +58,8 @@ public class CbusTurnout extends jmri.implementation.AbstractTurnout
                 log.error("Can't parse CbusTurnout system name: {}", address);
                 return;
         }
-        // connect
-        addTc(tc);
+        // connect through the dispatcher, which passes on only frames with our events
+        CbusEventDispatcher.addListener(tc, this, addrThrown, addrClosed);
     }
 
     /**
@@ -284,7 +284,7 @@ public class CbusTurnout extends jmri.implementation.AbstractTurnout
      */
     @Override
     public void dispose() {
-        tc.removeCanListener(this);
+        CbusEventDispatcher.removeListener(tc, this);
         super.dispose();
     }    
     
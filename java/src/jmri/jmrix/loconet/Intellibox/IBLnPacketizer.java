@@ -201,10 +201,7 @@ public class IBLnPacketizer extends LnPacketizer {
                 try {
                     // get content; failure is a NoSuchElementException
                     log.debug("check for input");
-                    byte msg[] = null;
-                    synchronized (this) {
-                        msg = xmtList.removeFirst();
-                    }
+                    byte msg[] = nextTransmitMessage();
 
                     // input - now send
                     try {
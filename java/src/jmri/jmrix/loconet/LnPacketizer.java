@@ -2,8 +2,15 @@ package jmri.jmrix.loconet;
 
 import java.io.DataInputStream;
 import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +29,16 @@ import org.slf4j.LoggerFactory;
  *   <li> XmtHandler - down one, which is assumed to be above the GUI
  *   <li> (everything else)
  * </ul>
+ * Received messages are queued and delivered to listeners on the layout
+ * thread in batches, so a burst of traffic costs one layout-thread task per
+ * batch rather than one per message. Messages echoed locally go through the
+ * same queue to keep their order relative to received messages.
+ * <p>
+ * If {@link #setTransmitLanesEnabled(boolean) transmit lanes} are enabled,
+ * outbound messages are queued by {@link TransmitLane} so that throttle
+ * commands are not held up behind a long run of turnout or slot
+ * interrogations.
+ * <p>
  * Some of the message formats used in this class are Copyright Digitrax, Inc.
  * and used with permission as part of the JMRI project. That permission does
  * not extend to uses in other software products. If you wish to use this code,
@@ -60,9 +77,358 @@ public class LnPacketizer extends LnTrafficController {
 
     /**
      * Synchronized list used as a transmit queue.
+     * <p>
+     * Synchronize on {@link #xmtHandler} to access this, and use
+     * {@link #nextTransmitMessage()} to take messages from it so that
+     * statistics are kept.
      */
     protected LinkedList<byte[]> xmtList = new LinkedList<byte[]>();
 
+    /**
+     * Priority classes for outbound messages.
+     * <p>
+     * When transmit lanes are enabled, a message is sent ahead of every
+     * queued message in a lower lane; order within a lane is preserved.
+     */
+    public enum TransmitLane {
+        /**
+         * Track power and throttle speed, direction and function commands.
+         */
+        THROTTLE,
+        /**
+         * Turnout commands and anything not otherwise classified.
+         */
+        COMMAND,
+        /**
+         * Turnout state and slot data queries, such as are sent in bulk at
+         * startup.
+         */
+        INTERROGATION;
+
+        /**
+         * Classify a message by its opcode.
+         *
+         * @param opCode the LocoNet opcode
+         * @return the lane for that message
+         */
+        public static TransmitLane forOpCode(int opCode) {
+            switch (opCode) {
+                case LnConstants.OPC_GPOFF:
+                case LnConstants.OPC_GPON:
+                case LnConstants.OPC_IDLE:
+                case LnConstants.OPC_LOCO_SPD:
+                case LnConstants.OPC_LOCO_DIRF:
+                case LnConstants.OPC_LOCO_SND:
+                case LnConstants.OPC_EXP_SEND_FUNCTION_OR_SPEED_AND_DIR:
+                    return THROTTLE;
+                case LnConstants.OPC_SW_STATE:
+                case LnConstants.OPC_RQ_SL_DATA:
+                case LnConstants.OPC_EXP_REQ_SLOT:
+                    return INTERROGATION;
+                default:
+                    return COMMAND;
+            }
+        }
+
+        static TransmitLane forMessage(byte[] msg) {
+            return forOpCode(msg[0] & 0xFF);
+        }
+    }
+
+    /**
+     * Latency statistics for one {@link TransmitLane}, measured from queuing a
+     * message to taking it from the queue for transmission.
+     */
+    public static class LaneStatistics {
+
+        private int count = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+
+        synchronized void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        synchronized void reset() {
+            count = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+        }
+
+        /**
+         * @return the number of messages taken from this lane
+         */
+        public synchronized int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the mean queuing latency in milliseconds, or 0 if none
+         */
+        public synchronized double getMeanLatency() {
+            return count == 0 ? 0 : totalNanos / 1.0e6 / count;
+        }
+
+        /**
+         * @return the longest queuing latency in milliseconds
+         */
+        public synchronized double getMaxLatency() {
+            return maxNanos / 1.0e6;
+        }
+    }
+
+    private boolean transmitLanesEnabled = false;
+    private final Map<byte[], Long> queuedAt = new IdentityHashMap<>();
+    private final Map<TransmitLane, LaneStatistics> laneStatistics = new EnumMap<>(TransmitLane.class);
+    private volatile int maxTransmitQueueDepth = 0;
+
+    {
+        for (TransmitLane lane : TransmitLane.values()) {
+            laneStatistics.put(lane, new LaneStatistics());
+        }
+    }
+
+    /**
+     * Enable or disable queuing of outbound messages by {@link TransmitLane}.
+     * When disabled, the default, messages are sent strictly in the order
+     * queued.
+     *
+     * @param enabled true to give throttle commands priority
+     */
+    public void setTransmitLanesEnabled(boolean enabled) {
+        transmitLanesEnabled = enabled;
+    }
+
+    /**
+     * @return true if outbound messages are queued by {@link TransmitLane}
+     */
+    public boolean isTransmitLanesEnabled() {
+        return transmitLanesEnabled;
+    }
+
+    /**
+     * Get the number of messages waiting to be transmitted.
+     *
+     * @return the current transmit queue depth
+     */
+    public int getTransmitQueueDepth() {
+        if (xmtHandler == null) {
+            return xmtList.size();
+        }
+        synchronized (xmtHandler) {
+            return xmtList.size();
+        }
+    }
+
+    /**
+     * @return the deepest the transmit queue has been since statistics were
+     *         last reset
+     */
+    public int getMaxTransmitQueueDepth() {
+        return maxTransmitQueueDepth;
+    }
+
+    /**
+     * Get the queuing latency statistics for one lane. Messages are counted
+     * in the lane of their opcode whether or not transmit lanes are enabled.
+     *
+     * @param lane the lane of interest
+     * @return the statistics for that lane
+     */
+    public LaneStatistics getLaneStatistics(TransmitLane lane) {
+        return laneStatistics.get(lane);
+    }
+
+    /**
+     * Add a formatted message to the transmit queue. The caller must hold the
+     * lock on {@link #xmtHandler}.
+     *
+     * @param msg the bytes to transmit
+     */
+    protected void queueForTransmit(byte[] msg) {
+        if (!transmitLanesEnabled || xmtList.isEmpty()) {
+            xmtList.addLast(msg);
+        } else {
+            // xmtList is kept in lane order, so insert after the last message
+            // in the same or a higher lane. Search from whichever end is likely
+            // to be nearer.
+            int lane = TransmitLane.forMessage(msg).ordinal();
+            ListIterator<byte[]> it;
+            if (lane == 0) {
+                it = xmtList.listIterator();
+                while (it.hasNext()) {
+                    if (TransmitLane.forMessage(it.next()).ordinal() > lane) {
+                        it.previous();
+                        break;
+                    }
+                }
+            } else {
+                it = xmtList.listIterator(xmtList.size());
+                while (it.hasPrevious()) {
+                    if (TransmitLane.forMessage(it.previous()).ordinal() <= lane) {
+                        it.next();
+                        break;
+                    }
+                }
+            }
+            it.add(msg);
+        }
+        queuedAt.put(msg, System.nanoTime());
+        maxTransmitQueueDepth = Math.max(maxTransmitQueueDepth, xmtList.size());
+    }
+
+    /**
+     * Take the next message to transmit from the queue.
+     *
+     * @return the bytes to transmit
+     * @throws NoSuchElementException if the queue is empty
+     */
+    protected byte[] nextTransmitMessage() {
+        synchronized (xmtHandler) {
+            byte[] msg;
+            try {
+                msg = xmtList.removeFirst();
+            } catch (NoSuchElementException e) {
+                queuedAt.clear();
+                throw e;
+            }
+            Long since = queuedAt.remove(msg);
+            if (since != null) {
+                laneStatistics.get(TransmitLane.forMessage(msg)).record(System.nanoTime() - since);
+            }
+            if (xmtList.isEmpty()) {
+                // drop the queuing times of any messages removed from xmtList
+                // other than through this method
+                queuedAt.clear();
+            }
+            return msg;
+        }
+    }
+
+    /**
+     * Discard all messages waiting to be transmitted.
+     */
+    protected void clearTransmitQueue() {
+        if (xmtHandler == null) {
+            xmtList.clear();
+            queuedAt.clear();
+            return;
+        }
+        synchronized (xmtHandler) {
+            xmtList.clear();
+            queuedAt.clear();
+        }
+    }
+
+    /**
+     * Get the number of queued messages whose queuing time is held for the
+     * lane statistics.
+     *
+     * @return the number of messages
+     */
+    int getTimedMessageCount() {
+        if (xmtHandler == null) {
+            return queuedAt.size();
+        }
+        synchronized (xmtHandler) {
+            return queuedAt.size();
+        }
+    }
+
+    private final ConcurrentLinkedQueue<LocoNetMessage> rcvQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean rcvDeliveryScheduled = new AtomicBoolean(false);
+    private final AtomicInteger rcvQueueDepth = new AtomicInteger();
+    private volatile int maxReceiveBatchSize = 0;
+    private final AtomicInteger receiveBatchCount = new AtomicInteger();
+
+    /**
+     * Largest number of messages delivered in one layout-thread task, so that
+     * a long burst does not hold up other work on that thread.
+     */
+    static final int MAX_RECEIVE_BATCH = 64;
+
+    /**
+     * Queue a complete message for delivery to listeners on the layout
+     * thread. Messages are delivered in the order queued.
+     *
+     * @param msg the message to deliver
+     */
+    protected void queueForDelivery(LocoNetMessage msg) {
+        rcvQueue.add(msg);
+        rcvQueueDepth.incrementAndGet();
+        if (rcvDeliveryScheduled.compareAndSet(false, true)) {
+            jmri.util.ThreadingUtil.runOnLayoutEventually(this::deliverQueued);
+        }
+    }
+
+    /**
+     * Deliver a batch of queued messages; runs on the layout thread.
+     */
+    private void deliverQueued() {
+        // clear the flag first, so anything queued from here on either is
+        // picked up by this batch or schedules another
+        rcvDeliveryScheduled.set(false);
+        int delivered = 0;
+        LocoNetMessage msg;
+        while (delivered < MAX_RECEIVE_BATCH && (msg = rcvQueue.poll()) != null) {
+            rcvQueueDepth.decrementAndGet();
+            delivered++;
+            try {
+                notify(msg);
+            } catch (RuntimeException e) {
+                log.warn("During delivery of {}", msg, e); // NOI18N
+            }
+        }
+        if (delivered > 0) {
+            receiveBatchCount.incrementAndGet();
+            if (delivered > maxReceiveBatchSize) {
+                maxReceiveBatchSize = delivered; // only written by this task
+            }
+        }
+        if (!rcvQueue.isEmpty() && rcvDeliveryScheduled.compareAndSet(false, true)) {
+            jmri.util.ThreadingUtil.runOnLayoutEventually(this::deliverQueued);
+        }
+    }
+
+    /**
+     * @return the number of received messages not yet delivered to listeners
+     */
+    public int getReceiveQueueDepth() {
+        return rcvQueueDepth.get();
+    }
+
+    /**
+     * @return the number of batches of received messages delivered since
+     *         statistics were last reset
+     */
+    public int getReceiveBatchCount() {
+        return receiveBatchCount.get();
+    }
+
+    /**
+     * @return the largest batch of received messages delivered since
+     *         statistics were last reset
+     */
+    public int getMaxReceiveBatchSize() {
+        return maxReceiveBatchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetStatistics() {
+        super.resetStatistics();
+        maxTransmitQueueDepth = 0;
+        receiveBatchCount.set(0);
+        maxReceiveBatchSize = 0;
+        for (LaneStatistics stats : laneStatistics.values()) {
+            stats.reset();
+        }
+    }
+
     /**
      * XmtHandler (a local class) object to implement the transmit thread.
      * <p>
@@ -107,7 +473,7 @@ public class LnPacketizer extends LnTrafficController {
         // queued up.
         try {
             synchronized (xmtHandler) {
-                xmtList.addLast(msg);
+                queueForTransmit(msg);
                 xmtHandler.notifyAll();
             }
         } catch (RuntimeException e) {
@@ -305,7 +671,7 @@ public class LnPacketizer extends LnTrafficController {
                     {
                         log.debug("queue message for notification: {}", msg);
 
-                        jmri.util.ThreadingUtil.runOnLayoutEventually(new RcvMemo(msg, trafficController));
+                        queueForDelivery(msg);
                     }
 
                     // done with this one
@@ -330,27 +696,6 @@ public class LnPacketizer extends LnTrafficController {
         }
     }
 
-    /**
-     * Captive class to notify of one message.
-     */
-    private static class RcvMemo implements jmri.util.ThreadingUtil.ThreadAction {
-
-        public RcvMemo(LocoNetMessage msg, LnTrafficController trafficController) {
-            thisMsg = msg;
-            thisTc = trafficController;
-        }
-        LocoNetMessage thisMsg;
-        LnTrafficController thisTc;
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void run() {
-            thisTc.notify(thisMsg);
-        }
-    }
-
     /**
      * Captive class to handle transmission.
      */
@@ -367,10 +712,7 @@ public class LnPacketizer extends LnTrafficController {
                 try {
                     // get content; failure is a NoSuchElementException
                     log.trace("check for input"); // NOI18N
-                    byte msg[] = null;
-                    synchronized (this) {
-                        msg = xmtList.removeFirst();
-                    }
+                    byte msg[] = nextTransmitMessage();
 
                     // input - now send
                     try {
@@ -416,26 +758,8 @@ public class LnPacketizer extends LnTrafficController {
             return;
         }
         // message is queued for transmit, echo it when needed
-        // return a notification via the queue to ensure end
-        javax.swing.SwingUtilities.invokeLater(new Echo(this, new LocoNetMessage(msg)));
-    }
-
-    static class Echo implements Runnable {
-
-        Echo(LnPacketizer t, LocoNetMessage m) {
-            myTc = t;
-            msgForLater = m;
-        }
-        LocoNetMessage msgForLater;
-        LnPacketizer myTc;
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void run() {
-            myTc.notify(msgForLater);
-        }
+        // return a notification via the receive queue to keep it in order
+        queueForDelivery(new LocoNetMessage(msg));
     }
 
     /**
@@ -491,6 +815,7 @@ public class LnPacketizer extends LnTrafficController {
                 rcvThread.join();
             } catch (InterruptedException e) { log.warn("unexpected InterruptedException", e);}
         }
+        clearTransmitQueue();
         super.dispose();
     }
 
@@ -518,6 +843,7 @@ public class LnPacketizer extends LnTrafficController {
                 // interrupted during cleanup.
             }
         }
+        clearTransmitQueue();
     }
 
     /**
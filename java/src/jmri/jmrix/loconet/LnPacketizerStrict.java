@@ -174,7 +174,7 @@ public class LnPacketizerStrict extends LnPacketizer {
                             reTryRequired = true;
                             // check for waiting on echo
                         }
-                        jmri.util.ThreadingUtil.runOnLayoutEventually(new RcvMemo(msg, trafficController));
+                        queueForDelivery(msg);
                     }
                     // done with this one
                 } catch (LocoNetMessageException e) {
@@ -198,27 +198,6 @@ public class LnPacketizerStrict extends LnPacketizer {
         }
     }
 
-    /**
-     * Captive class to notify of one message
-     */
-    private static class RcvMemo implements jmri.util.ThreadingUtil.ThreadAction {
-
-        public RcvMemo(LocoNetMessage msg, LnTrafficController trafficController) {
-            thisMsg = msg;
-            thisTc = trafficController;
-        }
-        LocoNetMessage thisMsg;
-        LnTrafficController thisTc;
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void run() {
-            thisTc.notify(thisMsg);
-        }
-    }
-
     /**
      * Captive class to handle transmission
      */
@@ -235,10 +214,7 @@ public class LnPacketizerStrict extends LnPacketizer {
                 try {
                     // get content; failure is a NoSuchElementException
                     log.trace("check for input"); // NOI18N
-                    byte msg[] = null;
-                    synchronized (this) {
-                        msg = xmtList.removeFirst();
-                    }
+                    byte msg[] = nextTransmitMessage();
                     // input - now send
                     try {
                         if (ostream != null) {
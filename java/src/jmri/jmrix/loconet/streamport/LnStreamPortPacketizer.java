@@ -93,10 +93,7 @@ public class LnStreamPortPacketizer extends LnPacketizer {
                 try {
                     // get content; failure is a NoSuchElementException
                     log.trace("check for input"); // NOI18N
-                    byte msg[] = null;
-                    synchronized (this) {
-                        msg = xmtList.removeFirst();
-                    }
+                    byte msg[] = nextTransmitMessage();
 
                     // input - now send
                     try {
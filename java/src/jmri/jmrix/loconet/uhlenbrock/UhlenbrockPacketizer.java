@@ -49,51 +49,17 @@ public class UhlenbrockPacketizer extends LnPacketizer {
 
     static int defaultWaitTimer = 10000;
 
-    /**
-     * Forward a preformatted LocoNetMessage to the actual interface.
-     *
-     * Checksum is computed and overwritten here, then the message is converted
-     * to a byte array and queued for transmission.
-     *
-     * @param m Message to send; will be updated with CRC
-     */
-    @Override
-    public void sendLocoNetMessage(LocoNetMessage m) {
-        log.debug("add to queue message {}", m.toString());
-        // update statistics
-        transmittedMsgCount++;
-
-        // set the error correcting code byte(s) before transmittal
-        m.setParity();
-
-        // stream to port in single write, as that's needed by serial
-        int len = m.getNumDataElements();
-        byte msg[] = new byte[len];
-        for (int i = 0; i < len; i++) {
-            msg[i] = (byte) m.getElement(i);
-        }
-
-        if (log.isDebugEnabled()) {
-            log.debug("queue LocoNet packet: {}", m.toString());
-        }
-        // in an atomic operation, queue the request and wake the xmit thread
-        try {
-            synchronized (xmtHandler) {
-                xmtLocoNetList.addLast(m);
-                xmtList.addLast(msg);
-                xmtHandler.notify();
-            }
-        } catch (RuntimeException e) {
-            log.warn("passing to xmit: unexpected exception: ", e);
-        }
-    }
-
     /**
      * Synchronized list used as a transmit queue.
      * <p>
      * This is public to allow access from the internal class(es) when compiling
      * with Java 1.1
+     *
+     * @deprecated since 4.23.3; no longer used, as messages are queued in
+     * {@link #xmtList} and the message awaiting its echo is rebuilt from the
+     * bytes sent
      */
+    @Deprecated
     public LinkedList<LocoNetMessage> xmtLocoNetList = new LinkedList<LocoNetMessage>();
 
     /**
@@ -209,20 +175,7 @@ public class UhlenbrockPacketizer extends LnPacketizer {
                     // message is complete, dispatch it !!
                     {
                         log.debug("queue message for notification");
-                        //log.debug("-------------------Uhlenbrock IB-COM LocoNet message RECEIVED: {}", msg.toString());
-                        final LocoNetMessage thisMsg = msg;
-                        final LnPacketizer thisTc = trafficController;
-                        // return a notification via the queue to ensure end
-                        Runnable r = new Runnable() {
-                            LocoNetMessage msgForLater = thisMsg;
-                            LnPacketizer myTc = thisTc;
-
-                            @Override
-                            public void run() {
-                                myTc.notify(msgForLater);
-                            }
-                        };
-                        javax.swing.SwingUtilities.invokeLater(r);
+                        queueForDelivery(msg);
                     }
 
                     // done with this one
@@ -262,12 +215,9 @@ public class UhlenbrockPacketizer extends LnPacketizer {
                 try {
                     // get content; failure is a NoSuchElementException
                     log.debug("check for input");
-                    byte msg[] = null;
                     lastMessage = null;
-                    synchronized (this) {
-                        lastMessage = xmtLocoNetList.removeFirst();
-                        msg = xmtList.removeFirst();
-                    }
+                    byte msg[] = nextTransmitMessage();
+                    lastMessage = new LocoNetMessage(msg);
                     //log.debug("-------------------Uhlenbrock IB-COM LocoNet message to SEND: {}", msg.toString());
 
                     // input - now send
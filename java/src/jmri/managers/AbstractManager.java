@@ -14,6 +14,7 @@ import javax.annotation.OverridingMethodsMustInvokeSuper;
 import jmri.*;
 import jmri.beans.VetoableChangeSupport;
 import jmri.NamedBean.DuplicateSystemNameException;
+import jmri.util.IndexedTreeSet;
 
 /**
  * Abstract partial implementation for all Manager-type classes.
@@ -35,24 +36,21 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
 
     // The data model consists of several components:
     // * The primary reference is _beans, a SortedSet of NamedBeans, sorted automatically on system name.
-    //      Currently that's implemented as a TreeSet; further performance work might change that
+    //      This is an IndexedTreeSet, so a bean's position can be found without walking the set,
+    //      and snapshots of it can be taken without copying it.
     //      Live access is available as an unmodifiableSortedSet via getNamedBeanSet()
     // * The manager also maintains synchronized maps from SystemName -> NamedBean (_tsys) and UserName -> NamedBean (_tuser)
     //      These are not made available: get access through the manager calls
     //      These use regular HashMaps instead of some sorted form for efficiency
-    // * Caches for the List<String> getSystemNameList() and List<E> getNamedBeanList() calls
+    // * The List<String> getSystemNameList() and List<E> getNamedBeanList() calls return snapshots of _beans
 
     protected final SystemConnectionMemo memo;
-    protected final TreeSet<E> _beans;
+    protected final IndexedTreeSet<E> _beans;
     protected final Hashtable<String, E> _tsys = new Hashtable<>();   // stores known E (NamedBean, i.e. Turnout) instances by system name
     protected final Hashtable<String, E> _tuser = new Hashtable<>();  // stores known E (NamedBean, i.e. Turnout) instances by user name
     protected final Map<String, Boolean> silencedProperties = new HashMap<>();
     protected final Set<String> silenceableProperties = new HashSet<>();
 
-    // caches
-    private ArrayList<String> cachedSystemNameList = null;
-    private ArrayList<E> cachedNamedBeanList = null;
-
     // Auto names. The atomic integer is always created even if not used, to
     // simplify concurrency.
     AtomicInteger lastAutoNamedBeanRef = new AtomicInteger(0);
@@ -60,7 +58,7 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
 
     public AbstractManager(SystemConnectionMemo memo) {
         this.memo = memo;
-        this._beans = new TreeSet<>(memo.getNamedBeanComparator(getNamedBeanClass()));
+        this._beans = new IndexedTreeSet<>(memo.getNamedBeanComparator(getNamedBeanClass()));
         silenceableProperties.add("beans");
         registerSelf();
     }
@@ -233,10 +231,6 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
             }
         }
 
-        // clear caches
-        cachedSystemNameList = null;
-        cachedNamedBeanList = null;
-        
         // save this bean
         _beans.add(s);
         _tsys.put(systemName, s);
@@ -253,13 +247,8 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         s.addPropertyChangeListener(this);
     }
 
-    // not efficient, but does job for now
     private int getPosition(E s) {
-        if (_beans.contains(s)) {
-            return _beans.headSet(s, false).size();
-        } else {
-            return -1;
-        }
+        return _beans.indexOf(s);
     }
 
     /**
@@ -302,10 +291,6 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     public void deregister(@Nonnull E s) {
         int position = getPosition(s);
 
-        // clear caches
-        cachedSystemNameList = null;
-        cachedNamedBeanList = null;
-
         // stop listening for user name changes
         s.removePropertyChangeListener(this);
         
@@ -385,11 +370,18 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     @Deprecated  // will be removed when superclass method is removed due to @Override
     public List<String> getSystemNameList() {
         jmri.util.LoggingUtil.deprecationWarning(log, "getSystemNameList");
-        if (cachedSystemNameList == null) {
-            cachedSystemNameList = new ArrayList<>();
-            _beans.forEach(b -> cachedSystemNameList.add(b.getSystemName()));
-        }
-        return Collections.unmodifiableList(cachedSystemNameList);
+        List<E> beans = _beans.asList();
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return beans.get(index).getSystemName();
+            }
+
+            @Override
+            public int size() {
+                return beans.size();
+            }
+        };
     }
 
     /** {@inheritDoc} */
@@ -398,10 +390,7 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     @Deprecated  // will be removed when superclass method is removed due to @Override
     public List<E> getNamedBeanList() {
         jmri.util.LoggingUtil.deprecationWarning(log, "getNamedBeanList");
-        if (cachedNamedBeanList == null) {
-            cachedNamedBeanList = new ArrayList<>(_beans);
-        }
-        return Collections.unmodifiableList(cachedNamedBeanList);
+        return _beans.asList();
     }
 
     /** {@inheritDoc} */
@@ -5,6 +5,7 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.CheckForNull;
@@ -17,6 +18,7 @@ import jmri.SystemConnectionMemo;
 import jmri.jmrix.ConnectionConfig;
 import jmri.jmrix.ConnectionConfigManager;
 import jmri.jmrix.internal.InternalSystemConnectionMemo;
+import jmri.util.IndexedTreeSet;
 import jmri.util.NamedBeanComparator;
 
 /**
@@ -40,10 +42,10 @@ import jmri.util.NamedBeanComparator;
 abstract public class AbstractProxyManager<E extends NamedBean> extends VetoableChangeSupport implements ProxyManager<E>, PropertyChangeListener, Manager.ManagerDataListener<E> {
 
     /**
-     * List of names of bound properties requested to be listened to by
+     * Names of bound properties requested to be listened to by
      * PropertyChangeListeners.
      */
-    private final List<String> boundPropertyNames = new ArrayList<>();
+    private final Set<String> boundPropertyNames = new LinkedHashSet<>();
     /**
      * List of names of bound properties requested to be listened to by
      * VetoableChangeListeners.
@@ -125,7 +127,18 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
                 .forEach(n -> Arrays.stream(getVetoableChangeListeners(n))
                 .forEach(l -> m.addVetoableChangeListener(n, l)));
         m.addPropertyChangeListener("beans", this);
+        m.addPropertyChangeListener("length", indexListener);
+        m.addPropertyChangeListener("DisplayListName", indexListener);
         m.addDataListener(this);
+        SystemConnectionMemo memo = m.getMemo();
+        if (memo != null) {
+            memo.addPropertyChangeListener(SystemConnectionMemo.SYSTEM_PREFIX, indexListener);
+        }
+        if (!(m instanceof AbstractManager)) {
+            userNameCacheUsable = false;
+        }
+        prefixIndex = null;
+        invalidateUserNames();
         recomputeNamedBeanSet();
         log.debug("added manager {}", m.getClass());
     }
@@ -172,11 +185,42 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
         return m.getBySystemName(systemName);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Beans found are cached by user name until a system manager reports a
+     * change to its beans or their user names. Misses are not cached, since
+     * {@link #getNamedBean(String)} tries every system name as a user name
+     * first, so would otherwise fill the cache with system names. The cache
+     * is only used if every system manager is an {@link AbstractManager},
+     * since those are known to report such changes.
+     */
     @Override
     @CheckReturnValue
     @CheckForNull
     public E getByUserName(@Nonnull String userName) {
+        if (!userNameCacheUsable || userName == null) {
+            return findByUserName(userName);
+        }
+        E cached = userNameCache.get(userName);
+        if (cached != null) {
+            return cached;
+        }
+        long generation;
+        synchronized (userNameCache) {
+            generation = userNameCacheGeneration;
+        }
+        E b = findByUserName(userName);
+        synchronized (userNameCache) {
+            // don't cache a result that may have been invalidated during the search
+            if (b != null && generation == userNameCacheGeneration) {
+                userNameCache.put(userName, b);
+            }
+        }
+        return b;
+    }
+
+    private E findByUserName(@Nonnull String userName) {
         for (Manager<E> m : this.mgrs) {
             E b = m.getByUserName(userName);
             if (b != null) {
@@ -216,11 +260,71 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
         return m == null ? NameValidity.INVALID : m.validSystemNameFormat(systemName);
     }
 
+    /**
+     * Forget any cached results of {@link #getByUserName(String)}.
+     */
+    protected void invalidateUserNames() {
+        synchronized (userNameCache) {
+            userNameCacheGeneration++;
+            userNameCache.clear();
+        }
+    }
+
+    /**
+     * Get the number of user names cached by {@link #getByUserName(String)}.
+     *
+     * @return the number of cached user names
+     */
+    int getCachedUserNameCount() {
+        return userNameCache.size();
+    }
+
+    private void invalidateUserName(Object userName) {
+        if (userName != null) {
+            synchronized (userNameCache) {
+                userNameCacheGeneration++;
+                userNameCache.remove(userName);
+            }
+        }
+    }
+
+    private final Map<String, E> userNameCache = new ConcurrentHashMap<>();
+    private long userNameCacheGeneration = 0; // guarded by userNameCache
+    private volatile boolean userNameCacheUsable = true;
+
+    /**
+     * Keeps the user name cache and the system name prefix index in step with
+     * the system managers. These events are not forwarded to listeners of this
+     * manager.
+     */
+    private final PropertyChangeListener indexListener = (PropertyChangeEvent e) -> {
+        switch (e.getPropertyName()) {
+            case "DisplayListName":
+                invalidateUserName(e.getOldValue());
+                invalidateUserName(e.getNewValue());
+                break;
+            case SystemConnectionMemo.SYSTEM_PREFIX:
+                prefixIndex = null;
+                break;
+            default: // "length", a bean has been registered or deregistered
+                invalidateUserNames();
+                break;
+        }
+    };
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {
-        mgrs.forEach(m -> m.dispose());
+        mgrs.forEach(m -> {
+            SystemConnectionMemo memo = m.getMemo();
+            if (memo != null) {
+                memo.removePropertyChangeListener(SystemConnectionMemo.SYSTEM_PREFIX, indexListener);
+            }
+            m.dispose();
+        });
         mgrs.clear();
+        prefixIndex = null;
+        invalidateUserNames();
         if (internalManager != null) {
             internalManager.dispose(); // don't make if not made yet
         }
@@ -236,12 +340,52 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     protected Manager<E> getManager(@Nonnull String systemName) {
         // make sure internal present
         initInternal();
-        for (Manager<E> m : getManagerList()) {
-            if (systemName.startsWith(m.getSystemNamePrefix())) {
-                return m;
+        PrefixIndex<E> index = prefixIndex;
+        if (index == null) {
+            index = new PrefixIndex<>(getManagerList());
+            prefixIndex = index;
+        }
+        return index.find(systemName);
+    }
+
+    private volatile PrefixIndex<E> prefixIndex = null;
+
+    /**
+     * Immutable lookup of managers by system name prefix. A system name is
+     * looked up by each distinct prefix length, rather than by testing it
+     * against every manager in turn. If several prefixes match, the manager
+     * first in the list wins, as it did for a sequential search.
+     */
+    private static final class PrefixIndex<E extends NamedBean> {
+
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final List<Manager<E>> managers;
+        private final int[] lengths;
+
+        PrefixIndex(List<Manager<E>> managers) {
+            this.managers = managers;
+            SortedSet<Integer> set = new TreeSet<>();
+            for (int i = 0; i < managers.size(); i++) {
+                String prefix = managers.get(i).getSystemNamePrefix();
+                positions.putIfAbsent(prefix, i);
+                set.add(prefix.length());
             }
+            lengths = set.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        Manager<E> find(String systemName) {
+            int best = Integer.MAX_VALUE;
+            for (int length : lengths) {
+                if (length > systemName.length()) {
+                    break;
+                }
+                Integer position = positions.get(systemName.substring(0, length));
+                if (position != null && position < best) {
+                    best = position;
+                }
+            }
+            return best == Integer.MAX_VALUE ? null : managers.get(best);
         }
-        return null;
     }
 
     /**
@@ -512,9 +656,16 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked") // "beans" events from the system managers carry E
     public void propertyChange(PropertyChangeEvent event) {
         if (event.getPropertyName().equals("beans")) {
-            recomputeNamedBeanSet();
+            if (namedBeanSet != null && event.getOldValue() != null) {
+                namedBeanSet.remove((E) event.getOldValue());
+            } else if (namedBeanSet != null && event.getNewValue() != null) {
+                namedBeanSet.add((E) event.getNewValue());
+            } else {
+                recomputeNamedBeanSet();
+            }
         }
         event.setPropagationId(this);
         if (!silencedProperties.getOrDefault(event.getPropertyName(), false)) {
@@ -600,7 +751,7 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
         return Collections.unmodifiableList(tl);
     }
 
-    private TreeSet<E> namedBeanSet = null;
+    private IndexedTreeSet<E> namedBeanSet = null;
     protected void recomputeNamedBeanSet() {
         if (namedBeanSet != null) { // only maintain if requested
             namedBeanSet.clear();
@@ -613,7 +764,7 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Nonnull
     public SortedSet<E> getNamedBeanSet() {
         if (namedBeanSet == null) {
-            namedBeanSet = new TreeSet<>(new NamedBeanComparator<>());
+            namedBeanSet = new IndexedTreeSet<>(new NamedBeanComparator<>());
             recomputeNamedBeanSet();
         }
         return Collections.unmodifiableSortedSet(namedBeanSet);
@@ -661,6 +812,7 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Override
     @Deprecated
     public void contentsChanged(Manager.ManagerDataEvent<E> e) {
+        invalidateUserNames();
     }
 
     /**
@@ -701,7 +853,12 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Deprecated
     @SuppressWarnings("deprecation")
     public void intervalRemoved(AbstractProxyManager.ManagerDataEvent<E> e) {
-        recomputeNamedBeanSet();
+        if (namedBeanSet != null && e.getIndex0() == e.getIndex1() && e.getChangedBean() != null) {
+            // just one element removed, and we have the object reference
+            namedBeanSet.remove(e.getChangedBean());
+        } else {
+            recomputeNamedBeanSet();
+        }
 
         if (muted) return;
 
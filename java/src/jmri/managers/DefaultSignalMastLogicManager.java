@@ -4,6 +4,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jmri.*;
 import jmri.implementation.DefaultSignalMastLogic;
@@ -241,6 +242,70 @@ public class DefaultSignalMastLogicManager
         signalLogicDelay = l;
     }
 
+    // evaluations of the logics of this manager
+    private final AtomicLong evaluationRequests = new AtomicLong();
+    private final AtomicLong evaluations = new AtomicLong();
+
+    /**
+     * Record that a signal mast logic has been asked to check its source and
+     * destination pairs or set the aspect of its source mast.
+     */
+    public void evaluationRequested() {
+        evaluationRequests.incrementAndGet();
+    }
+
+    /**
+     * Record that a signal mast logic has checked a source and destination
+     * pair or set the aspect of its source mast.
+     */
+    public void evaluated() {
+        evaluations.incrementAndGet();
+    }
+
+    /**
+     * Get the number of times signal mast logic has been asked to evaluate a
+     * source and destination pair or the aspect of a source mast, usually by
+     * a change of a turnout, sensor, block or mast it depends on. Requests
+     * made while an evaluation is waiting for the signal logic delay are
+     * combined with it.
+     *
+     * @return the number of requests since this manager was created
+     */
+    public long getEvaluationRequestCount() {
+        return evaluationRequests.get();
+    }
+
+    /**
+     * Get the number of evaluations of source and destination pairs and of
+     * source mast aspects that signal mast logic has made.
+     *
+     * @return the number of evaluations since this manager was created
+     */
+    public long getEvaluationCount() {
+        return evaluations.get();
+    }
+
+    private long rateTime = System.nanoTime();
+    private long rateCount = 0;
+    private double rate = 0.0;
+
+    /**
+     * Get the recent rate of signal mast logic evaluations, measured since
+     * the previous call that was at least a second earlier.
+     *
+     * @return evaluations per second
+     */
+    public synchronized double getEvaluationRate() {
+        long now = System.nanoTime();
+        if (now - rateTime >= 1000000000L) {
+            long count = evaluations.get();
+            rate = (count - rateCount) * 1.0e9 / (now - rateTime);
+            rateTime = now;
+            rateCount = count;
+        }
+        return rate;
+    }
+
     protected PropertyChangeListener propertyBlockManagerListener = new PropertyChangeListener() {
         @Override
         public void propertyChange(PropertyChangeEvent e) {
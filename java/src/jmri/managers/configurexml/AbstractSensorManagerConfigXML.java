@@ -226,6 +226,16 @@ public abstract class AbstractSensorManagerConfigXML extends AbstractNamedBeanMa
         return InstanceManager.sensorManagerInstance().getXMLOrder();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return true, as loading creates no GUI objects
+     */
+    @Override
+    public boolean loadOffGUIThread() {
+        return true;
+    }
+
     private final static Logger log = LoggerFactory.getLogger(AbstractSensorManagerConfigXML.class);
 
 }
@@ -382,6 +382,16 @@ public abstract class AbstractTurnoutManagerConfigXML extends AbstractNamedBeanM
         return InstanceManager.turnoutManagerInstance().getXMLOrder();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return true, as loading creates no GUI objects
+     */
+    @Override
+    public boolean loadOffGUIThread() {
+        return true;
+    }
+
     private final static Logger log = LoggerFactory.getLogger(AbstractTurnoutManagerConfigXML.class);
 
 }
@@ -187,6 +187,16 @@ public class DefaultSignalMastManagerXml
         return InstanceManager.getDefault(jmri.SignalMastManager.class).getXMLOrder();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return true, as loading creates no GUI objects
+     */
+    @Override
+    public boolean loadOffGUIThread() {
+        return true;
+    }
+
     private final static Logger log = LoggerFactory.getLogger(DefaultSignalMastManagerXml.class);
 
 }
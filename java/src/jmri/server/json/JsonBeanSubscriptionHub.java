@@ -0,0 +1,432 @@
+package jmri.server.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.Disposable;
+import jmri.InstanceManager;
+import jmri.InstanceManagerAutoDefault;
+import jmri.NamedBean;
+import jmri.util.ThreadingUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the changes of NamedBeans to the JSON clients listening to them.
+ * <p>
+ * Each bean has one listener on behalf of every client listening to it, and
+ * when it changes it is encoded once for each locale and protocol version
+ * used by those clients rather than once for each client. If the
+ * {@link JsonServerPreferences#getCoalescingWindow() coalescing window} is
+ * greater than 0, the changes of a bean within that window are sent as one
+ * message with the state of the bean at the end of the window.
+ * <p>
+ * A change only queues its messages; each client is sent its messages by a
+ * task of its own on a thread of the hub, so the thread that changed the bean,
+ * often the layout or GUI thread, never waits for a client. While a client is
+ * slow to accept a message, later messages for it are held for its task; a
+ * message for a bean replaces any held for the same bean, so a slow client is
+ * sent only the latest state of each bean rather than a growing backlog.
+ *
+ * @see JsonNamedBeanSocketService
+ */
+@ThreadSafe
+public class JsonBeanSubscriptionHub implements InstanceManagerAutoDefault, Disposable {
+
+    // guarded by itself
+    private final Map<Key, Subscription<?>> subscriptions = new HashMap<>();
+    // guarded by subscriptions
+    private final Map<JsonConnection, Client> clients = new HashMap<>();
+    private final JsonServerPreferences preferences = InstanceManager.getDefault(JsonServerPreferences.class);
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong encoded = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private ExecutorService executor = null; // guarded by this
+    private static final Logger log = LoggerFactory.getLogger(JsonBeanSubscriptionHub.class);
+
+    /**
+     * Send the changes of a bean to a client.
+     *
+     * @param <T>        the type of bean
+     * @param bean       the bean
+     * @param service    the service encoding the bean
+     * @param connection the client
+     * @param onError    called if the bean cannot be sent to the client, before
+     *                   the client is unsubscribed from the bean
+     * @param related    other beans whose changes cause the bean to be sent;
+     *                   only used by the first client subscribed to the bean
+     */
+    public <T extends NamedBean> void subscribe(@Nonnull T bean, @Nonnull JsonNamedBeanHttpService<T> service,
+            @Nonnull JsonConnection connection, @Nonnull Runnable onError, NamedBean... related) {
+        synchronized (subscriptions) {
+            Key key = new Key(bean, service.getType());
+            Subscription<?> subscription = subscriptions.get(key);
+            if (subscription == null) {
+                subscription = new Subscription<>(key, bean, service, related);
+                subscriptions.put(key, subscription);
+                subscription.listen();
+            }
+            Client client = clients.computeIfAbsent(connection, Client::new);
+            if (subscription.subscribers.put(client, onError) == null) {
+                client.subscriptions++;
+            }
+        }
+    }
+
+    /**
+     * Stop sending the changes of a bean to a client.
+     *
+     * @param bean       the bean
+     * @param type       the JSON type the bean is sent as
+     * @param connection the client
+     */
+    public void unsubscribe(@Nonnull NamedBean bean, @Nonnull String type, @Nonnull JsonConnection connection) {
+        synchronized (subscriptions) {
+            Key key = new Key(bean, type);
+            Subscription<?> subscription = subscriptions.get(key);
+            Client client = clients.get(connection);
+            if (subscription == null || client == null || subscription.subscribers.remove(client) == null) {
+                return;
+            }
+            if (subscription.subscribers.isEmpty()) {
+                subscriptions.remove(key);
+                subscription.release();
+            }
+            if (--client.subscriptions == 0) {
+                clients.remove(connection);
+            }
+        }
+    }
+
+    /**
+     * Check if the changes of a bean are sent to a client.
+     *
+     * @param bean       the bean
+     * @param type       the JSON type the bean is sent as
+     * @param connection the client
+     * @return true if subscribed; false otherwise
+     */
+    public boolean isSubscribed(@Nonnull NamedBean bean, @Nonnull String type, @Nonnull JsonConnection connection) {
+        synchronized (subscriptions) {
+            Subscription<?> subscription = subscriptions.get(new Key(bean, type));
+            Client client = clients.get(connection);
+            return subscription != null && client != null && subscription.subscribers.containsKey(client);
+        }
+    }
+
+    /**
+     * Check if messages are waiting to be sent or being sent to a client.
+     *
+     * @param connection the client
+     * @return true if sending; false otherwise
+     */
+    boolean isSending(@Nonnull JsonConnection connection) {
+        Client client;
+        synchronized (subscriptions) {
+            client = clients.get(connection);
+        }
+        if (client == null) {
+            return false;
+        }
+        synchronized (client) {
+            return client.sending;
+        }
+    }
+
+    /**
+     * @return the number of beans with at least one client subscribed
+     */
+    public int getSubscriptionCount() {
+        synchronized (subscriptions) {
+            return subscriptions.size();
+        }
+    }
+
+    /**
+     * @return the number of property changes of subscribed beans
+     */
+    public long getChangeCount() {
+        return changes.get();
+    }
+
+    /**
+     * @return the number of times a bean has been encoded
+     */
+    public long getEncodeCount() {
+        return encoded.get();
+    }
+
+    /**
+     * @return the number of messages sent to clients
+     */
+    public long getSendCount() {
+        return sent.get();
+    }
+
+    /**
+     * @return the number of changes or messages replaced by a later change
+     *         of the same bean before being sent
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        synchronized (subscriptions) {
+            subscriptions.values().forEach(Subscription::release);
+            subscriptions.clear();
+            clients.clear();
+        }
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    // the threads sending to clients, created when first needed
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread t = ThreadingUtil.newThread(r, "JSON Bean Subscription Hub"); // NOI18N
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return executor;
+    }
+
+    private void remove(Subscription<?> subscription, Client client) {
+        Runnable onError = subscription.subscribers.get(client);
+        // tell the subscriber first, so a request it handles once the client
+        // is unsubscribed subscribes again
+        if (onError != null) {
+            onError.run();
+        }
+        unsubscribe(subscription.key.bean, subscription.key.type, client.connection);
+    }
+
+    private static final class Key {
+
+        final NamedBean bean;
+        final String type;
+
+        Key(NamedBean bean, String type) {
+            this.bean = bean;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return bean == other.bean && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bean) * 31 + type.hashCode();
+        }
+    }
+
+    // a bean encoded for a locale and version
+    private static final class Encoded {
+
+        final JsonNode message;
+        final String text;
+        final JsonRequest request;
+
+        Encoded(JsonNode message, String text, JsonRequest request) {
+            this.message = message;
+            this.text = text;
+            this.request = request;
+        }
+    }
+
+    private final class Subscription<T extends NamedBean> implements PropertyChangeListener {
+
+        final Key key;
+        final T bean;
+        final JsonNamedBeanHttpService<T> service;
+        final NamedBean[] related;
+        final Map<Client, Runnable> subscribers = new ConcurrentHashMap<>();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        Subscription(Key key, T bean, JsonNamedBeanHttpService<T> service, NamedBean[] related) {
+            this.key = key;
+            this.bean = bean;
+            this.service = service;
+            this.related = related;
+        }
+
+        void listen() {
+            bean.addPropertyChangeListener(this);
+            for (NamedBean b : related) {
+                if (b != null) {
+                    b.addPropertyChangeListener(this);
+                }
+            }
+        }
+
+        void release() {
+            bean.removePropertyChangeListener(this);
+            for (NamedBean b : related) {
+                if (b != null) {
+                    b.removePropertyChangeListener(this);
+                }
+            }
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            changes.incrementAndGet();
+            int window = preferences.getCoalescingWindow();
+            if (window == 0) {
+                publish();
+            } else if (scheduled.compareAndSet(false, true)) {
+                ThreadingUtil.runOnLayoutDelayed(() -> {
+                    scheduled.set(false);
+                    publish();
+                }, window);
+            } else {
+                coalesced.incrementAndGet();
+            }
+        }
+
+        void publish() {
+            // encode once for each locale and version
+            Map<String, Encoded> encodings = new HashMap<>();
+            List<Client> failed = new ArrayList<>();
+            for (Client client : subscribers.keySet()) {
+                JsonRequest request = new JsonRequest(client.connection.getLocale(), client.connection.getVersion(), JSON.GET, 0);
+                String language = request.locale.toLanguageTag() + " " + request.version;
+                Encoded message;
+                if (encodings.containsKey(language)) {
+                    message = encodings.get(language);
+                } else {
+                    message = encode(request);
+                    encodings.put(language, message);
+                }
+                if (message != null) {
+                    client.offer(this, message);
+                } else {
+                    failed.add(client);
+                }
+            }
+            failed.forEach(client -> remove(this, client));
+        }
+
+        @CheckForNull
+        private Encoded encode(JsonRequest request) {
+            try {
+                JsonNode message = service.doGet(bean, bean.getSystemName(), service.getType(), request);
+                encoded.incrementAndGet();
+                return new Encoded(message, service.getObjectMapper().writeValueAsString(message), request);
+            } catch (IOException | JsonException ex) {
+                log.debug("Unable to encode {} {}", key.type, bean.getSystemName(), ex);
+                return null;
+            }
+        }
+    }
+
+    private final class Client {
+
+        final JsonConnection connection;
+        int subscriptions = 0; // guarded by JsonBeanSubscriptionHub.this.subscriptions
+        // messages waiting to be sent, guarded by this
+        private final Map<Subscription<?>, Encoded> pending = new LinkedHashMap<>();
+        private boolean sending = false; // guarded by this
+
+        Client(JsonConnection connection) {
+            this.connection = connection;
+        }
+
+        void offer(Subscription<?> subscription, Encoded message) {
+            synchronized (this) {
+                // a replaced message moves to the end, so messages are sent
+                // in the order of the latest changes
+                if (pending.remove(subscription) != null) {
+                    coalesced.incrementAndGet();
+                }
+                pending.put(subscription, message);
+                if (sending) {
+                    // sent by the task already sending to this client
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                getExecutor().execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // hub disposed
+                synchronized (this) {
+                    pending.clear();
+                    sending = false;
+                }
+            }
+        }
+
+        private void drain() {
+            boolean drained = false;
+            try {
+                Map.Entry<Subscription<?>, Encoded> next;
+                while ((next = poll()) != null) {
+                    Encoded m = next.getValue();
+                    try {
+                        connection.sendMessage(m.message, m.text, m.request);
+                        sent.incrementAndGet();
+                    } catch (IOException ex) {
+                        remove(next.getKey(), this);
+                    }
+                }
+                drained = true;
+            } finally {
+                if (!drained) {
+                    synchronized (this) {
+                        sending = false;
+                    }
+                }
+            }
+        }
+
+        // returns null and stops sending if nothing is pending
+        @CheckForNull
+        private synchronized Map.Entry<Subscription<?>, Encoded> poll() {
+            Iterator<Map.Entry<Subscription<?>, Encoded>> i = pending.entrySet().iterator();
+            if (!i.hasNext()) {
+                sending = false;
+                return null;
+            }
+            Map.Entry<Subscription<?>, Encoded> next = i.next();
+            Map.Entry<Subscription<?>, Encoded> entry = new AbstractMap.SimpleImmutableEntry<>(next);
+            i.remove();
+            return entry;
+        }
+    }
+}
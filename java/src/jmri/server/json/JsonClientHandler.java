@@ -111,7 +111,7 @@ public class JsonClientHandler {
         JsonNode data = root.path(DATA);
         JsonRequest request = new JsonRequest(connection.getLocale(), connection.getVersion(), method, id);
         try {
-            if (preferences.getValidateClientMessages()) {
+            if (preferences.getValidateClientMessages() && connection.isValidationSample(false)) {
                 schemas.validateMessage(root, false, request);
             }
             if ((root.path(TYPE).isMissingNode() || type.equals(LIST)) && root.path(LIST).isValueNode()) {
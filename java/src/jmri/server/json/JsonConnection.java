@@ -2,8 +2,10 @@ package jmri.server.json;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import jmri.InstanceManager;
 import jmri.jmris.JmriConnection;
@@ -18,8 +20,12 @@ import org.eclipse.jetty.websocket.api.Session;
  */
 public class JsonConnection extends JmriConnection {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // mappers are thread safe once configured, so all connections share one
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writerFor(JsonNode.class);
     private String version = JSON.V5;
+    private final AtomicLong clientMessages = new AtomicLong();
+    private final AtomicLong serverMessages = new AtomicLong();
     protected final JsonServerPreferences preferences = InstanceManager.getDefault(JsonServerPreferences.class);
     protected final JsonSchemaServiceCache schemas = InstanceManager.getDefault(JsonSchemaServiceCache.class);
 
@@ -32,13 +38,32 @@ public class JsonConnection extends JmriConnection {
     }
 
     /**
-     * Get the ObjectMapper for this connection.
+     * Get the ObjectMapper for this connection. The ObjectMapper is shared by
+     * all connections, so must not be reconfigured.
      *
      * @return the ObjectMapper
      */
     @Nonnull
     public ObjectMapper getObjectMapper() {
-        return objectMapper;
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * Check if the next message sent or received should be validated, if
+     * validation of those messages is enabled. One of every
+     * {@link JsonServerPreferences#getValidationSampleInterval()} messages in
+     * each direction is validated.
+     *
+     * @param server true for a message sent to the client; false for a
+     *               message received from the client
+     * @return true if the message should be validated
+     */
+    public boolean isValidationSample(boolean server) {
+        int interval = preferences.getValidationSampleInterval();
+        if (interval <= 1) {
+            return true;
+        }
+        return (server ? serverMessages : clientMessages).getAndIncrement() % interval == 0;
     }
 
     /**
@@ -49,7 +74,8 @@ public class JsonConnection extends JmriConnection {
      * <p>
      * If {@link JsonServerPreferences#getValidateServerMessages()} is
      * {@code true}, a message is sent to the client that validation failed
-     * instead of the intended message.
+     * instead of the intended message. Only the messages selected by
+     * {@link #isValidationSample(boolean)} are validated.
      * <p>
      * Overriding methods must ensure that {@code message} is only sent if
      * validated.
@@ -59,15 +85,15 @@ public class JsonConnection extends JmriConnection {
      * @throws IOException if unable to send the message
      */
     public void sendMessage(@Nonnull JsonNode message, @Nonnull JsonRequest request) throws IOException {
-        if (preferences.getValidateServerMessages()) {
+        if (preferences.getValidateServerMessages() && isValidationSample(true)) {
             try {
                 schemas.validateMessage(message, true, request);
             } catch (JsonException ex) {
-                super.sendMessage(getObjectMapper().writeValueAsString(ex.getJsonMessage()));
+                super.sendMessage(OBJECT_WRITER.writeValueAsString(ex.getJsonMessage()));
                 return;
             }
         }
-        super.sendMessage(getObjectMapper().writeValueAsString(message));
+        super.sendMessage(OBJECT_WRITER.writeValueAsString(message));
     }
 
     /**
@@ -91,6 +117,34 @@ public class JsonConnection extends JmriConnection {
         sendMessage(message, new JsonRequest(getLocale(), getVersion(), JSON.GET, id));
     }
 
+    /**
+     * Send a JsonNode that has already been encoded to the instantiated
+     * connection. This allows a message sent to many connections, such as a
+     * change in the state of a bean (see {@link JsonBeanSubscriptionHub}), to
+     * be encoded once.
+     * <p>
+     * Messages are validated as with
+     * {@link #sendMessage(JsonNode, JsonRequest)}, and overriding methods
+     * must likewise ensure that {@code encoded} is only sent if
+     * {@code message} is validated.
+     *
+     * @param message the object or array to send as a message
+     * @param encoded the message encoded as a String
+     * @param request the JSON request
+     * @throws IOException if unable to send the message
+     */
+    public void sendMessage(@Nonnull JsonNode message, @Nonnull String encoded, @Nonnull JsonRequest request) throws IOException {
+        if (preferences.getValidateServerMessages() && isValidationSample(true)) {
+            try {
+                schemas.validateMessage(message, true, request);
+            } catch (JsonException ex) {
+                super.sendMessage(OBJECT_WRITER.writeValueAsString(ex.getJsonMessage()));
+                return;
+            }
+        }
+        super.sendMessage(encoded);
+    }
+
     public String getVersion() {
         return version;
     }
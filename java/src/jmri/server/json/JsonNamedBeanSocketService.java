@@ -13,6 +13,8 @@ import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import jmri.InstanceManager;
 import jmri.JmriException;
 import jmri.NamedBean;
@@ -25,6 +27,10 @@ import org.slf4j.LoggerFactory;
  * Abstract implementation of JsonSocketService with specific support for
  * {@link jmri.NamedBean} objects. Note that services requiring support for
  * multiple classes of NamedBean cannot extend this class.
+ * <p>
+ * Changes to the beans a client has requested are sent to the client through
+ * the {@link JsonBeanSubscriptionHub}, which encodes each change once for all
+ * the clients requesting that bean.
  *
  * @author Randall Wood (C) 2019
  * @param <T> the NamedBean class supported by this service
@@ -32,7 +38,15 @@ import org.slf4j.LoggerFactory;
  */
 public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamedBeanHttpService<T>> extends JsonSocketService<H> {
 
+    /**
+     * @deprecated since 4.23.3; no longer populated, as changes are sent
+     * through the {@link #hub}; use {@link #beans} instead
+     */
+    @Deprecated
     protected final HashMap<T, NamedBeanListener> beanListeners = new HashMap<>();
+    // beans this client is sent the changes of through the hub
+    protected final Set<T> beans = ConcurrentHashMap.newKeySet();
+    protected final JsonBeanSubscriptionHub hub = InstanceManager.getDefault(JsonBeanSubscriptionHub.class);
     protected final ManagerListener managerListener = new ManagerListener();
     private static final Logger log = LoggerFactory.getLogger(JsonNamedBeanSocketService.class);
 
@@ -74,7 +88,7 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
             default:
                 connection.sendMessage(service.doGet(type, name, data, request), request.id);
         }
-        if (!beanListeners.containsKey(bean)) {
+        if (bean != null && !beans.contains(bean)) {
             addListenerToBean(bean);
         }
     }
@@ -86,8 +100,8 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
 
     @Override
     public void onClose() {
-        beanListeners.values().stream().forEach(listener -> listener.bean.removePropertyChangeListener(listener));
-        beanListeners.clear();
+        beans.forEach(bean -> hub.unsubscribe(bean, service.getType(), connection));
+        beans.clear();
         service.getManager().removePropertyChangeListener(managerListener);
     }
 
@@ -97,20 +111,25 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
 
     protected void addListenerToBean(T bean) {
         if (bean != null) {
-            NamedBeanListener listener = new NamedBeanListener(bean);
-            bean.addPropertyChangeListener(listener);
-            this.beanListeners.put(bean, listener);
+            beans.add(bean);
+            hub.subscribe(bean, service, connection, () -> beans.remove(bean));
         }
     }
 
     protected void removeListenersFromRemovedBeans() {
-        for (T bean : new HashSet<>(beanListeners.keySet())) {
+        for (T bean : new HashSet<>(beans)) {
             if (service.getManager().getBySystemName(bean.getSystemName()) == null) {
-                beanListeners.remove(bean);
+                hub.unsubscribe(bean, service.getType(), connection);
+                beans.remove(bean);
             }
         }
     }
 
+    /**
+     * @deprecated since 4.23.3; changes are sent through the
+     * {@link JsonBeanSubscriptionHub} instead
+     */
+    @Deprecated
     protected class NamedBeanListener implements PropertyChangeListener {
 
         public final T bean;
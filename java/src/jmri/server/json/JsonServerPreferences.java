@@ -21,11 +21,15 @@ public class JsonServerPreferences extends Bean implements InstanceManagerAutoDe
     static final String PORT = "port"; // NOI18N
     static final String VALIDATE_CLIENT = "validateClientMessages"; // NOI18N
     static final String VALIDATE_SERVER = "validateServerMessages"; // NOI18N
+    static final String VALIDATION_SAMPLE_INTERVAL = "validationSampleInterval"; // NOI18N
+    static final String COALESCING_WINDOW = "coalescingWindow"; // NOI18N
     // initial defaults if preferences not found
     private int heartbeatInterval = 15000;
     private int portNumber = DEFAULT_PORT;
     private boolean validateClientMessages = false;
     private boolean validateServerMessages = false;
+    private int validationSampleInterval = 1;
+    private int coalescingWindow = 0;
     // as loaded preferences
     private int asLoadedHeartbeatInterval = 15000;
     private int asLoadedPort = DEFAULT_PORT;
@@ -64,6 +68,8 @@ public class JsonServerPreferences extends Bean implements InstanceManagerAutoDe
         setPort(sharedPreferences.getInt(PORT, getPort()));
         setValidateClientMessages(sharedPreferences.getBoolean(VALIDATE_CLIENT, getValidateClientMessages()));
         setValidateServerMessages(sharedPreferences.getBoolean(VALIDATE_SERVER, getValidateServerMessages()));
+        setValidationSampleInterval(sharedPreferences.getInt(VALIDATION_SAMPLE_INTERVAL, getValidationSampleInterval()));
+        setCoalescingWindow(sharedPreferences.getInt(COALESCING_WINDOW, getCoalescingWindow()));
         asLoadedHeartbeatInterval = getHeartbeatInterval();
         asLoadedPort = getPort();
     }
@@ -86,6 +92,8 @@ public class JsonServerPreferences extends Bean implements InstanceManagerAutoDe
         sharedPreferences.putInt(PORT, portNumber);
         sharedPreferences.putBoolean(VALIDATE_CLIENT, validateClientMessages);
         sharedPreferences.putBoolean(VALIDATE_SERVER, validateServerMessages);
+        sharedPreferences.putInt(VALIDATION_SAMPLE_INTERVAL, validationSampleInterval);
+        sharedPreferences.putInt(COALESCING_WINDOW, coalescingWindow);
     }
 
     public boolean isDirty() {
@@ -141,4 +149,38 @@ public class JsonServerPreferences extends Bean implements InstanceManagerAutoDe
     public void setValidateServerMessages(boolean validate) {
         validateServerMessages = validate;
     }
+
+    /**
+     * Get how often messages are validated when validating messages. Every
+     * message is validated if 1; if larger, one in that many messages in
+     * each direction on each connection is validated, reducing the cost of
+     * validation on busy servers.
+     *
+     * @return the number of messages for each one validated
+     */
+    public int getValidationSampleInterval() {
+        return validationSampleInterval;
+    }
+
+    public void setValidationSampleInterval(int interval) {
+        validationSampleInterval = Math.max(1, interval);
+    }
+
+    /**
+     * Get the time changes to a bean are collected before the bean is sent
+     * to the clients listening to it. If 0, the bean is sent on each change;
+     * if larger, the bean is sent once with its state at the end of that
+     * time, however often it changes, reducing the messages sent for beans
+     * that change rapidly.
+     *
+     * @return the time in milliseconds
+     * @see JsonBeanSubscriptionHub
+     */
+    public int getCoalescingWindow() {
+        return coalescingWindow;
+    }
+
+    public void setCoalescingWindow(int window) {
+        coalescingWindow = Math.max(0, window);
+    }
 }
@@ -1,7 +1,6 @@
 package jmri.server.json.route;
 
 import jmri.Route;
-import jmri.Sensor;
 import jmri.server.json.JsonConnection;
 import jmri.server.json.JsonNamedBeanSocketService;
 
@@ -19,24 +18,9 @@ public class JsonRouteSocketService extends JsonNamedBeanSocketService<Route, Js
     @Override
     protected void addListenerToBean(Route bean) {
         if (bean != null) {
-            NamedBeanListener listener = new NamedBeanListener(bean);
-            bean.addPropertyChangeListener(listener);
-            Sensor sensor = bean.getTurnoutsAlgdSensor();
-            if (sensor != null) {
-                sensor.addPropertyChangeListener(listener);
-            }
-            this.beanListeners.put(bean, listener);
+            beans.add(bean);
+            // the state of a route is the state of its turnouts aligned sensor
+            hub.subscribe(bean, service, connection, () -> beans.remove(bean), bean.getTurnoutsAlgdSensor());
         }
     }
-
-    @Override
-    public void onClose() {
-        beanListeners.values().stream().forEach((listener) -> {
-            Sensor sensor = listener.bean.getTurnoutsAlgdSensor();
-            if (sensor != null) {
-                sensor.removePropertyChangeListener(listener);
-            }
-        });
-        super.onClose();
-    }
 }
@@ -14,6 +14,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
 import jmri.InstanceManagerAutoDefault;
 import jmri.server.json.JSON;
@@ -34,8 +35,9 @@ public class JsonSchemaServiceCache implements InstanceManagerAutoDefault {
     private SchemaValidatorsConfig config = new SchemaValidatorsConfig();
     private final Map<String, Set<String>> clientTypes = new HashMap<>();
     private final Map<String, Set<String>> serverTypes = new HashMap<>();
-    private final Map<String, Map<String, JsonSchema>> clientSchemas = new HashMap<>();
-    private final Map<String, Map<String, JsonSchema>> serverSchemas = new HashMap<>();
+    // compiled schemas by version and type; read without locking
+    private final Map<String, Map<String, JsonSchema>> clientSchemas = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, JsonSchema>> serverSchemas = new ConcurrentHashMap<>();
     private final ObjectMapper mapper = new ObjectMapper();
 
     public JsonSchemaServiceCache() {
@@ -232,10 +234,17 @@ public class JsonSchemaServiceCache implements InstanceManagerAutoDefault {
         return getServerSchema(type, new JsonRequest(locale, JSON.V5, JSON.GET, id));
     }
 
-    private synchronized JsonSchema getSchema(@Nonnull String type, boolean server,
+    private JsonSchema getSchema(@Nonnull String type, boolean server,
+            @Nonnull Map<String, Map<String, JsonSchema>> map, @Nonnull JsonRequest request) throws JsonException {
+        Map<String, JsonSchema> versioned = map.get(request.version);
+        JsonSchema result = (versioned != null ? versioned.get(type) : null);
+        return (result != null ? result : loadSchema(type, server, map, request));
+    }
+
+    private synchronized JsonSchema loadSchema(@Nonnull String type, boolean server,
             @Nonnull Map<String, Map<String, JsonSchema>> map, @Nonnull JsonRequest request) throws JsonException {
         cacheServices(request.version);
-        JsonSchema result = map.computeIfAbsent(request.version, v -> new HashMap<>()).get(type);
+        JsonSchema result = map.computeIfAbsent(request.version, v -> new ConcurrentHashMap<>()).get(type);
         if (result == null) {
             for (JsonHttpService service : getServices(type, request.version)) {
                 log.debug("Processing {} with {}", type, service);
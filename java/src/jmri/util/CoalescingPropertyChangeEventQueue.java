@@ -0,0 +1,188 @@
+package jmri.util;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.NamedBean;
+
+/**
+ * A {@link PropertyChangeEventQueue} that keeps only the last change of each
+ * property of each bean until it is taken.
+ * <p>
+ * An event for a bean and property that already has one waiting replaces it,
+ * keeping its place in the queue and its old value, so a reader sees the
+ * first old value and the last new value. A bean that changes many times
+ * between reads is seen once, and the queue never holds more events than
+ * there are properties of the beans, so it never drops any.
+ * <p>
+ * Counts of the events fired by the beans, taken from the queue and replaced
+ * by later ones are kept.
+ */
+@ThreadSafe
+public class CoalescingPropertyChangeEventQueue extends PropertyChangeEventQueue {
+
+    /**
+     * @param collection Set of NamedBeans whose events should be handled. Keeps
+     *                   a copy of the contents, so future changes irrelevant.
+     */
+    public CoalescingPropertyChangeEventQueue(@Nonnull Collection<NamedBean> collection) {
+        super(Collections.<NamedBean>emptyList());
+        for (NamedBean item : collection) {
+            listen(item);
+        }
+    }
+
+    /**
+     * @param array Set of NamedBeans whose events should be handled Keeps a
+     *              copy of the contents, so future changes irrelevant.
+     */
+    public CoalescingPropertyChangeEventQueue(@Nonnull NamedBean[] array) {
+        this(Arrays.asList(array));
+    }
+
+    private static final class Key {
+
+        final Object source;
+        final String propertyName;
+
+        Key(PropertyChangeEvent e) {
+            source = e.getSource();
+            propertyName = e.getPropertyName();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) obj;
+            return source == k.source && Objects.equals(propertyName, k.propertyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(source) * 31 + Objects.hashCode(propertyName);
+        }
+    }
+
+    // guarded by itself; in the order the first waiting event of each key came
+    private final Map<Key, PropertyChangeEvent> pending = new LinkedHashMap<>();
+
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /** {@inheritDoc} */
+    @Override
+    protected void queueEvent(@Nonnull PropertyChangeEvent e) {
+        fired.incrementAndGet();
+        synchronized (pending) {
+            Key key = new Key(e);
+            PropertyChangeEvent waiting = pending.get(key);
+            if (waiting != null) {
+                PropertyChangeEvent merged = new PropertyChangeEvent(e.getSource(), e.getPropertyName(),
+                        waiting.getOldValue(), e.getNewValue());
+                merged.setPropagationId(e.getPropagationId());
+                pending.put(key, merged);   // keeps the place of the waiting event
+                coalesced.incrementAndGet();
+            } else {
+                pending.put(key, e);
+                pending.notifyAll();
+                eventWaiting();
+            }
+        }
+    }
+
+    /**
+     * Called, with the queue locked, when an event is queued for a bean and
+     * property with none waiting. Does nothing here.
+     */
+    protected void eventWaiting() {
+    }
+
+    @CheckForNull
+    private PropertyChangeEvent removeFirst() {
+        Iterator<PropertyChangeEvent> i = pending.values().iterator();
+        if (!i.hasNext()) {
+            return null;
+        }
+        PropertyChangeEvent e = i.next();
+        i.remove();
+        delivered.incrementAndGet();
+        return e;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PropertyChangeEvent take() throws InterruptedException {
+        synchronized (pending) {
+            while (pending.isEmpty()) {
+                pending.wait();
+            }
+            return removeFirst();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PropertyChangeEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long end = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (pending) {
+            long left;
+            while (pending.isEmpty() && (left = end - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(pending, left);
+            }
+            return removeFirst();
+        }
+    }
+
+    /**
+     * Take all the waiting events without waiting.
+     *
+     * @return the events, in the order they were first queued; empty if there
+     *         are none
+     */
+    @Nonnull
+    public List<PropertyChangeEvent> drain() {
+        synchronized (pending) {
+            List<PropertyChangeEvent> events = new ArrayList<>(pending.values());
+            pending.clear();
+            delivered.addAndGet(events.size());
+            return events;
+        }
+    }
+
+    /**
+     * @return the number of events fired by the beans
+     */
+    public long getEventsFired() {
+        return fired.get();
+    }
+
+    /**
+     * @return the number of events taken from the queue
+     */
+    public long getEventsDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * @return the number of events replaced by later events for the same bean
+     *         and property before they were taken
+     */
+    public long getEventsCoalesced() {
+        return coalesced.get();
+    }
+}
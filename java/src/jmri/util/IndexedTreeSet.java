@@ -0,0 +1,592 @@
+package jmri.util;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A sorted set that also supports access by position.
+ * <p>
+ * The elements are held in a persistent (path copying) balanced tree in which
+ * every node records the size of its subtree. Adding or removing an element,
+ * finding an element by index, and finding the index of an element all take
+ * O(log n) time. Because nodes are never modified once created, a
+ * {@link #snapshot()} or {@link #asList()} of the set costs O(1) and is never
+ * affected by later changes. For the same reason iterators never throw
+ * {@link ConcurrentModificationException}; they return the elements present
+ * when the iterator was created.
+ * <p>
+ * Changes are synchronized on the set. Reads need no locking.
+ * <p>
+ * Null elements are not permitted.
+ *
+ * @param <E> the type of element held
+ * @see java.util.TreeSet
+ */
+public class IndexedTreeSet<E> extends AbstractSet<E> implements SortedSet<E> {
+
+    private final Comparator<? super E> comparator;
+    private final boolean immutable;
+    private volatile Node<E> root;
+
+    /**
+     * Create an empty set sorted by the natural ordering of its elements.
+     */
+    public IndexedTreeSet() {
+        this((Comparator<? super E>) null);
+    }
+
+    /**
+     * Create an empty set.
+     *
+     * @param comparator the ordering of the set, or null for the natural
+     *                   ordering of the elements
+     */
+    public IndexedTreeSet(@CheckForNull Comparator<? super E> comparator) {
+        this(comparator, null, false);
+    }
+
+    /**
+     * Create a set sorted by the natural ordering of its elements, holding
+     * the given elements.
+     *
+     * @param c the elements to add
+     */
+    public IndexedTreeSet(@Nonnull Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    private IndexedTreeSet(Comparator<? super E> comparator, Node<E> root, boolean immutable) {
+        this.comparator = comparator;
+        this.root = root;
+        this.immutable = immutable;
+    }
+
+    /**
+     * Get an unmodifiable copy of the current contents of this set. This does
+     * not copy the elements.
+     *
+     * @return the copy
+     */
+    @Nonnull
+    public IndexedTreeSet<E> snapshot() {
+        return immutable ? this : new IndexedTreeSet<>(comparator, root, true);
+    }
+
+    /**
+     * Get an unmodifiable list of the current contents of this set, in order.
+     * This does not copy the elements; {@link List#get(int)} on the list takes
+     * O(log n) time.
+     *
+     * @return the list
+     */
+    @Nonnull
+    public List<E> asList() {
+        return new SnapshotList<>(this, root);
+    }
+
+    /**
+     * Get the element at a position in this set.
+     *
+     * @param index the position, from 0
+     * @return the element
+     * @throws IndexOutOfBoundsException if index is not in the set
+     */
+    @Nonnull
+    public E get(int index) {
+        return get(root, index);
+    }
+
+    /**
+     * Get the position of an element in this set.
+     *
+     * @param e the element
+     * @return the position, from 0, or -1 if e is not in the set
+     */
+    public int indexOf(@Nonnull E e) {
+        return indexOf(root, e);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked") // a ClassCastException is the documented behavior
+    public boolean contains(Object o) {
+        return indexOf(root, (E) o) >= 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized boolean add(@Nonnull E e) {
+        checkMutable();
+        Objects.requireNonNull(e);
+        Node<E> before = root;
+        root = insert(before, e);
+        return root != before;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked") // a ClassCastException is the documented behavior
+    public synchronized boolean remove(Object o) {
+        checkMutable();
+        Objects.requireNonNull(o);
+        Node<E> before = root;
+        root = delete(before, (E) o);
+        return root != before;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void clear() {
+        checkMutable();
+        root = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public Iterator<E> iterator() {
+        return new TreeIterator(root);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E first() {
+        Node<E> n = root;
+        if (n == null) {
+            throw new NoSuchElementException();
+        }
+        while (n.left != null) {
+            n = n.left;
+        }
+        return n.value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E last() {
+        Node<E> n = root;
+        if (n == null) {
+            throw new NoSuchElementException();
+        }
+        while (n.right != null) {
+            n = n.right;
+        }
+        return n.value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return new Range(Objects.requireNonNull(fromElement), Objects.requireNonNull(toElement));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public SortedSet<E> headSet(E toElement) {
+        return new Range(null, Objects.requireNonNull(toElement));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public SortedSet<E> tailSet(E fromElement) {
+        return new Range(Objects.requireNonNull(fromElement), null);
+    }
+
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("snapshot cannot be modified");
+        }
+    }
+
+    @SuppressWarnings("unchecked") // natural ordering requires Comparable elements
+    private int compare(E a, E b) {
+        return comparator != null ? comparator.compare(a, b) : ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * Count the elements of the tree less than e.
+     */
+    private int rank(Node<E> n, E e) {
+        int rank = 0;
+        while (n != null) {
+            if (compare(e, n.value) <= 0) {
+                n = n.left;
+            } else {
+                rank += size(n.left) + 1;
+                n = n.right;
+            }
+        }
+        return rank;
+    }
+
+    private int indexOf(Node<E> n, E e) {
+        int index = 0;
+        while (n != null) {
+            int c = compare(e, n.value);
+            if (c < 0) {
+                n = n.left;
+            } else if (c > 0) {
+                index += size(n.left) + 1;
+                n = n.right;
+            } else {
+                return index + size(n.left);
+            }
+        }
+        return -1;
+    }
+
+    private static <E> E get(Node<E> n, int index) {
+        if (index < 0 || index >= size(n)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(n));
+        }
+        while (true) {
+            int left = size(n.left);
+            if (index < left) {
+                n = n.left;
+            } else if (index > left) {
+                index -= left + 1;
+                n = n.right;
+            } else {
+                return n.value;
+            }
+        }
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    /**
+     * Return a tree with e added, or the same tree if e is already present.
+     * The tree is a treap: ordered by element and heap ordered by a random
+     * priority, which keeps it balanced with high probability.
+     */
+    private Node<E> insert(Node<E> n, E e) {
+        if (n == null) {
+            return new Node<>(e, ThreadLocalRandom.current().nextInt(), null, null);
+        }
+        int c = compare(e, n.value);
+        if (c < 0) {
+            Node<E> left = insert(n.left, e);
+            if (left == n.left) {
+                return n;
+            }
+            if (left.priority > n.priority) { // rotate right
+                return new Node<>(left.value, left.priority, left.left,
+                        new Node<>(n.value, n.priority, left.right, n.right));
+            }
+            return new Node<>(n.value, n.priority, left, n.right);
+        } else if (c > 0) {
+            Node<E> right = insert(n.right, e);
+            if (right == n.right) {
+                return n;
+            }
+            if (right.priority > n.priority) { // rotate left
+                return new Node<>(right.value, right.priority,
+                        new Node<>(n.value, n.priority, n.left, right.left), right.right);
+            }
+            return new Node<>(n.value, n.priority, n.left, right);
+        }
+        return n;
+    }
+
+    /**
+     * Return a tree with e removed, or the same tree if e is not present.
+     */
+    private Node<E> delete(Node<E> n, E e) {
+        if (n == null) {
+            return null;
+        }
+        int c = compare(e, n.value);
+        if (c < 0) {
+            Node<E> left = delete(n.left, e);
+            return left == n.left ? n : new Node<>(n.value, n.priority, left, n.right);
+        } else if (c > 0) {
+            Node<E> right = delete(n.right, e);
+            return right == n.right ? n : new Node<>(n.value, n.priority, n.left, right);
+        }
+        return merge(n.left, n.right);
+    }
+
+    /**
+     * Join two trees where every element of a is less than every element of
+     * b.
+     */
+    private static <E> Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            return new Node<>(a.value, a.priority, a.left, merge(a.right, b));
+        }
+        return new Node<>(b.value, b.priority, merge(a, b.left), b.right);
+    }
+
+    private static final class Node<E> {
+
+        final E value;
+        final int priority;
+        final Node<E> left;
+        final Node<E> right;
+        final int size;
+
+        Node(E value, int priority, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    /**
+     * In order iteration over a fixed tree. Removal is passed to the set.
+     */
+    private class TreeIterator implements Iterator<E> {
+
+        private final Deque<Node<E>> stack = new ArrayDeque<>();
+        private E last = null;
+
+        TreeIterator(Node<E> n) {
+            pushLeft(n);
+        }
+
+        private void pushLeft(Node<E> n) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> n = stack.pop();
+            pushLeft(n.right);
+            last = n.value;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            IndexedTreeSet.this.remove(last);
+            last = null;
+        }
+    }
+
+    /**
+     * Unmodifiable list over a fixed tree.
+     */
+    private static final class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+
+        private final IndexedTreeSet<E> set;
+        private final Node<E> root;
+
+        SnapshotList(IndexedTreeSet<E> set, Node<E> root) {
+            this.set = set;
+            this.root = root;
+        }
+
+        @Override
+        public E get(int index) {
+            return IndexedTreeSet.get(root, index);
+        }
+
+        @Override
+        public int size() {
+            return IndexedTreeSet.size(root);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // elements of another type are not found
+        public int indexOf(Object o) {
+            try {
+                return o == null ? -1 : set.indexOf(root, (E) o);
+            } catch (ClassCastException ex) {
+                return -1;
+            }
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o); // elements are unique
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+
+    /**
+     * A view of the elements from lo (inclusive) to hi (exclusive) of this
+     * set; a null bound is open.
+     */
+    private class Range extends AbstractSet<E> implements SortedSet<E> {
+
+        private final E lo;
+        private final E hi;
+
+        Range(E lo, E hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        private boolean inRange(E e) {
+            return (lo == null || compare(e, lo) >= 0) && (hi == null || compare(e, hi) < 0);
+        }
+
+        private int start(Node<E> n) {
+            return lo == null ? 0 : rank(n, lo);
+        }
+
+        private int end(Node<E> n) {
+            return hi == null ? IndexedTreeSet.size(n) : rank(n, hi);
+        }
+
+        @Override
+        public int size() {
+            Node<E> n = root;
+            return Math.max(0, end(n) - start(n));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // a ClassCastException is the documented behavior
+        public boolean contains(Object o) {
+            return inRange((E) o) && IndexedTreeSet.this.contains(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            if (!inRange(e)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return IndexedTreeSet.this.add(e);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // a ClassCastException is the documented behavior
+        public boolean remove(Object o) {
+            return inRange((E) o) && IndexedTreeSet.this.remove(o);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            Node<E> n = root;
+            List<E> list = new SnapshotList<>(IndexedTreeSet.this, n).subList(start(n), Math.max(start(n), end(n)));
+            Iterator<E> i = list.iterator();
+            return new Iterator<E>() {
+                private E last = null;
+
+                @Override
+                public boolean hasNext() {
+                    return i.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    last = i.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    IndexedTreeSet.this.remove(last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return comparator;
+        }
+
+        @Override
+        public SortedSet<E> subSet(E fromElement, E toElement) {
+            return new Range(checkBound(fromElement), checkBound(toElement));
+        }
+
+        @Override
+        public SortedSet<E> headSet(E toElement) {
+            return new Range(lo, checkBound(toElement));
+        }
+
+        @Override
+        public SortedSet<E> tailSet(E fromElement) {
+            return new Range(checkBound(fromElement), hi);
+        }
+
+        private E checkBound(E e) {
+            if (!inRange(e) && !(hi != null && compare(e, hi) == 0)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return e;
+        }
+
+        @Override
+        public E first() {
+            Node<E> n = root;
+            int start = start(n);
+            if (start >= end(n)) {
+                throw new NoSuchElementException();
+            }
+            return IndexedTreeSet.get(n, start);
+        }
+
+        @Override
+        public E last() {
+            Node<E> n = root;
+            int end = end(n);
+            if (start(n) >= end) {
+                throw new NoSuchElementException();
+            }
+            return IndexedTreeSet.get(n, end - 1);
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package jmri.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.Disposable;
+import jmri.InstanceManagerAutoDefault;
+import jmri.NamedBean;
+
+/**
+ * Delivers the property changes of NamedBeans to listeners in batches on the
+ * layout thread, rather than as each change is made.
+ * <p>
+ * A listener subscribed here is called at most once per delivery interval for
+ * each property of each bean it is subscribed to, with the first old value and
+ * the last new value of the changes made during the interval (see
+ * {@link CoalescingPropertyChangeEventQueue}). This suits listeners that show
+ * state, such as panel icons and tables, which only need the latest value and
+ * would otherwise be called for every change of a burst, such as when all the
+ * sensors of a layout report at power on.
+ * <p>
+ * Using the bus is a choice made by each listener. Listeners that must see
+ * every change as it is made, such as those that set signals or allocate
+ * blocks, should continue to add themselves to the bean with
+ * {@link NamedBean#addPropertyChangeListener(PropertyChangeListener)}.
+ */
+@ThreadSafe
+public class PropertyChangeEventBus extends CoalescingPropertyChangeEventQueue implements InstanceManagerAutoDefault, Disposable {
+
+    public PropertyChangeEventBus() {
+        super(Collections.<NamedBean>emptyList());
+    }
+
+    // guarded by itself
+    private final Map<NamedBean, List<PropertyChangeListener>> subscribers = new HashMap<>();
+    private final AtomicBoolean deliveryScheduled = new AtomicBoolean(false);
+    private volatile int deliveryInterval = 50;
+
+    /**
+     * @return the time in milliseconds between the first change of a batch
+     *         and its delivery
+     */
+    public int getDeliveryInterval() {
+        return deliveryInterval;
+    }
+
+    /**
+     * @param interval the time in milliseconds between the first change of a
+     *                 batch and its delivery
+     */
+    public void setDeliveryInterval(int interval) {
+        deliveryInterval = Math.max(0, interval);
+    }
+
+    /**
+     * Subscribe to batched delivery of the property changes of a bean.
+     *
+     * @param bean     the bean
+     * @param listener the listener, called on the layout thread
+     */
+    public void subscribe(@Nonnull NamedBean bean, @Nonnull PropertyChangeListener listener) {
+        boolean first = false;
+        synchronized (subscribers) {
+            List<PropertyChangeListener> list = subscribers.get(bean);
+            if (list == null) {
+                list = new CopyOnWriteArrayList<>();
+                subscribers.put(bean, list);
+                first = true;
+            }
+            list.add(listener);
+        }
+        if (first) {
+            listen(bean);
+        }
+    }
+
+    /**
+     * Stop batched delivery of the property changes of a bean to a listener.
+     * Changes already waiting for delivery are dropped if no other listener
+     * is subscribed to the bean.
+     *
+     * @param bean     the bean
+     * @param listener the listener
+     */
+    public void unsubscribe(@Nonnull NamedBean bean, @Nonnull PropertyChangeListener listener) {
+        boolean last = false;
+        synchronized (subscribers) {
+            List<PropertyChangeListener> list = subscribers.get(bean);
+            if (list != null && list.remove(listener) && list.isEmpty()) {
+                subscribers.remove(bean);
+                last = true;
+            }
+        }
+        if (last) {
+            stopListening(bean);
+        }
+    }
+
+    /**
+     * @param bean the bean
+     * @return the number of listeners subscribed to the bean
+     */
+    public int getNumSubscribers(@Nonnull NamedBean bean) {
+        synchronized (subscribers) {
+            List<PropertyChangeListener> list = subscribers.get(bean);
+            return (list != null ? list.size() : 0);
+        }
+    }
+
+    @Override
+    protected void eventWaiting() {
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            ThreadingUtil.runOnLayoutDelayed(this::deliver, deliveryInterval);
+        }
+    }
+
+    /**
+     * Deliver the waiting changes now. Called on the layout thread at the end
+     * of each delivery interval.
+     */
+    void deliver() {
+        deliveryScheduled.set(false);
+        for (PropertyChangeEvent e : drain()) {
+            List<PropertyChangeListener> list;
+            synchronized (subscribers) {
+                list = subscribers.get(e.getSource());
+            }
+            if (list == null) {
+                continue;
+            }
+            for (PropertyChangeListener l : list) {
+                try {
+                    l.propertyChange(e);
+                } catch (RuntimeException ex) {
+                    log.error("Exception delivering {} of {} to {}", e.getPropertyName(), e.getSource(), l, ex);
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        synchronized (subscribers) {
+            subscribers.clear();
+        }
+        super.dispose();
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PropertyChangeEventBus.class);
+}
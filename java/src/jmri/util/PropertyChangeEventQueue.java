@@ -5,6 +5,7 @@ import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -36,8 +37,7 @@ public class PropertyChangeEventQueue {
     public PropertyChangeEventQueue(@Nonnull Collection<NamedBean> collection) {
         this();
         for (NamedBean item : collection) {
-            items.add(item);
-            item.addPropertyChangeListener(listener);
+            listen(item);
         }
         if (log.isTraceEnabled()) {
             log.trace("Created {}", this.toString());
@@ -61,11 +61,51 @@ public class PropertyChangeEventQueue {
     final BlockingQueue<PropertyChangeEvent> dq = new ArrayBlockingQueue<>(MAX_SIZE);
     final PropertyChangeListener listener = (PropertyChangeEvent e) -> {
         log.trace(" handling event {}", e);
+        queueEvent(e);
+    };
+
+    /**
+     * Start handling the events of a NamedBean. Subclasses whose
+     * {@link #queueEvent(PropertyChangeEvent)} uses their own fields should
+     * construct with an empty collection and add the beans with this once
+     * those fields are set.
+     *
+     * @param bean the bean
+     */
+    protected void listen(@Nonnull NamedBean bean) {
+        synchronized (items) {
+            items.add(bean);
+        }
+        bean.addPropertyChangeListener(listener);
+    }
+
+    /**
+     * Stop handling the events of a NamedBean. Events already queued are kept.
+     *
+     * @param bean the bean
+     */
+    protected void stopListening(@Nonnull NamedBean bean) {
+        boolean removed;
+        synchronized (items) {
+            removed = items.remove(bean);
+        }
+        if (removed) {
+            bean.removePropertyChangeListener(listener);
+        }
+    }
+
+    /**
+     * Queue an event from one of the beans. Called on the thread that fired
+     * the event.
+     *
+     * @param e the event
+     */
+    protected void queueEvent(@Nonnull PropertyChangeEvent e) {
         boolean success = dq.offer(e);
         if (!success) {
             log.error("Could not process event {} from {} in {}", e.getPropertyName(), e.getSource(), dq);
         }
-    };
+    }
 
     /**
      * Dispose by dropping the listeners to all the specified
@@ -73,8 +113,12 @@ public class PropertyChangeEventQueue {
      * this. It is not an error to call this multiple times.
      */
     public void dispose() {
-        log.trace("dispose() {}", items);
-        items.forEach((bean) -> {
+        List<NamedBean> beans;
+        synchronized (items) {
+            log.trace("dispose() {}", items);
+            beans = new ArrayList<>(items);
+        }
+        beans.forEach((bean) -> {
             bean.removePropertyChangeListener(listener);
         });
     }
@@ -90,11 +134,13 @@ public class PropertyChangeEventQueue {
     @Override
     public String toString() {
         StringBuffer b = new StringBuffer("PropertyChangeEventQueue for");
-        items.stream().forEachOrdered((bean) -> {
-            b.append(" (\"");
-            b.append(bean.getDisplayName());
-            b.append("\")");
-        });
+        synchronized (items) {
+            items.stream().forEachOrdered((bean) -> {
+                b.append(" (\"");
+                b.append(bean.getDisplayName());
+                b.append("\")");
+            });
+        }
         return new String(b);
     }
 
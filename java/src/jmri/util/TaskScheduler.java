@@ -0,0 +1,128 @@
+package jmri.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import jmri.Disposable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A small pool of threads shared by many short tasks, such as the steps of
+ * the speed ramps of running trains, so that each train doesn't need a thread
+ * of its own.
+ * <p>
+ * Tasks run by {@link #schedule(Runnable, long)} must not wait, as a few
+ * threads serve them all. Tasks that may wait are run by
+ * {@link #execute(Runnable)} on other threads, which are kept for reuse.
+ * The threads are created when first needed, and are daemon threads.
+ */
+public class TaskScheduler implements Disposable {
+
+    private final String _name;
+    private int _poolSize = 2;
+    private ScheduledThreadPoolExecutor _executor = null;
+    private ExecutorService _actions = null;
+
+    /**
+     * @param name the name of the threads, also used when logging errors
+     */
+    public TaskScheduler(@Nonnull String name) {
+        _name = name;
+    }
+
+    /**
+     * @return the name of the threads
+     */
+    @Nonnull
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * @return the number of threads that run scheduled tasks
+     */
+    public int getPoolSize() {
+        return _poolSize;
+    }
+
+    public synchronized void setPoolSize(int size) {
+        _poolSize = Math.max(1, size);
+        if (_executor != null) {
+            _executor.setCorePoolSize(_poolSize);
+        }
+    }
+
+    /**
+     * Run a task after a delay. Tasks must not wait.
+     *
+     * @param task  the task
+     * @param delay time in milliseconds to wait; 0 or less runs the task as
+     *              soon as a thread is free
+     * @return the scheduled task, which may be cancelled
+     */
+    public synchronized ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay) {
+        if (_executor == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(_poolSize, r -> {
+                Thread t = ThreadingUtil.newThread(r, _name);
+                t.setDaemon(true);
+                return t;
+            });
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor.setRemoveOnCancelPolicy(true);
+            _executor = executor;
+        }
+        return _executor.schedule(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Exception in scheduled task of {}", _name, e);
+            }
+        }, Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a task that may wait.
+     *
+     * @param task the task
+     */
+    public synchronized void execute(@Nonnull Runnable task) {
+        if (_actions == null) {
+            _actions = Executors.newCachedThreadPool(r -> {
+                Thread t = ThreadingUtil.newThread(r, _name + " Action"); // NOI18N
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        _actions.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Exception in task of {}", _name, e);
+            }
+        });
+    }
+
+    /**
+     * Stop the threads. Tasks that haven't started are dropped.
+     */
+    @Override
+    public synchronized void dispose() {
+        if (_executor != null) {
+            _executor.shutdownNow();
+            _executor = null;
+        }
+        if (_actions != null) {
+            _actions.shutdownNow();
+            _actions = null;
+        }
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(TaskScheduler.class);
+}
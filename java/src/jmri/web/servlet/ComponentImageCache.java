@@ -0,0 +1,238 @@
+package jmri.web.servlet;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.imageio.ImageIO;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import jmri.InstanceManagerAutoDefault;
+import jmri.util.ThreadingUtil;
+
+/**
+ * PNG images of Swing components, such as panels and frames, for sending to
+ * web clients.
+ * <p>
+ * A component is painted on the GUI thread, which Swing requires, and the
+ * image is encoded as PNG on the thread asking for it. The encoded image is
+ * kept and sent again, without painting, to requests made within the
+ * {@link #getMinimumAge() minimum age} of the last paint, so that many
+ * clients polling one panel cause one paint in that time. When the
+ * component is painted again, it is only encoded again if the picture
+ * changed.
+ * <p>
+ * Each image has an entity tag made from a SHA-256 digest of its pixels, also
+ * used to tell if the picture changed, so clients that send the tag back with
+ * If-None-Match are told the picture has not changed rather than sent it
+ * again.
+ */
+public class ComponentImageCache implements InstanceManagerAutoDefault {
+
+    /**
+     * An encoded image of a component.
+     */
+    public static final class EncodedImage {
+
+        private final byte[] png;
+        private final String etag;
+        private final int width;
+        private final int height;
+        private final byte[] digest;
+        private volatile long painted;
+
+        EncodedImage(byte[] png, int width, int height, byte[] digest, long painted) {
+            this.png = png;
+            this.width = width;
+            this.height = height;
+            this.digest = digest;
+            this.painted = painted;
+            StringBuilder sb = new StringBuilder("\""); // NOI18N
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b)); // NOI18N
+            }
+            etag = sb.append('-').append(width).append('x').append(height).append('"').toString();
+        }
+
+        /**
+         * @return the image as PNG; must not be changed
+         */
+        @Nonnull
+        public byte[] getPng() {
+            return png;
+        }
+
+        /**
+         * @return the entity tag of the image, including the quotes
+         */
+        @Nonnull
+        public String getETag() {
+            return etag;
+        }
+    }
+
+    private static final class Entry {
+
+        volatile EncodedImage image = null;
+    }
+
+    // guarded by itself
+    private final Map<Component, Entry> entries = new WeakHashMap<>();
+    private volatile long minimumAge = 250;
+    private final AtomicLong paints = new AtomicLong();
+    private final AtomicLong encodes = new AtomicLong();
+
+    /**
+     * @return the time in milliseconds after painting a component that its
+     *         image is sent again without painting
+     */
+    public long getMinimumAge() {
+        return minimumAge;
+    }
+
+    /**
+     * @param age the time in milliseconds after painting a component that its
+     *            image is sent again without painting
+     */
+    public void setMinimumAge(long age) {
+        minimumAge = Math.max(0, age);
+    }
+
+    /**
+     * @return the number of times components have been painted
+     */
+    public long getPaintCount() {
+        return paints.get();
+    }
+
+    /**
+     * @return the number of times images have been encoded as PNG
+     */
+    public long getEncodeCount() {
+        return encodes.get();
+    }
+
+    /**
+     * Get an image of a component.
+     *
+     * @param component the component
+     * @param imageType the type of image to paint into, such as
+     *                  {@link BufferedImage#TYPE_INT_ARGB}; one of the types
+     *                  stored as integers
+     * @return the image
+     * @throws IOException if the image can not be encoded
+     */
+    @Nonnull
+    public EncodedImage getImage(@Nonnull Component component, int imageType) throws IOException {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(component, c -> new Entry());
+        }
+        synchronized (entry) {  // one request at a time paints each component
+            EncodedImage image = entry.image;
+            long now = System.currentTimeMillis();
+            if (image != null && now - image.painted < minimumAge) {
+                return image;
+            }
+            BufferedImage bi = ThreadingUtil.runOnGUIwithReturn(() -> {
+                BufferedImage b = new BufferedImage(Math.max(component.getWidth(), 1), Math.max(component.getHeight(), 1), imageType);
+                Graphics2D g2 = b.createGraphics();
+                try {
+                    component.paint(g2);
+                } finally {
+                    g2.dispose();
+                }
+                return b;
+            });
+            paints.incrementAndGet();
+            byte[] digest = digest(bi);
+            if (image != null && Arrays.equals(image.digest, digest) && image.width == bi.getWidth() && image.height == bi.getHeight()) {
+                image.painted = now;
+                return image;
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(bi, "png", baos); // NOI18N
+            encodes.incrementAndGet();
+            image = new EncodedImage(baos.toByteArray(), bi.getWidth(), bi.getHeight(), digest, now);
+            entry.image = image;
+            return image;
+        }
+    }
+
+    private static byte[] digest(BufferedImage image) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256"); // NOI18N
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(16384);
+        if (image.getRaster().getDataBuffer() instanceof DataBufferInt) {
+            for (int[] bank : ((DataBufferInt) image.getRaster().getDataBuffer()).getBankData()) {
+                update(md, buffer, bank);
+            }
+        } else {
+            update(md, buffer, image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth()));
+        }
+        return md.digest();
+    }
+
+    private static void update(MessageDigest md, ByteBuffer buffer, int[] pixels) {
+        IntBuffer ints = buffer.asIntBuffer();
+        for (int i = 0; i < pixels.length; i += ints.capacity()) {
+            int n = Math.min(ints.capacity(), pixels.length - i);
+            ints.clear();
+            ints.put(pixels, i, n);
+            md.update(buffer.array(), 0, n * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Forget the image of a component, so that the next request paints it.
+     *
+     * @param component the component
+     */
+    public void invalidate(@Nonnull Component component) {
+        synchronized (entries) {
+            entries.remove(component);
+        }
+    }
+
+    /**
+     * Send an image of a component, or tell the client that the image it has
+     * is current.
+     *
+     * @param component the component
+     * @param imageType the type of image to paint into
+     * @param request   the request
+     * @param response  the response
+     * @throws IOException if the image can not be encoded or sent
+     */
+    public void sendImage(@Nonnull Component component, int imageType, @Nonnull HttpServletRequest request,
+            @Nonnull HttpServletResponse response) throws IOException {
+        EncodedImage image = getImage(component, imageType);
+        response.setHeader("ETag", image.getETag()); // NOI18N
+        response.setHeader("Cache-Control", "no-cache"); // NOI18N
+        String match = request.getHeader("If-None-Match"); // NOI18N
+        if (match != null && (match.equals("*") || match.contains(image.getETag()))) { // NOI18N
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(ServletUtil.IMAGE_PNG);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentLength(image.getPng().length);
+        response.getOutputStream().write(image.getPng());
+    }
+}
@@ -12,7 +12,6 @@ import java.awt.Container;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -25,7 +24,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
-import javax.imageio.ImageIO;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -44,6 +42,7 @@ import jmri.server.json.JsonException;
 import jmri.server.json.util.JsonUtilHttpService;
 import jmri.util.JmriJFrame;
 import jmri.web.server.WebServerPreferences;
+import jmri.web.servlet.ComponentImageCache;
 import org.openide.util.lookup.ServiceProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -211,6 +210,7 @@ public class JmriJFrameServlet extends HttpServlet {
         
         if (javax.swing.SwingUtilities.isEventDispatchThread()) {
             doGetOnSwing(request, response);
+            sendImage(request, response);
             return;
         }
         
@@ -252,6 +252,18 @@ public class JmriJFrameServlet extends HttpServlet {
                 throw new RuntimeException(ex);
             }
         }
+        sendImage(request, response);
+    }
+
+    // send the image of a frame chosen on the Swing thread from this one, so it is encoded off the Swing thread
+    private void sendImage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Object frame = (request != null ? request.getAttribute(IMAGE_FRAME) : null);
+        if (frame instanceof JmriJFrame) {
+            request.removeAttribute(IMAGE_FRAME);
+            InstanceManager.getDefault(ComponentImageCache.class).sendImage(((JmriJFrame) frame).getContentPane(),
+                    BufferedImage.TYPE_INT_RGB, request, response);
+            log.debug("Sent [{}] as png.", ((JmriJFrame) frame).getTitle());
+        }
     }
 
     protected void doGetOnSwing(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
@@ -372,19 +384,12 @@ public class JmriJFrameServlet extends HttpServlet {
         response.setHeader("Cache-Control", "no-cache"); // NOI18N
         response.setHeader("Connection", "Keep-Alive"); // NOI18N
         response.setHeader("Keep-Alive", "timeout=5, max=100"); // NOI18N
-        BufferedImage image = new BufferedImage(frame.getContentPane().getWidth(),
-                frame.getContentPane().getHeight(),
-                BufferedImage.TYPE_INT_RGB);
-        frame.getContentPane().paint(image.createGraphics());
-        //put it in a temp file to get post-compression size
-        ByteArrayOutputStream tmpFile = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", tmpFile); // NOI18N
-        tmpFile.close();
-        response.setContentLength(tmpFile.size());
-        response.getOutputStream().write(tmpFile.toByteArray());
-        log.debug("Sent [{}] as {} byte png.", frame.getTitle(), tmpFile.size());
+        // painted and sent by sendImage() once off the Swing thread
+        request.setAttribute(IMAGE_FRAME, frame);
     }
 
+    private static final String IMAGE_FRAME = JmriJFrameServlet.class.getName() + ".frame"; // NOI18N
+
     private void doList(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         List<String> disallowedFrames = Arrays.asList(InstanceManager.getDefault(WebServerPreferences.class).getDisallowedFrames());
         String format = request.getParameter("format"); // NOI18N
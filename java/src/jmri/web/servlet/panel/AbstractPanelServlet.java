@@ -1,6 +1,5 @@
 package jmri.web.servlet.panel;
 
-import static jmri.web.servlet.ServletUtil.IMAGE_PNG;
 import static jmri.web.servlet.ServletUtil.UTF8;
 import static jmri.web.servlet.ServletUtil.UTF8_APPLICATION_JSON;
 import static jmri.web.servlet.ServletUtil.UTF8_TEXT_HTML;
@@ -10,7 +9,6 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import java.awt.Container;
 import java.awt.Frame;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
@@ -18,7 +16,6 @@ import java.util.List;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
-import javax.imageio.ImageIO;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -36,7 +33,9 @@ import jmri.jmrit.display.Positionable;
 import jmri.server.json.JSON;
 import jmri.server.json.util.JsonUtilHttpService;
 import jmri.util.FileUtil;
+import jmri.util.ThreadingUtil;
 import jmri.web.server.WebServer;
+import jmri.web.servlet.ComponentImageCache;
 import jmri.web.servlet.ServletUtil;
 import org.jdom2.Element;
 import org.slf4j.Logger;
@@ -117,17 +116,12 @@ public abstract class AbstractPanelServlet extends HttpServlet {
             } else {
                 switch (format) {
                     case "png":
-                        BufferedImage image = getPanelImage(panelName);
-                        if (image == null) {
+                        JComponent component = getPanel(panelName);
+                        if (component == null) {
                             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "See the JMRI console for details.");
                         } else {
-                            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                            ImageIO.write(image, "png", baos);
-                            baos.close();
-                            response.setContentType(IMAGE_PNG);
-                            response.setStatus(HttpServletResponse.SC_OK);
-                            response.setContentLength(baos.size());
-                            response.getOutputStream().write(baos.toByteArray());
+                            // painted only if not painted recently, and sent only if changed
+                            InstanceManager.getDefault(ComponentImageCache.class).sendImage(component, BufferedImage.TYPE_INT_ARGB, request, response);
                             response.getOutputStream().close();
                         }
                         break;
@@ -181,9 +175,11 @@ public abstract class AbstractPanelServlet extends HttpServlet {
         if (panel == null) {
             return null;
         }
-        BufferedImage bi = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        panel.paint(bi.getGraphics());
-        return bi;
+        return ThreadingUtil.runOnGUIwithReturn(() -> {
+            BufferedImage bi = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            panel.paint(bi.getGraphics());
+            return bi;
+        });
     }
 
     @CheckForNull
@@ -6,11 +6,24 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jmri.jmrit.XmlFile;
 
 import jmri.util.FileUtil;
 import jmri.util.JUnitUtil;
+import jmri.util.ThreadingUtil;
+
+import org.jdom2.Element;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.Assert;
 
 /**
@@ -166,10 +179,116 @@ public class ConfigXmlManagerTest {
         f.delete();  // make sure it's gone again
     }
 
+    @Test
+    public void testLoadOffGUIThread(@TempDir Path folder) throws IOException, JmriConfigureXmlException {
+        File file = writeLoadFile(folder);
+        ConfigXmlManager configxmlmanager = new ConfigXmlManager();
+        configxmlmanager.setValidate(XmlFile.Validate.None);
+        Assert.assertTrue("loaded", configxmlmanager.load(file));
+
+        Assert.assertEquals("all loaded in order", Arrays.asList("first", "second", "third", "gui"), loaded);
+        Assert.assertSame("on reading thread", Thread.currentThread(), loadThreads.get("first"));
+        Assert.assertSame("on reading thread", Thread.currentThread(), loadThreads.get("second"));
+        Assert.assertSame("on reading thread", Thread.currentThread(), loadThreads.get("third"));
+        Assert.assertTrue("GUI section on GUI", onGUIThread.get("gui"));
+
+        List<ConfigXmlManager.LoadTiming> timings = configxmlmanager.getLoadTimings();
+        Assert.assertEquals("read and four sections", 5, timings.size());
+        Assert.assertTrue("read first", timings.get(0).getAdapter().startsWith("read "));
+        Assert.assertEquals("GUI section last", GuiAdapter.class.getName(), timings.get(4).getAdapter());
+    }
+
+    @Test
+    public void testLoadOnGUIThread(@TempDir Path folder) throws IOException {
+        File file = writeLoadFile(folder);
+        ConfigXmlManager configxmlmanager = new ConfigXmlManager();
+        configxmlmanager.setValidate(XmlFile.Validate.None);
+        Boolean result = ThreadingUtil.runOnGUIwithReturn(() -> {
+            try {
+                return configxmlmanager.load(file);
+            } catch (JmriConfigureXmlException ex) {
+                return false;
+            }
+        });
+        Assert.assertTrue("loaded", result);
+
+        Assert.assertEquals("all loaded", 4, loadThreads.size());
+        onGUIThread.forEach((name, onGUI) -> Assert.assertTrue(name + " on GUI", onGUI));
+    }
+
+    private static File writeLoadFile(Path folder) throws IOException {
+        File file = folder.resolve("load.xml").toFile();
+        try (PrintStream p = new PrintStream(new FileOutputStream(file))) {
+            p.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+            p.println("<layout-config>");
+            p.println("  <first class=\"" + FirstAdapter.class.getName() + "\"/>");
+            p.println("  <gui class=\"" + GuiAdapter.class.getName() + "\"/>");
+            p.println("  <second class=\"" + SecondAdapter.class.getName() + "\"/>");
+            p.println("  <third class=\"" + ThirdAdapter.class.getName() + "\"/>");
+            p.println("</layout-config>");
+        }
+        return file;
+    }
+
+    private static final List<String> loaded = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<String, Thread> loadThreads = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> onGUIThread = new ConcurrentHashMap<>();
+
+    /**
+     * Records the order and thread its section is loaded in.
+     */
+    public static class FirstAdapter extends AbstractXmlAdapter {
+
+        @Override
+        public boolean load(Element shared, Element perNode) {
+            loaded.add(shared.getName());
+            loadThreads.put(shared.getName(), Thread.currentThread());
+            onGUIThread.put(shared.getName(), ThreadingUtil.isGUIThread());
+            return true;
+        }
+
+        @Override
+        public boolean loadOffGUIThread() {
+            return true;
+        }
+
+        @Override
+        public int loadOrder() {
+            return 10;
+        }
+
+        @Override
+        public Element store(Object o) {
+            return null;
+        }
+    }
+
+    public static class SecondAdapter extends FirstAdapter {
+    }
+
+    public static class ThirdAdapter extends FirstAdapter {
+    }
+
+    public static class GuiAdapter extends FirstAdapter {
+
+        @Override
+        public boolean loadOffGUIThread() {
+            return false;
+        }
+
+        @Override
+        public int loadOrder() {
+            return 20;
+        }
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
         JUnitUtil.resetProfileManager();
+        loaded.clear();
+        loadThreads.clear();
+        onGUIThread.clear();
     }
 
     @AfterEach
@@ -1,6 +1,18 @@
 package jmri.implementation;
 
+import java.util.Hashtable;
+
+import jmri.InstanceManager;
+import jmri.NamedBeanHandle;
+import jmri.NamedBeanHandleManager;
+import jmri.Sensor;
+import jmri.SignalMast;
+import jmri.SignalMastLogic;
+import jmri.SignalMastLogicManager;
+import jmri.Turnout;
+import jmri.managers.DefaultSignalMastLogicManager;
 import jmri.util.JUnitUtil;
+import jmri.util.ThreadingUtil;
 
 import org.junit.jupiter.api.*;
 import org.junit.Assert;
@@ -18,9 +30,74 @@ public class DefaultSignalMastLogicTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testListenersNotRepeated() {
+        SignalMast sm1 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0001)");
+        SignalMast sm2 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0002)");
+        Turnout it1 = InstanceManager.turnoutManagerInstance().provideTurnout("IT1");
+        Sensor is1 = InstanceManager.sensorManagerInstance().provideSensor("IS1");
+        int turnoutListeners = it1.getNumPropertyChangeListeners();
+        int sensorListeners = is1.getNumPropertyChangeListeners();
+
+        SignalMastLogic sml = InstanceManager.getDefault(SignalMastLogicManager.class).newSignalMastLogic(sm1);
+        sml.setDestinationMast(sm2);
+        Hashtable<NamedBeanHandle<Turnout>, Integer> turnouts = new Hashtable<>();
+        turnouts.put(InstanceManager.getDefault(NamedBeanHandleManager.class).getNamedBeanHandle("IT1", it1), Turnout.CLOSED);
+        sml.setTurnouts(turnouts, sm2);
+        sml.addSensor("IS1", Sensor.ACTIVE, sm2);
+        sml.initialise(sm2);
+        Assert.assertEquals(turnoutListeners + 1, it1.getNumPropertyChangeListeners());
+        Assert.assertEquals(sensorListeners + 1, is1.getNumPropertyChangeListeners());
+        Assert.assertTrue("listened to by name", it1.getListenerRefs().contains(
+                "Signal Mast Logic:" + sm1.getDisplayName() + " to " + sm2.getDisplayName()));
+
+        // as when the layout editor connectivity changes
+        for (int i = 0; i < 3; i++) {
+            sml.setAutoTurnouts(new Hashtable<>(), sm2);
+            sml.initialise(sm2);
+        }
+        Assert.assertEquals("one listener on turnout", turnoutListeners + 1, it1.getNumPropertyChangeListeners());
+        Assert.assertEquals("one listener on sensor", sensorListeners + 1, is1.getNumPropertyChangeListeners());
+
+        sml.setSensors(new Hashtable<>(), sm2);
+        Assert.assertEquals("sensor released", sensorListeners, is1.getNumPropertyChangeListeners());
+        sml.dispose();
+        Assert.assertEquals("turnout released", turnoutListeners, it1.getNumPropertyChangeListeners());
+    }
+
+    @Test
+    public void testChangesCombined() {
+        SignalMast sm1 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0001)");
+        SignalMast sm2 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0002)");
+        Sensor is1 = InstanceManager.sensorManagerInstance().provideSensor("IS1");
+        DefaultSignalMastLogicManager smlm = (DefaultSignalMastLogicManager) InstanceManager.getDefault(SignalMastLogicManager.class);
+        smlm.setSignalLogicDelay(20);
+
+        SignalMastLogic sml = smlm.newSignalMastLogic(sm1);
+        sml.setDestinationMast(sm2);
+        sml.addSensor("IS1", Sensor.ACTIVE, sm2);
+        sml.initialise();
+        JUnitUtil.waitFor(() -> "Stop".equals(sm1.getAspect()), "sm1 held");
+        JUnitUtil.waitFor(100); // let evaluations from the set up finish
+
+        long requests = smlm.getEvaluationRequestCount();
+        long evaluations = smlm.getEvaluationCount();
+        ThreadingUtil.runOnLayout(() -> {
+            for (int i = 0; i < 20; i++) { // half of these change the sensor to the state wanted
+                is1.setCommandedState(i % 2 == 0 ? Sensor.INACTIVE : Sensor.ACTIVE);
+            }
+        });
+        JUnitUtil.waitFor(() -> "Medium Approach".equals(sm1.getAspect()), "sm1 cleared");
+        Assert.assertTrue("requests counted", smlm.getEvaluationRequestCount() - requests >= 10);
+        Assert.assertTrue("changes combined", smlm.getEvaluationCount() - evaluations < 5);
+        sml.dispose();
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
+        JUnitUtil.initInternalSensorManager();
+        JUnitUtil.initInternalTurnoutManager();
     }
 
     @AfterEach
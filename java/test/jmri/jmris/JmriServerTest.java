@@ -1,5 +1,21 @@
 package jmri.jmris;
 
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.InstanceManager;
+import jmri.util.JUnitAppender;
+import jmri.util.JUnitUtil;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,12 +23,109 @@ import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Tests for the jmri.jmris.JmriServer class 
+ * Tests for the jmri.jmris.JmriServer class. The load test has dozens of
+ * local clients echoed at once, one of them never reading, which must be
+ * closed without holding up the others.
  *
  * @author Paul Bender
  */
 public class JmriServerTest {
 
+    // a server echoing each line from a client
+    private static class EchoServer extends JmriServer {
+
+        EchoServer() {
+            super(0);
+        }
+
+        int getLocalPort() {
+            return connectSocket.getLocalPort();
+        }
+
+        @Override
+        protected void advertise() {
+            // not advertised in tests
+        }
+
+        @Override
+        public void handleClient(DataInputStream inStream, DataOutputStream outStream) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inStream, StandardCharsets.US_ASCII));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                outStream.writeBytes(line + "\n");
+            }
+        }
+
+        void close() throws IOException {
+            stop();
+            connectSocket.close();
+        }
+    }
+
+    @Test
+    public void testManyClients() throws Exception {
+        int clients = 50;
+        int rounds = 10;
+        SocketSelector selector = InstanceManager.getDefault(SocketSelector.class);
+        selector.setOutputLimit(64 * 1024);
+        EchoServer server = new EchoServer();
+        server.start();
+        List<Socket> sockets = new ArrayList<>(clients);
+        List<BufferedReader> readers = new ArrayList<>(clients);
+        Socket stalled = null;
+        try {
+            for (int c = 0; c < clients; c++) {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+                socket.setSoTimeout(10000);
+                sockets.add(socket);
+                readers.add(new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)));
+            }
+
+            // a client sending lines and never reading the echoes
+            stalled = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+            stalled.setReceiveBufferSize(4096);
+            OutputStream stalledOut = stalled.getOutputStream();
+            Thread flood = new Thread(() -> {
+                byte[] line = new byte[1000];
+                java.util.Arrays.fill(line, (byte) 'x');
+                line[line.length - 1] = '\n';
+                try {
+                    for (int i = 0; i < 1000000; i++) {
+                        stalledOut.write(line);
+                    }
+                } catch (IOException ex) {
+                    // expected once the server closes the stalled client
+                }
+            }, "Stalled client");
+            flood.start();
+
+            for (int r = 0; r < rounds; r++) {
+                for (int c = 0; c < clients; c++) {
+                    sockets.get(c).getOutputStream().write(("client " + c + " round " + r + "\n").getBytes(StandardCharsets.US_ASCII));
+                }
+                for (int c = 0; c < clients; c++) {
+                    assertThat(readers.get(c).readLine()).isEqualTo("client " + c + " round " + r);
+                }
+            }
+
+            JUnitUtil.waitFor(() -> selector.getStalledCount() == 1, "stalled client closed");
+            JUnitAppender.assertWarnMessageStartingWith("Closing connection to ");
+            flood.join(10000);
+            assertThat(flood.isAlive()).isFalse();
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            if (stalled != null) {
+                stalled.close();
+            }
+            server.close();
+            selector.dispose();
+        }
+        JUnitUtil.waitFor(() -> JUnitAppender.checkForMessageStartingWith("IOException while Listening for clients") != null,
+                "server stopped listening");
+    }
+
     @Test
     public void testCtorDefault() {
         JmriServer a = new JmriServer();
@@ -43,5 +156,4 @@ public class JmriServerTest {
         jmri.util.JUnitUtil.tearDown();
 
     }
-
 }
@@ -0,0 +1,190 @@
+package jmri.jmris;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import jmri.InstanceManager;
+import jmri.util.JUnitAppender;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the jmri.jmris.SocketSelector class.
+ */
+public class SocketSelectorTest {
+
+    private SocketSelector selector;
+    private ServerSocketChannel server;
+
+    private Socket connect(int receiveBufferSize) throws IOException {
+        Socket socket = new Socket();
+        if (receiveBufferSize > 0) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+        socket.connect(server.socket().getLocalSocketAddress(), 1000);
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    @Test
+    public void testPlainSocket() throws IOException {
+        SocketSelector.Client client = selector.register(new Socket());
+        try {
+            client.getInputStream();
+            Assert.fail("unconnected socket has streams");
+        } catch (IOException ex) {
+            // expected, as the socket is not connected
+        }
+        client.close();
+        Assert.assertTrue(client.isClosed());
+    }
+
+    @Test
+    public void testReadAndWrite() throws IOException {
+        try (Socket remote = connect(0)) {
+            SocketSelector.Client client = selector.register(server.socket().accept());
+            remote.getOutputStream().write("hello".getBytes(StandardCharsets.US_ASCII));
+            byte[] b = new byte[5];
+            InputStream in = client.getInputStream();
+            int read = 0;
+            while (read < 5) {
+                read += in.read(b, read, 5 - read);
+            }
+            Assert.assertEquals("hello", new String(b, StandardCharsets.US_ASCII));
+
+            client.getOutputStream().write("world".getBytes(StandardCharsets.US_ASCII));
+            read = 0;
+            while (read < 5) {
+                read += remote.getInputStream().read(b, read, 5 - read);
+            }
+            Assert.assertEquals("world", new String(b, StandardCharsets.US_ASCII));
+            Assert.assertEquals(5, selector.getBytesRead());
+            JUnitUtil.waitFor(() -> selector.getBytesWritten() == 5, "bytes written counted");
+
+            remote.close();
+            Assert.assertEquals("end of input", -1, in.read());
+            client.close();
+        }
+    }
+
+    @Test
+    public void testReadTimeout() throws IOException {
+        try (Socket remote = connect(0)) {
+            Socket socket = server.socket().accept();
+            socket.setSoTimeout(100);
+            SocketSelector.Client client = selector.register(socket);
+            try {
+                client.getInputStream().read();
+                Assert.fail("read did not time out");
+            } catch (SocketTimeoutException ex) {
+                // expected
+            }
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCloseEndsRead() throws Exception {
+        try (Socket remote = connect(0)) {
+            SocketSelector.Client client = selector.register(server.socket().accept());
+            int[] result = {0};
+            Thread t = new Thread(() -> {
+                try {
+                    result[0] = client.getInputStream().read();
+                } catch (IOException ex) {
+                    result[0] = -2;
+                }
+            }, "Read");
+            t.start();
+            client.close();
+            t.join(5000);
+            Assert.assertFalse(t.isAlive());
+            Assert.assertEquals(-1, result[0]);
+            try {
+                client.getOutputStream().write(1);
+                Assert.fail("wrote to closed client");
+            } catch (IOException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testStalledClientClosed() throws IOException {
+        selector.setOutputLimit(16 * 1024);
+        try (Socket remote = connect(4096)) {
+            // the remote end never reads
+            SocketSelector.Client client = selector.register(server.socket().accept());
+            OutputStream out = client.getOutputStream();
+            byte[] data = new byte[1024];
+            long written = 0;
+            try {
+                while (written < 256L * 1024 * 1024) {
+                    out.write(data);
+                    written += data.length;
+                }
+                Assert.fail("stalled client not closed");
+            } catch (IOException ex) {
+                // expected when the client stalls
+            }
+            Assert.assertTrue("closed soon after stalling, written " + written, written < 64L * 1024 * 1024);
+            Assert.assertEquals(1, selector.getStalledCount());
+            Assert.assertTrue(client.isClosed());
+            JUnitAppender.assertWarnMessageStartingWith("Closing connection to ");
+        }
+    }
+
+    @Test
+    public void testLargeWriteAccepted() throws IOException {
+        selector.setOutputLimit(16 * 1024);
+        try (Socket remote = connect(0)) {
+            SocketSelector.Client client = selector.register(server.socket().accept());
+            // one write larger than the limit to a client with nothing queued
+            byte[] data = new byte[64 * 1024];
+            client.getOutputStream().write(data);
+            InputStream in = remote.getInputStream();
+            int read = 0;
+            while (read < data.length) {
+                read += in.read(data, read, data.length - read);
+            }
+            Assert.assertFalse(client.isClosed());
+            Assert.assertEquals(0, selector.getStalledCount());
+            client.close();
+        }
+    }
+
+    @Test
+    public void testNewClientThread() throws InterruptedException {
+        boolean[] ran = {false};
+        Thread t = SocketSelector.newClientThread(() -> ran[0] = true, "Test client");
+        Assert.assertEquals("Test client", t.getName());
+        t.start();
+        t.join(5000);
+        Assert.assertTrue(ran[0]);
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        JUnitUtil.setUp();
+        selector = InstanceManager.getDefault(SocketSelector.class);
+        server = ServerSocketChannel.open();
+        server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+        selector.dispose();
+        selector = null;
+        JUnitUtil.tearDown();
+    }
+}
@@ -0,0 +1,87 @@
+package jmri.jmrit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import jmri.util.JUnitUtil;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.output.XMLOutputter;
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests that reading decoder definitions with schemas compiled once gives the
+ * same results as compiling the schemas for each file, and that streaming the
+ * decoder index version gives the version read from the whole index.
+ */
+public class XmlFileSchemaCacheTest {
+
+    private static final int FILES = 5;
+
+    @Test
+    public void testValidatedReads() throws IOException {
+        File[] files = new File("xml/decoders").listFiles((dir, name) -> name.endsWith(".xml"));
+        Assert.assertNotNull(files);
+        java.util.Arrays.sort(files);
+        int count = Math.min(FILES, files.length);
+        XMLOutputter outputter = new XMLOutputter();
+
+        // each file with a new builder and newly compiled schemas
+        String[] uncached = new String[count];
+        for (int i = 0; i < count; i++) {
+            XmlFile.clearGrammarCache();
+            try (InputStream stream = Files.newInputStream(files[i].toPath())) {
+                Document doc = XmlFile.getBuilder(XmlFile.Validate.CheckDtdThenSchema).build(stream, files[i].toURI().toString());
+                uncached[i] = outputter.outputString(doc.getRootElement());
+            } catch (JDOMException ex) {
+                log.debug("{} not valid: {}", files[i], ex.getMessage());
+            }
+        }
+
+        XmlFile.clearGrammarCache();
+        XmlFile x = new XmlFile() {
+        };
+        x.setValidate(XmlFile.Validate.CheckDtdThenSchema);
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            String cached = null;
+            try {
+                cached = outputter.outputString(x.rootFromFile(files[i]));
+                valid++;
+            } catch (JDOMException ex) {
+                log.debug("{} not valid: {}", files[i], ex.getMessage());
+            }
+            Assert.assertEquals("same content of " + files[i], uncached[i], cached);
+        }
+        Assert.assertTrue("files read", valid > 0);
+    }
+
+    @Test
+    public void testIndexVersion() throws JDOMException, IOException {
+        XmlFile x = new XmlFile() {
+        };
+        String version = x.rootFromName("decoderIndex.xml").getChild("decoderIndex").getAttributeValue("version");
+        Assert.assertNotNull(version);
+
+        Element index = x.elementFromName("decoderIndex.xml", "decoderIndex", false);
+        Assert.assertNotNull(index);
+        Assert.assertEquals(version, index.getAttributeValue("version"));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(XmlFileSchemaCacheTest.class);
+}
@@ -252,6 +252,48 @@ public class XmlFileTest {
 
     }
 
+    @Test
+    public void testElementFromName() throws org.jdom2.JDOMException, java.io.IOException {
+        XmlFile x = new XmlFile() {
+        };
+
+        Element index = x.elementFromName("decoderIndex.xml", "decoderIndex", false);
+        Assert.assertNotNull("index found", index);
+        Assert.assertNotNull("version read", index.getAttributeValue("version"));
+        Assert.assertTrue("content not read", index.getChildren().isEmpty());
+
+        Element mfgList = x.elementFromName("decoderIndex.xml", "mfgList", true);
+        Assert.assertNotNull("list found", mfgList);
+        Assert.assertEquals("content read", "NMRA", mfgList.getChildren("manufacturer").get(0).getAttributeValue("mfg"));
+
+        Assert.assertNull("no element", x.elementFromName("decoderIndex.xml", "noSuchElement", true));
+    }
+
+    @Test
+    public void testSchemasKeptByLocation() {
+        final String start = "<decoderIndex-config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:noNamespaceSchemaLocation=\"http://jmri.org/xml/schema/";
+        final String ending = "\"><decoderIndex><mfgList nmraListDate=\"\" updated=\"\"><manufacturer mfg=\"\"/></mfgList><familyList><family mfg=\"\" name=\"\" file=\"\"/></familyList></decoderIndex></decoderIndex-config>";
+        XmlFile x = new XmlFile() {
+        };
+        x.setValidate(XmlFile.Validate.RequireSchema);
+
+        // read twice, the second time with the compiled schema
+        for (int i = 0; i < 2; i++) {
+            try {
+                x.rootFromInputStream(new java.io.ByteArrayInputStream((start + "decoder.xsd" + ending).getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+            } catch (Exception ex) {
+                Assert.fail("valid file not read: " + ex);
+            }
+        }
+        // a schema with no namespace isn't used for a file naming another
+        try {
+            x.rootFromInputStream(new java.io.ByteArrayInputStream((start + "layout-2-9-6.xsd" + ending).getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+            Assert.fail("invalid file read");
+        } catch (Exception ex) {
+            log.debug(ex.toString());
+        }
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
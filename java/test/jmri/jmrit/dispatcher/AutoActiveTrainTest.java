@@ -1,5 +1,11 @@
 package jmri.jmrit.dispatcher;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jmri.DccLocoAddress;
+import jmri.InstanceManager;
+import jmri.jmrix.debugthrottle.DebugThrottle;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
 import jmri.util.JUnitUtil;
 
 import org.junit.jupiter.api.*;
@@ -19,9 +25,60 @@ public class AutoActiveTrainTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testAutoEngineer() {
+        jmri.Transit transit = new jmri.Transit("TT1");
+        ActiveTrain at = new ActiveTrain(transit, "Train", ActiveTrain.USER);
+        AutoActiveTrain aat = new AutoActiveTrain(at);
+        aat.setRampRate(AutoActiveTrain.RAMP_FAST);
+        DebugThrottle throttle = new DebugThrottle(new DccLocoAddress(3, false),
+                new InternalSystemConnectionMemo("I", "Internal"));
+        aat.startAutoEngineer(throttle, 20, 400);
+        Assert.assertNotNull(aat.getAutoEngineer());
+
+        // ramps up to the target speed in steps
+        aat.getSignalLatency().signalChanged();
+        aat.setTargetSpeed(0.5f);
+        JUnitUtil.waitFor(() -> throttle.getSpeedSetting() > 0.0f, "train starts");
+        Assert.assertTrue("ramping", throttle.getSpeedSetting() < 0.5f);
+        JUnitUtil.waitFor(() -> aat.getAutoEngineer().isAtSpeed(), "train at speed");
+        Assert.assertEquals(0.5f, throttle.getSpeedSetting(), 0.001f);
+        Assert.assertEquals("signal change to command", 1, aat.getSignalLatency().getCount());
+
+        // no steps while at speed
+        throttle.setSpeedSetting(0.4f);
+        JUnitUtil.waitFor(100);
+        Assert.assertEquals("left alone", 0.4f, throttle.getSpeedSetting(), 0.001f);
+
+        // actions wait for the train to stop, and halt stops at once
+        AtomicInteger stopActions = new AtomicInteger();
+        aat.runWhenStopped(stopActions::incrementAndGet);
+        JUnitUtil.waitFor(50);
+        Assert.assertEquals("train moving", 0, stopActions.get());
+        aat.getAutoEngineer().setHalt(true);
+        aat.waitUntilStopped();
+        Assert.assertEquals(0.0f, throttle.getSpeedSetting(), 0.001f);
+        JUnitUtil.waitFor(() -> stopActions.get() == 1, "action run when stopped");
+
+        // actions run at once when stopped
+        aat.runWhenStopped(stopActions::incrementAndGet);
+        JUnitUtil.waitFor(() -> stopActions.get() == 2, "action run while stopped");
+
+        // resumes after the halt
+        aat.getAutoEngineer().setHalt(false);
+        aat.setTargetSpeed(0.3f);
+        JUnitUtil.waitFor(() -> aat.getAutoEngineer().isAtSpeed() && throttle.getSpeedSetting() > 0.29f, "train resumes");
+
+        aat.getAutoEngineer().abort();
+        aat.setTargetSpeed(0.0f);
+        JUnitUtil.waitFor(100);
+        Assert.assertEquals("aborted engineer idle", 0.3f, throttle.getSpeedSetting(), 0.001f);
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
+        JUnitUtil.initDebugThrottleManager();
     }
 
     @AfterEach
@@ -0,0 +1,31 @@
+package jmri.jmrit.dispatcher;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the AutoTrainScheduler class.
+ */
+public class AutoTrainSchedulerTest {
+
+    @Test
+    public void testCTor() {
+        AutoTrainScheduler t = new AutoTrainScheduler();
+        assertThat(t).withFailMessage("exists").isNotNull();
+        assertThat(t.getPoolSize()).isEqualTo(2);
+        assertThat(t.getName()).isEqualTo("Auto Train Scheduler");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -18,6 +18,22 @@ public class LayoutBlockManagerTest {
         Assert.assertNotNull("exists", b);
     }
 
+    @Test
+    public void testRoutingStatistics() {
+        LayoutBlockManager b = new LayoutBlockManager();
+        Assert.assertEquals("not converged", -1, b.getRoutingConvergenceTime());
+        Assert.assertEquals("no changes", 0, b.getRoutingChangeCount());
+        Assert.assertEquals("default delay", 2000, b.getRoutingStabilisedDelay());
+        b.setRoutingStabilisedDelay(100);
+        Assert.assertEquals("delay", 100, b.getRoutingStabilisedDelay());
+
+        b.setLastRoutingChange();
+        Assert.assertEquals("one change", 1, b.getRoutingChangeCount());
+        Assert.assertFalse("not stable yet", b.routingStablised());
+        JUnitUtil.waitFor(b::routingStablised, "routing stabilised");
+        Assert.assertTrue("converged", b.getRoutingConvergenceTime() >= 0);
+    }
+
     // from here down is testing infrastructure
     @BeforeEach
     public void setUp() throws Exception {
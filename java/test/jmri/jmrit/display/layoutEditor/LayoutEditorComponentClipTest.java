@@ -0,0 +1,97 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of painting a generated panel of track segments, in whole and in the
+ * small area a block or turnout change repaints. Only the tracks in the
+ * repainted area may be drawn, except in edit mode; paints go to an image
+ * rather than the screen.
+ */
+public class LayoutEditorComponentClipTest {
+
+    private static final int ROWS = 6;
+    private static final int COLS = 20;    // 120 track segments
+    private static final double SPACING = 50.0;
+
+    private LayoutEditor layoutEditor = null;
+
+    @Test
+    public void testClippedPaint() {
+        Assume.assumeFalse(GraphicsEnvironment.isHeadless());
+        TrackSegment segment = null;
+        for (int r = 0; r < ROWS; r++) {
+            PositionablePoint last = null;
+            for (int c = 0; c <= COLS; c++) {
+                PositionablePoint p = new PositionablePoint("A" + r + "_" + c, PositionablePoint.PointType.ANCHOR, layoutEditor);
+                layoutEditor.addLayoutTrack(p, new PositionablePointView(p,
+                        new Point2D.Double(c * SPACING, (r + 1) * SPACING), layoutEditor));
+                if (last != null) {
+                    segment = new TrackSegment("T" + r + "_" + c, last, HitPointType.POS_POINT,
+                            p, HitPointType.POS_POINT, false, layoutEditor);
+                    layoutEditor.addLayoutTrack(segment, new TrackSegmentView(segment, layoutEditor));
+                }
+                last = p;
+            }
+        }
+        Assert.assertEquals("points and segments", ROWS * (2 * COLS + 1), layoutEditor.getLayoutTrackViews().size());
+        layoutEditor.setAllEditable(false);
+
+        LayoutEditorComponent component = new LayoutEditorComponent(layoutEditor);
+        int width = (int) ((COLS + 1) * SPACING);
+        int height = (int) ((ROWS + 2) * SPACING);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        paint(component, image, new Rectangle2D.Double(0, 0, width, height));
+        Rectangle2D area = layoutEditor.getTrackSegmentView(segment).getBounds();
+        paint(component, image, area);
+
+        List<LayoutTrackView> views = layoutEditor.getLayoutTrackViews(area);
+        Assert.assertTrue("track is drawn", views.contains(layoutEditor.getTrackSegmentView(segment)));
+        Assert.assertTrue("few tracks drawn", views.size() < 50);
+        Assert.assertEquals("whole panel", layoutEditor.getLayoutTrackViews(),
+                layoutEditor.getLayoutTrackViews(new Rectangle2D.Double(0, 0, width, height)));
+
+        // edit mode draws all tracks
+        layoutEditor.setAllEditable(true);
+        Assert.assertEquals(layoutEditor.getLayoutTrackViews(), layoutEditor.getLayoutTrackViews(area));
+    }
+
+    private static void paint(LayoutEditorComponent component, BufferedImage image, Rectangle2D clip) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setClip(clip);
+        component.paint(g2);
+        g2.dispose();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.resetProfileManager();
+        if (!GraphicsEnvironment.isHeadless()) {
+            layoutEditor = new LayoutEditor("Layout Editor Clip Test");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (layoutEditor != null) {
+            JUnitUtil.dispose(layoutEditor);
+        }
+        layoutEditor = null;
+        JUnitUtil.deregisterBlockManagerShutdownTask();
+        JUnitUtil.deregisterEditorManagerShutdownTask();
+        JUnitUtil.tearDown();
+    }
+}
@@ -0,0 +1,88 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for SpatialIndex. Each query is checked against a scan of all the
+ * items.
+ */
+public class SpatialIndexTest {
+
+    @Test
+    public void testEmpty() {
+        SpatialIndex<Rectangle2D> index = new SpatialIndex<>(new ArrayList<>(), r -> r);
+        Assert.assertEquals(0, index.size());
+        Assert.assertTrue(index.getItems(new Rectangle2D.Double(0, 0, 100, 100)).isEmpty());
+    }
+
+    @Test
+    public void testPointsAndLines() {
+        List<Rectangle2D> items = new ArrayList<>();
+        items.add(new Rectangle2D.Double(10, 10, 0, 0));    // point
+        items.add(new Rectangle2D.Double(20, 0, 0, 50));    // vertical line
+        items.add(new Rectangle2D.Double(0, 40, 50, 0));    // horizontal line
+        items.add(new Rectangle2D.Double(-1000, -1000, 2000, 2000));    // large
+        SpatialIndex<Rectangle2D> index = new SpatialIndex<>(items, r -> r);
+
+        Assert.assertEquals(items, index.getItems(new Rectangle2D.Double(0, 0, 50, 50)));
+        Assert.assertEquals(Arrays.asList(items.get(0), items.get(3)), index.getItems(new Rectangle2D.Double(10, 10, 0, 0)));
+        Assert.assertEquals(Arrays.asList(items.get(1), items.get(3)), index.getItems(new Rectangle2D.Double(19, 5, 2, 2)));
+        Assert.assertEquals(Arrays.asList(items.get(3)), index.getItems(new Rectangle2D.Double(500, 500, 10, 10)));
+        Assert.assertTrue(index.getItems(new Rectangle2D.Double(5000, 5000, 10, 10)).isEmpty());
+    }
+
+    @Test
+    public void testMatchesScan() {
+        Random random = new Random(42);
+        List<Rectangle2D> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            double x = random.nextDouble() * 4000;
+            double y = random.nextDouble() * 3000;
+            double size = (i % 100 == 0 ? 1500 : random.nextDouble() * 60);
+            items.add(new Rectangle2D.Double(x, y, size * random.nextDouble(), size * random.nextDouble()));
+        }
+        SpatialIndex<Rectangle2D> index = new SpatialIndex<>(items, r -> r);
+        Assert.assertEquals(ITEMS, index.size());
+
+        List<Rectangle2D> areas = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            areas.add(new Rectangle2D.Double(random.nextDouble() * 4400 - 200, random.nextDouble() * 3400 - 200,
+                    random.nextDouble() * 300, random.nextDouble() * 300));
+        }
+        List<List<Rectangle2D>> found = new ArrayList<>();
+        for (Rectangle2D area : areas) {
+            found.add(index.getItems(area));
+        }
+
+        for (int i = 0; i < QUERIES; i++) {
+            Rectangle2D area = areas.get(i);
+            List<Rectangle2D> expected = items.stream().filter(r -> r.getMinX() <= area.getMaxX()
+                    && area.getMinX() <= r.getMaxX() && r.getMinY() <= area.getMaxY()
+                    && area.getMinY() <= r.getMaxY()).collect(Collectors.toList());
+            Assert.assertEquals("area " + area, expected, found.get(i));
+        }
+    }
+
+    private static final int ITEMS = 1000;
+    private static final int QUERIES = 300;
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -0,0 +1,101 @@
+package jmri.jmrit.entryexit;
+
+import java.awt.GraphicsEnvironment;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import jmri.InstanceManager;
+import jmri.jmrit.display.layoutEditor.LayoutBlock;
+import jmri.jmrit.display.layoutEditor.LayoutBlockConnectivityTools;
+import jmri.jmrit.display.layoutEditor.LayoutBlockManager;
+import jmri.jmrit.display.layoutEditor.LayoutEditor;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests that the paths of the NX pairs of the test panels, found once when the
+ * pairs are loaded, are the paths a search of the layout block routing finds
+ * when a route is set, and that a routing change drops them.
+ */
+public class EntryExitPairsPathTest {
+
+    private HashMap<String, LayoutEditor> panels = null;
+    private EntryExitPairs eep;
+    private LayoutBlockManager lbm;
+
+    @Test
+    public void testFoundPaths() throws Exception {
+        Assume.assumeFalse(GraphicsEnvironment.isHeadless());
+        JUnitUtil.waitFor(() -> lbm.routingStablised(), "routing stable");  // NOI18N
+        LayoutBlockConnectivityTools lbct = lbm.getLayoutBlockConnectivityTools();
+        List<DestinationPoints> pairs = new ArrayList<>(eep.getNamedBeanSet());
+        Assert.assertFalse("pairs loaded", pairs.isEmpty());  // NOI18N
+        eep.findPaths();
+
+        int found = 0;
+        for (DestinationPoints dp : pairs) {
+            for (LayoutBlock protecting : dp.src.getSourceProtecting()) {
+                List<LayoutBlock> path = dp.getPath(dp.src.getStart(), dp.getFacing(), protecting,
+                        LayoutBlockConnectivityTools.Routing.MASTTOMAST);
+                if (path == null) {
+                    continue;
+                }
+                found++;
+                Assert.assertSame("path kept", path, dp.getPath(dp.src.getStart(), dp.getFacing(), protecting,  // NOI18N
+                        LayoutBlockConnectivityTools.Routing.MASTTOMAST));
+
+                List<LayoutBlock> searched;
+                try {
+                    searched = lbct.getLayoutBlocks(dp.src.getStart(), dp.getFacing(), protecting, false,
+                            LayoutBlockConnectivityTools.Routing.MASTTOMAST);
+                } catch (jmri.JmriException e) {
+                    searched = null;
+                }
+                List<LayoutBlock> free;
+                try {
+                    free = dp.getFreePath(dp.src.getStart(), dp.getFacing(), protecting,
+                            LayoutBlockConnectivityTools.Routing.MASTTOMAST);
+                } catch (jmri.JmriException e) {
+                    free = null;
+                }
+                Assert.assertEquals(dp.getDisplayName(), searched, free);
+            }
+        }
+        Assert.assertTrue("paths found", found > 0);  // NOI18N
+
+        // a routing change drops the paths
+        long generation = eep.getPathGeneration();
+        eep.propertyBlockManagerListener.propertyChange(
+                new PropertyChangeEvent(lbm, "advancedRoutingEnabled", false, true));  // NOI18N
+        Assert.assertNotEquals(generation, eep.getPathGeneration());
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JUnitUtil.setUp();
+        Assume.assumeFalse(GraphicsEnvironment.isHeadless());
+        JUnitUtil.resetProfileManager();
+        JUnitUtil.initConfigureManager();
+        panels = EntryExitTestTools.getPanels();
+        eep = InstanceManager.getDefault(EntryExitPairs.class);
+        lbm = InstanceManager.getDefault(LayoutBlockManager.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (panels != null) {
+            panels.forEach((name, panel) -> JUnitUtil.dispose(panel));
+        }
+        panels = null;
+        eep = null;
+        lbm = null;
+        JUnitUtil.deregisterBlockManagerShutdownTask();
+        JUnitUtil.deregisterEditorManagerShutdownTask();
+        JUnitUtil.tearDown();
+    }
+}
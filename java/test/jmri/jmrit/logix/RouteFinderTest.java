@@ -7,6 +7,7 @@ import java.util.List;
 import jmri.InstanceManager;
 import jmri.ShutDownManager;
 import jmri.ShutDownTask;
+import jmri.util.JUnitAppender;
 import jmri.util.JUnitUtil;
 
 import org.junit.Assert;
@@ -34,6 +35,204 @@ public class RouteFinderTest {
         JUnitUtil.dispose(nxFrame);
     }
 
+    @Test
+    public void testShortestRoutes() {
+        OBlock[][] grid = makeGrid(3, 4);
+        RouteFinder f = new RouteFinder(null, origin(grid), destination(grid), null, null, 20);
+        f.findRoutes();
+        assertThat(f._destNodes).hasSize(RouteFinder.MAX_ROUTES);
+        // corner to corner, every shortest route crosses 2 + 3 blocks
+        assertThat(f._destNodes.get(0).getLevel()).isEqualTo(5);
+        for (int i = 1; i < f._destNodes.size(); i++) {
+            assertThat(f._destNodes.get(i).getLevel()).isGreaterThanOrEqualTo(f._destNodes.get(i - 1).getLevel());
+        }
+        checkRoute(f._destNodes.get(0), grid);
+
+        // too few blocks allowed
+        f = new RouteFinder(null, origin(grid), destination(grid), null, null, 4);
+        f.findRoutes();
+        assertThat(f._destNodes).isEmpty();
+        assertThat(((RouteFinder.RouteNode) f._tree.getRoot()).getChildCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testViaAndAvoid() {
+        OBlock[][] grid = makeGrid(3, 4);
+        // via the bottom left corner
+        OBlock via = grid[2][0];
+        BlockOrder viaOrder = new BlockOrder(via, pathName(via, "V1_0", "H2_0"), null, null);
+        RouteFinder f = new RouteFinder(null, origin(grid), destination(grid), viaOrder, null, 20);
+        f.findRoutes();
+        assertThat(f._destNodes).isNotEmpty();
+        for (javax.swing.tree.DefaultMutableTreeNode node : f._destNodes) {
+            assertThat(blocks(node)).contains(via);
+        }
+        assertThat(f._destNodes.get(0).getLevel()).isEqualTo(7);
+
+        // avoid the path from the top to the bottom of block (1,3)
+        OBlock avoid = grid[1][3];
+        String avoidPath = pathName(avoid, "V0_3", "V1_3");
+        BlockOrder avoidOrder = new BlockOrder(avoid, avoidPath, null, null);
+        f = new RouteFinder(null, origin(grid), destination(grid), null, avoidOrder, 20);
+        f.findRoutes();
+        for (javax.swing.tree.DefaultMutableTreeNode node : f._destNodes) {
+            for (Object o : node.getUserObjectPath()) {
+                BlockOrder bo = (BlockOrder) o;
+                assertThat(bo.getBlock() == avoid && avoidPath.equals(bo.getPathName())).isFalse();
+            }
+        }
+        assertThat(f._destNodes.get(0).getLevel()).isEqualTo(5);
+    }
+
+    @Test
+    public void testGridSearches() {
+        // many routes of the same length, searched over one graph
+        OBlock[][] grid = makeGrid(6, 8);
+        RouteGraph routeGraph = InstanceManager.getDefault(RouteGraph.class);
+        RouteGraph.Graph graph = routeGraph.getGraph();
+        for (int i = 0; i < 3; i++) {
+            RouteFinder f = new RouteFinder(null, origin(grid), destination(grid), null, null, 48);
+            f.findRoutes();
+            assertThat(f._destNodes).hasSize(RouteFinder.MAX_ROUTES);
+            for (javax.swing.tree.DefaultMutableTreeNode node : f._destNodes) {
+                // every route found is a shortest one, crossing 5 + 7 blocks
+                assertThat(node.getLevel()).isEqualTo(12);
+                checkRoute(node, grid);
+            }
+        }
+        assertThat(routeGraph.getGraph()).withFailMessage("graph is kept").isSameAs(graph);
+    }
+
+    @Test
+    public void testGraphRebuiltOnChange() {
+        OBlock[][] grid = makeGrid(2, 2);
+        RouteGraph routeGraph = InstanceManager.getDefault(RouteGraph.class);
+        RouteGraph.Graph graph = routeGraph.getGraph();
+        int builds = routeGraph.getBuildCount();
+        assertThat(routeGraph.getGraph()).isSameAs(graph);
+        assertThat(routeGraph.getBuildCount()).isEqualTo(builds);
+
+        // the blocks make a ring; the destination is entered from above
+        OBlock corner = grid[1][1];
+        BlockOrder dest = new BlockOrder(corner, pathName(corner, "V0_1", "H1_0"), "V0_1", "H1_0");
+        RouteFinder f = new RouteFinder(null, origin(grid), dest, null, null, 20);
+        f.findRoutes();
+        assertThat(f._destNodes).hasSize(1);
+        assertThat(f._destNodes.get(0).getLevel()).isEqualTo(2);
+        assertThat(routeGraph.getBuildCount()).isEqualTo(builds);
+
+        assertThat(corner.addPath(new OPath("Spur", corner, null, null, new ArrayList<>()))).isTrue();
+        assertThat(routeGraph.getGraph()).isNotSameAs(graph);
+        assertThat(routeGraph.getBuildCount()).isEqualTo(builds + 1);
+
+        // cut the ring
+        OBlock top = grid[0][1];
+        assertThat(top.removeOPath(top.getPathByName(pathName(top, "H0_0", "V0_1")))).isTrue();
+        f = new RouteFinder(null, origin(grid), dest, null, null, 20);
+        f.findRoutes();
+        assertThat(f._destNodes).isEmpty();
+        assertThat(routeGraph.getBuildCount()).isEqualTo(builds + 2);
+        JUnitAppender.assertErrorMessage("Portal \"H0_0\" does not have any paths from \"Block 0_0\" to \"Block 0_1\"");
+    }
+
+    /**
+     * Make a grid of OBlocks. Block (r, c) connects to its neighbors through
+     * portals "H r_c" to the right and "V r_c" below, and has a path, named
+     * "portal-portal", between each two of its portals.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return the blocks
+     */
+    static OBlock[][] makeGrid(int rows, int cols) {
+        OBlockManager blockMgr = InstanceManager.getDefault(OBlockManager.class);
+        PortalManager portalMgr = InstanceManager.getDefault(PortalManager.class);
+        OBlock[][] grid = new OBlock[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid[r][c] = blockMgr.createNewOBlock("OB" + (r * cols + c + 1), "Block " + r + "_" + c);
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (c + 1 < cols) {
+                    Portal p = portalMgr.createNewPortal("H" + r + "_" + c);
+                    p.setFromBlock(grid[r][c], false);
+                    p.setToBlock(grid[r][c + 1], false);
+                }
+                if (r + 1 < rows) {
+                    Portal p = portalMgr.createNewPortal("V" + r + "_" + c);
+                    p.setFromBlock(grid[r][c], false);
+                    p.setToBlock(grid[r + 1][c], false);
+                }
+            }
+        }
+        for (OBlock[] row : grid) {
+            for (OBlock block : row) {
+                List<Portal> portals = block.getPortals();
+                for (int i = 0; i < portals.size(); i++) {
+                    for (int j = i + 1; j < portals.size(); j++) {
+                        Portal a = portals.get(i);
+                        Portal b = portals.get(j);
+                        block.addPath(new OPath(a.getName() + "-" + b.getName(), block, a, b, new ArrayList<>()));
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param grid the grid
+     * @return the top left block, leaving to the right
+     */
+    static BlockOrder origin(OBlock[][] grid) {
+        return new BlockOrder(grid[0][0], pathName(grid[0][0], "H0_0", "V0_0"), "V0_0", "H0_0");
+    }
+
+    /**
+     * @param grid the grid
+     * @return the bottom right block, entered from the left
+     */
+    static BlockOrder destination(OBlock[][] grid) {
+        int r = grid.length - 1;
+        int c = grid[0].length - 1;
+        String left = "H" + r + "_" + (c - 1);
+        String above = "V" + (r - 1) + "_" + c;
+        return new BlockOrder(grid[r][c], pathName(grid[r][c], left, above), left, above);
+    }
+
+    /**
+     * @param block a block of the grid
+     * @param a     one portal of the path
+     * @param b     the other portal
+     * @return the name of the path of the block between the portals
+     */
+    static String pathName(OBlock block, String a, String b) {
+        return (block.getPathByName(a + "-" + b) != null ? a + "-" + b : b + "-" + a);
+    }
+
+    private static List<OBlock> blocks(javax.swing.tree.DefaultMutableTreeNode node) {
+        List<OBlock> list = new ArrayList<>();
+        for (Object o : node.getUserObjectPath()) {
+            list.add(((BlockOrder) o).getBlock());
+        }
+        return list;
+    }
+
+    // each block of the route is next to the one before, entered through the
+    // portal the one before leaves by
+    private static void checkRoute(javax.swing.tree.DefaultMutableTreeNode node, OBlock[][] grid) {
+        Object[] orders = node.getUserObjectPath();
+        for (int i = 1; i < orders.length; i++) {
+            BlockOrder prev = (BlockOrder) orders[i - 1];
+            BlockOrder bo = (BlockOrder) orders[i];
+            assertThat(bo.getEntryName()).isEqualTo(prev.getExitName());
+            assertThat(bo.getBlock().getPathByName(bo.getPathName())).isNotNull();
+        }
+        assertThat(((BlockOrder) orders[orders.length - 1]).getBlock()).isSameAs(grid[grid.length - 1][grid[0].length - 1]);
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -45,6 +45,12 @@ public class SCWarrantTest extends WarrantTest {
         // TODO: use orders in test?
     }
 
+    @Test
+    @Override
+    @Disabled("SCWarrant runs its train without an Engineer, so has no ramps to schedule")
+    public void testWarrantOnScheduler() throws JmriException {
+    }
+
     @Test
     @Override
     public void testWarrant() throws JmriException {
@@ -19,6 +19,19 @@ public class WarrantPreferencesTest {
         assertThat(t).withFailMessage("exists").isNotNull();
     }
 
+    @Test
+    public void testRampExecution() {
+        WarrantPreferences t = new WarrantPreferences();
+        assertThat(t.getRampExecution()).isEqualTo(WarrantPreferences.RampExecution.THREAD);
+        t.setRampExecution(WarrantPreferences.RampExecution.SCHEDULED);
+        assertThat(t.getRampExecution()).isEqualTo(WarrantPreferences.RampExecution.SCHEDULED);
+
+        org.jdom2.Element root = new org.jdom2.Element("warrantPreferences");
+        t.store(root);
+        assertThat(root.getChild(WarrantPreferences.LAYOUT_PARAMS).getChildText(WarrantPreferences.RAMP_EXECUTION))
+                .isEqualTo("SCHEDULED");
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
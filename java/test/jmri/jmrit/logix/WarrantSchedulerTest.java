@@ -0,0 +1,31 @@
+package jmri.jmrit.logix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the WarrantScheduler class.
+ */
+public class WarrantSchedulerTest {
+
+    @Test
+    public void testCTor() {
+        WarrantScheduler t = new WarrantScheduler();
+        assertThat(t).withFailMessage("exists").isNotNull();
+        assertThat(t.getPoolSize()).isEqualTo(2);
+        assertThat(t.getName()).isEqualTo("Warrant Scheduler");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -4,6 +4,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import jmri.BeanSetting;
 import jmri.InstanceManager;
@@ -160,6 +161,16 @@ public class WarrantTest {
 
     @Test
     public void testWarrant() throws JmriException {
+        runWarrant(false);
+    }
+
+    @Test
+    public void testWarrantOnScheduler() throws JmriException {
+        WarrantPreferences.getDefault().setRampExecution(WarrantPreferences.RampExecution.SCHEDULED);
+        runWarrant(true);
+    }
+
+    private void runWarrant(boolean rampHalt) throws JmriException {
         sEast.setState(Sensor.INACTIVE);
         sSouth.setState(Sensor.INACTIVE);
         sNorth.setState(Sensor.ACTIVE);     // start block of warrant
@@ -196,6 +207,23 @@ public class WarrantTest {
         }, "Train starts to move after 2nd command");
         jmri.util.JUnitUtil.releaseThread(this, 100); // What should we specifically waitFor?
 
+        if (rampHalt) {
+            warrant.getSpeedUtil().setRampTimeIncrement(100);
+            warrant.controlRunTrain(Warrant.RAMP_HALT);
+            jmri.util.JUnitUtil.waitFor(() -> {
+                return warrant.getRunningMessage().startsWith("Halted in block");
+            }, "Train Halted");
+            assertThat(warrant.getRampTiming().getSteps()).withFailMessage("ramp steps").isGreaterThan(0);
+            AtomicBoolean resumed = new AtomicBoolean();
+            warrant.addPropertyChangeListener(e -> {
+                if ("RampDone".equals(e.getPropertyName()) && Warrant.Normal.equals(e.getNewValue())) {
+                    resumed.set(true);
+                }
+            });
+            warrant.controlRunTrain(Warrant.RESUME);
+            jmri.util.JUnitUtil.waitFor(() -> resumed.get(), "Train Resumed");
+        }
+
         jmri.util.ThreadingUtil.runOnLayout(() -> {
             try {
                 sWest.setState(Sensor.ACTIVE);
@@ -317,6 +345,7 @@ public class WarrantTest {
         bSouth.setSensor("IS4");
         warrant = new Warrant("IW0", "AllTestWarrant");
         WarrantPreferences.getDefault().setShutdown(WarrantPreferences.Shutdown.NO_MERGE);
+        WarrantPreferences.getDefault().setRampExecution(WarrantPreferences.RampExecution.THREAD);
     }
 
     @AfterEach
@@ -0,0 +1,115 @@
+package jmri.jmrit.operations;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.jdom2.Document;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import jmri.InstanceManager;
+import jmri.jmrit.operations.rollingstock.cars.CarManager;
+import jmri.jmrit.operations.rollingstock.cars.CarManagerXml;
+import jmri.util.JUnitUtil;
+import jmri.util.ThreadingUtil;
+
+/**
+ * Tests for the OperationsXmlWriter class
+ */
+public class OperationsXmlWriterTest extends OperationsTestCase {
+
+    @Test
+    public void testCTor() {
+        OperationsXmlWriter writer = new OperationsXmlWriter();
+        Assert.assertNotNull("exists", writer);
+        Assert.assertFalse(writer.isSavePending());
+    }
+
+    @Test
+    public void testSaveOnGuiThreadIsCoalesced() {
+        OperationsXmlWriter writer = InstanceManager.getDefault(OperationsXmlWriter.class);
+        writer.setDelay(200);
+        CarManagerXml carManagerXml = InstanceManager.getDefault(CarManagerXml.class);
+        File file = new File(carManagerXml.getDefaultOperationsFilename());
+        Assert.assertFalse("no car file", file.exists());
+
+        InstanceManager.getDefault(CarManager.class).newRS("CP", "1");
+        carManagerXml.setDirty(true);
+        ThreadingUtil.runOnGUI(() -> OperationsXml.save());
+        Assert.assertTrue("still dirty", carManagerXml.isDirty());
+        Assert.assertTrue("save pending", writer.isSavePending());
+
+        InstanceManager.getDefault(CarManager.class).newRS("CP", "2");
+        ThreadingUtil.runOnGUI(() -> OperationsXml.save());
+
+        JUnitUtil.waitFor(() -> !writer.isSavePending(), "car file written");
+        Assert.assertFalse("written", carManagerXml.isDirty());
+        Assert.assertTrue("car file", file.exists());
+        Assert.assertFalse("temporary file removed", new File(file.getPath() + ".tmp").exists());
+        Assert.assertFalse(writer.isSavePending());
+    }
+
+    @Test
+    public void testSaveOffGuiThread() {
+        CarManagerXml carManagerXml = InstanceManager.getDefault(CarManagerXml.class);
+        File file = new File(carManagerXml.getDefaultOperationsFilename());
+        carManagerXml.setDirty(true);
+        OperationsXml.save();
+        Assert.assertFalse("written", carManagerXml.isDirty());
+        Assert.assertTrue("car file", file.exists());
+        Assert.assertFalse("no backup yet", new File(carManagerXml.backupFileName(file.getAbsolutePath())).exists());
+
+        // second write keeps a backup of the first
+        carManagerXml.setDirty(true);
+        OperationsXml.save();
+        Assert.assertTrue("backup", new File(carManagerXml.backupFileName(file.getAbsolutePath())).exists());
+    }
+
+    @Test
+    public void testFlush() {
+        OperationsXmlWriter writer = InstanceManager.getDefault(OperationsXmlWriter.class);
+        writer.setDelay(60000);
+        CarManagerXml carManagerXml = InstanceManager.getDefault(CarManagerXml.class);
+        carManagerXml.setDirty(true);
+        writer.requestSave();
+        Assert.assertTrue("save pending", writer.isSavePending());
+        writer.flush();
+        Assert.assertFalse("save done", writer.isSavePending());
+        Assert.assertFalse("written", carManagerXml.isDirty());
+        writer.dispose();
+    }
+
+    @Test
+    public void testFinishRequestedSaves() {
+        OperationsXmlWriter writer = InstanceManager.getDefault(OperationsXmlWriter.class);
+        writer.setDelay(60000);
+        CarManagerXml carManagerXml = InstanceManager.getDefault(CarManagerXml.class);
+        // nothing requested, so a dirty file is left for the caller
+        carManagerXml.setDirty(true);
+        writer.finishRequestedSaves();
+        Assert.assertTrue("not written", carManagerXml.isDirty());
+
+        writer.requestSave();
+        writer.finishRequestedSaves();
+        Assert.assertFalse("save done", writer.isSavePending());
+        Assert.assertFalse("written", carManagerXml.isDirty());
+        writer.dispose();
+    }
+
+    @Test
+    public void testOlderDocumentNotWritten() throws IOException {
+        OperationsXml carManagerXml = InstanceManager.getDefault(CarManagerXml.class);
+        File file = new File(carManagerXml.getDefaultOperationsFilename());
+        InstanceManager.getDefault(CarManager.class).newRS("CP", "1");
+        Document older = carManagerXml.createDocument();
+        InstanceManager.getDefault(CarManager.class).newRS("CP", "2");
+        Document newer = carManagerXml.createDocument();
+
+        carManagerXml.writeDocument(newer);
+        carManagerXml.writeDocument(older);
+        String contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Assert.assertTrue("newer document written", contents.contains("roadNumber=\"2\""));
+    }
+}
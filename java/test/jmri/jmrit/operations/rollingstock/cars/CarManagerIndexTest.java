@@ -0,0 +1,102 @@
+package jmri.jmrit.operations.rollingstock.cars;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import jmri.InstanceManager;
+import jmri.jmrit.operations.OperationsTestCase;
+import jmri.jmrit.operations.locations.Location;
+import jmri.jmrit.operations.locations.LocationManager;
+import jmri.jmrit.operations.locations.Track;
+import jmri.jmrit.operations.trains.Train;
+import jmri.jmrit.operations.trains.TrainManager;
+
+/**
+ * Tests of the indexed CarManager queries by train, track, location and type
+ * on cars moved at random. Each indexed list must match a scan of all cars,
+ * in the same order, while the cars are being moved and afterwards.
+ */
+public class CarManagerIndexTest extends OperationsTestCase {
+
+    private static final int CARS = 500;
+    private static final int LOCATIONS = 5;
+    private static final int TRAINS = 6;
+    private static final int MOVES = 300;
+    private static final String[] TYPES = {"Boxcar", "Flat", "Tank Oil", "Hopper", "Gondola"};
+
+    @Test
+    public void testIndexedQueries() {
+        CarManager manager = InstanceManager.getDefault(CarManager.class);
+        Random random = new Random(42);
+
+        List<Location> locations = new ArrayList<>();
+        List<Track> tracks = new ArrayList<>();
+        for (int i = 0; i < LOCATIONS; i++) {
+            Location location = InstanceManager.getDefault(LocationManager.class).newLocation("Location " + i);
+            locations.add(location);
+            for (int j = 0; j < 4; j++) {
+                Track track = location.addTrack("Yard " + j, Track.YARD);
+                track.setLength(100000);
+                tracks.add(track);
+            }
+        }
+        List<Train> trains = new ArrayList<>();
+        for (int i = 0; i < TRAINS; i++) {
+            trains.add(InstanceManager.getDefault(TrainManager.class).newTrain("Train " + i));
+        }
+
+        for (int i = 0; i < CARS; i++) {
+            Car car = manager.newRS("R" + (i % 17), Integer.toString(i));
+            car.setTypeName(TYPES[i % TYPES.length]);
+            car.setLength("40");
+            Track track = tracks.get(random.nextInt(tracks.size()));
+            car.setLocation(track.getLocation(), track, true);
+        }
+        checkIndexes(manager, locations, tracks, trains);
+
+        for (int i = 0; i < MOVES; i++) {
+            Car car = manager.getList().get(random.nextInt(CARS));
+            car.setTrain(i % 10 == 0 ? null : trains.get(random.nextInt(TRAINS)));
+            Track track = tracks.get(random.nextInt(tracks.size()));
+            car.setLocation(track.getLocation(), track, true);
+            if (i % 7 == 0) {
+                car.setTypeName(TYPES[random.nextInt(TYPES.length)]);
+            }
+            if (i % 50 == 0) {
+                checkIndexes(manager, locations, tracks, trains);
+            }
+        }
+        checkIndexes(manager, locations, tracks, trains);
+    }
+
+    // the indexed lists must match a scan of all cars, in the same order
+    private void checkIndexes(CarManager manager, List<Location> locations, List<Track> tracks, List<Train> trains) {
+        List<Car> all = manager.getList();
+        Assert.assertEquals(CARS, all.size());
+        for (Train train : trains) {
+            List<Car> expected = new ArrayList<>();
+            all.stream().filter(car -> car.getTrain() == train).forEachOrdered(expected::add);
+            Assert.assertEquals("cars in " + train.getName(), expected, manager.getList(train));
+        }
+        for (Location location : locations) {
+            List<Car> expected = new ArrayList<>();
+            all.stream().filter(car -> car.getLocation() == location).forEachOrdered(expected::add);
+            Assert.assertEquals("cars at " + location.getName(), expected, manager.getList(location));
+        }
+        for (Track track : tracks) {
+            List<Car> expected = new ArrayList<>();
+            all.stream().filter(car -> car.getTrack() == track).forEachOrdered(expected::add);
+            Assert.assertEquals("cars on " + track.getName(), expected, manager.getList(track));
+        }
+        for (String type : TYPES) {
+            List<Car> expected = new ArrayList<>();
+            manager.getByTypeList().stream().filter(car -> car.getTypeName().equals(type))
+                    .forEachOrdered(expected::add);
+            Assert.assertEquals("cars of type " + type, expected, manager.getByTypeList(type));
+        }
+    }
+}
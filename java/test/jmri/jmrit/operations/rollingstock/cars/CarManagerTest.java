@@ -1057,6 +1057,50 @@ public class CarManagerTest extends OperationsTestCase {
         Assert.assertFalse("c3 not in car list on track", carList.contains(c3));
     }
 
+    @Test
+    public void testListsFollowChanges() {
+        initializeTest();
+
+        CarManager manager = InstanceManager.getDefault(CarManager.class);
+        Track l1t1 = l1.getTrackByName("A", Track.SPUR);
+        Track l2t1 = l2.getTrackByName("A", Track.SPUR);
+        Train t1 = new Train("1", "F");
+
+        // move a car
+        Assert.assertEquals(Track.OKAY, c1.setLocation(l2, l2t1, true));
+        Assert.assertTrue("c1 no longer at location", manager.getList(l1).size() == 1);
+        Assert.assertTrue("c1 no longer on track", manager.getList(l1t1).isEmpty());
+        Assert.assertTrue("c1 on new track", manager.getList(l2t1).contains(c1));
+        Assert.assertEquals("Number of Cars at new location", 3, manager.getList(l2).size());
+
+        // assign to a train
+        c1.setTrain(t1);
+        c3.setTrain(t1);
+        List<Car> carList = manager.getList(t1);
+        Assert.assertEquals("Number of Cars in train", 2, carList.size());
+        c1.setTrain(null);
+        Assert.assertEquals("Number of Cars in train", 1, manager.getList(t1).size());
+        Assert.assertEquals("Number of Cars without train", 5, manager.getList((Train) null).size());
+
+        // change type
+        Assert.assertEquals("Number of Boxcars", 6, manager.getByTypeList("Boxcar").size());
+        c1.setTypeName("Flat");
+        Assert.assertEquals("one less Boxcar", 5, manager.getByTypeList("Boxcar").size());
+        Assert.assertEquals("c1 is a Flat", c1, manager.getByTypeList("Flat").get(0));
+
+        // renumber a car, lists by id, road and number are cached
+        Assert.assertEquals("2nd car by number", c1, manager.getByNumberList().get(1));
+        c1.setNumber("10");
+        Assert.assertEquals("last by number", c1, manager.getByNumberList().get(5));
+        Assert.assertEquals("by id", "AA1", manager.getByIdList().get(0).getId());
+
+        // removed cars are no longer listed
+        manager.deregister(c3);
+        Assert.assertTrue("c3 removed from train", manager.getList(t1).isEmpty());
+        Assert.assertFalse("c3 removed from location", manager.getList(l2).contains(c3));
+        Assert.assertEquals("Number of Cars by number", 5, manager.getByNumberList().size());
+    }
+
     @Test
     public void testReplaceCarLoad() {
         initializeTest();
@@ -1,6 +1,17 @@
 package jmri.jmrit.operations.router;
 
+import jmri.InstanceManager;
 import jmri.jmrit.operations.OperationsTestCase;
+import jmri.jmrit.operations.locations.Location;
+import jmri.jmrit.operations.locations.Track;
+import jmri.jmrit.operations.rollingstock.cars.Car;
+import jmri.jmrit.operations.routes.Route;
+import jmri.jmrit.operations.routes.RouteManager;
+import jmri.jmrit.operations.setup.Setup;
+import jmri.jmrit.operations.trains.Train;
+import jmri.jmrit.operations.trains.TrainManager;
+import jmri.util.JUnitOperationsUtil;
+
 import org.junit.Assert;
 import org.junit.jupiter.api.*;
 
@@ -16,6 +27,107 @@ public class RouterTest extends OperationsTestCase {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testTwoTrainRoute() {
+        checkRoute(2);
+    }
+
+    @Test
+    public void testThreeTrainRoute() {
+        checkRoute(3);
+    }
+
+    @Test
+    public void testSixTrainRoute() {
+        checkRoute(6);
+    }
+
+    @Test
+    public void testNoRouteOverSixTrains() {
+        Location[] locations = createLine(7);
+        Car car = JUnitOperationsUtil.createAndPlaceCar("A", "1", "Boxcar", "40",
+                locations[0].getTrackByName("Location 0 Spur 1", null), 0);
+        car.setFinalDestination(locations[7]);
+        Router router = InstanceManager.getDefault(Router.class);
+        Assert.assertFalse("seven trains needed", router.setDestination(car, null, null));
+        Assert.assertNull(car.getDestination());
+    }
+
+    @Test
+    public void testShortestRouteChosen() {
+        Location[] locations = createLine(4);
+        // a train that cuts out two of the four trains
+        Train shortcut = InstanceManager.getDefault(TrainManager.class).newTrain("Shortcut");
+        Route route = InstanceManager.getDefault(RouteManager.class).newRoute("Shortcut");
+        route.addLocation(locations[1]);
+        route.addLocation(locations[3]);
+        shortcut.setRoute(route);
+
+        Car car = JUnitOperationsUtil.createAndPlaceCar("A", "1", "Boxcar", "40",
+                locations[0].getTrackByName("Location 0 Spur 1", null), 0);
+        car.setFinalDestination(locations[4]);
+        Router router = InstanceManager.getDefault(Router.class);
+        Assert.assertTrue(router.setDestination(car, null, null));
+        Assert.assertEquals("Location 1 Interchange 1", car.getDestinationTrackName());
+
+        // the next move is by the shortcut
+        moveToDestination(car);
+        Assert.assertTrue(router.setDestination(car, null, null));
+        Assert.assertEquals("Location 3 Interchange 1", car.getDestinationTrackName());
+    }
+
+    /*
+     * Route a car along a line of locations, one train between each location
+     * and the next, and check each move the router chooses: the first
+     * interchange track at each location, as the tracks are listed.
+     */
+    private void checkRoute(int trains) {
+        Location[] locations = createLine(trains);
+        Car car = JUnitOperationsUtil.createAndPlaceCar("A", "1", "Boxcar", "40",
+                locations[0].getTrackByName("Location 0 Spur 1", null), 0);
+        car.setFinalDestination(locations[trains]);
+        Router router = InstanceManager.getDefault(Router.class);
+        for (int i = 1; i < trains; i++) {
+            Assert.assertTrue("route from " + car.getLocationName(), router.setDestination(car, null, null));
+            Assert.assertEquals("move " + i, "Location " + i + " Interchange 1", car.getDestinationTrackName());
+            moveToDestination(car);
+        }
+        Assert.assertTrue("last move", router.setDestination(car, null, null));
+        Assert.assertEquals(locations[trains], car.getDestination());
+    }
+
+    private static void moveToDestination(Car car) {
+        Track track = car.getDestinationTrack();
+        car.setDestination(null, null);
+        Assert.assertEquals(Track.OKAY, car.setLocation(track.getLocation(), track));
+    }
+
+    /*
+     * Create locations 0 to n with a train from each location to the next.
+     */
+    private static Location[] createLine(int trains) {
+        Location[] locations = new Location[trains + 1];
+        for (int i = 0; i <= trains; i++) {
+            locations[i] = JUnitOperationsUtil.createOneNormalLocation("Location " + i);
+        }
+        for (int i = 0; i < trains; i++) {
+            Train train = InstanceManager.getDefault(TrainManager.class).newTrain("Train " + i);
+            Route route = InstanceManager.getDefault(RouteManager.class).newRoute("Route " + i);
+            route.addLocation(locations[i]);
+            route.addLocation(locations[i + 1]);
+            train.setRoute(route);
+        }
+        return locations;
+    }
+
+    @BeforeEach
+    @Override
+    public void setUp() {
+        super.setUp();
+        // only use interchange tracks
+        Setup.setCarRoutingViaYardsEnabled(false);
+    }
+
     // private final static Logger log = LoggerFactory.getLogger(RouterTest.class);
 
 }
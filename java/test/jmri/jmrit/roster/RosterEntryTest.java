@@ -312,6 +312,45 @@ public class RosterEntryTest {
         Assert.assertEquals("label 2", "label 2", o.getChild("functionlabels").getChild("functionlabel").getText());
     }
 
+    @Test
+    public void testDeferredFunctionLabels() {
+        org.jdom2.Element e = new org.jdom2.Element("locomotive")
+                .setAttribute("id", "our id 5")
+                .setAttribute("dccAddress", "1234")
+                .addContent(new org.jdom2.Element("functionlabels")
+                        .addContent(new org.jdom2.Element("functionlabel")
+                                .setAttribute("num", "2")
+                                .setAttribute("lockable", "true")
+                                .addContent("label 2")
+                        )
+                );
+
+        RosterEntry r = new RosterEntry(e) {
+            @Override
+            protected void warnShortLong(String s) {
+            }
+        };
+
+        // labels from the decoder definition don't replace those read with the entry,
+        // even if the entry's labels haven't been used yet
+        r.loadFunctions(new org.jdom2.Element("functionlabels")
+                .addContent(new org.jdom2.Element("functionlabel")
+                        .setAttribute("num", "2")
+                        .setAttribute("lockable", "false")
+                        .addContent("family label 2")
+                ));
+        Assert.assertEquals("label 2", r.getFunctionLabel(2));
+        Assert.assertEquals("lockable 2", true, r.getFunctionLockable(2));
+
+        // copies include the labels
+        RosterEntry copy = new RosterEntry(new RosterEntry(e) {
+            @Override
+            protected void warnShortLong(String s) {
+            }
+        }, "copy");
+        Assert.assertEquals("label 2", copy.getFunctionLabel(2));
+    }
+
     @Test
     public void testEnsureFilenameExistsNew() {
         RosterEntry r = new RosterEntry();
@@ -0,0 +1,106 @@
+package jmri.jmrit.roster;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of reading a roster index and of the Roster lookups by id, DCC
+ * address and group. The indexed lookups must match a scan of all entries,
+ * also after entries are changed and removed, and function labels must
+ * survive the deferred parsing.
+ */
+public class RosterIndexTest {
+
+    private static final int ENTRIES = 200;
+    private static final int ADDRESSES = 50;
+    private static final int GROUPS = 10;
+
+    @Test
+    public void testReadAndLookup(@TempDir File folder) throws Exception {
+        Roster r = new Roster();
+        r.setRosterLocation(folder.getAbsolutePath());
+        r.setRosterIndexFileName("index.xml");
+        for (int i = 0; i < ENTRIES; i++) {
+            RosterEntry e = new RosterEntry();
+            e.setId("Loco " + i);
+            e.setFileName("Loco_" + i + ".xml");
+            e.setRoadName("R" + (i % 23));
+            e.setRoadNumber(Integer.toString(i % 100));
+            e.setDccAddress(Integer.toString(i % ADDRESSES));
+            e.putAttribute(Roster.getRosterGroupProperty("Group " + (i % GROUPS)), "yes");
+            for (int fn = 0; fn < 29; fn++) {
+                e.setFunctionLabel(fn, "F" + fn);
+                e.setFunctionLockable(fn, fn % 2 == 0);
+            }
+            r.addEntry(e);
+        }
+        r.writeFile(r.getRosterIndexPath());
+
+        Roster t = new Roster();
+        t.readFile(r.getRosterIndexPath());
+        Assert.assertEquals(ENTRIES, t.numEntries());
+        for (int i = 0; i < ENTRIES; i++) {
+            Assert.assertEquals("Loco " + i, t.getEntryForId("Loco " + i).getId());
+        }
+        Assert.assertNull(t.getEntryForId("Loco " + ENTRIES));
+        checkIndexes(t);
+
+        // changed and removed entries
+        t.getEntryForId("Loco 1").setDccAddress("9999");
+        t.getEntryForId("Loco 2").putAttribute(Roster.getRosterGroupProperty("Group 3"), "yes");
+        t.getEntryForId("Loco 3").deleteAttribute(Roster.getRosterGroupProperty("Group 3"));
+        t.removeEntry(t.getEntryForId("Loco 4"));
+        Assert.assertNull(t.getEntryForId("Loco 4"));
+        Assert.assertEquals(1, t.getEntriesByDccAddress("9999").size());
+        checkIndexes(t);
+
+        RosterEntry e = t.getEntryForId("Loco 42");
+        Assert.assertEquals("F28", e.getFunctionLabel(28));
+        Assert.assertFalse(e.getFunctionLockable(27));
+        Assert.assertTrue(e.getFunctionLockable(26));
+    }
+
+    // the indexed lookups must match a scan of all entries, in the same order
+    private static void checkIndexes(Roster t) {
+        List<RosterEntry> all = t.getAllEntries();
+        for (int a = 0; a < ADDRESSES; a++) {
+            String address = Integer.toString(a);
+            List<RosterEntry> expected = new ArrayList<>();
+            all.stream().filter(e -> e.getDccAddress().equals(address)).forEachOrdered(expected::add);
+            Assert.assertEquals("address " + address, expected, t.getEntriesByDccAddress(address));
+            Assert.assertEquals("matching address " + address, expected,
+                    t.matchingList(null, null, address, null, null, null, null));
+        }
+        for (int g = 0; g < GROUPS; g++) {
+            String group = "Group " + g;
+            List<RosterEntry> expected = new ArrayList<>();
+            all.stream().filter(e -> "yes".equals(e.getAttribute(Roster.getRosterGroupProperty(group))))
+                    .forEachOrdered(expected::add);
+            Assert.assertEquals(group, expected, t.getEntriesInGroup(group));
+        }
+    }
+
+    @BeforeEach
+    public void setUp(@TempDir File folder) {
+        JUnitUtil.setUp();
+        try {
+            JUnitUtil.resetProfileManager(new jmri.profile.NullProfile(folder));
+        } catch (IOException ioe) {
+            JUnitUtil.resetProfileManager();
+        }
+        JUnitUtil.initRosterConfigManager();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -146,6 +146,49 @@ public class RosterTest {
         Assert.assertEquals("search for 3 ", "123", l.get(0).getRoadNumber());
     }
 
+    @Test
+    public void testIndexesFollowChanges() {
+        Roster r = new Roster();
+        RosterEntry a = new RosterEntry();
+        a.setId("A");
+        a.setDccAddress("10");
+        a.setRoadNumber("100");
+        r.addEntry(a);
+        RosterEntry b = new RosterEntry();
+        b.setId("B");
+        b.setDccAddress("10");
+        r.addEntry(b);
+
+        Assert.assertEquals(a, r.getEntryForId("A"));
+        Assert.assertEquals(a, r.entryFromTitle("A"));
+        Assert.assertEquals(java.util.Arrays.asList(a, b), r.getEntriesByDccAddress("10"));
+
+        a.setDccAddress("20");
+        Assert.assertEquals(java.util.Arrays.asList(b), r.getEntriesByDccAddress("10"));
+        Assert.assertEquals(java.util.Arrays.asList(a), r.matchingList(null, null, "20", null, null, null, null));
+
+        a.setRoadNumber("200");
+        Assert.assertTrue(r.matchingList(null, "100", null, null, null, null, null).isEmpty());
+        Assert.assertEquals(java.util.Arrays.asList(a), r.matchingList(null, "200", null, null, null, null, null));
+
+        a.setId("C");
+        Assert.assertNull(r.getEntryForId("A"));
+        Assert.assertEquals(a, r.getEntryForId("C"));
+        Assert.assertEquals("roster order", java.util.Arrays.asList(b, a), r.getAllEntries());
+
+        b.putAttribute("key", "value");
+        Assert.assertEquals(java.util.Arrays.asList(b), r.getEntriesWithAttributeKey("key"));
+        Assert.assertEquals(java.util.Arrays.asList(b), r.getEntriesWithAttributeKeyValue("key", "value"));
+        Assert.assertTrue(r.getAllAttributeKeys().contains("key"));
+        b.deleteAttribute("key");
+        Assert.assertTrue(r.getEntriesWithAttributeKey("key").isEmpty());
+        Assert.assertFalse(r.getAllAttributeKeys().contains("key"));
+
+        r.removeEntry(b);
+        Assert.assertNull(r.getEntryForId("B"));
+        Assert.assertTrue(r.getEntriesByDccAddress("10").isEmpty());
+    }
+
     @Test
     public void testComboBox() {
         Roster r = new Roster();
@@ -0,0 +1,211 @@
+package jmri.jmrix;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import jmri.SystemConnectionMemo;
+import jmri.util.JUnitAppender;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+
+/**
+ * Tests of the {@link AbstractMRTrafficController.DispatchMode}s.
+ * <p>
+ * In the loopback tests, several threads send messages at once through a
+ * traffic controller connected to a port that echoes each message back as its
+ * reply, and every message must get its own reply once, without a timeout.
+ */
+public class AbstractMRTrafficControllerDispatchTest {
+
+    private static final int SENDERS = 8;
+    private static final int MESSAGES_PER_SENDER = 100;
+
+    private LoopbackTrafficController tc;
+    private AbstractPortControllerScaffold port;
+    private Thread echo;
+
+    @Test
+    public void testDefaultMode() {
+        Assert.assertEquals(AbstractMRTrafficController.DispatchMode.SYNCHRONIZED, tc.getDispatchMode());
+    }
+
+    @Test
+    public void testModeFixedOnceConnected() {
+        tc.connectPort(port);
+        tc.setDispatchMode(AbstractMRTrafficController.DispatchMode.CONCURRENT);
+        JUnitAppender.assertWarnMessage("Dispatch mode cannot be changed to CONCURRENT once the transmit thread has started");
+        Assert.assertEquals(AbstractMRTrafficController.DispatchMode.SYNCHRONIZED, tc.getDispatchMode());
+    }
+
+    @Test
+    public void testQueuedMessagesCarriedOver() {
+        tc.setDispatchMode(AbstractMRTrafficController.DispatchMode.CONCURRENT, 2);
+        tc.sendMessage(new LoopbackMessage(1), null);
+        tc.sendMessage(new LoopbackMessage(2), null);
+        Assert.assertEquals(2, tc.getTransmitQueueDepth());
+        tc.setDispatchMode(AbstractMRTrafficController.DispatchMode.SYNCHRONIZED);
+        Assert.assertEquals(2, tc.getTransmitQueueDepth());
+        tc.setDispatchMode(AbstractMRTrafficController.DispatchMode.CONCURRENT);
+        Assert.assertEquals(2, tc.getTransmitQueueDepth());
+    }
+
+    @Test
+    public void testSynchronizedLoopback() throws InterruptedException {
+        runLoopback(AbstractMRTrafficController.DispatchMode.SYNCHRONIZED);
+    }
+
+    @Test
+    public void testConcurrentLoopback() throws InterruptedException {
+        runLoopback(AbstractMRTrafficController.DispatchMode.CONCURRENT);
+    }
+
+    private void runLoopback(AbstractMRTrafficController.DispatchMode mode) throws InterruptedException {
+        tc.setDispatchMode(mode);
+        tc.connectPort(port);
+        echo.start();
+
+        int total = SENDERS * MESSAGES_PER_SENDER;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] senders = new Thread[SENDERS];
+        for (int s = 0; s < SENDERS; s++) {
+            final int base = s * MESSAGES_PER_SENDER;
+            senders[s] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                    tc.sendMessage(new LoopbackMessage(base + i), null);
+                }
+            }, "Loopback sender " + s);
+            senders[s].setDaemon(true);
+            senders[s].start();
+        }
+        start.countDown();
+        JUnitUtil.waitFor(() -> tc.replies.get() == total, "all replies received");
+
+        Assert.assertEquals(total, tc.replies.get());
+        for (int n = 0; n < total; n++) {
+            Assert.assertEquals("replies to message " + n, 1, tc.received.get(n));
+        }
+        Assert.assertFalse("no timeouts", tc.hasTimeouts());
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JUnitUtil.setUp();
+        tc = new LoopbackTrafficController(SENDERS * MESSAGES_PER_SENDER);
+        port = new AbstractPortControllerScaffold(Mockito.mock(SystemConnectionMemo.class));
+        echo = new Thread(() -> {
+            // echo each CR-terminated message back as the reply
+            try {
+                byte[] buffer = new byte[16];
+                int n = 0;
+                while (!Thread.currentThread().isInterrupted()) {
+                    int b = port.tostream.read();
+                    if (b < 0) {
+                        return;
+                    }
+                    buffer[n++] = (byte) b;
+                    if (b == 0x0d || n == buffer.length) {
+                        port.tistream.write(buffer, 0, n);
+                        port.tistream.flush();
+                        n = 0;
+                    }
+                }
+            } catch (IOException e) {
+                // pipe closed at end of test
+            }
+        }, "Loopback echo");
+        echo.setDaemon(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tc.terminateThreads();
+        echo.interrupt();
+        tc = null;
+        port = null;
+        JUnitUtil.tearDown();
+    }
+
+    private static class LoopbackMessage extends AbstractMRMessage {
+
+        LoopbackMessage(int n) {
+            super(String.format("M%05d", n));
+        }
+    }
+
+    private static class LoopbackReply extends AbstractMRReply {
+
+        @Override
+        protected int skipPrefix(int index) {
+            return index;
+        }
+    }
+
+    private static class LoopbackTrafficController extends AbstractMRTrafficController {
+
+        final AtomicIntegerArray received;
+        final AtomicInteger replies = new AtomicInteger();
+
+        LoopbackTrafficController(int total) {
+            received = new AtomicIntegerArray(total);
+            setSynchronizeRx(false);
+        }
+
+        @Override
+        protected void forwardMessage(AbstractMRListener client, AbstractMRMessage m) {
+        }
+
+        @Override
+        protected AbstractMRMessage pollMessage() {
+            return null;
+        }
+
+        @Override
+        protected AbstractMRListener pollReplyHandler() {
+            return null;
+        }
+
+        @Override
+        protected AbstractMRMessage enterProgMode() {
+            return null;
+        }
+
+        @Override
+        protected AbstractMRMessage enterNormalMode() {
+            return null;
+        }
+
+        @Override
+        protected void forwardReply(AbstractMRListener client, AbstractMRReply m) {
+        }
+
+        @Override
+        protected void notifyReply(AbstractMRReply r, AbstractMRListener dest) {
+            int n = Integer.parseInt(r.toString().substring(1, 6));
+            received.incrementAndGet(n);
+            replies.incrementAndGet();
+        }
+
+        @Override
+        protected AbstractMRReply newReply() {
+            return new LoopbackReply();
+        }
+
+        @Override
+        protected boolean endOfMessage(AbstractMRReply r) {
+            return r.getElement(r.getNumDataElements() - 1) == 0x0d;
+        }
+    }
+
+    // private final static Logger log = LoggerFactory.getLogger(AbstractMRTrafficControllerDispatchTest.class);
+
+}
@@ -0,0 +1,99 @@
+package jmri.jmrix;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for BoundedMessageQueue.
+ */
+public class BoundedMessageQueueTest {
+
+    @Test
+    public void testCapacityRoundedUp() {
+        Assert.assertEquals(1, new BoundedMessageQueue<String>(1).capacity());
+        Assert.assertEquals(8, new BoundedMessageQueue<String>(5).capacity());
+        Assert.assertEquals(16, new BoundedMessageQueue<String>(16).capacity());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new BoundedMessageQueue<String>(0));
+    }
+
+    @Test
+    public void testNullElement() {
+        BoundedMessageQueue<String> q = new BoundedMessageQueue<>(4);
+        Assert.assertThrows(NullPointerException.class, () -> q.offer(null));
+    }
+
+    @Test
+    public void testFifoAndFull() {
+        BoundedMessageQueue<Integer> q = new BoundedMessageQueue<>(4);
+        Assert.assertTrue(q.isEmpty());
+        Assert.assertNull(q.poll());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(q.offer(i));
+        }
+        Assert.assertFalse("full", q.offer(4));
+        Assert.assertEquals(4, q.size());
+        Assert.assertEquals(Integer.valueOf(0), q.poll());
+        Assert.assertTrue("room again", q.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            Assert.assertEquals(Integer.valueOf(i), q.poll());
+        }
+        Assert.assertTrue(q.isEmpty());
+        Assert.assertEquals(0, q.size());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 10000;
+        BoundedMessageQueue<int[]> q = new BoundedMessageQueue<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int id = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    int[] e = new int[]{id, i};
+                    while (!q.offer(e)) {
+                        Thread.yield();
+                    }
+                }
+            }, "BoundedMessageQueueTest producer " + p);
+            threads[p].setDaemon(true);
+            threads[p].start();
+        }
+        start.countDown();
+
+        // each producer's elements must come out in the order offered
+        int[] next = new int[producers];
+        AtomicInteger received = new AtomicInteger();
+        long deadline = System.currentTimeMillis() + 30000;
+        while (received.get() < producers * perProducer && System.currentTimeMillis() < deadline) {
+            int[] e = q.poll();
+            if (e == null) {
+                Thread.yield();
+                continue;
+            }
+            Assert.assertEquals("order for producer " + e[0], next[e[0]], e[1]);
+            next[e[0]]++;
+            received.incrementAndGet();
+        }
+        for (Thread t : threads) {
+            t.join(1000);
+        }
+        Assert.assertEquals(producers * perProducer, received.get());
+        Assert.assertTrue(q.isEmpty());
+    }
+
+}
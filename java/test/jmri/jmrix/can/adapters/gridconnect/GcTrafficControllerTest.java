@@ -1,19 +1,195 @@
 package jmri.jmrix.can.adapters.gridconnect;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jmri.jmrix.AbstractMRMessage;
+import jmri.jmrix.AbstractMRReply;
+import jmri.jmrix.can.CanListener;
+import jmri.jmrix.can.CanMessage;
+import jmri.jmrix.can.CanReply;
+import jmri.jmrix.can.CanSystemConnectionMemo;
 import jmri.util.JUnitUtil;
 
+import org.junit.Assert;
 import org.junit.jupiter.api.*;
 
 /**
- * Tests for GcTrafficController.
+ * Tests for GcTrafficController. Bursts of frames sent and received through
+ * in-memory streams must arrive intact and in order, with the frames of a
+ * burst sent in few port writes.
+ *
  * @author Paul Bender Copyright (C) 2016
  */
 public class GcTrafficControllerTest extends jmri.jmrix.can.TrafficControllerTest {
-   
+
+    // internal class to simulate a port, counting writes
+    private static class PortScaffold extends GcPortController {
+
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        final DataOutputStream ostream = new DataOutputStream(written);
+        final PipedOutputStream tistream; // tests write to this
+        final DataInputStream istream;    // so the traffic controller can read from this
+
+        PortScaffold() throws IOException {
+            super(new CanSystemConnectionMemo());
+            PipedInputStream pipe = new PipedInputStream(4096);
+            tistream = new PipedOutputStream(pipe);
+            istream = new DataInputStream(pipe);
+        }
+
+        @Override
+        public boolean status() {
+            return true;
+        }
+
+        @Override
+        public void configure() {
+        }
+
+        @Override
+        public DataInputStream getInputStream() {
+            return istream;
+        }
+
+        @Override
+        public DataOutputStream getOutputStream() {
+            return ostream;
+        }
+
+        @Override
+        public String openPort(String portName, String appName) {
+            return "";
+        }
+    }
+
+    @Test
+    public void testBatchedWrites() throws IOException {
+        GcTrafficController gc = (GcTrafficController) tc;
+        PortScaffold port = new PortScaffold();
+        gc.connectPort(port);
+        int frames = 500;
+        StringBuilder expected = new StringBuilder();
+        // hold the queue so the transmit thread finds a burst waiting
+        synchronized (gc) {
+            for (int i = 0; i < frames; i++) {
+                CanMessage m = new CanMessage(new int[]{0x90, 0x00, 0x01, i >> 8, i & 0xFF}, 0x12);
+                expected.append(encoded(gc, m));
+                gc.sendCanMessage(m, null);
+            }
+        }
+        JUnitUtil.waitFor(() -> gc.getFramesWritten() == frames, "all frames written");
+        Assert.assertEquals(expected.toString(), new String(port.written.toByteArray(), StandardCharsets.US_ASCII));
+        Assert.assertTrue("frames written together, writes " + gc.getPortWrites(), gc.getPortWrites() < frames / 10);
+        gc.terminateThreads();
+    }
+
+    @Test
+    public void testSingleFrameWrittenAtOnce() throws IOException {
+        GcTrafficController gc = (GcTrafficController) tc;
+        PortScaffold port = new PortScaffold();
+        gc.connectPort(port);
+        CanMessage m = new CanMessage(new int[]{0x90, 0x00, 0x01, 0x00, 0x02}, 0x12);
+        gc.sendCanMessage(m, null);
+        JUnitUtil.waitFor(() -> gc.getPortWrites() == 1, "frame written");
+        Assert.assertEquals(encoded(gc, m), new String(port.written.toByteArray(), StandardCharsets.US_ASCII));
+        gc.terminateThreads();
+    }
+
+    @Test
+    public void testReceiveMany() throws IOException {
+        GcTrafficController gc = (GcTrafficController) tc;
+        PortScaffold port = new PortScaffold();
+        List<CanReply> replies = Collections.synchronizedList(new ArrayList<>());
+        List<CanMessage> messages = Collections.synchronizedList(new ArrayList<>());
+        gc.addCanListener(new CanListener() {
+            @Override
+            public void message(CanMessage m) {
+                messages.add(m);
+            }
+
+            @Override
+            public void reply(CanReply r) {
+                replies.add(r);
+            }
+        });
+        gc.connectPort(port);
+        int frames = 500;
+        List<String> sent = new ArrayList<>(frames);
+        for (int i = 0; i < frames; i++) {
+            sent.add(String.format(":S0A0N90%04X%04X;", 1, i));
+        }
+        for (String frame : sent) {
+            port.tistream.write(frame.getBytes(StandardCharsets.US_ASCII));
+        }
+        JUnitUtil.waitFor(() -> replies.size() == frames, "all frames received");
+        for (int i = 0; i < frames; i++) {
+            AbstractMRReply h = gc.newReply();
+            for (int j = 0; j < sent.get(i).length(); j++) {
+                h.setElement(j, sent.get(i).charAt(j));
+            }
+            CanReply expected = gc.decodeFromHardware(h);
+            CanReply r = replies.get(i);
+            Assert.assertEquals(expected.getHeader(), r.getHeader());
+            Assert.assertEquals(expected.toString(), r.toString());
+        }
+        Assert.assertTrue(messages.isEmpty());
+        gc.terminateThreads();
+    }
+
+    @Test
+    public void testSynchronizedReceive() throws IOException {
+        GcTrafficController gc = new GcTrafficController() {
+            {
+                setSynchronizeRx(true);
+            }
+        };
+        PortScaffold port = new PortScaffold();
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        gc.addCanListener(new CanListener() {
+            @Override
+            public void message(CanMessage m) {
+                events.add("message " + m.getElement(4));
+            }
+
+            @Override
+            public void reply(CanReply r) {
+                events.add("reply " + r.getElement(4));
+            }
+        });
+        gc.connectPort(port);
+        // the reply is received after the message has been sent, so must be
+        // distributed after the message notification
+        gc.sendCanMessage(new CanMessage(new int[]{0x90, 0x00, 0x01, 0x00, 0x01}, 0x12), null);
+        JUnitUtil.waitFor(() -> gc.getFramesWritten() == 1, "frame written");
+        port.tistream.write(":S0A0N9000010002;".getBytes(StandardCharsets.US_ASCII));
+        JUnitUtil.waitFor(() -> events.size() == 2, "message and reply distributed");
+        Assert.assertEquals("message 1", events.get(0));
+        Assert.assertEquals("reply 2", events.get(1));
+        gc.terminateThreads();
+    }
+
+    private static String encoded(GcTrafficController gc, CanMessage m) {
+        AbstractMRMessage hm = gc.encodeForHardware(m);
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < hm.getNumDataElements(); j++) {
+            sb.append((char) hm.getElement(j));
+        }
+        return sb.toString();
+    }
+
     @Override
     @BeforeEach
     public void setUp() {
-        jmri.util.JUnitUtil.setUp(); 
+        jmri.util.JUnitUtil.setUp();
         JUnitUtil.resetInstanceManager();
         tc = new GcTrafficController();
     }
@@ -24,7 +200,6 @@ public class GcTrafficControllerTest extends jmri.jmrix.can.TrafficControllerTes
        tc = null;
         JUnitUtil.clearShutDownManager(); // put in place because AbstractMRTrafficController implementing subclass was not terminated properly
         JUnitUtil.tearDown();
- 
-    }
 
+    }
 }
@@ -0,0 +1,168 @@
+package jmri.jmrix.can.cbus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.Sensor;
+import jmri.jmrix.can.CanListener;
+import jmri.jmrix.can.CanMessage;
+import jmri.jmrix.can.CanReply;
+import jmri.jmrix.can.TrafficControllerScaffold;
+import jmri.jmrix.can.adapters.loopback.LoopbackTrafficController;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the jmri.jmrix.can.cbus.CbusEventDispatcher class. When sensor
+ * events are replayed through the loopback adapter to thousands of sensors,
+ * each frame must be passed only to the sensor for its node and event.
+ */
+public class CbusEventDispatcherTest {
+
+    private TrafficControllerScaffold tcis;
+
+    private static class Counter implements CanListener {
+
+        final List<Object> frames = new ArrayList<>();
+
+        @Override
+        public void message(CanMessage m) {
+            frames.add(m);
+        }
+
+        @Override
+        public void reply(CanReply r) {
+            frames.add(r);
+        }
+    }
+
+    @Test
+    public void testOneTrafficControllerListener() {
+        Assert.assertNull(CbusEventDispatcher.getDispatcher(tcis));
+        CbusSensor s1 = new CbusSensor("M", "+N1E1", tcis);
+        CbusSensor s2 = new CbusSensor("M", "+N1E2", tcis);
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tcis);
+        Assert.assertNotNull(d);
+        Assert.assertEquals("dispatcher is the only listener", 1, tcis.numListeners());
+        Assert.assertEquals(2, d.numListeners());
+        s1.dispose();
+        Assert.assertEquals(1, tcis.numListeners());
+        s2.dispose();
+        Assert.assertEquals("dispatcher removed with last bean", 0, tcis.numListeners());
+        Assert.assertEquals(0, d.numListeners());
+    }
+
+    @Test
+    public void testLongEvents() {
+        Counter c = new Counter();
+        CbusEventDispatcher.addListener(tcis, c, new CbusAddress("+N12E34"), new CbusAddress("-N12E34"));
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tcis);
+        Assert.assertNotNull(d);
+
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 12, 0x00, 34}, 0x12));
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ARON, 0x00, 12, 0x00, 34}, 0x12));
+        d.message(new CanMessage(new int[]{CbusConstants.CBUS_ACOF, 0x00, 12, 0x00, 34}, 0x12));
+        Assert.assertEquals("events of the address", 3, c.frames.size());
+
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 12, 0x00, 35}, 0x12));
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 13, 0x00, 34}, 0x12));
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_RTON}, 0x12));
+        Assert.assertEquals("other events not passed", 3, c.frames.size());
+
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ASRQ, 0x00, 7, 0x00, 34}, 0x12));
+        Assert.assertEquals("short request with our event number", 4, c.frames.size());
+        Assert.assertEquals(7, d.getFrameCount());
+        Assert.assertEquals(4, d.getDeliveryCount());
+
+        CbusEventDispatcher.removeListener(tcis, c);
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 12, 0x00, 34}, 0x12));
+        Assert.assertEquals(4, c.frames.size());
+    }
+
+    @Test
+    public void testShortEvents() {
+        Counter c = new Counter();
+        CbusEventDispatcher.addListener(tcis, c, new CbusAddress("+34"), new CbusAddress("-34"));
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tcis);
+        Assert.assertNotNull(d);
+
+        // the node number of a short event is the sending node, not 0
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ASON, 0x00, 12, 0x00, 34}, 0x12));
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ASOF, 0x01, 0x02, 0x00, 34}, 0x12));
+        Assert.assertEquals(2, c.frames.size());
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ASON, 0x00, 12, 0x00, 35}, 0x12));
+        Assert.assertEquals(2, c.frames.size());
+    }
+
+    @Test
+    public void testOtherAddressesPassedEverything() {
+        Counter c = new Counter();
+        CbusEventDispatcher.addListener(tcis, c, new CbusAddress("X0A"));
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tcis);
+        Assert.assertNotNull(d);
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 12, 0x00, 34}, 0x12));
+        d.reply(new CanReply(new int[]{0x0A}, 0x12));
+        Assert.assertEquals(2, c.frames.size());
+    }
+
+    @Test
+    public void testSensorsSetFromReplies() {
+        CbusSensor s1 = new CbusSensor("M", "+N1E1", tcis);
+        CbusSensor s2 = new CbusSensor("M", "+2", tcis);
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tcis);
+        Assert.assertNotNull(d);
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x01, 0x00, 0x01}, 0x12));
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ASON, 0x00, 0x05, 0x00, 0x02}, 0x12));
+        Assert.assertEquals(Sensor.ACTIVE, s1.getKnownState());
+        Assert.assertEquals(Sensor.ACTIVE, s2.getKnownState());
+        d.reply(new CanReply(new int[]{CbusConstants.CBUS_ACOF, 0x00, 0x01, 0x00, 0x01}, 0x12));
+        Assert.assertEquals(Sensor.INACTIVE, s1.getKnownState());
+        Assert.assertEquals(Sensor.ACTIVE, s2.getKnownState());
+        s1.dispose();
+        s2.dispose();
+    }
+
+    @Test
+    public void testLoopbackReplay() {
+        int sensors = 300;
+        int frames = 1800;
+        LoopbackTrafficController tc = new LoopbackTrafficController();
+        List<CbusSensor> list = new ArrayList<>(sensors);
+        for (int i = 0; i < sensors; i++) {
+            list.add(new CbusSensor("M", "+N" + (1 + i / 100) + "E" + (1 + i % 100), tc));
+        }
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tc);
+        Assert.assertNotNull(d);
+        Assert.assertEquals(sensors, d.numListeners());
+
+        for (int f = 0; f < frames; f++) {
+            int i = (f * 7) % sensors;
+            int opc = ((f / sensors) % 2 == 0 ? CbusConstants.CBUS_ACON : CbusConstants.CBUS_ACOF);
+            tc.sendCanReply(new CanReply(new int[]{opc, 0x00, 1 + i / 100, 0x00, 1 + i % 100}, 0x12), null);
+        }
+
+        Assert.assertEquals(frames, d.getFrameCount());
+        Assert.assertEquals("each frame passed to one sensor", frames, d.getDeliveryCount());
+        for (CbusSensor s : list) {
+            Assert.assertEquals(s.getDisplayName(), Sensor.INACTIVE, s.getKnownState());
+            s.dispose();
+        }
+        Assert.assertEquals(0, d.numListeners());
+        tc.terminateThreads();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        tcis = new TrafficControllerScaffold();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tcis.terminateThreads();
+        tcis = null;
+        JUnitUtil.tearDown();
+    }
+}
@@ -25,7 +25,10 @@ public class CbusLightTest extends jmri.implementation.AbstractLightTestBase {
 
     @Override
     public int numListeners() {
-        return tcis.numListeners();
+        // the bean listens through the event dispatcher, itself a single listener
+        CbusEventDispatcher d = CbusEventDispatcher.getDispatcher(tcis);
+        int beans = (d == null ? 0 : d.numListeners());
+        return tcis.numListeners() + (beans > 0 ? beans - 1 : 0);
     }
     
     @Override
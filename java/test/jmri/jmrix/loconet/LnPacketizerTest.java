@@ -70,6 +70,110 @@ public class LnPacketizerTest {
        memo.dispose();
     }
 
+    @Test
+    public void testTransmitLaneForOpCode() {
+        Assert.assertEquals(LnPacketizer.TransmitLane.THROTTLE, LnPacketizer.TransmitLane.forOpCode(LnConstants.OPC_LOCO_SPD));
+        Assert.assertEquals(LnPacketizer.TransmitLane.THROTTLE, LnPacketizer.TransmitLane.forOpCode(LnConstants.OPC_GPOFF));
+        Assert.assertEquals(LnPacketizer.TransmitLane.COMMAND, LnPacketizer.TransmitLane.forOpCode(LnConstants.OPC_SW_REQ));
+        Assert.assertEquals(LnPacketizer.TransmitLane.INTERROGATION, LnPacketizer.TransmitLane.forOpCode(LnConstants.OPC_SW_STATE));
+        Assert.assertEquals(LnPacketizer.TransmitLane.INTERROGATION, LnPacketizer.TransmitLane.forOpCode(LnConstants.OPC_RQ_SL_DATA));
+    }
+
+    @Test
+    public void testTransmitLanes() {
+        // a plain LnPacketizer, as subclasses may queue differently
+        LnPacketizer p = new LnPacketizer(new LocoNetSystemConnectionMemo());
+        p.xmtHandler = () -> {};  // stand-in lock, no thread started
+
+        Assert.assertFalse("off by default", p.isTransmitLanesEnabled());
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_SW_STATE, 0x01, 0x00, 0x00}));
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x01, 0x10, 0x00}));
+        Assert.assertEquals("queued in order", LnConstants.OPC_SW_STATE, p.nextTransmitMessage()[0] & 0xFF);
+        Assert.assertEquals(LnConstants.OPC_LOCO_SPD, p.nextTransmitMessage()[0] & 0xFF);
+
+        p.setTransmitLanesEnabled(true);
+        for (int i = 0; i < 5; i++) {
+            p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_SW_STATE, i, 0x00, 0x00}));
+        }
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_SW_REQ, 0x01, 0x30, 0x00}));
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x01, 0x10, 0x00}));
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x02, 0x20, 0x00}));
+        Assert.assertEquals(8, p.getTransmitQueueDepth());
+        Assert.assertEquals(8, p.getMaxTransmitQueueDepth());
+
+        byte[] msg = p.nextTransmitMessage();
+        Assert.assertEquals("first throttle first", LnConstants.OPC_LOCO_SPD, msg[0] & 0xFF);
+        Assert.assertEquals(0x01, msg[1]);
+        msg = p.nextTransmitMessage();
+        Assert.assertEquals("then second throttle", LnConstants.OPC_LOCO_SPD, msg[0] & 0xFF);
+        Assert.assertEquals(0x02, msg[1]);
+        Assert.assertEquals("then turnout", LnConstants.OPC_SW_REQ, p.nextTransmitMessage()[0] & 0xFF);
+        for (int i = 0; i < 5; i++) {
+            msg = p.nextTransmitMessage();
+            Assert.assertEquals("then interrogation", LnConstants.OPC_SW_STATE, msg[0] & 0xFF);
+            Assert.assertEquals("in order", i, msg[1]);
+        }
+        Assert.assertThrows(java.util.NoSuchElementException.class, () -> p.nextTransmitMessage());
+
+        Assert.assertEquals(3, p.getLaneStatistics(LnPacketizer.TransmitLane.THROTTLE).getCount());
+        Assert.assertEquals(1, p.getLaneStatistics(LnPacketizer.TransmitLane.COMMAND).getCount());
+        Assert.assertEquals(6, p.getLaneStatistics(LnPacketizer.TransmitLane.INTERROGATION).getCount());
+        p.resetStatistics();
+        Assert.assertEquals(0, p.getLaneStatistics(LnPacketizer.TransmitLane.THROTTLE).getCount());
+        Assert.assertEquals(0, p.getMaxTransmitQueueDepth());
+    }
+
+    @Test
+    public void testQueuingTimesReleased() {
+        LnPacketizer p = new LnPacketizer(new LocoNetSystemConnectionMemo());
+        p.xmtHandler = () -> {};  // stand-in lock, no thread started
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x01, 0x10, 0x00}));
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x02, 0x10, 0x00}));
+        Assert.assertEquals(2, p.getTimedMessageCount());
+        p.nextTransmitMessage();
+        Assert.assertEquals(1, p.getTimedMessageCount());
+
+        // a message taken from the queue directly
+        synchronized (p.xmtHandler) {
+            p.xmtList.removeFirst();
+        }
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x10, 0x00}));
+        Assert.assertEquals(2, p.getTimedMessageCount());
+        p.nextTransmitMessage();
+        Assert.assertEquals("released when queue empties", 0, p.getTimedMessageCount());
+
+        // messages never sent
+        p.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x04, 0x10, 0x00}));
+        p.terminateThreads();
+        Assert.assertEquals(0, p.getTransmitQueueDepth());
+        Assert.assertEquals(0, p.getTimedMessageCount());
+    }
+
+    @Test
+    public void testBatchedDelivery() throws InterruptedException {
+        LnPacketizer p = new LnPacketizer(new LocoNetSystemConnectionMemo());
+        java.util.List<LocoNetMessage> received = new java.util.ArrayList<>();
+        p.addLocoNetListener(~0, received::add);
+
+        int count = 3 * LnPacketizer.MAX_RECEIVE_BATCH;
+        Thread t = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                p.queueForDelivery(new LocoNetMessage(new int[]{LnConstants.OPC_INPUT_REP, i & 0x7F, 0x50, 0x00}));
+            }
+        }, "testBatchedDelivery");
+        t.start();
+        t.join();
+        JUnitUtil.waitFor(() -> received.size() == count, "all delivered");
+
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals("in order", i & 0x7F, received.get(i).getElement(1));
+        }
+        Assert.assertEquals(0, p.getReceiveQueueDepth());
+        Assert.assertEquals(count, p.getReceivedMsgCount());
+        Assert.assertTrue("batched", p.getReceiveBatchCount() < count);
+        Assert.assertTrue(p.getMaxReceiveBatchSize() <= LnPacketizer.MAX_RECEIVE_BATCH);
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -1,5 +1,7 @@
 package jmri.jmrix.loconet.uhlenbrock;
 
+import jmri.jmrix.loconet.LnConstants;
+import jmri.jmrix.loconet.LocoNetMessage;
 import jmri.util.JUnitUtil;
 
 import org.junit.Assert;
@@ -17,6 +19,19 @@ public class UhlenbrockPacketizerTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testSendQueued() {
+        UhlenbrockPacketizer t = new UhlenbrockPacketizer() {
+            {
+                xmtHandler = () -> {};  // stand-in lock, no thread started
+            }
+        };
+        t.setTransmitLanesEnabled(true);
+        t.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_SW_STATE, 0x01, 0x00, 0x00}));
+        t.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x01, 0x10, 0x00}));
+        Assert.assertEquals(2, t.getTransmitQueueDepth());
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
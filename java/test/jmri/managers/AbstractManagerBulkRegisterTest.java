@@ -0,0 +1,78 @@
+package jmri.managers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jmri.Sensor;
+import jmri.jmrix.internal.InternalSensorManager;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
+import jmri.util.JUnitAppender;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of registering many beans with an AbstractManager out of order, as
+ * when a large panel file is loaded, while a table reads the bean list. The
+ * list must grow with each bean and stay sorted, and the bean set must end up
+ * sorted.
+ */
+public class AbstractManagerBulkRegisterTest {
+
+    private static final int BEANS = 2000;
+    private static final int READ_INTERVAL = 50;
+
+    private InternalSensorManager m;
+
+    @Test
+    @SuppressWarnings("deprecation") // getNamedBeanList
+    public void testBulkRegister() {
+        for (int i = 0; i < BEANS; i++) {
+            // register in an order other than the sorted order
+            Sensor added = m.provideSensor("IS" + ((i * 7919) % BEANS));
+            if (i % READ_INTERVAL == 0) {
+                List<Sensor> list = m.getNamedBeanList();
+                Assert.assertEquals(i + 1, list.size());
+                Assert.assertTrue("new bean listed", list.contains(added));
+                assertSorted(list);
+            }
+        }
+
+        Assert.assertEquals(BEANS, m.getObjectCount());
+        Assert.assertEquals(BEANS, m.getNamedBeanSet().size());
+        assertSorted(m.getNamedBeanSet());
+        Assert.assertEquals(new ArrayList<>(m.getNamedBeanSet()), m.getNamedBeanList());
+
+        // removing beans keeps the list in step
+        m.deregister(m.getBySystemName("IS5"));
+        List<Sensor> list = m.getNamedBeanList();
+        Assert.assertEquals(BEANS - 1, list.size());
+        Assert.assertNull(m.getBySystemName("IS5"));
+        assertSorted(list);
+        JUnitAppender.suppressWarnMessageStartsWith("getNamedBeanList");
+    }
+
+    private static void assertSorted(Collection<Sensor> sensors) {
+        Sensor previous = null;
+        for (Sensor s : sensors) {
+            Assert.assertTrue("sorted", previous == null || previous.compareTo(s) < 0);
+            previous = s;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        m = new InternalSensorManager(new InternalSystemConnectionMemo("I", "Internal"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        m.dispose();
+        m = null;
+        JUnitUtil.tearDown();
+    }
+
+}
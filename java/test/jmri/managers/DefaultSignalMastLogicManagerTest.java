@@ -18,6 +18,20 @@ public class DefaultSignalMastLogicManagerTest extends AbstractManagerTestBase<j
         Assert.assertNotNull("exists",l);
     }
 
+    @Test
+    public void testEvaluationCounts() {
+        DefaultSignalMastLogicManager other = new DefaultSignalMastLogicManager(InstanceManager.getDefault(InternalSystemConnectionMemo.class));
+        DefaultSignalMastLogicManager m = (DefaultSignalMastLogicManager) l;
+        m.evaluationRequested();
+        m.evaluationRequested();
+        m.evaluated();
+        Assert.assertEquals("requests", 2, m.getEvaluationRequestCount());
+        Assert.assertEquals("evaluations", 1, m.getEvaluationCount());
+        Assert.assertEquals("other requests", 0, other.getEvaluationRequestCount());
+        Assert.assertEquals("other evaluations", 0, other.getEvaluationCount());
+        other.dispose();
+    }
+
     @Test
     @Override
     @Disabled("makeSystemName is not currently supported")
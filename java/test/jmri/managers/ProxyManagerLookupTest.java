@@ -0,0 +1,82 @@
+package jmri.managers;
+
+import jmri.Sensor;
+import jmri.jmrix.internal.InternalSensorManager;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of user name and system name lookups through a ProxySensorManager
+ * holding eight InternalSensorManagers, with beans spread evenly over them.
+ * Every lookup must find the bean it was created as, and misses must find
+ * nothing, also after beans are renamed, added and removed.
+ */
+public class ProxyManagerLookupTest {
+
+    private static final String[] PREFIXES = {"A", "B", "C", "D", "E", "F", "G", "H"};
+    private static final int BEANS = 400;
+
+    private ProxySensorManager l;
+    private Sensor[] sensors;
+
+    @Test
+    public void testLookup() {
+        for (int i = 0; i < BEANS; i++) {
+            Assert.assertSame(sensors[i], l.getByUserName("Sensor " + i));
+            Assert.assertSame(sensors[i], l.getNamedBean(sensors[i].getSystemName()));
+            Assert.assertSame(sensors[i], l.getBySystemName(sensors[i].getSystemName()));
+            // each bean is held by the manager of its prefix
+            Assert.assertEquals(PREFIXES[i % PREFIXES.length], l.getManager(sensors[i].getSystemName()).getSystemPrefix());
+        }
+        Assert.assertNull(l.getByUserName("Missing"));
+        Assert.assertNull(l.getNamedBean("Missing"));
+        Assert.assertNull(l.getBySystemName("XS1"));
+    }
+
+    @Test
+    public void testLookupAfterChanges() {
+        // fill the cache of user names, including misses
+        for (int i = 0; i < BEANS; i++) {
+            Assert.assertSame(sensors[i], l.getByUserName("Sensor " + i));
+        }
+        Assert.assertNull(l.getByUserName("New 1"));
+        Assert.assertNull(l.getByUserName("New 2"));
+
+        sensors[1].setUserName("New 1");
+        Assert.assertSame("renamed", sensors[1], l.getByUserName("New 1"));
+        Assert.assertNull("old name", l.getByUserName("Sensor 1"));
+
+        Sensor added = l.newSensor("HS" + BEANS, "New 2");
+        Assert.assertSame("added", added, l.getByUserName("New 2"));
+
+        l.deregister(sensors[2]);
+        Assert.assertNull("removed", l.getByUserName("Sensor 2"));
+        Assert.assertNull("removed", l.getNamedBean(sensors[2].getSystemName()));
+        Assert.assertSame(sensors[3], l.getByUserName("Sensor 3"));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        l = new ProxySensorManager();
+        for (String prefix : PREFIXES) {
+            l.addManager(new InternalSensorManager(new InternalSystemConnectionMemo(prefix, "System " + prefix)));
+        }
+        sensors = new Sensor[BEANS];
+        for (int i = 0; i < BEANS; i++) {
+            String prefix = PREFIXES[i % PREFIXES.length];
+            sensors[i] = l.newSensor(prefix + "S" + i, "Sensor " + i);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        l = null;
+        sensors = null;
+        JUnitUtil.tearDown();
+    }
+
+}
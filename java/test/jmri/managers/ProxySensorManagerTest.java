@@ -133,6 +133,56 @@ public class ProxySensorManagerTest implements Manager.ManagerDataListener<Senso
         Assert.assertEquals("no old object", null, l.getByUserName("before"));
     }
 
+    @Test
+    public void testUserNameLookupFollowsChanges() {
+        // a miss is not remembered, so cannot hide a later registration
+        Assert.assertNull(l.getByUserName("name"));
+        Assert.assertEquals(0, l.getCachedUserNameCount());
+        Sensor t1 = l.newSensor("JS1", "name");
+        Assert.assertEquals(t1, l.getByUserName("name"));
+        Assert.assertEquals(t1, l.getNamedBean("name"));
+
+        // a hit is remembered, but must follow a rename and a move
+        t1.setUserName("other");
+        Assert.assertNull(l.getByUserName("name"));
+        Assert.assertEquals(t1, l.getByUserName("other"));
+        Sensor t2 = l.newSensor("JS2", "name");
+        Assert.assertEquals(t2, l.getByUserName("name"));
+        t2.setUserName("other"); // takes the name from t1
+        Assert.assertNull(t1.getUserName());
+        Assert.assertEquals(t2, l.getByUserName("other"));
+        Assert.assertNull(l.getByUserName("name"));
+
+        // and a deregistration, even with events silenced
+        l.setPropertyChangesSilenced("beans", true);
+        l.deregister(t2);
+        Assert.assertNull(l.getByUserName("other"));
+        Sensor t3 = l.newSensor("KS3", "other");
+        Assert.assertEquals(t3, l.getByUserName("other"));
+        l.setPropertyChangesSilenced("beans", false);
+
+        // and a system manager added later
+        Assert.assertNull(l.getByUserName("late"));
+        InternalSensorManager m = new InternalSensorManager(new InternalSystemConnectionMemo("A", "Alpha"));
+        Sensor t4 = m.newSensor("AS4", "late");
+        l.addManager(m);
+        Assert.assertEquals(t4, l.getByUserName("late"));
+    }
+
+    @Test
+    public void testManagerByPrefix() {
+        InternalSensorManager m = new InternalSensorManager(new InternalSystemConnectionMemo("J2", "Juliet 2"));
+        l.addManager(m);
+        Sensor t1 = l.provideSensor("J2S1");
+        Assert.assertEquals(t1, m.getBySystemName("J2S1"));
+        Sensor t2 = l.provideSensor("JS1");
+        Assert.assertNull(m.getBySystemName("JS1"));
+        Assert.assertEquals(t2, l.getBySystemName("JS1"));
+        Assert.assertEquals(t1, l.getBySystemName("J2S1"));
+        Assert.assertEquals(Manager.NameValidity.INVALID, l.validSystemNameFormat("XS1"));
+        Assert.assertEquals(Manager.NameValidity.INVALID, l.validSystemNameFormat(""));
+    }
+
     @Test
     public void testTwoNames() {
         Sensor jl212 = l.provideSensor("JS212");
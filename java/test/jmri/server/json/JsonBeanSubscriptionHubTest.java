@@ -0,0 +1,242 @@
+package jmri.server.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jmri.InstanceManager;
+import jmri.JmriException;
+import jmri.Sensor;
+import jmri.SensorManager;
+import jmri.server.json.sensor.JsonSensor;
+import jmri.server.json.sensor.JsonSensorSocketService;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the jmri.server.json.JsonBeanSubscriptionHub class. A bean must
+ * have one listener however many clients are subscribed to it, and each
+ * change must be encoded once for all clients using the same locale.
+ */
+public class JsonBeanSubscriptionHubTest {
+
+    private final Locale locale = Locale.ENGLISH;
+    private JsonBeanSubscriptionHub hub;
+    private SensorManager manager;
+
+    // a connection that blocks sending its first change until released
+    private static class SlowConnection extends JsonMockConnection {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<JsonNode> changes = new ArrayList<>();
+
+        SlowConnection() {
+            super((DataOutputStream) null);
+        }
+
+        @Override
+        public void sendMessage(JsonNode message, String encoded, JsonRequest request) throws IOException {
+            sending.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (changes) {
+                changes.add(message);
+            }
+            super.sendMessage(message, encoded, request);
+        }
+    }
+
+    private JsonSensorSocketService subscribe(JsonConnection connection, String... names)
+            throws IOException, JmriException, JsonException {
+        JsonSensorSocketService service = new JsonSensorSocketService(connection);
+        for (String name : names) {
+            service.onMessage(JsonSensor.SENSOR, connection.getObjectMapper().createObjectNode().put(JSON.NAME, name),
+                    new JsonRequest(locale, JSON.V5, JSON.GET, 0));
+        }
+        return service;
+    }
+
+    @Test
+    public void testOneListenerForAllClients() throws IOException, JmriException, JsonException {
+        Sensor sensor = manager.provideSensor("IS1");
+        int listeners = sensor.getNumPropertyChangeListeners();
+        List<JsonMockConnection> connections = new ArrayList<>();
+        List<JsonSensorSocketService> services = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            JsonMockConnection connection = new JsonMockConnection((DataOutputStream) null);
+            connections.add(connection);
+            services.add(subscribe(connection, "IS1"));
+        }
+        Assert.assertEquals("one listener for all clients", listeners + 1, sensor.getNumPropertyChangeListeners());
+        Assert.assertEquals(1, hub.getSubscriptionCount());
+        Assert.assertTrue(hub.isSubscribed(sensor, JsonSensor.SENSOR, connections.get(0)));
+
+        sensor.setKnownState(Sensor.ACTIVE);
+        for (JsonMockConnection connection : connections) {
+            connection.waitForChanges();
+            JsonNode message = connection.getMessage();
+            Assert.assertNotNull(message);
+            Assert.assertEquals(JSON.ACTIVE, message.path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        }
+        Assert.assertEquals("encoded once for each change", hub.getChangeCount(), hub.getEncodeCount());
+        Assert.assertEquals(hub.getChangeCount() * 3, hub.getSendCount() + hub.getCoalescedCount());
+
+        services.get(0).onClose();
+        Assert.assertFalse(hub.isSubscribed(sensor, JsonSensor.SENSOR, connections.get(0)));
+        Assert.assertEquals(listeners + 1, sensor.getNumPropertyChangeListeners());
+        services.get(1).onClose();
+        services.get(2).onClose();
+        Assert.assertEquals("listener removed with last client", listeners, sensor.getNumPropertyChangeListeners());
+        Assert.assertEquals(0, hub.getSubscriptionCount());
+    }
+
+    @Test
+    public void testEncodedForEachLocale() throws IOException, JmriException, JsonException {
+        Sensor sensor = manager.provideSensor("IS1");
+        JsonMockConnection english = new JsonMockConnection((DataOutputStream) null);
+        JsonMockConnection german = new JsonMockConnection((DataOutputStream) null);
+        german.setLocale(Locale.GERMAN);
+        subscribe(english, "IS1");
+        subscribe(german, "IS1");
+        long changes = hub.getChangeCount();
+        sensor.setKnownState(Sensor.ACTIVE);
+        Assert.assertEquals((hub.getChangeCount() - changes) * 2, hub.getEncodeCount());
+    }
+
+    @Test
+    public void testCoalescingWindow() throws IOException, JmriException, JsonException {
+        InstanceManager.getDefault(JsonServerPreferences.class).setCoalescingWindow(50);
+        Sensor sensor = manager.provideSensor("IS1");
+        JsonMockConnection connection = new JsonMockConnection((DataOutputStream) null);
+        subscribe(connection, "IS1");
+        int messages = connection.getMessages().size();
+        for (int i = 0; i < 10; i++) {
+            sensor.setKnownState(i % 2 == 0 ? Sensor.ACTIVE : Sensor.INACTIVE);
+        }
+        JUnitUtil.waitFor(() -> hub.getSendCount() == 1, "changes sent");
+        Assert.assertEquals("one message for all changes", messages + 1, connection.getMessages().size());
+        JsonNode message = connection.getMessage();
+        Assert.assertNotNull(message);
+        Assert.assertEquals("last state sent", JSON.INACTIVE, message.path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        Assert.assertEquals(1, hub.getEncodeCount());
+        Assert.assertEquals(hub.getChangeCount() - 1, hub.getCoalescedCount());
+    }
+
+    @Test
+    public void testSlowClient() throws Exception {
+        Sensor sensor1 = manager.provideSensor("IS1");
+        Sensor sensor2 = manager.provideSensor("IS2");
+        SlowConnection slow = new SlowConnection();
+        JsonMockConnection fast = new JsonMockConnection((DataOutputStream) null);
+        subscribe(slow, "IS1", "IS2");
+        subscribe(fast, "IS1", "IS2");
+        int messages = fast.getMessages().size();
+
+        // the changing thread returns while the slow client is sending
+        sensor1.setKnownState(Sensor.ACTIVE);
+        Assert.assertTrue(slow.sending.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            sensor2.setKnownState(i % 2 == 0 ? Sensor.ACTIVE : Sensor.INACTIVE);
+        }
+        fast.waitForChanges();
+        Assert.assertTrue("slow client still sending", slow.changes.isEmpty());
+        Assert.assertTrue("fast client sent changes", fast.getMessages().size() > messages);
+        JsonNode latest = fast.getMessage();
+        Assert.assertNotNull(latest);
+        Assert.assertEquals("IS2", latest.path(JSON.DATA).path(JSON.NAME).asText());
+        Assert.assertEquals(JSON.ACTIVE, latest.path(JSON.DATA).path(JSON.STATE).asInt(-1));
+
+        slow.release.countDown();
+        slow.waitForChanges();
+        synchronized (slow.changes) {
+            Assert.assertEquals("slow client sent latest state of each sensor", 2, slow.changes.size());
+            Assert.assertEquals("IS1", slow.changes.get(0).path(JSON.DATA).path(JSON.NAME).asText());
+            Assert.assertEquals("IS2", slow.changes.get(1).path(JSON.DATA).path(JSON.NAME).asText());
+            Assert.assertEquals(JSON.ACTIVE, slow.changes.get(1).path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        }
+        Assert.assertTrue("slow client changes coalesced", hub.getCoalescedCount() >= 4);
+    }
+
+    @Test
+    public void testSendErrorUnsubscribes() throws IOException, JmriException, JsonException {
+        Sensor sensor = manager.provideSensor("IS1");
+        JsonMockConnection connection = new JsonMockConnection((DataOutputStream) null);
+        JsonSensorSocketService service = subscribe(connection, "IS1");
+        connection.setThrowIOException(true);
+        sensor.setKnownState(Sensor.ACTIVE);
+        connection.waitForChanges();
+        Assert.assertFalse(hub.isSubscribed(sensor, JsonSensor.SENSOR, connection));
+        Assert.assertEquals(0, hub.getSubscriptionCount());
+        // a new request subscribes again
+        service.onMessage(JsonSensor.SENSOR, connection.getObjectMapper().createObjectNode().put(JSON.NAME, "IS1"),
+                new JsonRequest(locale, JSON.V5, JSON.GET, 0));
+        Assert.assertTrue(hub.isSubscribed(sensor, JsonSensor.SENSOR, connection));
+    }
+
+    @Test
+    public void testFanOut() throws IOException, JmriException, JsonException {
+        int clients = 5;
+        int sensors = 20;
+        int changes = 200;
+        String[] names = new String[sensors];
+        List<Sensor> list = new ArrayList<>(sensors);
+        for (int i = 0; i < sensors; i++) {
+            names[i] = "IS" + (i + 1);
+            list.add(manager.provideSensor(names[i]));
+        }
+        int listeners = list.get(0).getNumPropertyChangeListeners();
+        List<JsonMockConnection> connections = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            JsonMockConnection connection = new JsonMockConnection((DataOutputStream) null);
+            connections.add(connection);
+            subscribe(connection, names);
+        }
+        InstanceManager.getDefault(JsonServerPreferences.class).setValidateServerMessages(false);
+        Assert.assertEquals("one listener for all clients", listeners + 1, list.get(0).getNumPropertyChangeListeners());
+        Assert.assertEquals(sensors, hub.getSubscriptionCount());
+
+        for (int i = 0; i < changes; i++) {
+            list.get(i % sensors).setKnownState((i / sensors) % 2 == 0 ? Sensor.ACTIVE : Sensor.INACTIVE);
+        }
+        for (JsonMockConnection connection : connections) {
+            connection.waitForChanges();
+        }
+
+        Assert.assertEquals(hub.getChangeCount(), hub.getEncodeCount());
+        Assert.assertEquals(hub.getChangeCount() * clients, hub.getSendCount() + hub.getCoalescedCount());
+        for (JsonMockConnection connection : connections) {
+            JsonNode message = connection.getMessage();
+            Assert.assertNotNull(message);
+            Assert.assertEquals(names[sensors - 1], message.path(JSON.DATA).path(JSON.NAME).asText());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.resetProfileManager();
+        JUnitUtil.initInternalSensorManager();
+        manager = InstanceManager.getDefault(SensorManager.class);
+        hub = InstanceManager.getDefault(JsonBeanSubscriptionHub.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hub.dispose();
+        hub = null;
+        manager = null;
+        JUnitUtil.tearDown();
+    }
+}
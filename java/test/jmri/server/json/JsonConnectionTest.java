@@ -4,8 +4,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import jmri.InstanceManager;
+import jmri.server.json.sensor.JsonSensor;
 import jmri.util.JUnitAppender;
 import jmri.util.JUnitUtil;
 
@@ -73,6 +79,80 @@ public class JsonConnectionTest {
         JUnitAppender.checkForMessageStartingWith("JSON Validation Error");
     }
 
+    /**
+     * Test of sendMessage method, of class JsonConnection. Verifies that only
+     * one in every sample interval messages is validated.
+     *
+     * @throws java.io.IOException if unable to write to output stream
+     */
+    @Test
+    public void testSendMessage_sampling() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        JsonConnection instance = new JsonConnection(dos);
+        String invalid = "{\"type\":\"hello\"}"; // missing data portion
+        String error = "{\"type\":\"error\",\"data\":{\"code\":500,\"message\":\"There was an error; see the JMRI application logs for details.\"}}";
+        JsonServerPreferences preferences = InstanceManager.getDefault(JsonServerPreferences.class);
+        preferences.setValidateServerMessages(true);
+        preferences.setValidationSampleInterval(3);
+        for (int i = 0; i < 6; i++) {
+            instance.sendMessage(instance.getObjectMapper().readTree(invalid), 0);
+            Assert.assertEquals("message " + i, (i % 3 == 0 ? error : invalid), baos.toString(StandardCharsets.UTF_8.name()));
+            baos.reset();
+        }
+        // suppress warnings from validating the two sampled invalid messages
+        for (int i = 0; i < 2; i++) {
+            JUnitAppender.checkForMessageStartingWith("Errors validating");
+            JUnitAppender.checkForMessageStartingWith("JSON Validation Error");
+            JUnitAppender.checkForMessageStartingWith("JSON Validation Error");
+            JUnitAppender.checkForMessageStartingWith("JSON Validation Error");
+            JUnitAppender.checkForMessageStartingWith("JSON Validation Error");
+        }
+    }
+
+    /**
+     * Test of sendMessage method, of class JsonConnection. Verifies that valid
+     * sensor messages are sent without errors with validation off, on, and
+     * sampled, and that every message is sent in each case.
+     *
+     * @throws java.io.IOException if unable to write to output stream
+     */
+    @Test
+    public void testSendMessage_modes() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        JsonConnection instance = new JsonConnection(dos);
+        JsonServerPreferences preferences = InstanceManager.getDefault(JsonServerPreferences.class);
+        int messages = 200;
+        List<JsonNode> nodes = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            ObjectNode message = instance.getObjectMapper().createObjectNode();
+            message.put(JSON.TYPE, JsonSensor.SENSOR);
+            ObjectNode data = message.putObject(JSON.DATA);
+            data.put(JSON.NAME, "IS" + i);
+            data.put(JSON.USERNAME, "Sensor " + i);
+            data.putNull(JSON.COMMENT);
+            data.putArray(JSON.PROPERTIES);
+            data.put(JSON.INVERTED, false);
+            data.put(JSON.STATE, (i % 2 == 0 ? JSON.ACTIVE : JSON.INACTIVE));
+            nodes.add(message);
+        }
+        preferences.setValidateServerMessages(true);
+        instance.sendMessage(nodes.get(0), 0); // load schemas
+        String[] modes = {"not validated", "validated", "one in ten validated"};
+        for (String mode : modes) {
+            preferences.setValidateServerMessages(!mode.equals(modes[0]));
+            preferences.setValidationSampleInterval(mode.equals(modes[2]) ? 10 : 1);
+            baos.reset();
+            for (JsonNode node : nodes) {
+                instance.sendMessage(node, 0);
+            }
+            String sent = baos.toString(StandardCharsets.UTF_8.name());
+            Assert.assertFalse("no errors " + mode, sent.contains(JsonException.ERROR));
+            Assert.assertEquals("all sent " + mode, messages, sent.split("\"type\":\"sensor\"", -1).length - 1);
+        }
+    }
+
     /**
      * Test of sendMessage method, of class JsonConnection. Verifies that valid
      * and invalid messages are sent when not validating messages.
@@ -12,6 +12,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
 import jmri.InstanceManager;
+import jmri.util.JUnitUtil;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.junit.Assert;
@@ -92,6 +93,28 @@ public class JsonMockConnection extends JsonConnection {
         sendMessage(message, new JsonRequest(getLocale(), getVersion(), JSON.GET, id));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation retains {@code message}, as with
+     * {@link #sendMessage(JsonNode, JsonRequest)}, after checking that
+     * {@code encoded} is its encoding.
+     */
+    @Override
+    public void sendMessage(@Nonnull JsonNode message, @Nonnull String encoded, @Nonnull JsonRequest request) throws IOException {
+        Assert.assertEquals("encoded message", getObjectMapper().writeValueAsString(message), encoded);
+        sendMessage(message, request);
+    }
+
+    /**
+     * Wait until the changes of the beans this connection is subscribed to
+     * through the {@link JsonBeanSubscriptionHub} have been sent to it.
+     */
+    public void waitForChanges() {
+        JsonBeanSubscriptionHub hub = InstanceManager.getDefault(JsonBeanSubscriptionHub.class);
+        JUnitUtil.waitFor(() -> !hub.isSending(this), "changes sent");
+    }
+
     @CheckForNull
     public JsonNode getMessage() {
         int i = messages.size() - 1;
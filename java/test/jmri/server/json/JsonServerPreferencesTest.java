@@ -17,6 +17,26 @@ public class JsonServerPreferencesTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testValidationSampleInterval() {
+        JsonServerPreferences t = new JsonServerPreferences();
+        Assert.assertEquals("validate every message by default", 1, t.getValidationSampleInterval());
+        t.setValidationSampleInterval(10);
+        Assert.assertEquals(10, t.getValidationSampleInterval());
+        t.setValidationSampleInterval(0);
+        Assert.assertEquals("at least every message", 1, t.getValidationSampleInterval());
+    }
+
+    @Test
+    public void testCoalescingWindow() {
+        JsonServerPreferences t = new JsonServerPreferences();
+        Assert.assertEquals("send every change by default", 0, t.getCoalescingWindow());
+        t.setCoalescingWindow(100);
+        Assert.assertEquals(100, t.getCoalescingWindow());
+        t.setCoalescingWindow(-1);
+        Assert.assertEquals(0, t.getCoalescingWindow());
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -49,6 +49,7 @@ public class JsonBlockSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return block1.getState() == Block.OCCUPIED;
         }, "Block to throw");
+        connection.waitForChanges();
         result = connection.getMessage();
         Assert.assertNotNull(result);
         Assert.assertEquals(JSON.ON, result.path(JSON.DATA).path(JSON.STATE).asInt());
@@ -56,6 +57,7 @@ public class JsonBlockSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return block1.getState() == Block.UNOCCUPIED;
         }, "Block to close");
+        connection.waitForChanges();
         Assert.assertEquals(Block.UNOCCUPIED, block1.getState());
         result = connection.getMessage();
         Assert.assertNotNull(result);
@@ -67,6 +69,7 @@ public class JsonBlockSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return block1.getState() == Block.OCCUPIED;
         }, "Block to close");
+        connection.waitForChanges();
         Assert.assertEquals(Block.OCCUPIED, block1.getState());
         Assert.assertEquals("Block is no longer listened to by service", 1, block1.getNumPropertyChangeListeners());
         service.onMessage(JsonBlock.BLOCK, message, new JsonRequest(locale, JSON.V5, JSON.POST, 42));
@@ -54,6 +54,7 @@ public class JsonIdTagSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return idTag1.getState() == IdTag.SEEN;
         }, "IdTag seen");
+        connection.waitForChanges();
         result = connection.getMessage();
         assertNotNull(result);
         assertEquals(IdTag.SEEN, result.path(JSON.DATA).path(JSON.STATE).asInt());
@@ -62,6 +63,7 @@ public class JsonIdTagSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return idTag1.getState() == IdTag.UNSEEN;
         }, "IdTag unknown state");
+        connection.waitForChanges();
         assertEquals(IdTag.UNSEEN, idTag1.getState());
         result = connection.getMessage();
         assertNotNull(result);
@@ -74,6 +76,7 @@ public class JsonIdTagSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return idTag1.getState() == IdTag.SEEN;
         }, "IdTag to close");
+        connection.waitForChanges();
         assertEquals(IdTag.SEEN, idTag1.getState());
         assertEquals("IdTag is no longer listened to by service", 1, idTag1.getNumPropertyChangeListeners());
         service.onMessage(JsonIdTag.IDTAG, message, new JsonRequest(locale, JSON.V5, JSON.POST, 42));
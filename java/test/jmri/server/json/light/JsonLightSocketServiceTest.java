@@ -49,6 +49,7 @@ public class JsonLightSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return light1.getState() == Light.ON;
         }, "Light to throw");
+        connection.waitForChanges();
         message = connection.getMessage();
         Assert.assertNotNull(message);
         Assert.assertEquals(JSON.ON, message.path(JSON.DATA).path(JSON.STATE).asInt());
@@ -56,6 +57,7 @@ public class JsonLightSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return light1.getState() == Light.OFF;
         }, "Light to close");
+        connection.waitForChanges();
         Assert.assertEquals(Light.OFF, light1.getState());
         message = connection.getMessage();
         Assert.assertNotNull(message);
@@ -67,6 +69,7 @@ public class JsonLightSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return light1.getState() == Light.ON;
         }, "Light to close");
+        connection.waitForChanges();
         Assert.assertEquals(Light.ON, light1.getState());
         Assert.assertEquals("Light is no longer listened to by service", 1, light1.getNumPropertyChangeListeners());
         message = connection.getObjectMapper().createObjectNode().put(JSON.NAME, "IL1");
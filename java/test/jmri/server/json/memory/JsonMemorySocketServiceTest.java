@@ -46,6 +46,7 @@ public class JsonMemorySocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return memory1.getValue().equals("throw");
             }, "Memory to throw");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("message is not null", message);
             Assert.assertEquals("throw", message.path(JSON.DATA).path(JSON.VALUE).asText());
@@ -53,6 +54,7 @@ public class JsonMemorySocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return memory1.getValue().equals("close");
             }, "Memory to close");
+            connection.waitForChanges();
             Assert.assertEquals("close", memory1.getValue());
             message = connection.getMessage();
             Assert.assertNotNull("message is not null", message);
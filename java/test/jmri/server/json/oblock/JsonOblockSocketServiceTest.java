@@ -49,6 +49,7 @@ public class JsonOblockSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return oblock1.getState() == Block.OCCUPIED;
         }, "OBlock to throw");
+        connection.waitForChanges();
         result = connection.getMessage();
         Assert.assertNotNull(result);
         Assert.assertEquals(JSON.ON, result.path(JSON.DATA).path(JsonOblock.STATUS).asInt());
@@ -56,6 +57,7 @@ public class JsonOblockSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return oblock1.getState() == Block.UNOCCUPIED;
         }, "OBlock to close");
+        connection.waitForChanges();
         Assert.assertEquals(Block.UNOCCUPIED, oblock1.getState());
         result = connection.getMessage();
         Assert.assertNotNull(result);
@@ -67,6 +69,7 @@ public class JsonOblockSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return oblock1.getState() == Block.OCCUPIED;
         }, "OBlock to close");
+        connection.waitForChanges();
         Assert.assertEquals(Block.OCCUPIED, oblock1.getState());
         Assert.assertEquals("OBlock is no longer listened to by service", 1, oblock1.getNumPropertyChangeListeners());
         service.onMessage(JsonOblock.OBLOCK, message, new JsonRequest(locale, JSON.V5, JSON.POST, 42));
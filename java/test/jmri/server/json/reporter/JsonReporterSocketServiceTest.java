@@ -46,6 +46,7 @@ public class JsonReporterSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return memory1.getCurrentReport().equals("throw");
             }, "Reporter to throw");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("Message is not null", message);
             Assert.assertEquals("throw", message.path(JSON.DATA).path(JsonReporter.REPORT).asText());
@@ -53,6 +54,7 @@ public class JsonReporterSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return memory1.getCurrentReport().equals("close");
             }, "Reporter to close");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("Message is not null", message);
             Assert.assertEquals("close", memory1.getCurrentReport());
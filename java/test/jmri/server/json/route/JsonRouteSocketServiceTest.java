@@ -59,6 +59,7 @@ public class JsonRouteSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return route1.getState() == Sensor.ACTIVE;
             }, "Route to activate");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull(message);
             Assert.assertEquals(JSON.ACTIVE, message.path(JSON.DATA).path(JSON.STATE).asInt());
@@ -66,6 +67,7 @@ public class JsonRouteSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return route1.getState() == Sensor.INACTIVE;
             }, "Route to deactivate");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull(message);
             Assert.assertEquals(Sensor.INACTIVE, route1.getState());
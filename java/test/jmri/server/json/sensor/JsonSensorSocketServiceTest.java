@@ -45,6 +45,7 @@ public class JsonSensorSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return sensor1.getKnownState() == Sensor.ACTIVE;
             }, "Sensor ACTIVE");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("Message is not null", message);
             Assert.assertEquals(JSON.ACTIVE, message.path(JSON.DATA).path(JSON.STATE).asInt(-1));
@@ -52,6 +53,7 @@ public class JsonSensorSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return sensor1.getKnownState() == Sensor.INACTIVE;
             }, "Sensor INACTIVE");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("Message is not null", message);
             Assert.assertEquals(Sensor.INACTIVE, sensor1.getKnownState());
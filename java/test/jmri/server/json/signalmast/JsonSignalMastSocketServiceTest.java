@@ -56,6 +56,7 @@ public class JsonSignalMastSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return s.getAspect().equals("Approach");
             }, "SignalMast is now Approach");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("Message is not null", message);
             Assert.assertEquals("Approach", message.path(JSON.DATA).path(JSON.STATE).asText());
@@ -65,6 +66,7 @@ public class JsonSignalMastSocketServiceTest {
             JUnitUtil.waitFor(() -> {
                 return s.getAspect().equals("Stop");
             }, "SignalMast is now Stop");
+            connection.waitForChanges();
             message = connection.getMessage();
             Assert.assertNotNull("Message is not null", message);
             Assert.assertEquals("Stop", message.path(JSON.DATA).path(JSON.STATE).asText());
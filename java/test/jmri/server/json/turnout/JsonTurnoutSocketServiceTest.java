@@ -54,6 +54,7 @@ public class JsonTurnoutSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return turnout1.getKnownState() == Turnout.CLOSED;
         }, "Turnout to close");
+        connection.waitForChanges();
         message = connection.getMessage();
         assertNotNull("message is not null", message);
         assertEquals(Turnout.CLOSED, turnout1.getKnownState());
@@ -62,6 +63,7 @@ public class JsonTurnoutSocketServiceTest {
         JUnitUtil.waitFor(() -> {
             return turnout1.getKnownState() == Turnout.THROWN;
         }, "Turnout to throw");
+        connection.waitForChanges();
         message = connection.getMessage();
         assertNotNull("message is not null", message);
         assertEquals(JSON.THROWN, message.path(JSON.DATA).path(JSON.STATE).asInt());
@@ -0,0 +1,88 @@
+package jmri.util;
+
+import java.beans.PropertyChangeEvent;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmri.*;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the jmri.util.CoalescingPropertyChangeEventQueue class.
+ */
+public class CoalescingPropertyChangeEventQueueTest {
+
+    @Test
+    public void testSingleListen() throws JmriException, InterruptedException {
+        CoalescingPropertyChangeEventQueue pq = new CoalescingPropertyChangeEventQueue(new NamedBean[]{is1, is2});
+
+        is1.setState(Sensor.ACTIVE);
+
+        PropertyChangeEvent e = pq.take();
+        Assert.assertEquals(is1, e.getSource());
+        Assert.assertEquals("KnownState", e.getPropertyName());
+        Assert.assertEquals(Sensor.ACTIVE, e.getNewValue());
+
+        Assert.assertNull(pq.poll(100, TimeUnit.MILLISECONDS));
+        pq.dispose();
+    }
+
+    @Test
+    public void testCoalesce() throws JmriException, InterruptedException {
+        CoalescingPropertyChangeEventQueue pq = new CoalescingPropertyChangeEventQueue(new NamedBean[]{is1, is2});
+
+        is1.setState(Sensor.ACTIVE);
+        is2.setState(Sensor.ACTIVE);
+        for (int i = 0; i < 10; i++) {
+            is1.setState(Sensor.INACTIVE);
+            is1.setState(Sensor.ACTIVE);
+        }
+        is1.setState(Sensor.INACTIVE);
+
+        // one event for each bean and property, in the order first fired
+        PropertyChangeEvent e = pq.poll(100, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(is1, e.getSource());
+        Assert.assertEquals("KnownState", e.getPropertyName());
+        Assert.assertEquals(Sensor.UNKNOWN, e.getOldValue());
+        Assert.assertEquals(Sensor.INACTIVE, e.getNewValue());
+
+        List<PropertyChangeEvent> rest = pq.drain();
+        Assert.assertEquals(is2, rest.get(0).getSource());
+        Assert.assertEquals(Sensor.ACTIVE, rest.get(0).getNewValue());
+        for (PropertyChangeEvent r : rest) {
+            Assert.assertFalse("KnownState of IS1 taken", r.getSource() == is1 && "KnownState".equals(r.getPropertyName()));
+        }
+        Assert.assertTrue(pq.drain().isEmpty());
+
+        Assert.assertEquals(pq.getEventsFired(), pq.getEventsDelivered() + pq.getEventsCoalesced());
+        Assert.assertTrue(pq.getEventsCoalesced() >= 20);
+        pq.dispose();
+    }
+
+    @Test
+    public void testDispose() {
+        CoalescingPropertyChangeEventQueue pq = new CoalescingPropertyChangeEventQueue(new NamedBean[]{is1, is2});
+
+        int start = is1.getNumPropertyChangeListeners();
+        pq.dispose();
+        Assert.assertEquals(start - 1, is1.getNumPropertyChangeListeners());
+    }
+
+    Sensor is1;
+    Sensor is2;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JUnitUtil.setUp();
+        JUnitUtil.initInternalSensorManager();
+        is1 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS1");
+        is2 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS2");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        JUnitUtil.tearDown();
+    }
+}
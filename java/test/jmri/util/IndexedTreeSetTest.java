@@ -0,0 +1,111 @@
+package jmri.util;
+
+import java.util.*;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for IndexedTreeSet, largely by comparison with TreeSet.
+ */
+public class IndexedTreeSetTest {
+
+    @Test
+    public void testMatchesTreeSet() {
+        Random random = new Random(42);
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            Integer value = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals("remove " + value, expected.remove(value), set.remove(value));
+            } else {
+                Assert.assertEquals("add " + value, expected.add(value), set.add(value));
+            }
+            Assert.assertEquals(expected.size(), set.size());
+        }
+        Assert.assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        Assert.assertEquals(expected.first(), set.first());
+        Assert.assertEquals(expected.last(), set.last());
+
+        int index = 0;
+        for (Integer value : expected) {
+            Assert.assertEquals(value, set.get(index));
+            Assert.assertEquals(index, set.indexOf(value));
+            index++;
+        }
+        Assert.assertEquals(-1, set.indexOf(-1));
+        Assert.assertFalse(set.contains(-1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> set.get(expected.size()));
+    }
+
+    @Test
+    public void testComparator() {
+        IndexedTreeSet<String> set = new IndexedTreeSet<>(Comparator.reverseOrder());
+        set.addAll(Arrays.asList("a", "c", "b"));
+        Assert.assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(set));
+        Assert.assertEquals(2, set.indexOf("a"));
+    }
+
+    @Test
+    public void testSnapshots() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>(Arrays.asList(1, 2, 3));
+        IndexedTreeSet<Integer> snapshot = set.snapshot();
+        List<Integer> list = set.asList();
+        Iterator<Integer> iterator = set.iterator();
+
+        set.add(4);
+        set.remove(1);
+
+        Assert.assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(snapshot));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), list);
+        Assert.assertEquals(2, list.indexOf(3));
+        Assert.assertEquals(-1, list.indexOf(4));
+        Assert.assertEquals(Integer.valueOf(1), iterator.next()); // no ConcurrentModificationException
+        Assert.assertEquals(Arrays.asList(2, 3, 4), new ArrayList<>(set));
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> snapshot.add(5));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> list.add(5));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>(Arrays.asList(1, 2, 3, 4));
+        for (Iterator<Integer> i = set.iterator(); i.hasNext();) {
+            if (i.next() % 2 == 0) {
+                i.remove();
+            }
+        }
+        Assert.assertEquals(Arrays.asList(1, 3), new ArrayList<>(set));
+    }
+
+    @Test
+    public void testRanges() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 100; i += 3) {
+            set.add(i);
+            expected.add(i);
+        }
+        Assert.assertEquals(new ArrayList<>(expected.headSet(50)), new ArrayList<>(set.headSet(50)));
+        Assert.assertEquals(new ArrayList<>(expected.tailSet(50)), new ArrayList<>(set.tailSet(50)));
+        Assert.assertEquals(new ArrayList<>(expected.subSet(10, 40)), new ArrayList<>(set.subSet(10, 40)));
+        Assert.assertEquals(expected.subSet(10, 40).size(), set.subSet(10, 40).size());
+        Assert.assertEquals(expected.subSet(10, 40).first(), set.subSet(10, 40).first());
+        Assert.assertEquals(expected.subSet(10, 40).last(), set.subSet(10, 40).last());
+        Assert.assertEquals(new ArrayList<>(expected.subSet(10, 40).headSet(20)),
+                new ArrayList<>(set.subSet(10, 40).headSet(20)));
+
+        // views are backed by the set
+        SortedSet<Integer> head = set.headSet(10);
+        set.add(1);
+        Assert.assertTrue(head.contains(1));
+        Assert.assertFalse(head.contains(12));
+        head.remove(1);
+        Assert.assertFalse(set.contains(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> head.add(20));
+        Assert.assertTrue(set.subSet(1, 2).isEmpty());
+        Assert.assertThrows(NoSuchElementException.class, () -> set.subSet(1, 2).first());
+    }
+
+}
@@ -0,0 +1,85 @@
+package jmri.util;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.*;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the jmri.util.PropertyChangeEventBus class.
+ */
+public class PropertyChangeEventBusTest {
+
+    @Test
+    public void testBatchedDelivery() throws JmriException {
+        PropertyChangeEventBus bus = InstanceManager.getDefault(PropertyChangeEventBus.class);
+        List<PropertyChangeEvent> batched = new ArrayList<>();
+        List<PropertyChangeEvent> direct = new ArrayList<>();
+        bus.subscribe(is1, (e) -> {
+            Assert.assertTrue("on layout thread", ThreadingUtil.isLayoutThread());
+            if ("KnownState".equals(e.getPropertyName())) {
+                batched.add(e);
+            }
+        });
+        is1.addPropertyChangeListener((e) -> {
+            if ("KnownState".equals(e.getPropertyName())) {
+                direct.add(e);
+            }
+        });
+        Assert.assertEquals(1, bus.getNumSubscribers(is1));
+
+        ThreadingUtil.runOnLayout(() -> {
+            for (int i = 0; i < 50; i++) {
+                is1.setCommandedState(Sensor.ACTIVE);
+                is1.setCommandedState(Sensor.INACTIVE);
+            }
+        });
+        Assert.assertEquals("direct listener sees each change", 100, direct.size());
+
+        JUnitUtil.waitFor(() -> !batched.isEmpty(), "delivered");
+        JUnitUtil.waitFor(50);
+        Assert.assertEquals("one batched change", 1, batched.size());
+        Assert.assertEquals(Sensor.INACTIVE, batched.get(0).getNewValue());
+        Assert.assertTrue(bus.getEventsCoalesced() >= 99);
+    }
+
+    @Test
+    public void testUnsubscribe() throws JmriException {
+        PropertyChangeEventBus bus = new PropertyChangeEventBus();
+        int start = is1.getNumPropertyChangeListeners();
+        List<PropertyChangeEvent> batched = new ArrayList<>();
+        java.beans.PropertyChangeListener l = batched::add;
+        bus.subscribe(is1, l);
+        bus.subscribe(is1, l);
+        Assert.assertEquals("one listener on the bean", start + 1, is1.getNumPropertyChangeListeners());
+
+        bus.unsubscribe(is1, l);
+        Assert.assertEquals(start + 1, is1.getNumPropertyChangeListeners());
+        bus.unsubscribe(is1, l);
+        Assert.assertEquals(start, is1.getNumPropertyChangeListeners());
+        Assert.assertEquals(0, bus.getNumSubscribers(is1));
+
+        is1.setState(Sensor.ACTIVE);
+        JUnitUtil.waitFor(100);
+        Assert.assertTrue(batched.isEmpty());
+        bus.dispose();
+    }
+
+    Sensor is1;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JUnitUtil.setUp();
+        JUnitUtil.initInternalSensorManager();
+        is1 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS1");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        JUnitUtil.tearDown();
+    }
+}
@@ -0,0 +1,80 @@
+package jmri.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the TaskScheduler class.
+ */
+public class TaskSchedulerTest {
+
+    @Test
+    public void testCTor() {
+        TaskScheduler t = new TaskScheduler("Test Scheduler");
+        assertThat(t).withFailMessage("exists").isNotNull();
+        assertThat(t.getName()).isEqualTo("Test Scheduler");
+        assertThat(t.getPoolSize()).isEqualTo(2);
+        t.setPoolSize(0);
+        assertThat(t.getPoolSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSchedule() {
+        TaskScheduler t = new TaskScheduler("Test Scheduler");
+        AtomicInteger count = new AtomicInteger();
+        long start = System.nanoTime();
+        t.schedule(count::incrementAndGet, 0);
+        t.schedule(count::incrementAndGet, 100);
+        t.schedule(() -> {
+            throw new IllegalStateException("test");
+        }, 0);
+        JUnitUtil.waitFor(() -> count.get() == 2, "both tasks run");
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(100 * 1000000L);
+        JUnitAppender.assertErrorMessage("Exception in scheduled task of Test Scheduler");
+
+        // the scheduler keeps running after a task fails
+        t.schedule(count::incrementAndGet, 0);
+        JUnitUtil.waitFor(() -> count.get() == 3, "task after failure runs");
+        t.dispose();
+    }
+
+    @Test
+    public void testExecute() {
+        TaskScheduler t = new TaskScheduler("Test Scheduler");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        // a waiting task doesn't hold up the others
+        t.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            count.incrementAndGet();
+        });
+        t.execute(count::incrementAndGet);
+        JUnitUtil.waitFor(() -> count.get() == 1, "second task runs");
+        release.countDown();
+        JUnitUtil.waitFor(() -> count.get() == 2, "first task ends");
+        t.execute(() -> {
+            throw new IllegalStateException("test");
+        });
+        JUnitUtil.waitFor(() -> JUnitAppender.checkForMessage("Exception in task of Test Scheduler") != null,
+                "failed task logged");
+        t.dispose();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -0,0 +1,141 @@
+package jmri.web.servlet;
+
+import java.awt.BorderLayout;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import jmri.util.JUnitUtil;
+import jmri.util.ThreadingUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests for the jmri.web.servlet.ComponentImageCache class. When many clients
+ * poll a panel that does not change, the panel must be encoded once and each
+ * client sent it once, then told it is not modified.
+ */
+public class ComponentImageCacheTest {
+
+    private JPanel panel;
+    private JLabel label;
+
+    @Test
+    public void testRepaintOnlyWhenChanged() throws IOException {
+        ComponentImageCache cache = new ComponentImageCache();
+        cache.setMinimumAge(0);
+        ComponentImageCache.EncodedImage first = cache.getImage(panel, BufferedImage.TYPE_INT_ARGB);
+        Assert.assertTrue(first.getPng().length > 0);
+        Assert.assertTrue("digest and size", first.getETag().matches("\"[0-9a-f]{64}-\\d+x\\d+\""));
+        Assert.assertSame("unchanged panel not encoded again", first, cache.getImage(panel, BufferedImage.TYPE_INT_ARGB));
+        Assert.assertEquals(2, cache.getPaintCount());
+        Assert.assertEquals(1, cache.getEncodeCount());
+
+        ThreadingUtil.runOnGUI(() -> label.setText("Changed"));
+        ComponentImageCache.EncodedImage changed = cache.getImage(panel, BufferedImage.TYPE_INT_ARGB);
+        Assert.assertNotEquals(first.getETag(), changed.getETag());
+        Assert.assertEquals(2, cache.getEncodeCount());
+
+        // within the minimum age, not painted
+        cache.setMinimumAge(60000);
+        ThreadingUtil.runOnGUI(() -> label.setText("Changed again"));
+        Assert.assertSame(changed, cache.getImage(panel, BufferedImage.TYPE_INT_ARGB));
+        Assert.assertEquals(3, cache.getPaintCount());
+
+        cache.invalidate(panel);
+        Assert.assertNotEquals(changed.getETag(), cache.getImage(panel, BufferedImage.TYPE_INT_ARGB).getETag());
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        ComponentImageCache cache = new ComponentImageCache();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.sendImage(panel, BufferedImage.TYPE_INT_ARGB, request, response);
+        Assert.assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        Assert.assertEquals(ServletUtil.IMAGE_PNG, response.getContentType());
+        String etag = response.getHeader("ETag");
+        Assert.assertNotNull(etag);
+        Assert.assertTrue(response.getContentAsByteArray().length > 0);
+
+        request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", etag);
+        response = new MockHttpServletResponse();
+        cache.sendImage(panel, BufferedImage.TYPE_INT_ARGB, request, response);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        Assert.assertEquals(0, response.getContentAsByteArray().length);
+        Assert.assertEquals(etag, response.getHeader("ETag"));
+    }
+
+    @Test
+    public void testConcurrentPolling() throws Exception {
+        int clients = 15;
+        int polls = 20;
+        ComponentImageCache cache = new ComponentImageCache();
+        cache.setMinimumAge(100);
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            Thread t = new Thread(() -> {
+                String etag = null;
+                try {
+                    for (int p = 0; p < polls; p++) {
+                        MockHttpServletRequest request = new MockHttpServletRequest();
+                        if (etag != null) {
+                            request.addHeader("If-None-Match", etag);
+                        }
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        cache.sendImage(panel, BufferedImage.TYPE_INT_ARGB, request, response);
+                        etag = response.getHeader("ETag");
+                        if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                            notModified.incrementAndGet();
+                        } else {
+                            sent.incrementAndGet();
+                        }
+                    }
+                } catch (IOException ex) {
+                    log.error("poll failed", ex);
+                }
+            }, "Poll " + c);
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        Assert.assertEquals(clients * polls, sent.get() + notModified.get());
+        Assert.assertEquals("panel never changed", 1, cache.getEncodeCount());
+        Assert.assertEquals("each client sent the image once", clients, sent.get());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        ThreadingUtil.runOnGUI(() -> {
+            panel = new JPanel(new BorderLayout());
+            label = new JLabel("Panel");
+            panel.add(label, BorderLayout.CENTER);
+            panel.setSize(800, 600);
+            panel.doLayout();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        panel = null;
+        label = null;
+        JUnitUtil.tearDown();
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ComponentImageCacheTest.class);
+}